@@ -164,6 +164,23 @@ public class MuleEventTestCase extends AbstractMuleContextTestCase {
     assertEquals("bar2", copy.getVariable("foo").getValue());
   }
 
+  @Test
+  public void testFlowVarsCopyKeepsOtherVariables() throws Exception {
+    Event event = eventBuilder()
+        .message(InternalMessage.of("whatever"))
+        .addVariable("foo", "bar")
+        .addVariable("doo", "dar")
+        .build();
+
+    Event copy = Event.builder(event).addVariable("FOO", "bar2").removeVariable("doo").build();
+
+    assertEquals(1, copy.getVariableNames().size());
+    assertEquals("bar2", copy.getVariable("foo").getValue());
+    assertEquals(2, event.getVariableNames().size());
+    assertEquals("bar", event.getVariable("foo").getValue());
+    assertEquals("dar", event.getVariable("DOO").getValue());
+  }
+
   @Test(expected = NoSuchElementException.class)
   public void testGetFlowVarNonexistent() throws Exception {
     testEvent().getVariable("foo").getValue();
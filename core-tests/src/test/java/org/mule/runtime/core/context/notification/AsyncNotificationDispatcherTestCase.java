@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mule.runtime.core.context.notification.AsyncNotificationDispatcher.BATCH_SIZE;
+
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+import org.mule.runtime.core.api.context.notification.ServerNotificationListener;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+@SmallTest
+public class AsyncNotificationDispatcherTestCase extends AbstractMuleTestCase {
+
+  private final List<ServerNotification> notified = new ArrayList<>();
+  private final Sender[] senders = new Sender[] {new Sender(new ListenerSubscriptionPair(new RecordingListener()))};
+  private final Queue<Runnable> tasks = new LinkedList<>();
+
+  @Test
+  public void deliversInOrder() {
+    AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(8, Runnable::run);
+    Event1 notification1 = new Event1();
+    Event1 notification2 = new Event1();
+    Event1 notification3 = new Event1();
+
+    dispatcher.dispatch(notification1, senders);
+    dispatcher.dispatch(notification2, senders);
+    dispatcher.dispatch(notification3, senders);
+
+    assertThat(notified, contains(notification1, notification2, notification3));
+  }
+
+  @Test
+  public void dropsNotificationsWhenFull() {
+    AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(4, tasks::add);
+
+    for (int i = 0; i < 4; ++i) {
+      assertThat(dispatcher.dispatch(new Event1(), senders), is(true));
+    }
+    assertThat(dispatcher.dispatch(new Event1(), senders), is(false));
+    assertThat(dispatcher.dispatch(new Event1(), senders), is(false));
+    assertThat(dispatcher.getDroppedCount(), is(2L));
+    assertThat(notified, is(empty()));
+
+    runTasks();
+    assertThat(notified, hasSize(4));
+    assertThat(dispatcher.dispatch(new Event1(), senders), is(true));
+  }
+
+  @Test
+  public void deliversInBatches() {
+    AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(BATCH_SIZE * 4, tasks::add);
+
+    for (int i = 0; i < BATCH_SIZE + 1; ++i) {
+      dispatcher.dispatch(new Event1(), senders);
+    }
+    assertThat(tasks, hasSize(1));
+
+    tasks.poll().run();
+    assertThat(notified, hasSize(BATCH_SIZE));
+    assertThat(tasks, hasSize(1));
+
+    runTasks();
+    assertThat(notified, hasSize(BATCH_SIZE + 1));
+  }
+
+  @Test
+  public void concurrentDispatch() throws Exception {
+    final int threads = 4;
+    final int notificationsPerThread = 10000;
+    final ExecutorService deliveryExecutor = Executors.newSingleThreadExecutor();
+    final ExecutorService firingExecutor = Executors.newFixedThreadPool(threads);
+    final CountDownLatch allNotified = new CountDownLatch(threads * notificationsPerThread);
+    final Sender[] countingSenders =
+        new Sender[] {new Sender(new ListenerSubscriptionPair(notification -> allNotified.countDown()))};
+    final AsyncNotificationDispatcher dispatcher =
+        new AsyncNotificationDispatcher(threads * notificationsPerThread, deliveryExecutor);
+
+    try {
+      for (int i = 0; i < threads; ++i) {
+        firingExecutor.execute(() -> {
+          for (int j = 0; j < notificationsPerThread; ++j) {
+            dispatcher.dispatch(new Event1(), countingSenders);
+          }
+        });
+      }
+
+      assertThat(allNotified.await(10, TimeUnit.SECONDS), is(true));
+      assertThat(dispatcher.getDroppedCount(), is(0L));
+    } finally {
+      firingExecutor.shutdownNow();
+      deliveryExecutor.shutdownNow();
+    }
+  }
+
+  private void runTasks() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      task.run();
+    }
+  }
+
+  private class RecordingListener implements ServerNotificationListener<ServerNotification> {
+
+    @Override
+    public void onNotification(ServerNotification notification) {
+      notified.add(notification);
+    }
+  }
+}
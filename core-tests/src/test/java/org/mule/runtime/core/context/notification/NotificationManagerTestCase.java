@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.context.notification;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
@@ -165,6 +166,18 @@ public class NotificationManagerTestCase extends AbstractMuleTestCase {
     assertTrue(listener2.isNotified());
   }
 
+  @Test
+  public void testDispatchTable() throws ClassNotFoundException {
+    registerDefaultEvents();
+    registerDefaultListeners();
+    Policy policy = manager.getPolicy();
+    assertEquals(1, policy.getSenders(SubSubEvent1.class).length);
+    assertSame(policy.getSenders(SubSubEvent1.class), policy.getSenders(SubSubEvent1.class));
+    assertEquals(0, policy.getSenders(Event1.class).length);
+    assertEquals(1, policy.getSenders(SubEvent2.class).length);
+    assertEquals(0, policy.getSenders(Event3.class).length);
+  }
+
   protected void assertNoListenersNotified() {
     assertFalse(listener1.isNotified());
     assertFalse(listener2.isNotified());
@@ -8,6 +8,7 @@ package org.mule.runtime.core.el.mvel;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -156,6 +157,50 @@ public class MVELExpressionExecutorTestCase extends AbstractELTestCase {
                                          });
   }
 
+  @Test
+  public void precompiledExpressionsAreNotEvicted() throws Exception {
+    final Serializable precompiledExpression = mvel.precompile(SIMPLE_EXPRESSION);
+    for (int i = 0; i < MVELExpressionExecutor.COMPILED_EXPRESSION_MAX_CACHE_SIZE * 2; i++) {
+      mvel.getCompiledExpression("'hi" + i + "'");
+    }
+    assertThat(mvel.getCompiledExpression(SIMPLE_EXPRESSION), is(sameInstance(precompiledExpression)));
+    assertThat(mvel.precompile(SIMPLE_EXPRESSION), is(sameInstance(precompiledExpression)));
+  }
+
+  @Test
+  public void precompiledExpressionsBeyondCacheSizeAreNotEvicted() throws Exception {
+    final int expressionCount = MVELExpressionExecutor.COMPILED_EXPRESSION_MAX_CACHE_SIZE * 2;
+    final Serializable[] precompiledExpressions = new Serializable[expressionCount];
+    for (int i = 0; i < expressionCount; i++) {
+      precompiledExpressions[i] = mvel.precompile("'hi" + i + "'");
+    }
+    for (int i = 0; i < expressionCount; i++) {
+      assertThat(mvel.getCompiledExpression("'hi" + i + "'"), is(sameInstance(precompiledExpressions[i])));
+    }
+  }
+
+  @Test(expected = CompileException.class)
+  public void precompileInvalidExpression() {
+    mvel.precompile("a9-#'");
+  }
+
+  @Test
+  public void doesNotKeepPrecompiledExpressions() throws Exception {
+    MuleTestUtils.testWithSystemProperty(MVELExpressionExecutor.DISABLE_MEL_EXPRESSION_CACHE, "",
+                                         new MuleTestUtils.TestCallback() {
+
+                                           @Override
+                                           public void run() throws Exception {
+                                             setupMVEL();
+
+                                             final Serializable compiledExpression1 = mvel.precompile(SIMPLE_EXPRESSION);
+                                             final Serializable compiledExpression2 =
+                                                 mvel.getCompiledExpression(SIMPLE_EXPRESSION);
+                                             assertThat(compiledExpression1, is(not(compiledExpression2)));
+                                           }
+                                         });
+  }
+
   static class MyClassClassLoader extends ClassLoader {
 
     @Override
@@ -12,6 +12,9 @@ import static org.hamcrest.Matchers.equalTo;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.junit4.rule.SystemProperty;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -149,4 +152,53 @@ public class ComponentStatisticsTestCase extends AbstractMuleTestCase {
     stats.addExecutionBranchTime(true, 100L, 100L);
     assertValues(stats, 2L, 200L, 100L, 100L, 100L);
   }
+
+  @Test
+  public void executionTimePercentiles() {
+    ComponentStatistics stats = new ComponentStatistics();
+    for (long i = 1; i <= 100; ++i) {
+      stats.addExecutionTime(i);
+    }
+    assertThat(stats.getExecutionTimeHistogram().getTotalCount(), equalTo(100L));
+    assertThat(stats.getExecutionTimeHistogram().getValueAtPercentile(50), equalTo(50L));
+    assertThat(stats.getExecutionTimeHistogram().getValueAtPercentile(99), equalTo(99L));
+    stats.clear();
+    assertThat(stats.getExecutionTimeHistogram().getTotalCount(), equalTo(0L));
+  }
+
+  @Test
+  public void branchExecutionTimePercentiles() {
+    ComponentStatistics stats = new ComponentStatistics();
+    stats.addExecutionBranchTime(true, 1L, 1L);
+    stats.addExecutionBranchTime(false, 1L, 2L);
+    assertThat(stats.getExecutionTimeHistogram().getTotalCount(), equalTo(0L));
+    stats.addCompleteExecutionTime(2L);
+    assertThat(stats.getExecutionTimeHistogram().getTotalCount(), equalTo(1L));
+    assertThat(stats.getExecutionTimeHistogram().getValueAtPercentile(100), equalTo(2L));
+  }
+
+  @Test
+  public void concurrentExecutionTimes() throws Exception {
+    final ComponentStatistics stats = new ComponentStatistics();
+    final int threadCount = 4;
+    final int eventsPerThread = 10000;
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < threadCount; ++i) {
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < eventsPerThread; ++j) {
+          stats.addExecutionTime(j % 100 + 1);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    long totalTime = threadCount * (eventsPerThread / 100) * 5050L;
+    assertValues(stats, threadCount * eventsPerThread, totalTime, totalTime / (threadCount * eventsPerThread), 100L, 1L);
+    assertThat(stats.getExecutionTimeHistogram().getTotalCount(), equalTo((long) threadCount * eventsPerThread));
+  }
 }
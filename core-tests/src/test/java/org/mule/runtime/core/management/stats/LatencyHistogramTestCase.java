@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class LatencyHistogramTestCase extends AbstractMuleTestCase {
+
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  public void empty() {
+    assertThat(histogram.getTotalCount(), equalTo(0L));
+    assertThat(histogram.getValueAtPercentile(99), equalTo(0L));
+    assertThat(histogram.getMaxValue(), equalTo(0L));
+    assertThat(histogram.getMean(), equalTo(0L));
+  }
+
+  @Test
+  public void smallValuesAreExact() {
+    for (int i = 1; i <= 50; ++i) {
+      histogram.recordValue(i);
+    }
+    assertThat(histogram.getValueAtPercentile(50), equalTo(25L));
+    assertThat(histogram.getValueAtPercentile(100), equalTo(50L));
+    assertThat(histogram.getMean(), equalTo(25L));
+  }
+
+  @Test
+  public void largeValuesWithinPrecision() {
+    for (long i = 1; i <= 100000; ++i) {
+      histogram.recordValue(i * 1000);
+    }
+    assertWithinPrecision(histogram.getValueAtPercentile(50), 50000000L);
+    assertWithinPrecision(histogram.getValueAtPercentile(99), 99000000L);
+    assertWithinPrecision(histogram.getValueAtPercentile(99.9), 99900000L);
+    assertThat(histogram.getValueAtPercentile(100), equalTo(100000000L));
+    assertThat(histogram.getMaxValue(), equalTo(100000000L));
+  }
+
+  @Test
+  public void tailIsNotHiddenByAverage() {
+    for (int i = 0; i < 990; ++i) {
+      histogram.recordValue(100);
+    }
+    for (int i = 0; i < 10; ++i) {
+      histogram.recordValue(1000000);
+    }
+    assertWithinPrecision(histogram.getValueAtPercentile(99), 100L);
+    assertWithinPrecision(histogram.getValueAtPercentile(99.9), 1000000L);
+  }
+
+  @Test
+  public void extremeValues() {
+    histogram.recordValue(-1);
+    histogram.recordValue(Long.MAX_VALUE);
+    assertThat(histogram.getValueAtPercentile(50), equalTo(0L));
+    assertThat(histogram.getValueAtPercentile(100), equalTo(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void clear() {
+    histogram.recordValue(1000);
+    histogram.clear();
+    assertThat(histogram.getTotalCount(), equalTo(0L));
+    assertThat(histogram.getValueAtPercentile(100), equalTo(0L));
+  }
+
+  @Test
+  public void add() {
+    LatencyHistogram other = new LatencyHistogram();
+    for (int i = 1; i <= 50; ++i) {
+      histogram.recordValue(i);
+      other.recordValue(i + 50);
+    }
+    histogram.add(other);
+    assertThat(histogram.getTotalCount(), equalTo(100L));
+    assertThat(histogram.getValueAtPercentile(50), equalTo(50L));
+    assertThat(histogram.getMaxValue(), equalTo(100L));
+    assertThat(other.getTotalCount(), equalTo(50L));
+  }
+
+  private void assertWithinPrecision(long value, long expected) {
+    assertThat(value, allOf(greaterThanOrEqualTo(expected), lessThanOrEqualTo(expected + expected / 32)));
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing.correlation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class EventGroupExpiryWheelTestCase extends AbstractMuleTestCase {
+
+  private static final long TICK = 100;
+  private static final int BUCKETS = 8;
+  private static final long START = 1000000;
+
+  private final EventGroupExpiryWheel wheel = new EventGroupExpiryWheel(TICK, BUCKETS);
+
+  @Test
+  public void groupsExpireInOrder() {
+    wheel.schedule("group1", START + 150);
+    wheel.schedule("group2", START + 350);
+
+    assertThat(wheel.pollExpired(START), is(empty()));
+    assertThat(wheel.pollExpired(START + 149), is(empty()));
+    assertThat(wheel.pollExpired(START + 200), contains("group1"));
+    assertThat(wheel.pollExpired(START + 300), is(empty()));
+    assertThat(wheel.pollExpired(START + 350), contains("group2"));
+    assertThat(wheel.size(), is(0));
+  }
+
+  @Test
+  public void groupExpiringAfterManyRevolutions() {
+    final long expiry = START + TICK * BUCKETS * 3 + 50;
+    wheel.schedule("group", expiry);
+
+    for (long now = START; now < expiry; now += TICK / 2) {
+      assertThat(wheel.pollExpired(now), is(empty()));
+    }
+    assertThat(wheel.pollExpired(expiry), contains("group"));
+  }
+
+  @Test
+  public void alreadyExpiredGroupIsPolledNext() {
+    wheel.pollExpired(START);
+    wheel.schedule("group", START - TICK * BUCKETS * 2);
+
+    assertThat(wheel.pollExpired(START + 1), contains("group"));
+    assertThat(wheel.size(), is(0));
+  }
+
+  @Test
+  public void groupIsScheduledOnce() {
+    assertThat(wheel.schedule("group", START), is(true));
+    assertThat(wheel.schedule("group", START + TICK), is(false));
+
+    assertThat(wheel.pollExpired(START + TICK * BUCKETS * 2), contains("group"));
+    assertThat(wheel.schedule("group", START + TICK * BUCKETS * 3), is(true));
+  }
+
+  @Test
+  public void pollAfterLongPause() {
+    wheel.schedule("group1", START + 10);
+    wheel.schedule("group2", START + TICK * 5);
+    wheel.schedule("group3", START + TICK * BUCKETS * 2);
+
+    assertThat(wheel.pollExpired(START + TICK * BUCKETS * 4), containsInAnyOrder("group1", "group2", "group3"));
+  }
+
+  @Test
+  public void clear() {
+    wheel.schedule("group", START);
+    wheel.clear();
+
+    assertThat(wheel.size(), is(0));
+    assertThat(wheel.pollExpired(START + TICK), is(empty()));
+  }
+}
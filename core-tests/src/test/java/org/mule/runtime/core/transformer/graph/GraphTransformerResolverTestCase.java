@@ -93,11 +93,52 @@ public class GraphTransformerResolverTestCase extends AbstractMuleTestCase {
     Transformer transformer1 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
     assertNotNull(transformer1);
 
+    Converter inputStreamToJson =
+        new MockConverterBuilder().named("inputStreamToJson").from(INPUT_STREAM_DATA_TYPE).to(JSON_DATA_TYPE).build();
+    graphResolver.transformerChange(inputStreamToJson, TransformerResolver.RegistryAction.ADDED);
+
+    Transformer transformer2 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
+    assertNotSame(transformer1, transformer2);
+    assertSame(inputStreamToJson, transformer2);
+  }
+
+  @Test
+  public void keepsCacheWhenAddsUnrelatedConverter() throws ResolverException {
+    Converter xmlToJson = new MockConverterBuilder().named("xmlToJson").from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
+    Converter inputStreamToXml =
+        new MockConverterBuilder().named("inputStreamToXml").from(INPUT_STREAM_DATA_TYPE).to(XML_DATA_TYPE).build();
+
+    graphResolver.transformerChange(inputStreamToXml, TransformerResolver.RegistryAction.ADDED);
+    graphResolver.transformerChange(xmlToJson, TransformerResolver.RegistryAction.ADDED);
+
+    Transformer transformer1 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
+    assertNotNull(transformer1);
+
     Converter xmlToString = new MockConverterBuilder().named("xmlToString").from(XML_DATA_TYPE).to(STRING_DATA_TYPE).build();
     graphResolver.transformerChange(xmlToString, TransformerResolver.RegistryAction.ADDED);
 
     Transformer transformer2 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
-    assertNotSame(transformer1, transformer2);
+    assertSame(transformer1, transformer2);
+  }
+
+  @Test
+  public void keepsCacheWhenRemovesUnusedConverter() throws ResolverException {
+    Converter xmlToJson = new MockConverterBuilder().named("xmlToJson").from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
+    Converter inputStreamToXml =
+        new MockConverterBuilder().named("inputStreamToXml").from(INPUT_STREAM_DATA_TYPE).to(XML_DATA_TYPE).build();
+    Converter xmlToString = new MockConverterBuilder().named("xmlToString").from(XML_DATA_TYPE).to(STRING_DATA_TYPE).build();
+
+    graphResolver.transformerChange(inputStreamToXml, TransformerResolver.RegistryAction.ADDED);
+    graphResolver.transformerChange(xmlToJson, TransformerResolver.RegistryAction.ADDED);
+    graphResolver.transformerChange(xmlToString, TransformerResolver.RegistryAction.ADDED);
+
+    Transformer transformer1 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
+    assertNotNull(transformer1);
+
+    graphResolver.transformerChange(xmlToString, TransformerResolver.RegistryAction.REMOVED);
+
+    Transformer transformer2 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
+    assertSame(transformer1, transformer2);
   }
 
   @Test
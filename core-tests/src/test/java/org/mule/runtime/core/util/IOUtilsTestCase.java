@@ -6,8 +6,12 @@
  */
 package org.mule.runtime.core.util;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.mock;
@@ -20,9 +24,13 @@ import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 
 import org.junit.Test;
 
@@ -69,4 +77,78 @@ public class IOUtilsTestCase extends AbstractMuleTestCase {
     });
   }
 
+  @Test
+  public void copyLargeToChannel() throws Exception {
+    final byte[] content = createContent(10 * 1024);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    assertThat(IOUtils.copyLarge(new ByteArrayInputStream(content), Channels.newChannel(out)), is((long) content.length));
+    assertThat(out.toByteArray(), equalTo(content));
+  }
+
+  @Test
+  public void copyLargeFromChannelToChannel() throws Exception {
+    final byte[] content = createContent(10 * 1024);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final ChannelInputStream in = new ChannelInputStream(content);
+
+    assertThat(IOUtils.copyLarge(in, Channels.newChannel(out)), is((long) content.length));
+    assertThat(out.toByteArray(), equalTo(content));
+    assertThat(in.readIntoArray, is(false));
+  }
+
+  @Test
+  public void copyLargeFromChannelReusesDirectBuffer() throws Exception {
+    final byte[] content = createContent(10 * 1024);
+    final ChannelInputStream first = new ChannelInputStream(content);
+    final ChannelInputStream second = new ChannelInputStream(content);
+
+    IOUtils.copyLarge(first, Channels.newChannel(new ByteArrayOutputStream()));
+    IOUtils.copyLarge(second, Channels.newChannel(new ByteArrayOutputStream()));
+
+    assertThat(first.buffer.isDirect(), is(true));
+    assertThat(second.buffer, is(sameInstance(first.buffer)));
+  }
+
+  private byte[] createContent(int length) {
+    final byte[] content = new byte[length];
+    for (int i = 0; i < length; ++i) {
+      content[i] = (byte) i;
+    }
+    return content;
+  }
+
+  private static class ChannelInputStream extends ByteArrayInputStream implements ReadableByteChannel {
+
+    private boolean readIntoArray = false;
+    private ByteBuffer buffer;
+
+    public ChannelInputStream(byte[] content) {
+      super(content);
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+      readIntoArray = true;
+      return super.read(b, off, len);
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) {
+      buffer = dst;
+      if (pos >= count) {
+        return -1;
+      }
+      final int length = Math.min(dst.remaining(), count - pos);
+      dst.put(buf, pos, length);
+      pos += length;
+      return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+  }
+
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+@SmallTest
+public class ImmutableCaseInsensitiveMapTestCase extends AbstractMuleTestCase {
+
+  // Both keys have the same hash
+  private static final String COLLIDING_KEY1 = "0_";
+  private static final String COLLIDING_KEY2 = "1@";
+
+  @Test
+  public void caseInsensitive() {
+    ImmutableCaseInsensitiveMap<String> map = ImmutableCaseInsensitiveMap.<String>empty().with("FOO", "bar");
+
+    assertThat(map.get("foo"), equalTo("bar"));
+    assertThat(map.containsKey("Foo"), is(true));
+    assertThat(map.keySet().iterator().next(), equalTo("FOO"));
+
+    map = map.with("foo", "baz");
+    assertThat(map.size(), is(1));
+    assertThat(map.get("FOO"), equalTo("baz"));
+    assertThat(map.keySet().iterator().next(), equalTo("FOO"));
+  }
+
+  @Test
+  public void originalNotModified() {
+    ImmutableCaseInsensitiveMap<String> original = ImmutableCaseInsensitiveMap.<String>empty().with("foo", "bar");
+    ImmutableCaseInsensitiveMap<String> derived = original.with("doo", "dar").with("foo", "baz").without("doo");
+
+    assertThat(original.size(), is(1));
+    assertThat(original.get("foo"), equalTo("bar"));
+    assertThat(derived.size(), is(1));
+    assertThat(derived.get("foo"), equalTo("baz"));
+  }
+
+  @Test
+  public void unchangedMapIsReused() {
+    ImmutableCaseInsensitiveMap<String> map = ImmutableCaseInsensitiveMap.<String>empty().with("foo", "bar");
+
+    assertThat(map.with("FOO", "bar"), sameInstance(map));
+    assertThat(map.without("doo"), sameInstance(map));
+    assertThat(map.without("Foo"), sameInstance(ImmutableCaseInsensitiveMap.empty()));
+  }
+
+  @Test
+  public void collidingKeys() {
+    ImmutableCaseInsensitiveMap<String> map = ImmutableCaseInsensitiveMap.<String>empty()
+        .with(COLLIDING_KEY1, "value1").with(COLLIDING_KEY2, "value2").with("other", "value3");
+
+    assertThat(map.size(), is(3));
+    assertThat(map.get(COLLIDING_KEY1), equalTo("value1"));
+    assertThat(map.get(COLLIDING_KEY2), equalTo("value2"));
+
+    map = map.without(COLLIDING_KEY1);
+    assertThat(map.size(), is(2));
+    assertThat(map.get(COLLIDING_KEY1), nullValue());
+    assertThat(map.get(COLLIDING_KEY2), equalTo("value2"));
+    assertThat(map.get("other"), equalTo("value3"));
+  }
+
+  @Test
+  public void sameContentsAsHashMap() {
+    final Random random = new Random(1);
+    final Map<String, Integer> expected = new HashMap<>();
+    ImmutableCaseInsensitiveMap<Integer> map = ImmutableCaseInsensitiveMap.empty();
+
+    for (int i = 0; i < 20000; ++i) {
+      final String key = "key" + random.nextInt(2000);
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        map = map.without(key.toUpperCase());
+      } else {
+        expected.put(key, i);
+        map = map.with(key, i);
+      }
+    }
+
+    assertThat(map.size(), is(expected.size()));
+    assertThat(map, equalTo(expected));
+    for (String key : expected.keySet()) {
+      assertThat(map.get(key.toUpperCase()), equalTo(expected.get(key)));
+    }
+  }
+
+  @Test
+  public void serialization() {
+    ImmutableCaseInsensitiveMap<String> map = ImmutableCaseInsensitiveMap.<String>empty().with("FOO", "bar").with("doo", "dar");
+
+    ImmutableCaseInsensitiveMap<String> deserialized =
+        (ImmutableCaseInsensitiveMap<String>) SerializationUtils.deserialize(SerializationUtils.serialize(map));
+
+    assertThat(deserialized, equalTo(map));
+    assertThat(deserialized.get("foo"), equalTo("bar"));
+    assertThat(deserialized.with("DOO", "baz").size(), is(2));
+  }
+}
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.util.journal.queue;
 
 import static java.lang.Math.abs;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.core.Is.is;
@@ -24,8 +25,12 @@ import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import com.google.common.collect.Multimap;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -228,6 +233,67 @@ public class LocalTxQueueTransactionJournalTestCase extends AbstractMuleContextT
     }
   }
 
+  @Test
+  public void groupCommitEntryWrittenBeforeReturning() throws Exception {
+    LocalTxQueueTransactionJournal transactionJournal =
+        new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext, null, 64, 1000);
+    transactionJournal.logAdd(TX_ID, mockQueueInfo, testEvent());
+    assertThat(getFirstLogFile().length(), greaterThan(0l));
+
+    LocalTxQueueTransactionJournal recoveredJournal =
+        new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext);
+    assertThat(recoveredJournal.getAllLogEntries().get(TX_ID).size(), is(1));
+    recoveredJournal.close();
+    transactionJournal.close();
+  }
+
+  @Test
+  public void groupCommitConcurrentTransactions() throws Exception {
+    final int committers = 16;
+    final int txPerCommitter = 50;
+    final LocalTxQueueTransactionJournal transactionJournal =
+        new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext, null, 8, 1000);
+
+    final ExecutorService executor = newFixedThreadPool(committers);
+    try {
+      final List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < committers; i++) {
+        final int committer = i;
+        results.add(executor.submit(() -> {
+          for (int j = 0; j < txPerCommitter; j++) {
+            int txId = committer * txPerCommitter + j;
+            transactionJournal.logAdd(txId, mockQueueInfo, "data");
+            // only even transactions are resolved
+            if (txId % 2 == 0) {
+              transactionJournal.logCommit(txId);
+            }
+          }
+        }));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    transactionJournal.close();
+
+    LocalTxQueueTransactionJournal recoveredJournal =
+        new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext);
+    Multimap<Integer, LocalQueueTxJournalEntry> allEntries = recoveredJournal.getAllLogEntries();
+    assertThat(allEntries.size(), is(committers * txPerCommitter / 2));
+    for (Integer txId : allEntries.keySet()) {
+      assertThat(txId % 2, is(1));
+    }
+    recoveredJournal.close();
+  }
+
+  @Test
+  public void groupCommitMaxBatchSizeNotNegative() throws Exception {
+    expectedException.expect(IllegalArgumentException.class);
+    new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext, null, -1, 1000);
+  }
+
   private void assertLogFileIsWithinBoundaries(File file) {
     assertThat(file.length(), lessThan(MAXIMUM_FILE_SIZE_EXPECTED));
   }
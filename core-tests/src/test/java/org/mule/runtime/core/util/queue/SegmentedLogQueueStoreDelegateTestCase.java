@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.MuleTestUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class SegmentedLogQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final int SEGMENT_SIZE = 200;
+  private static final int NUMBER_OF_MESSAGES = 50;
+  public static final String TEST_QUEUE_NAME = "test-queue";
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  private MuleContext mockMuleContext;
+
+  @Before
+  public void before() {
+    mockMuleContext = mock(MuleContext.class);
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(mockMuleContext);
+  }
+
+  @Test
+  public void nameWithInvalidCharacters() {
+    String[] testNames = new String[] {"test-test", "test:/test", "test?test", "test:\\test", "test:/test", "test&test",
+        "test|test", "seda.queue(post:\\Customer:ApiTest-config.1)"};
+
+    for (String testName : testNames) {
+      new SegmentedLogQueueStoreDelegate(testName, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext, 1).dispose();
+    }
+  }
+
+  @Test
+  public void readMessagesInOrderAcrossSegments() throws Exception {
+    MuleTestUtils.testWithSystemProperty(SegmentedLogQueueStoreDelegate.SEGMENT_SIZE_PROPERTY_KEY, String.valueOf(SEGMENT_SIZE),
+                                         () -> {
+                                           SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+                                           for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+                                             queueStore.putNow(createTestDataForIndex(i));
+                                           }
+                                           assertThat(segmentFiles().length > 1, is(true));
+
+                                           for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+                                             assertThat(queueStore.poll(0), is(createTestDataForIndex(i)));
+                                           }
+                                           assertThat(queueStore.poll(0), is(nullValue()));
+                                           queueStore.dispose();
+                                         });
+  }
+
+  @Test
+  public void recoverMessagesInOrder() throws Exception {
+    MuleTestUtils.testWithSystemProperty(SegmentedLogQueueStoreDelegate.SEGMENT_SIZE_PROPERTY_KEY, String.valueOf(SEGMENT_SIZE),
+                                         () -> {
+                                           SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+                                           for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+                                             queueStore.putNow(createTestDataForIndex(i));
+                                           }
+                                           queueStore.poll(0);
+                                           queueStore.poll(0);
+                                           queueStore.untake(createTestDataForIndex(1));
+                                           queueStore.remove(createTestDataForIndex(2));
+                                           queueStore.close();
+
+                                           queueStore = createTestQueueStore();
+                                           assertThat(queueStore.getSize(), is(NUMBER_OF_MESSAGES - 2));
+                                           assertThat(queueStore.contains(createTestDataForIndex(2)), is(false));
+                                           assertThat(queueStore.poll(0), is(createTestDataForIndex(1)));
+                                           for (int i = 3; i < NUMBER_OF_MESSAGES; i++) {
+                                             assertThat(queueStore.poll(0), is(createTestDataForIndex(i)));
+                                           }
+                                           queueStore.dispose();
+                                         });
+  }
+
+  @Test
+  public void consumedSegmentsAreDeleted() throws Exception {
+    MuleTestUtils.testWithSystemProperty(SegmentedLogQueueStoreDelegate.SEGMENT_SIZE_PROPERTY_KEY, String.valueOf(SEGMENT_SIZE),
+                                         () -> {
+                                           SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+                                           for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+                                             queueStore.putNow(createTestDataForIndex(i));
+                                           }
+                                           for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+                                             queueStore.poll(0);
+                                           }
+
+                                           // Only the segment being written is kept
+                                           new PollingProber(1000, 10)
+                                               .check(new JUnitLambdaProbe(() -> segmentFiles().length == 1));
+                                           queueStore.dispose();
+                                         });
+  }
+
+  @Test
+  public void consumedRecordsInOlderSegmentsAreSynced() throws Exception {
+    MuleTestUtils.testWithSystemProperty(SegmentedLogQueueStoreDelegate.SEGMENT_SIZE_PROPERTY_KEY, String.valueOf(SEGMENT_SIZE),
+                                         () -> {
+                                           SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+                                           for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+                                             queueStore.putNow(createTestDataForIndex(i));
+                                           }
+                                           // Flags records of the first segment, which is no longer written, as consumed
+                                           queueStore.poll(0);
+                                           queueStore.poll(0);
+
+                                           new PollingProber(1000, 10)
+                                               .check(new JUnitLambdaProbe(() -> !queueStore.hasUnsyncedChanges()));
+                                           queueStore.dispose();
+                                         });
+  }
+
+  @Test
+  public void allFilesDeletedAfterDispose() {
+    SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.putNow("item");
+
+    assertThat(segmentFiles().length, is(1));
+
+    queueStore.dispose();
+    assertThat(getSegmentsDirectory().exists(), is(false));
+  }
+
+  private File getSegmentsDirectory() {
+    return new File(workingDirectory.getRoot().getAbsolutePath() + "/queuestore/" + TEST_QUEUE_NAME + "-log");
+  }
+
+  private File[] segmentFiles() {
+    return getSegmentsDirectory().listFiles();
+  }
+
+  private String createTestDataForIndex(int numberOfMesagesCreated) {
+    return "some value " + numberOfMesagesCreated;
+  }
+
+  private SegmentedLogQueueStoreDelegate createTestQueueStore() {
+    return new SegmentedLogQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext, 0);
+  }
+
+}
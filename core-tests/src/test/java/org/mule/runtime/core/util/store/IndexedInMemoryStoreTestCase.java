@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndexedInMemoryStoreTestCase extends AbstractMuleTestCase {
+
+  private IndexedInMemoryObjectStore<String> store;
+
+  @Before
+  public void createStore() {
+    // no scheduler is started since the store is not initialised, so expiry only happens when the tests ask for it
+    store = new IndexedInMemoryObjectStore<>();
+    store.setEntryTTL(-1);
+  }
+
+  @Test
+  public void storeAndRetrieve() throws Exception {
+    store.store("key", "hello");
+    assertObjectsInStore("key");
+    assertEquals("hello", store.retrieve("key"));
+
+    assertEquals("hello", store.remove("key"));
+    assertObjectsExpired("key");
+
+    // the key can be reused once removed
+    store.store("key", "bye");
+    assertEquals("bye", store.retrieve("key"));
+  }
+
+  @Test
+  public void expiringUnboundedStore() throws Exception {
+    store.setMaxEntries(-1);
+    storeObjects("1", "2", "3");
+
+    store.expire();
+
+    assertObjectsInStore("1", "2", "3");
+  }
+
+  @Test
+  public void maxSize() throws Exception {
+    store.setMaxEntries(3);
+    storeObjects("1", "2", "3", "4");
+
+    // the oldest entry should still be there, not yet expired
+    assertTrue(store.contains("1"));
+
+    store.expire();
+    assertObjectsExpired("1");
+    assertObjectsInStore("2", "3", "4");
+
+    // exceed multiple times
+    storeObjects("5", "6", "7", "8");
+    store.expire();
+    assertObjectsInStore("6", "7", "8");
+    assertObjectsExpired("2", "3", "4", "5");
+  }
+
+  @Test
+  public void maxSizeDoesNotCountRemovedEntries() throws Exception {
+    store.setMaxEntries(3);
+    storeObjects("1", "2", "3");
+    store.remove("1");
+    storeObjects("4");
+
+    store.expire();
+    assertObjectsInStore("2", "3", "4");
+  }
+
+  @Test
+  public void timedExpiry() throws Exception {
+    store.setMaxEntries(-1);
+    store.setEntryTTL(500);
+    storeObjects("1");
+    Thread.sleep(600);
+    storeObjects("2");
+
+    store.expire();
+
+    assertObjectsExpired("1");
+    assertObjectsInStore("2");
+  }
+
+  @Test
+  public void removeManyEntries() throws Exception {
+    store.setMaxEntries(-1);
+    for (int i = 0; i < 5000; i++) {
+      store.store(String.valueOf(i), "value");
+      store.remove(String.valueOf(i));
+    }
+    storeObjects("last");
+
+    store.expire();
+    assertObjectsInStore("last");
+    assertObjectsExpired("0", "4999");
+  }
+
+  private void storeObjects(String... objects) throws Exception {
+    for (String entry : objects) {
+      store.store(entry, entry);
+    }
+  }
+
+  private void assertObjectsInStore(String... identifiers) throws Exception {
+    for (String id : identifiers) {
+      String message = "id " + id + " not in store " + store;
+      assertTrue(message, store.contains(id));
+    }
+  }
+
+  private void assertObjectsExpired(String... identifiers) throws Exception {
+    for (String id : identifiers) {
+      assertFalse(store.contains(id));
+    }
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.store.ObjectStoreManager.UNBOUNDED;
+import static org.mule.runtime.core.util.store.LogStructuredObjectStorePartition.SEGMENT_SIZE_PROPERTY;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final int ENTRIES = 2000;
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty segmentSize = new SystemProperty(SEGMENT_SIZE_PROPERTY, "16384");
+
+  @Mock
+  private MuleContext muleContext;
+
+  @Mock
+  private MuleConfiguration muleConfiguration;
+
+  private LogStructuredObjectStorePartition<String> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
+    when(muleConfiguration.getWorkingDirectory()).thenReturn(objectStoreFolder.getRoot().getParentFile().getPath());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot());
+    partition.open();
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws Exception {
+    partition.store("key", "value");
+    assertTrue(partition.contains("key"));
+    assertEquals("value", partition.retrieve("key"));
+
+    assertEquals("value", partition.remove("key"));
+    assertFalse(partition.contains("key"));
+
+    partition.store("key", "otherValue");
+    assertEquals("otherValue", partition.retrieve("key"));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws Exception {
+    partition.store("key", "value");
+    partition.store("key", "value");
+  }
+
+  @Test
+  public void indicatesUnexistentKeyOnRetrieveError() throws ObjectStoreException {
+    final String nonExistentKey = "nonExistentKey";
+
+    try {
+      partition.retrieve(nonExistentKey);
+      fail("Supposed to thrown an exception as key is not valid");
+    } catch (ObjectDoesNotExistException e) {
+      assertTrue(e.getMessage().contains(nonExistentKey));
+    }
+  }
+
+  @Test
+  public void reopenFromIndexFile() throws Exception {
+    storeAndRemoveHalf();
+    partition.close();
+
+    assertReopenedEntries();
+  }
+
+  @Test
+  public void reopenFromDataSegments() throws Exception {
+    // the partition is not closed, so there is no index file to load
+    storeAndRemoveHalf();
+
+    assertReopenedEntries();
+  }
+
+  @Test
+  public void reopenFromIndexFileAndDataSegments() throws Exception {
+    storeAndRemoveHalf();
+    partition.close();
+    partition.store("afterClose", "value");
+    partition.remove("key1");
+
+    LogStructuredObjectStorePartition<String> reopened =
+        new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    assertEquals(ENTRIES / 2, reopened.allKeys().size());
+    assertEquals("value", reopened.retrieve("afterClose"));
+    assertFalse(reopened.contains("key1"));
+  }
+
+  @Test
+  public void compactDeletesSegmentsWithRemovedEntries() throws Exception {
+    storeAndRemoveHalf();
+    int segmentsBefore = countSegments();
+
+    partition.compact();
+
+    assertThat(countSegments(), lessThan(segmentsBefore));
+    for (int i = 0; i < ENTRIES; i++) {
+      assertEquals(i % 2 == 1, partition.contains("key" + i));
+    }
+    assertEquals("value3", partition.retrieve("key3"));
+
+    assertReopenedEntries();
+  }
+
+  @Test
+  public void removedEntriesStayRemovedAfterCompactionWithoutIndexFile() throws Exception {
+    for (int i = 0; i < ENTRIES; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+    for (int i = 0; i < ENTRIES; i++) {
+      partition.store("filler" + i, "value" + i);
+    }
+    // the tombstones of these keys end up in segments that are compacted, while their entries are in segments that are kept
+    for (int i = 0; i < ENTRIES; i += 10) {
+      partition.remove("key" + i);
+    }
+    for (int i = 0; i < ENTRIES; i++) {
+      partition.remove("filler" + i);
+    }
+    int segmentsBefore = countSegments();
+
+    partition.compact();
+    partition.close();
+    assertThat(countSegments(), lessThan(segmentsBefore));
+    assertTrue(new File(objectStoreFolder.getRoot(), "index").delete());
+
+    LogStructuredObjectStorePartition<String> reopened =
+        new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    for (int i = 0; i < ENTRIES; i++) {
+      assertEquals(i % 10 != 0, reopened.contains("key" + i));
+      assertFalse(reopened.contains("filler" + i));
+    }
+  }
+
+  @Test
+  public void expireExceedingEntries() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+
+    partition.expire(UNBOUNDED, 4);
+
+    assertEquals(4, partition.allKeys().size());
+    assertTrue(partition.contains("key9"));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    partition.store("key", "value");
+    partition.clear();
+    assertFalse(partition.contains("key"));
+
+    partition.store("key", "value");
+    partition.close();
+    assertEquals("value", new LogStructuredObjectStorePartition<String>(muleContext, objectStoreFolder.getRoot()).retrieve("key"));
+  }
+
+  private void storeAndRemoveHalf() throws ObjectStoreException {
+    for (int i = 0; i < ENTRIES; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+    for (int i = 0; i < ENTRIES; i += 2) {
+      partition.remove("key" + i);
+    }
+  }
+
+  private void assertReopenedEntries() throws ObjectStoreException {
+    LogStructuredObjectStorePartition<String> reopened =
+        new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    assertEquals("test", reopened.getPartitionName());
+    assertEquals(ENTRIES / 2, reopened.allKeys().size());
+    for (int i = 1; i < ENTRIES; i += 2) {
+      assertEquals("value" + i, reopened.retrieve("key" + i));
+    }
+  }
+
+  private int countSegments() {
+    return objectStoreFolder.getRoot().listFiles((File file) -> file.getName().endsWith(".data")).length;
+  }
+}
@@ -30,4 +30,17 @@ public interface Scheduler extends ScheduledExecutorService {
    * @param unit the time unit of the {@code timeout} argument
    */
   void stop(long gracefulShutdownTimeout, TimeUnit unit);
+
+  /**
+   * The maximum number of dispatched tasks that may be waiting for a thread of the underlying {@link ExecutorService}. Once
+   * reached, further dispatched tasks are subject to the rejection policy of the underlying {@link ExecutorService}.
+   * <p>
+   * Dispatchers of tasks may use this value to bound what they buffer. Since the underlying {@link ExecutorService} may be
+   * shared, this is not the room currently left in its queue.
+   * 
+   * @return the capacity of the queue of the underlying {@link ExecutorService}, or {@link Integer#MAX_VALUE} if it is unbounded.
+   */
+  default int getQueueCapacity() {
+    return Integer.MAX_VALUE;
+  }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+
+/**
+ * Delivers asynchronous notifications to their listeners in batches, from a single task at a time.
+ * <p>
+ * Notifications are kept in a bounded ring buffer until they are delivered. Enqueuing a notification never blocks the thread
+ * that fires it: if the buffer is full because listeners are too slow, the notification is dropped. Notifications are delivered
+ * in the order they were fired.
+ *
+ * @since 4.0
+ */
+class AsyncNotificationDispatcher {
+
+  private static final Logger logger = getLogger(AsyncNotificationDispatcher.class);
+
+  /**
+   * Maximum number of notifications delivered by a task before it gives its thread back to the executor.
+   */
+  static final int BATCH_SIZE = 256;
+
+  private static final NotifierCallback NOTIFIER = (listener, notification) -> listener.onNotification(notification);
+
+  private final RingBuffer buffer;
+  private final Executor executor;
+  private final AtomicBoolean draining = new AtomicBoolean(false);
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * @param capacity the maximum number of notifications waiting to be delivered. It is rounded up to a power of two.
+   * @param executor the executor where notifications are delivered.
+   */
+  AsyncNotificationDispatcher(int capacity, Executor executor) {
+    this.buffer = new RingBuffer(capacity);
+    this.executor = executor;
+  }
+
+  /**
+   * Enqueues a notification to be delivered to the listeners of the given senders.
+   *
+   * @param notification the notification to deliver.
+   * @param senders the senders of the listeners that receive the notification.
+   * @return {@code false} if the notification was dropped because the buffer is full, {@code true} otherwise.
+   */
+  boolean dispatch(ServerNotification notification, Sender[] senders) {
+    if (!buffer.offer(new PendingNotification(notification, senders))) {
+      final long droppedCount = dropped.incrementAndGet();
+      if (droppedCount == 1 || droppedCount % 1000 == 0) {
+        logger.warn("Notification listeners are not keeping up, " + droppedCount + " notifications were dropped so far. "
+            + "Last one was: " + notification);
+      }
+      return false;
+    }
+    scheduleDrain();
+    return true;
+  }
+
+  /**
+   * @return the number of notifications dropped because the buffer was full.
+   */
+  long getDroppedCount() {
+    return dropped.get();
+  }
+
+  private void scheduleDrain() {
+    if (draining.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        // The executor is being stopped, the pending notifications will not be delivered
+        draining.set(false);
+      }
+    }
+  }
+
+  private void drain() {
+    try {
+      PendingNotification pending;
+      for (int delivered = 0; delivered < BATCH_SIZE && (pending = buffer.poll()) != null; ++delivered) {
+        for (Sender sender : pending.senders) {
+          sender.dispatch(pending.notification, NOTIFIER);
+        }
+      }
+    } finally {
+      draining.set(false);
+    }
+    // Notifications enqueued while the previous batch was being delivered
+    if (!buffer.isEmpty()) {
+      scheduleDrain();
+    }
+  }
+
+  private static final class PendingNotification {
+
+    private final ServerNotification notification;
+    private final Sender[] senders;
+
+    private PendingNotification(ServerNotification notification, Sender[] senders) {
+      this.notification = notification;
+      this.senders = senders;
+    }
+  }
+
+  /**
+   * Bounded array based queue for many producers and a single consumer at a time. Each slot has a sequence number that tells
+   * whether it can be written or read on the current lap, so producers only contend on the index of the next slot to write.
+   */
+  static final class RingBuffer {
+
+    private final int mask;
+    private final Object[] items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong writeIndex = new AtomicLong();
+    private volatile long readIndex;
+
+    RingBuffer(int capacity) {
+      final int size = max(2, highestOneBit(max(1, capacity - 1)) << 1);
+      this.mask = size - 1;
+      this.items = new Object[size];
+      this.sequences = new AtomicLongArray(size);
+      for (int i = 0; i < size; ++i) {
+        sequences.set(i, i);
+      }
+    }
+
+    boolean offer(Object item) {
+      long index = writeIndex.get();
+      while (true) {
+        final int slot = (int) (index & mask);
+        final long diff = sequences.get(slot) - index;
+        if (diff == 0) {
+          if (writeIndex.compareAndSet(index, index + 1)) {
+            items[slot] = item;
+            // publishes the item to the consumer
+            sequences.set(slot, index + 1);
+            return true;
+          }
+          index = writeIndex.get();
+        } else if (diff < 0) {
+          // the slot was not read yet on the previous lap
+          return false;
+        } else {
+          index = writeIndex.get();
+        }
+      }
+    }
+
+    /**
+     * Must not be called concurrently.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T poll() {
+      final long index = readIndex;
+      final int slot = (int) (index & mask);
+      if (sequences.get(slot) != index + 1) {
+        return null;
+      }
+      final T item = (T) items[slot];
+      items[slot] = null;
+      readIndex = index + 1;
+      // makes the slot available to producers on the next lap
+      sequences.set(slot, index + mask + 1);
+      return item;
+    }
+
+    boolean isEmpty() {
+      final long index = readIndex;
+      return sequences.get((int) (index & mask)) != index + 1;
+    }
+
+    int capacity() {
+      return items.length;
+    }
+  }
+}
@@ -13,7 +13,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -33,6 +35,12 @@ class Policy {
   private ConcurrentMap knownEventsExact = new ConcurrentHashMap();
   private ConcurrentMap knownEventsSuper = new ConcurrentHashMap();
 
+  private static final Sender[] NO_SENDERS = new Sender[0];
+
+  // map from notification class to the senders of the listeners of that class or any of its superclasses. Entries are never
+  // modified, so dispatching a notification of a known class does not need to check the subclass relationships again.
+  private final ConcurrentMap<Class<? extends ServerNotification>, Sender[]> dispatchTable = new ConcurrentHashMap<>();
+
   /**
    * For each listener, we check each interface and see what events can be delivered.
    */
@@ -61,6 +69,23 @@ class Policy {
         }
       }
     }
+
+    for (Class<? extends ServerNotification> event : eventToSenders.keySet()) {
+      dispatchTable.put(event, resolveSenders(event));
+    }
+  }
+
+  /**
+   * @return the senders of the listeners of the given notification class or any of its superclasses.
+   */
+  private Sender[] resolveSenders(Class<? extends ServerNotification> notfnClass) {
+    List<Sender> senders = new ArrayList<>();
+    for (Entry<Class<? extends ServerNotification>, Collection<Sender>> entry : eventToSenders.entrySet()) {
+      if (entry.getKey().isAssignableFrom(notfnClass)) {
+        senders.addAll(entry.getValue());
+      }
+    }
+    return senders.isEmpty() ? NO_SENDERS : senders.toArray(new Sender[senders.size()]);
   }
 
   protected static boolean notASubclassOfAnyClassInSet(Set set, Class clazz) {
@@ -85,33 +110,21 @@ class Policy {
 
   void dispatch(ServerNotification notification, NotifierCallback notifier) {
     if (null != notification) {
-      Class notfnClass = notification.getClass();
-      // search if we don't know about this event, or if we do know it is used
-      if (!knownEventsExact.containsKey(notfnClass)) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-      } else if (((Boolean) knownEventsExact.get(notfnClass)).booleanValue()) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        // reduce contention on the map by not writing the same value over and over again.
-        if (!found) {
-          knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-        }
+      for (Sender sender : getSenders(notification.getClass())) {
+        sender.dispatch(notification, notifier);
       }
     }
   }
 
-  protected boolean doDispatch(ServerNotification notification, Class<? extends ServerNotification> notfnClass,
-                               NotifierCallback notifier) {
-    boolean found = false;
-    for (Class<? extends ServerNotification> event : eventToSenders.keySet()) {
-      if (event.isAssignableFrom(notfnClass)) {
-        found = true;
-        for (Sender sender : eventToSenders.get(event)) {
-          sender.dispatch(notification, notifier);
-        }
-      }
+  /**
+   * @return the senders a notification of the given class is dispatched to, in the order they have to be notified.
+   */
+  Sender[] getSenders(Class<? extends ServerNotification> notfnClass) {
+    Sender[] senders = dispatchTable.get(notfnClass);
+    if (senders == null) {
+      senders = dispatchTable.computeIfAbsent(notfnClass, this::resolveSenders);
     }
-    return found;
+    return senders;
   }
 
   /**
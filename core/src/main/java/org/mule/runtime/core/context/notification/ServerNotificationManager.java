@@ -6,9 +6,11 @@
  */
 package org.mule.runtime.core.context.notification;
 
+import static java.lang.Integer.getInteger;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.lifecycle.Disposable;
@@ -57,11 +59,20 @@ import org.slf4j.Logger;
  * <li>Disabling an event or interface disables all uses of that class or any subclass.</li>
  * <li>Enquiring whether an event is enabled returns true if any subclass is enabled.</li>
  * </ul>
+ *
+ * <p>
+ * Asynchronous notifications are submitted to a scheduler for each listener by default. When an async buffer size is set, either
+ * with {@link #setAsyncBufferSize(int)} or the {@value #ASYNC_BUFFER_SIZE_PROPERTY} system property, they are instead enqueued in
+ * a bounded buffer and delivered in batches. Notifications fired while the buffer is full are dropped, so slow listeners never
+ * stall the threads that fire them.
+ * </p>
  */
 public class ServerNotificationManager implements Initialisable, Disposable, ServerNotificationHandler, MuleContextAware {
 
   private static final Logger logger = getLogger(ServerNotificationManager.class);
 
+  public static final String ASYNC_BUFFER_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.asyncBufferSize";
+
   private boolean dynamic = false;
   private Configuration configuration = new Configuration();
   private ReentrantReadWriteLock disposeLock = new ReentrantReadWriteLock();
@@ -69,6 +80,8 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
   private MuleContext muleContext;
   private Scheduler notificationsLiteScheduler;
   private Scheduler notificationsIoScheduler;
+  private int asyncBufferSize = getInteger(ASYNC_BUFFER_SIZE_PROPERTY, 0);
+  private AsyncNotificationDispatcher asyncDispatcher;
 
   @Override
   public boolean isNotificationDynamic() {
@@ -84,10 +97,24 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
     this.dynamic = dynamic;
   }
 
+  /**
+   * Sets the maximum number of asynchronous notifications waiting to be delivered when they are delivered in batches. Must be
+   * called before this manager is initialised.
+   *
+   * @param asyncBufferSize the size of the buffer, or zero to deliver each notification to each listener in its own task.
+   */
+  public void setAsyncBufferSize(int asyncBufferSize) {
+    this.asyncBufferSize = asyncBufferSize;
+  }
+
   @Override
   public void initialise() throws InitialisationException {
     notificationsLiteScheduler = muleContext.getSchedulerService().cpuLightScheduler();
     notificationsIoScheduler = muleContext.getSchedulerService().ioScheduler();
+    if (asyncBufferSize > 0) {
+      // listeners may block, so batches are delivered in io threads
+      asyncDispatcher = new AsyncNotificationDispatcher(asyncBufferSize, notificationsIoScheduler);
+    }
   }
 
   public void addInterfaceToType(Class<? extends ServerNotificationListener> iface, Class<? extends ServerNotification> event) {
@@ -153,6 +180,11 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
       notification.setMuleContext(muleContext);
       if (notification instanceof SynchronousServerEvent) {
         notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
+      } else if (asyncDispatcher != null) {
+        Sender[] senders = configuration.getPolicy().getSenders(notification.getClass());
+        if (senders.length > 0) {
+          asyncDispatcher.dispatch(notification, senders);
+        }
       } else {
         notifyListeners(notification, (listener, nfn) -> {
           if (listener.isBlocking()) {
@@ -200,6 +232,7 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
 
       disposed.set(true);
       configuration = null;
+      asyncDispatcher = null;
     } finally {
       disposeLock.writeLock().unlock();
     }
@@ -24,6 +24,8 @@ import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +47,13 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
 
   protected LoadingCache<String, Serializable> compiledExpressionsCache;
 
+  /**
+   * Expressions compiled ahead of time, when the application is deployed. These are never evicted, so the expressions of the
+   * application do not compete with dynamically built ones for a place in {@link #compiledExpressionsCache}. Each application has
+   * its own executor and only the expressions in its configuration are precompiled, so the size of this map is bounded by it.
+   */
+  protected final Map<String, Serializable> precompiledExpressions = new ConcurrentHashMap<>();
+
   public MVELExpressionExecutor(final ParserConfiguration parserConfiguration) {
     this.parserConfiguration = parserConfiguration;
 
@@ -83,6 +92,25 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
     getCompiledExpression(expression);
   }
 
+  /**
+   * Compiles an expression and keeps the compilation output for the lifetime of this executor, regardless of the size of the
+   * compiled expressions cache. Nothing is kept if the compiled expressions cache was disabled.
+   *
+   * @param expression Expression to be compiled
+   * @return A {@link Serializable} object representing the compiled expression
+   * @throws org.mule.mvel2.CompileException if the expression is not valid
+   */
+  public Serializable precompile(final String expression) {
+    Serializable compiledExpression = precompiledExpressions.get(expression);
+    if (compiledExpression == null) {
+      compiledExpression = MVEL.compileExpression(expression, new ParserContext(parserConfiguration));
+      if (getCompiledExpressionMaxCacheSize() > 0) {
+        precompiledExpressions.putIfAbsent(expression, compiledExpression);
+      }
+    }
+    return compiledExpression;
+  }
+
   /**
    * Compile an expression. If such expression was compiled before then return the compilation output from a cache.
    * 
@@ -90,6 +118,10 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
    * @return A {@link Serializable} object representing the compiled expression
    */
   public Serializable getCompiledExpression(final String expression) {
+    final Serializable precompiledExpression = precompiledExpressions.get(expression);
+    if (precompiledExpression != null) {
+      return precompiledExpression;
+    }
     try {
       return compiledExpressionsCache.getUnchecked(expression);
     } catch (UncheckedExecutionException e) {
@@ -224,6 +224,27 @@ public class MVELExpressionLanguage implements ExtendedExpressionLanguage, Initi
     return success();
   }
 
+  /**
+   * Compiles the given expression ahead of its first evaluation, so evaluating it does not need to parse it again even when
+   * many other expressions are evaluated in between.
+   *
+   * @param expression the expression to compile, with or without the expression marker.
+   * @return the result of compiling the expression.
+   */
+  public ValidationResult precompile(String expression) {
+    if (expression.startsWith(DEFAULT_EXPRESSION_PREFIX) && !expression.endsWith(DEFAULT_EXPRESSION_POSTFIX)) {
+      return failure("Expression string is not an expression", expression);
+    }
+    expression = removeExpressionMarker(expression);
+
+    try {
+      expressionExecutor.precompile(expression);
+    } catch (CompileException e) {
+      return failure(e.getMessage(), expression);
+    }
+    return success();
+  }
+
   protected MVELExpressionLanguageContext createExpressionLanguageContext() {
     return new MVELExpressionLanguageContext(parserConfiguration, muleContext);
   }
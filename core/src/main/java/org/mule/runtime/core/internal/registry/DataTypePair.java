@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.registry;
+
+import org.mule.runtime.api.metadata.DataType;
+
+/**
+ * Key of the caches of resolved transformers, made of the source and result data types of a transformation.
+ * <p>
+ * The hash code is computed once, so looking up a cache does not build any string nor hash the data types again.
+ *
+ * @since 4.0
+ */
+public final class DataTypePair {
+
+  private final DataType source;
+  private final DataType result;
+  private final int hash;
+
+  public DataTypePair(DataType source, DataType result) {
+    this.source = source;
+    this.result = result;
+    this.hash = 31 * source.hashCode() + result.hashCode();
+  }
+
+  public DataType getSource() {
+    return source;
+  }
+
+  public DataType getResult() {
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DataTypePair)) {
+      return false;
+    }
+    DataTypePair other = (DataTypePair) obj;
+    return hash == other.hash && (source == other.source || source.equals(other.source))
+        && (result == other.result || result.equals(other.result));
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return source + " -> " + result;
+  }
+}
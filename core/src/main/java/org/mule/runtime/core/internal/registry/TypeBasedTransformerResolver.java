@@ -32,6 +32,7 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
@@ -54,7 +55,7 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
 
   private MuleContext muleContext;
 
-  protected Map<String, Transformer> exactTransformerCache = new ConcurrentHashMap/* <String, Transformer> */(8);
+  protected Map<DataTypePair, Transformer> exactTransformerCache = new ConcurrentHashMap<>(8);
 
   protected TransformerResolver graphTransformerResolver = new GraphTransformerResolver();
 
@@ -80,7 +81,8 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
 
   @Override
   public Transformer resolve(DataType source, DataType result) throws ResolverException {
-    Transformer transformer = exactTransformerCache.get(source.toString() + result.toString());
+    DataTypePair cacheKey = new DataTypePair(source, result);
+    Transformer transformer = exactTransformerCache.get(cacheKey);
     if (transformer != null) {
       return transformer;
     }
@@ -124,7 +126,7 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
     }
 
     if (transformer != null) {
-      exactTransformerCache.put(source.toString() + result.toString(), transformer);
+      exactTransformerCache.put(cacheKey, transformer);
     }
     return transformer;
   }
@@ -179,7 +181,28 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
   public void transformerChange(Transformer transformer, RegistryAction registryAction) {
     if (transformer instanceof Converter) {
       graphTransformerResolver.transformerChange(transformer, registryAction);
+
+      if (registryAction == RegistryAction.ADDED) {
+        evictResolvableWith((Converter) transformer);
+      } else {
+        exactTransformerCache.clear();
+      }
+    }
+  }
+
+  /**
+   * A new converter only changes the resolution for the source data types it supports, either directly or as part of a chain
+   * of converters, so the transformers resolved for the other source data types are kept.
+   */
+  private void evictResolvableWith(Converter converter) {
+    if (!(graphTransformerResolver instanceof GraphTransformerResolver)) {
       exactTransformerCache.clear();
+      return;
     }
+
+    Set<DataType> chainedSources =
+        ((GraphTransformerResolver) graphTransformerResolver).getDataTypesConvertibleThrough(converter);
+    exactTransformerCache.keySet()
+        .removeIf(pair -> chainedSources.contains(pair.getSource()) || converter.isSourceDataTypeSupported(pair.getSource()));
   }
 }
@@ -13,6 +13,7 @@ import java.io.PrintWriter;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <code>AllStatistics</code> TODO
@@ -23,6 +24,7 @@ public class AllStatistics {
   private long startTime;
   private ApplicationStatistics appStats;
   private Map<String, FlowConstructStatistics> flowConstructStats = new HashMap<String, FlowConstructStatistics>();
+  private Map<String, ConnectionPoolStatistics> connectionPoolStats = new ConcurrentHashMap<>();
 
   /**
    * 
@@ -101,6 +103,25 @@ public class AllStatistics {
     return flowConstructStats.values();
   }
 
+  /**
+   * Registers the statistics of a connection pool. Pools may be registered and removed at any time while the application runs.
+   */
+  public void add(ConnectionPoolStatistics stat) {
+    if (stat != null) {
+      connectionPoolStats.put(stat.getName(), stat);
+    }
+  }
+
+  public void remove(ConnectionPoolStatistics stat) {
+    if (stat != null) {
+      connectionPoolStats.remove(stat.getName(), stat);
+    }
+  }
+
+  public Collection<ConnectionPoolStatistics> getConnectionPoolStatistics() {
+    return connectionPoolStats.values();
+  }
+
   public FlowConstructStatistics getApplicationStatistics() {
     return appStats;
   }
@@ -83,6 +83,20 @@ public class ApplicationStatistics extends FlowConstructStatistics {
     return total;
   }
 
+  /**
+   * @return a new histogram with the processing times of the events completed by all the flows of the application.
+   */
+  @Override
+  public LatencyHistogram getProcessingTimeHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (FlowConstructStatistics stats : parent.getServiceStatistics()) {
+      if (!(stats instanceof ApplicationStatistics)) {
+        histogram.add(stats.getProcessingTimeHistogram());
+      }
+    }
+    return histogram;
+  }
+
   @Override
   public long getExecutionErrors() {
     long total = 0;
@@ -6,18 +6,24 @@
  */
 package org.mule.runtime.core.management.stats;
 
+import static java.lang.System.currentTimeMillis;
+import static org.mule.runtime.core.management.stats.ProcessingTime.getEffectiveTime;
+
 import org.mule.runtime.core.api.management.stats.Statistics;
 import org.mule.runtime.core.management.stats.printers.SimplePrinter;
 import org.mule.runtime.core.util.StringUtils;
 
 import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api. This class is not thread-safe -
- * occasional errors in reported statistics should be expected, especially when the {@link #clear()} method is used.
+ * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api. Measurements are recorded without
+ * locking, so they can be added concurrently by every thread processing events. Since the values are not updated atomically as a
+ * whole, occasional errors in reported statistics should be expected, especially when the {@link #clear()} method is used.
  */
 public class ComponentStatistics implements Statistics {
 
@@ -28,14 +34,15 @@ public class ComponentStatistics implements Statistics {
    */
   private static final long serialVersionUID = -2086999226732861674L;
 
-  private long minExecutionTime = 0;
-  private long maxExecutionTime = 0;
-  private long averageExecutionTime = 0;
-  private long executedEvent = 0;
-  private long totalExecTime = 0;
+  // Zero means that no time was recorded yet, effective times are always positive
+  private final AtomicLong minExecutionTime = new AtomicLong(0);
+  private final AtomicLong maxExecutionTime = new AtomicLong(0);
+  private final LongAdder executedEvent = new LongAdder();
+  private final LongAdder totalExecTime = new LongAdder();
+  private final LatencyHistogram executionTimeHistogram = new LatencyHistogram();
   private boolean enabled = false;
   private long intervalTime = 0;
-  private long currentIntervalStartTime = 0;
+  private final AtomicLong currentIntervalStartTime = new AtomicLong(0);
   private boolean statIntervalTimeEnabled = false;
 
   /**
@@ -67,11 +74,11 @@ public class ComponentStatistics implements Statistics {
    * If called while a branch is being executed, then statistics may be slightly erroneous.
    */
   public void clear() {
-    minExecutionTime = 0;
-    maxExecutionTime = 0;
-    executedEvent = 0;
-    totalExecTime = 0;
-    averageExecutionTime = 0;
+    minExecutionTime.set(0);
+    maxExecutionTime.set(0);
+    executedEvent.reset();
+    totalExecTime.reset();
+    executionTimeHistogram.clear();
   }
 
   /**
@@ -112,7 +119,7 @@ public class ComponentStatistics implements Statistics {
    * @return The maximum time, or zero if no events have been started.
    */
   public long getMaxExecutionTime() {
-    return maxExecutionTime;
+    return maxExecutionTime.get();
   }
 
   /**
@@ -121,7 +128,7 @@ public class ComponentStatistics implements Statistics {
    * @return The maximum time, or zero if no events have been completed.
    */
   public long getMinExecutionTime() {
-    return minExecutionTime;
+    return minExecutionTime.get();
   }
 
   /**
@@ -131,7 +138,7 @@ public class ComponentStatistics implements Statistics {
    * @return The total cumulative execution time, in milliseconds.
    */
   public long getTotalExecutionTime() {
-    return totalExecTime;
+    return totalExecTime.sum();
   }
 
   /**
@@ -143,7 +150,20 @@ public class ComponentStatistics implements Statistics {
    * @return The number of events executed since last cleared.
    */
   public long getExecutedEvents() {
-    return executedEvent;
+    return executedEvent.sum();
+  }
+
+  /**
+   * The distribution of the total event execution times seen since last cleared, from which percentiles of the execution time
+   * can be obtained.
+   * <p/>
+   * When branch times are recorded, the time of an event is only added once it completes. See
+   * {@link #addCompleteExecutionTime(long)}.
+   *
+   * @return the histogram of the total event execution times, in milliseconds.
+   */
+  public LatencyHistogram getExecutionTimeHistogram() {
+    return executionTimeHistogram;
   }
 
   /**
@@ -153,34 +173,20 @@ public class ComponentStatistics implements Statistics {
    * @param branch the time to execute this branch
    * @param total the total time (so far) for processing this event
    */
-  public synchronized void addExecutionBranchTime(boolean first, long branch, long total) {
+  public void addExecutionBranchTime(boolean first, long branch, long total) {
     // TODO MULE-9151 - ComponentStatistics should really create distinct Event
     // objects that can be used to aggregate statistics and then atomically
     // log them at completion time.
 
-    if (statIntervalTimeEnabled) {
-      long currentTime = System.currentTimeMillis();
-      if (currentIntervalStartTime == 0) {
-        currentIntervalStartTime = currentTime;
-      }
-
-      if ((currentTime - currentIntervalStartTime) > intervalTime) {
-        clear();
-        currentIntervalStartTime = currentTime;
-      }
-    }
+    resetIfIntervalElapsed();
 
     if (first) {
-      executedEvent++;
+      executedEvent.increment();
     }
 
-    if (executedEvent > 0) {
-      totalExecTime += ProcessingTime.getEffectiveTime(branch);
-      long effectiveTotal = ProcessingTime.getEffectiveTime(total);
-      if (maxExecutionTime == 0 || effectiveTotal > maxExecutionTime) {
-        maxExecutionTime = effectiveTotal;
-      }
-      averageExecutionTime = totalExecTime / executedEvent;
+    if (executedEvent.sum() > 0) {
+      totalExecTime.add(getEffectiveTime(branch));
+      updateMax(getEffectiveTime(total));
     }
   }
 
@@ -191,12 +197,11 @@ public class ComponentStatistics implements Statistics {
    * 
    * @param time the total time required to process this event
    */
-  public synchronized void addCompleteExecutionTime(long time) {
-    if (executedEvent > 0) {
-      long effectiveTime = ProcessingTime.getEffectiveTime(time);
-      if (minExecutionTime == 0 || effectiveTime < minExecutionTime) {
-        minExecutionTime = effectiveTime;
-      }
+  public void addCompleteExecutionTime(long time) {
+    if (executedEvent.sum() > 0) {
+      long effectiveTime = getEffectiveTime(time);
+      updateMin(effectiveTime);
+      executionTimeHistogram.recordValue(effectiveTime);
     }
   }
 
@@ -207,31 +212,44 @@ public class ComponentStatistics implements Statistics {
    *
    * @param time The total event time to be logged/recorded.
    */
-  public synchronized void addExecutionTime(long time) {
+  public void addExecutionTime(long time) {
+    resetIfIntervalElapsed();
+
+    executedEvent.increment();
+
+    long effectiveTime = getEffectiveTime(time);
+    totalExecTime.add(effectiveTime);
+    updateMin(effectiveTime);
+    updateMax(effectiveTime);
+    executionTimeHistogram.recordValue(effectiveTime);
+  }
+
+  private void resetIfIntervalElapsed() {
     if (statIntervalTimeEnabled) {
-      long currentTime = System.currentTimeMillis();
-      if (currentIntervalStartTime == 0) {
-        currentIntervalStartTime = currentTime;
-      }
+      long currentTime = currentTimeMillis();
+      currentIntervalStartTime.compareAndSet(0, currentTime);
 
-      if ((currentTime - currentIntervalStartTime) > intervalTime) {
+      long intervalStartTime = currentIntervalStartTime.get();
+      // Only the thread that starts the new interval clears the collected values
+      if ((currentTime - intervalStartTime) > intervalTime
+          && currentIntervalStartTime.compareAndSet(intervalStartTime, currentTime)) {
         clear();
-        currentIntervalStartTime = currentTime;
       }
     }
+  }
 
-    executedEvent++;
-
-    long effectiveTime = ProcessingTime.getEffectiveTime(time);
-    totalExecTime += effectiveTime;
-
-    if (minExecutionTime == 0 || effectiveTime < minExecutionTime) {
-      minExecutionTime = time;
+  private void updateMin(long time) {
+    long current = minExecutionTime.get();
+    while ((current == 0 || time < current) && !minExecutionTime.compareAndSet(current, time)) {
+      current = minExecutionTime.get();
     }
-    if (maxExecutionTime == 0 || effectiveTime > maxExecutionTime) {
-      maxExecutionTime = time;
+  }
+
+  private void updateMax(long time) {
+    long current = maxExecutionTime.get();
+    while (time > current && !maxExecutionTime.compareAndSet(current, time)) {
+      current = maxExecutionTime.get();
     }
-    averageExecutionTime = totalExecTime / executedEvent;
   }
 
   /**
@@ -240,7 +258,8 @@ public class ComponentStatistics implements Statistics {
    * @return the total event time accumulated to this point, divided by the total number of events recorded.
    */
   public long getAverageExecutionTime() {
-    return averageExecutionTime;
+    long executed = executedEvent.sum();
+    return executed == 0 ? 0 : totalExecTime.sum() / executed;
   }
 
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+/**
+ * Statistics of a pool of connections to a single remote endpoint, registered in the {@link AllStatistics} of the application.
+ *
+ * @since 4.0
+ */
+public interface ConnectionPoolStatistics extends Statistics {
+
+  /**
+   * @return the name that identifies the pool in the application.
+   */
+  String getName();
+
+  /**
+   * @return the number of connections currently in use.
+   */
+  int getActiveConnections();
+
+  /**
+   * @return the number of connections currently open but not in use.
+   */
+  int getIdleConnections();
+
+  /**
+   * @return the number of requests currently waiting for a connection.
+   */
+  int getPendingRequests();
+
+  /**
+   * @return the current maximum number of connections of the pool.
+   */
+  int getMaxConnections();
+
+  /**
+   * @return the histogram of the time in nanoseconds each request waited for a connection.
+   */
+  LatencyHistogram getAcquireTimeHistogram();
+}
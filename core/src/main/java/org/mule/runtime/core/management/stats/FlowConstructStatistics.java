@@ -7,20 +7,18 @@
 package org.mule.runtime.core.management.stats;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class FlowConstructStatistics extends AbstractFlowConstructStatistics implements QueueStatistics {
 
   private static final long serialVersionUID = 5337576392583767442L;
-  private final AtomicLong executionError = new AtomicLong(0);
-  private final AtomicLong fatalError = new AtomicLong(0);
+  private final LongAdder executionError = new LongAdder();
+  private final LongAdder fatalError = new LongAdder();
   protected final ComponentStatistics flowStatistics = new ComponentStatistics();
 
-  // these can't sensibly converted to AtomicLong as they are processed together
-  // in incQueuedEvent
-  private long queuedEvent = 0;
-  private long maxQueuedEvent = 0;
-  private long averageQueueSize = 0;
-  private long totalQueuedEvent = 0;
+  private final AtomicLong queuedEvent = new AtomicLong(0);
+  private final AtomicLong maxQueuedEvent = new AtomicLong(0);
+  private final LongAdder totalQueuedEvent = new LongAdder();
 
 
   public FlowConstructStatistics(String flowConstructType, String name) {
@@ -40,11 +38,11 @@ public class FlowConstructStatistics extends AbstractFlowConstructStatistics imp
   }
 
   public void incExecutionError() {
-    executionError.addAndGet(1);
+    executionError.increment();
   }
 
   public void incFatalError() {
-    fatalError.addAndGet(1);
+    fatalError.increment();
   }
 
   /**
@@ -60,8 +58,8 @@ public class FlowConstructStatistics extends AbstractFlowConstructStatistics imp
   public synchronized void clear() {
     super.clear();
 
-    executionError.set(0);
-    fatalError.set(0);
+    executionError.reset();
+    fatalError.reset();
     if (flowStatistics != null) {
       flowStatistics.clear();
     }
@@ -95,31 +93,46 @@ public class FlowConstructStatistics extends AbstractFlowConstructStatistics imp
     return flowStatistics.getTotalExecutionTime();
   }
 
+  /**
+   * @return the distribution of the processing times of the events completed, in milliseconds.
+   */
+  public LatencyHistogram getProcessingTimeHistogram() {
+    return flowStatistics.getExecutionTimeHistogram();
+  }
+
+  /**
+   * @param percentile the percentage of events, between 0 and 100.
+   * @return the processing time in milliseconds within which the given percentage of the events completed.
+   */
+  public long getProcessingTimePercentile(double percentile) {
+    return getProcessingTimeHistogram().getValueAtPercentile(percentile);
+  }
+
   public long getExecutionErrors() {
-    return executionError.get();
+    return executionError.sum();
   }
 
   public long getFatalErrors() {
-    return fatalError.get();
+    return fatalError.sum();
   }
 
   @Override
-  public synchronized void incQueuedEvent() {
-    queuedEvent++;
-    totalQueuedEvent++;
-    if (queuedEvent > maxQueuedEvent) {
-      maxQueuedEvent = queuedEvent;
+  public void incQueuedEvent() {
+    totalQueuedEvent.increment();
+    long queued = queuedEvent.incrementAndGet();
+    if (queued > maxQueuedEvent.get()) {
+      maxQueuedEvent.accumulateAndGet(queued, Math::max);
     }
-    averageQueueSize = receivedEventASync.get() / totalQueuedEvent;
   }
 
   @Override
-  public synchronized void decQueuedEvent() {
-    queuedEvent--;
+  public void decQueuedEvent() {
+    queuedEvent.decrementAndGet();
   }
 
-  public synchronized long getAverageQueueSize() {
-    return averageQueueSize;
+  public long getAverageQueueSize() {
+    long totalQueued = totalQueuedEvent.sum();
+    return totalQueued == 0 ? 0 : receivedEventASync.sum() / totalQueued;
   }
 
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non negative values, such as latencies, that can be updated concurrently.
+ * <p>
+ * Values are counted in buckets of logarithmically increasing width: each power of two is split in {@value #SUB_BUCKET_COUNT}
+ * buckets, so the value reported for any percentile is at most about 3% higher than the actual one, regardless of its
+ * magnitude. The memory used is fixed and does not depend on the number of values recorded.
+ *
+ * @since 4.0
+ */
+public class LatencyHistogram implements Serializable {
+
+  private static final long serialVersionUID = -2707209917564282925L;
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /**
+   * Values lower than this are counted in a bucket of their own.
+   */
+  private static final int LINEAR_BUCKET_COUNT = SUB_BUCKET_COUNT << 1;
+  private static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + (Long.SIZE - 1 - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalValue = new LongAdder();
+  private final AtomicLong maxValue = new AtomicLong();
+
+  /**
+   * Records a value, negative values are recorded as zero.
+   *
+   * @param value the value to record.
+   */
+  public void recordValue(long value) {
+    value = max(value, 0);
+    counts.incrementAndGet(bucketIndex(value));
+    totalCount.increment();
+    totalValue.add(value);
+    if (value > maxValue.get()) {
+      maxValue.accumulateAndGet(value, Math::max);
+    }
+  }
+
+  /**
+   * @return the number of values recorded.
+   */
+  public long getTotalCount() {
+    return totalCount.sum();
+  }
+
+  /**
+   * @return the highest value recorded, or zero if none was recorded.
+   */
+  public long getMaxValue() {
+    return maxValue.get();
+  }
+
+  /**
+   * @return the average of the values recorded, or zero if none was recorded.
+   */
+  public long getMean() {
+    final long count = totalCount.sum();
+    return count == 0 ? 0 : totalValue.sum() / count;
+  }
+
+  /**
+   * Returns a value such that the given percentage of the values recorded is lower or equal to it.
+   *
+   * @param percentile the percentage of values, between 0 and 100.
+   * @return the value at the given percentile, or zero if no value was recorded.
+   */
+  public long getValueAtPercentile(double percentile) {
+    final long count = totalCount.sum();
+    if (count == 0) {
+      return 0;
+    }
+    final long countAtPercentile = max(1, (long) ceil(min(percentile, 100.0) / 100.0 * count));
+    long accumulatedCount = 0;
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      accumulatedCount += counts.get(i);
+      if (accumulatedCount >= countAtPercentile) {
+        return min(highestValueInBucket(i), maxValue.get());
+      }
+    }
+    // Values recorded while iterating may not be counted yet in the buckets
+    return maxValue.get();
+  }
+
+  /**
+   * Records all the values recorded by another histogram, so this one reports the distribution of the values of both.
+   *
+   * @param other the histogram to add the values from.
+   */
+  public void add(LatencyHistogram other) {
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      final long count = other.counts.get(i);
+      if (count != 0) {
+        counts.addAndGet(i, count);
+      }
+    }
+    totalCount.add(other.totalCount.sum());
+    totalValue.add(other.totalValue.sum());
+    final long otherMaxValue = other.maxValue.get();
+    if (otherMaxValue > maxValue.get()) {
+      maxValue.accumulateAndGet(otherMaxValue, Math::max);
+    }
+  }
+
+  /**
+   * Removes all the values recorded.
+   */
+  public void clear() {
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      counts.set(i, 0);
+    }
+    totalCount.reset();
+    totalValue.reset();
+    maxValue.set(0);
+  }
+
+  private static int bucketIndex(long value) {
+    if (value < LINEAR_BUCKET_COUNT) {
+      return (int) value;
+    }
+    final int shift = Long.SIZE - 1 - numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    final int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    return LINEAR_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  private static long highestValueInBucket(int index) {
+    if (index < LINEAR_BUCKET_COUNT) {
+      return index;
+    }
+    final int shift = (index - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT + 1;
+    final long subBucket = (index - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
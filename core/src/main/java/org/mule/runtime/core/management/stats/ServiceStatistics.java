@@ -10,6 +10,7 @@ import org.mule.runtime.core.management.stats.printers.SimplePrinter;
 
 import java.io.PrintWriter;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Deprecated
 public class ServiceStatistics extends FlowConstructStatistics implements QueueStatistics {
@@ -20,12 +21,9 @@ public class ServiceStatistics extends FlowConstructStatistics implements QueueS
   private final AtomicLong sentReplyToEvent = new AtomicLong(0);
   private final AtomicLong sentEventASync = new AtomicLong(0);
 
-  // these can't sensibly converted to AtomicLong as they are processed together
-  // in incQueuedEvent
-  private long queuedEvent = 0;
-  private long maxQueuedEvent = 0;
-  private long averageQueueSize = 0;
-  private long totalQueuedEvent = 0;
+  private final AtomicLong queuedEvent = new AtomicLong(0);
+  private final AtomicLong maxQueuedEvent = new AtomicLong(0);
+  private final LongAdder totalQueuedEvent = new LongAdder();
 
   private RouterStatistics inboundRouterStat = null;
   private ComponentStatistics componentStat = null;
@@ -67,18 +65,17 @@ public class ServiceStatistics extends FlowConstructStatistics implements QueueS
   }
 
   @Override
-  public synchronized void incQueuedEvent() {
-    queuedEvent++;
-    totalQueuedEvent++;
-    if (queuedEvent > maxQueuedEvent) {
-      maxQueuedEvent = queuedEvent;
+  public void incQueuedEvent() {
+    totalQueuedEvent.increment();
+    long queued = queuedEvent.incrementAndGet();
+    if (queued > maxQueuedEvent.get()) {
+      maxQueuedEvent.accumulateAndGet(queued, Math::max);
     }
-    averageQueueSize = receivedEventASync.get() / totalQueuedEvent;
   }
 
   @Override
-  public synchronized void decQueuedEvent() {
-    queuedEvent--;
+  public void decQueuedEvent() {
+    queuedEvent.decrementAndGet();
   }
 
   public long getAverageExecutionTime() {
@@ -86,12 +83,13 @@ public class ServiceStatistics extends FlowConstructStatistics implements QueueS
   }
 
   @Override
-  public synchronized long getAverageQueueSize() {
-    return averageQueueSize;
+  public long getAverageQueueSize() {
+    long totalQueued = totalQueuedEvent.sum();
+    return totalQueued == 0 ? 0 : receivedEventASync.sum() / totalQueued;
   }
 
-  public synchronized long getMaxQueueSize() {
-    return maxQueuedEvent;
+  public long getMaxQueueSize() {
+    return maxQueuedEvent.get();
   }
 
   /**
@@ -118,8 +116,8 @@ public class ServiceStatistics extends FlowConstructStatistics implements QueueS
     return componentStat.getTotalExecutionTime();
   }
 
-  public synchronized long getQueuedEvents() {
-    return queuedEvent;
+  public long getQueuedEvents() {
+    return queuedEvent.get();
   }
 
   public long getReplyToEventsSent() {
@@ -153,10 +151,9 @@ public class ServiceStatistics extends FlowConstructStatistics implements QueueS
   @Override
   public synchronized void clear() {
     super.clear();
-    queuedEvent = 0;
-    maxQueuedEvent = 0;
-    totalQueuedEvent = 0;
-    averageQueueSize = 0;
+    queuedEvent.set(0);
+    maxQueuedEvent.set(0);
+    totalQueuedEvent.reset();
 
     sentEventSync.set(0);
     sentEventASync.set(0);
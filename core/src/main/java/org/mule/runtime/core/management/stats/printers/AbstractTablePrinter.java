@@ -7,6 +7,7 @@
 package org.mule.runtime.core.management.stats.printers;
 
 import org.mule.runtime.core.management.stats.FlowConstructStatistics;
+import org.mule.runtime.core.management.stats.LatencyHistogram;
 import org.mule.runtime.core.management.stats.RouterStatistics;
 import org.mule.runtime.core.management.stats.ServiceStatistics;
 
@@ -34,7 +35,7 @@ public class AbstractTablePrinter extends PrintWriter {
   }
 
   public String[] getHeaders() {
-    String[] column = new String[41];
+    String[] column = new String[44];
     int i = 0;
     column[i++] = "Name";
     column[i++] = "Thread Pool Size";
@@ -75,6 +76,9 @@ public class AbstractTablePrinter extends PrintWriter {
     column[i++] = "By Provider";
     column[i++] = "";
     column[i++] = "Sample Period";
+    column[i++] = "50th Percentile Processing Time";
+    column[i++] = "99th Percentile Processing Time";
+    column[i++] = "99.9th Percentile Processing Time";
     return column;
   }
 
@@ -137,6 +141,13 @@ public class AbstractTablePrinter extends PrintWriter {
     }
 
     col[j++] = String.valueOf(stats.getSamplePeriod());
+
+    // The percentiles are the last columns in the headers of every printer
+    LatencyHistogram processingTimeHistogram = stats.getProcessingTimeHistogram();
+    int k = col.length - 3;
+    col[k++] = String.valueOf(processingTimeHistogram.getValueAtPercentile(50));
+    col[k++] = String.valueOf(processingTimeHistogram.getValueAtPercentile(99));
+    col[k++] = String.valueOf(processingTimeHistogram.getValueAtPercentile(99.9));
   }
 
   protected int getRouterInfo(RouterStatistics stats, String[] col, int index) {
@@ -38,14 +38,13 @@ import org.mule.runtime.core.processor.strategy.LegacyNonBlockingProcessingStrat
 import org.mule.runtime.core.processor.strategy.LegacyNonBlockingProcessingStrategyFactory.LegacyNonBlockingProcessingStrategy;
 import org.mule.runtime.core.session.DefaultMuleSession;
 import org.mule.runtime.core.transaction.TransactionCoordination;
-import org.mule.runtime.core.util.CopyOnWriteCaseInsensitiveMap;
+import org.mule.runtime.core.util.ImmutableCaseInsensitiveMap;
 import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
 
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.nio.charset.Charset;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -60,7 +59,7 @@ public class DefaultEventBuilder implements Event.Builder {
 
   private EventContext context;
   private InternalMessage message;
-  private Map<String, DefaultTypedValue<Object>> flowVariables = new HashMap<>();
+  private ImmutableCaseInsensitiveMap<DefaultTypedValue> flowVariables = ImmutableCaseInsensitiveMap.empty();
   private Error error;
   private MessageExchangePattern exchangePattern = REQUEST_RESPONSE;
   private FlowConstruct flow;
@@ -104,8 +103,14 @@ public class DefaultEventBuilder implements Event.Builder {
 
     this.notificationsEnabled = event.isNotificationsEnabled();
 
-    event.getVariableNames().forEach(key -> this.flowVariables
-        .put(key, (DefaultTypedValue<Object>) event.getVariable(key)));
+    if (event instanceof EventImplementation) {
+      // The variables are immutable, so they are shared until modified instead of being copied
+      this.flowVariables = ((EventImplementation) event).variables;
+    } else {
+      for (String key : event.getVariableNames()) {
+        this.flowVariables = this.flowVariables.with(key, (DefaultTypedValue) event.getVariable(key));
+      }
+    }
   }
 
   @Override
@@ -117,15 +122,19 @@ public class DefaultEventBuilder implements Event.Builder {
 
   @Override
   public Event.Builder variables(Map<String, Object> flowVariables) {
-    this.flowVariables.clear();
-    flowVariables.forEach((s, o) -> this.flowVariables.put(s, new DefaultTypedValue<>(o, DataType.fromObject(o))));
+    ImmutableCaseInsensitiveMap<DefaultTypedValue> newFlowVariables = ImmutableCaseInsensitiveMap.empty();
+    for (Map.Entry<String, Object> entry : flowVariables.entrySet()) {
+      newFlowVariables = newFlowVariables.with(entry.getKey(), new DefaultTypedValue<>(entry.getValue(),
+                                                                                         DataType.fromObject(entry.getValue())));
+    }
+    this.flowVariables = newFlowVariables;
     this.modified = true;
     return this;
   }
 
   @Override
   public Event.Builder addVariable(String key, Object value) {
-    flowVariables.put(key, new DefaultTypedValue<>(value, DataType.fromObject(value)));
+    flowVariables = flowVariables.with(key, new DefaultTypedValue<>(value, DataType.fromObject(value)));
     this.modified = true;
     return this;
 
@@ -133,14 +142,14 @@ public class DefaultEventBuilder implements Event.Builder {
 
   @Override
   public Event.Builder addVariable(String key, Object value, DataType dataType) {
-    flowVariables.put(key, new DefaultTypedValue<>(value, dataType));
+    flowVariables = flowVariables.with(key, new DefaultTypedValue<>(value, dataType));
     this.modified = true;
     return this;
   }
 
   @Override
   public Event.Builder removeVariable(String key) {
-    flowVariables.remove(key);
+    flowVariables = flowVariables.without(key);
     this.modified = true;
     return this;
   }
@@ -273,7 +282,7 @@ public class DefaultEventBuilder implements Event.Builder {
 
     private final boolean notificationsEnabled;
 
-    private final CopyOnWriteCaseInsensitiveMap<String, DefaultTypedValue> variables = new CopyOnWriteCaseInsensitiveMap<>();
+    private final ImmutableCaseInsensitiveMap<DefaultTypedValue> variables;
 
     private FlowCallStack flowCallStack = new DefaultFlowCallStack();
     private final String legacyCorrelationId;
@@ -281,7 +290,7 @@ public class DefaultEventBuilder implements Event.Builder {
 
     // Use this constructor from the builder
     private EventImplementation(EventContext context, InternalMessage message,
-                                Map<String, DefaultTypedValue<Object>> variables,
+                                ImmutableCaseInsensitiveMap<DefaultTypedValue> variables,
                                 MessageExchangePattern exchangePattern, FlowConstruct flowConstruct, MuleSession session,
                                 boolean synchronous, Object replyToDestination, ReplyToHandler replyToHandler,
                                 FlowCallStack flowCallStack, GroupCorrelation groupCorrelation, Error error,
@@ -290,7 +299,7 @@ public class DefaultEventBuilder implements Event.Builder {
       this.flowConstruct = flowConstruct;
       this.session = session;
       this.message = message;
-      variables.forEach((s, value) -> this.variables.put(s, new DefaultTypedValue<>(value.getValue(), value.getDataType())));
+      this.variables = variables;
 
       this.exchangePattern = exchangePattern;
       this.replyToHandler = replyToHandler;
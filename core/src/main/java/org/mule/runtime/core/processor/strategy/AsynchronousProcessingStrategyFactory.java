@@ -36,6 +36,8 @@ import javax.resource.spi.work.WorkManager;
 
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Flux;
+
 /**
  * This factory's strategy uses a {@link WorkManager} to schedule the processing of the pipeline of message processors in a single
  * worker thread.
@@ -52,6 +54,24 @@ public class AsynchronousProcessingStrategyFactory implements ProcessingStrategy
                                               muleContext);
   }
 
+  /**
+   * Publishes the events on the given {@link Scheduler}, buffering no more events than the {@link Scheduler} can queue. This
+   * bounds the events held by each flow when the {@link Scheduler} is bounded, but it is not a measure of how busy the
+   * {@link Scheduler} is: it is shared, so its queue may be full while every flow still has room in its buffer. Slowing the
+   * sources down when the {@link Scheduler} is saturated is up to its rejection policy.
+   *
+   * @param scheduler the scheduler to publish the events on.
+   * @return a function that applies the {@code publishOn} operator to a {@link Flux}.
+   */
+  static Function<Flux<Event>, Flux<Event>> publishOnBoundedPrefetch(Scheduler scheduler) {
+    final int queueCapacity = scheduler.getQueueCapacity();
+    if (queueCapacity == Integer.MAX_VALUE) {
+      return flux -> flux.publishOn(fromExecutorService(scheduler));
+    } else {
+      return flux -> flux.publishOn(fromExecutorService(scheduler), queueCapacity);
+    }
+  }
+
   static class AsynchronousProcessingStrategy implements ProcessingStrategy, Startable, Stoppable {
 
     private Supplier<Scheduler> schedulerSupplier;
@@ -73,7 +93,7 @@ public class AsynchronousProcessingStrategyFactory implements ProcessingStrategy
       return publisher -> from(publisher)
           .doOnNext(assertCanProcessAsync())
           .doOnNext(fireAsyncScheduledNotification(flowConstruct))
-          .publishOn(fromExecutorService(scheduler))
+          .transform(publishOnBoundedPrefetch(scheduler))
           .transform(pipelineFunction)
           .doOnNext(request -> fireAsyncCompleteNotification(request, flowConstruct, null))
           .doOnError(MessagingException.class,
@@ -8,12 +8,12 @@ package org.mule.runtime.core.processor.strategy;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.processor.strategy.AsynchronousProcessingStrategyFactory.publishOnBoundedPrefetch;
 import static org.mule.runtime.core.transaction.TransactionCoordination.isTransactionActive;
 import static org.slf4j.LoggerFactory.getLogger;
 import static reactor.core.Exceptions.propagate;
 import static reactor.core.publisher.Flux.from;
 import static reactor.core.publisher.Flux.just;
-import static reactor.core.scheduler.Schedulers.fromExecutorService;
 
 import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.Event;
@@ -82,7 +82,7 @@ public class LegacyAsynchronousProcessingStrategyFactory implements ProcessingSt
           .doOnNext(fireAsyncScheduledNotification(flowConstruct))
           .doOnNext(request -> just(request)
               .map(event -> Event.builder(event).session(new DefaultMuleSession(event.getSession())).build())
-              .publishOn(fromExecutorService(getScheduler()))
+              .transform(publishOnBoundedPrefetch(getScheduler()))
               .transform(pipelineFunction)
               .doOnNext(event -> fireAsyncCompleteNotification(event, flowConstruct, null))
               .doOnError(MessagingException.class, e -> fireAsyncCompleteNotification(e.getEvent(), flowConstruct, e))
@@ -7,8 +7,8 @@
 package org.mule.runtime.core.processor.strategy;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.processor.strategy.AsynchronousProcessingStrategyFactory.publishOnBoundedPrefetch;
 import static reactor.core.publisher.Flux.from;
-import static reactor.core.scheduler.Schedulers.fromExecutorService;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Startable;
@@ -55,7 +55,7 @@ public class LegacyNonBlockingProcessingStrategyFactory extends LegacyAsynchrono
     public Function<Publisher<Event>, Publisher<Event>> onProcessor(Processor processor,
                                                                     Function<Publisher<Event>, Publisher<Event>> processorFunction) {
       if (processor instanceof NonBlockingMessageProcessor) {
-        return publisher -> from(publisher).transform(processorFunction).publishOn(fromExecutorService(scheduler));
+        return publisher -> from(publisher).transform(processorFunction).transform(publishOnBoundedPrefetch(scheduler));
       } else {
         return publisher -> from(publisher).transform(processorFunction);
       }
@@ -29,6 +29,7 @@ import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.internal.registry.DataTypePair;
 import org.mule.runtime.core.internal.registry.TypeBasedTransformerResolver;
 import org.mule.runtime.core.util.Predicate;
 import org.mule.runtime.core.util.StringUtils;
@@ -67,10 +68,8 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
   /**
    * We cache transformer searches so that we only search once
    */
-  protected ConcurrentHashMap/* <String, Transformer> */ exactTransformerCache =
-      new ConcurrentHashMap/* <String, Transformer> */(8);
-  protected ConcurrentHashMap/* Map<String, List<Transformer>> */ transformerListCache =
-      new ConcurrentHashMap/* <String, List<Transformer>> */(8);
+  protected ConcurrentHashMap<DataTypePair, Transformer> exactTransformerCache = new ConcurrentHashMap<>(8);
+  protected ConcurrentHashMap<DataTypePair, List<Transformer>> transformerListCache = new ConcurrentHashMap<>(8);
 
   private MuleContext muleContext;
 
@@ -144,8 +143,8 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
    */
   @Override
   public Transformer lookupTransformer(DataType source, DataType result) throws TransformerException {
-    final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
-    Transformer cachedTransformer = (Transformer) exactTransformerCache.get(dataTypePairHash);
+    final DataTypePair dataTypePair = new DataTypePair(source, result);
+    Transformer cachedTransformer = exactTransformerCache.get(dataTypePair);
     if (cachedTransformer != null) {
       return cachedTransformer;
     }
@@ -153,7 +152,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
     Transformer trans = resolveTransformer(source, result);
 
     if (trans != null) {
-      Transformer concurrentlyAddedTransformer = (Transformer) exactTransformerCache.putIfAbsent(dataTypePairHash, trans);
+      Transformer concurrentlyAddedTransformer = exactTransformerCache.putIfAbsent(dataTypePair, trans);
       if (concurrentlyAddedTransformer != null) {
         return concurrentlyAddedTransformer;
       } else {
@@ -191,9 +190,9 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
    */
   @Override
   public List<Transformer> lookupTransformers(DataType source, DataType result) {
-    final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
+    final DataTypePair dataTypePair = new DataTypePair(source, result);
 
-    List<Transformer> results = (List<Transformer>) transformerListCache.get(dataTypePairHash);
+    List<Transformer> results = transformerListCache.get(dataTypePair);
     if (results != null) {
       return results;
     }
@@ -209,7 +208,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
         if (!(transformer instanceof Converter)) {
           continue;
         }
-        if (result.isCompatibleWith(transformer.getReturnDataType()) && transformer.isSourceDataTypeSupported(source)) {
+        if (isDiscoverable(transformer, source, result)) {
           results.add(transformer);
         }
       }
@@ -217,8 +216,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
       readLock.unlock();
     }
 
-    List<Transformer> concurrentlyAddedTransformers =
-        (List<Transformer>) transformerListCache.putIfAbsent(dataTypePairHash, results);
+    List<Transformer> concurrentlyAddedTransformers = transformerListCache.putIfAbsent(dataTypePair, results);
     if (concurrentlyAddedTransformers != null) {
       return concurrentlyAddedTransformers;
     } else {
@@ -271,9 +269,6 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
         transformerResolversReadLock.unlock();
       }
 
-      transformerListCache.clear();
-      exactTransformerCache.clear();
-
       Lock transformersWriteLock = transformersLock.writeLock();
       transformersWriteLock.lock();
       try {
@@ -285,9 +280,22 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
       } finally {
         transformersWriteLock.unlock();
       }
+
+      // Only the lists the transformer belongs to change, the rest are kept
+      if (action == ADDED) {
+        transformerListCache.keySet().removeIf(pair -> isDiscoverable(t, pair.getSource(), pair.getResult()));
+      } else {
+        transformerListCache.values().removeIf(cachedTransformers -> cachedTransformers.contains(t));
+      }
+      // Resolved transformers are cached by each resolver, so they are found again without any lookup
+      exactTransformerCache.clear();
     }
   }
 
+  private boolean isDiscoverable(Transformer transformer, DataType source, DataType result) {
+    return result.isCompatibleWith(transformer.getReturnDataType()) && transformer.isSourceDataTypeSupported(source);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -591,10 +599,6 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
     return false;
   }
 
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    return source.getClass().getName() + source.hashCode() + ":" + result.getClass().getName() + result.hashCode();
-  }
-
   private class TransformerResolverComparator implements Comparator<TransformerResolver> {
 
     @Override
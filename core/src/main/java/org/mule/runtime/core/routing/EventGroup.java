@@ -163,10 +163,11 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
   @SuppressWarnings("unchecked")
   public Iterator<Event> iterator(boolean sortByArrival) throws ObjectStoreException {
     synchronized (this) {
-      if (eventsObjectStore.allKeys(eventsPartitionKey).isEmpty()) {
+      Event[] events = this.toArray(sortByArrival);
+      if (events.length == 0) {
         return IteratorUtils.emptyIterator();
       } else {
-        return IteratorUtils.arrayIterator(this.toArray(sortByArrival));
+        return IteratorUtils.arrayIterator(events);
       }
     }
   }
@@ -190,10 +191,10 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
    */
   public Event[] toArray(boolean sortByArrival) throws ObjectStoreException {
     synchronized (this) {
-      if (eventsObjectStore.allKeys(eventsPartitionKey).isEmpty()) {
+      List<Serializable> keys = eventsObjectStore.allKeys(eventsPartitionKey);
+      if (keys.isEmpty()) {
         return EMPTY_EVENTS_ARRAY;
       }
-      List<Serializable> keys = eventsObjectStore.allKeys(eventsPartitionKey);
       Event[] eventArray = new Event[keys.size()];
       for (int i = 0; i < keys.size(); i++) {
         eventArray[i] = eventsObjectStore.retrieve(keys.get(i), eventsPartitionKey);
@@ -286,15 +287,14 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
 
     try {
       synchronized (this) {
-        int currentSize;
-
-        currentSize = eventsObjectStore.allKeys(eventsPartitionKey).size();
+        List<Serializable> keys = eventsObjectStore.allKeys(eventsPartitionKey);
+        int currentSize = keys.size();
 
         buf.append(", current events=").append(currentSize);
 
         if (currentSize > 0) {
           buf.append(" [");
-          Iterator<Serializable> i = eventsObjectStore.allKeys(eventsPartitionKey).iterator();
+          Iterator<Serializable> i = keys.iterator();
           while (i.hasNext()) {
             Serializable id = i.next();
             buf.append(eventsObjectStore.retrieve(id, eventsPartitionKey).getCorrelationId());
@@ -316,9 +316,8 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
 
   public Event getMessageCollectionEvent() {
     try {
-      if (size() > 0) {
-
-        Event[] muleEvents = toArray(true);
+      Event[] muleEvents = toArray(true);
+      if (muleEvents.length > 0) {
         Event lastEvent = muleEvents[muleEvents.length - 1];
 
         List<InternalMessage> messageList = Arrays.stream(muleEvents).map(event -> event.getMessage()).collect(toList());
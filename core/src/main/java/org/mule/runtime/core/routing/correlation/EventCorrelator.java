@@ -60,9 +60,22 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
   protected long groupTimeToLive = ONE_DAY_IN_MILLI;
 
+  /**
+   * Number of locks used to ensure that only one thread at a time processes an event group. Events of different groups are
+   * processed concurrently unless their groups share a lock.
+   */
+  private static final int GROUP_LOCKS_COUNT = 64;
+
+  private final Object[] groupLocks = new Object[GROUP_LOCKS_COUNT];
+
+  /**
+   * @deprecated event groups are no longer guarded by this lock, so synchronizing on it doesn't exclude the processing of any
+   *             group. Kept for compatibility with subclasses.
+   */
+  @Deprecated
   protected final Object groupsLock = new Object();
 
-  // @GuardedBy groupsLock
+  // @GuardedBy the lock of each group
   protected ObjectStore<Long> processedGroups = null;
 
   private long timeout = -1; // undefined
@@ -82,7 +95,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
   private PartitionableObjectStore correlatorStore = null;
   private String storePrefix;
 
-  private EventCorrelator.ExpiringGroupMonitoringThread expiringGroupMonitoringThread;
+  private volatile EventCorrelator.ExpiringGroupMonitoringThread expiringGroupMonitoringThread;
   private final String name;
 
   private final FlowConstruct flowConstruct;
@@ -105,6 +118,10 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     this.correlatorStore = correlatorStore;
     this.storePrefix = storePrefix;
     this.processedGroups = processedGroups;
+
+    for (int i = 0; i < GROUP_LOCKS_COUNT; ++i) {
+      groupLocks[i] = new Object();
+    }
   }
 
   public void forceGroupExpiry(String groupId) throws MuleException {
@@ -136,8 +153,8 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       }
     }
 
-    // spinloop for the EventGroup lookup
-    while (true) {
+    // ensure that only one thread at a time evaluates this EventGroup
+    synchronized (getGroupLock(groupId)) {
       try {
         if (isGroupAlreadyProcessed(groupId)) {
           if (logger.isDebugEnabled()) {
@@ -150,42 +167,25 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
                                                         MISSED_AGGREGATION_GROUP_EVENT));
           return null;
         }
-      } catch (ObjectStoreException e) {
-        throw new RoutingException(timeoutMessageProcessor, e);
-      }
 
-      // check for an existing group first
-      EventGroup group;
-      try {
-        group = this.getEventGroup(groupId);
-      } catch (ObjectStoreException e) {
-        throw new RoutingException(timeoutMessageProcessor, e);
-      }
+        // check for an existing group first
+        EventGroup group = this.getEventGroup(groupId);
 
-      // does the group exist?
-      if (group == null) {
-        // ..apparently not, so create a new one & add it
-        try {
+        // does the group exist?
+        if (group == null) {
+          // ..apparently not, so create a new one & add it
           EventGroup eventGroup = callback.createEventGroup(event, groupId);
           eventGroup.initEventsStore(correlatorStore);
           group = this.addEventGroup(eventGroup);
-        } catch (ObjectStoreException e) {
-          throw new RoutingException(timeoutMessageProcessor, e);
+          scheduleGroupExpiry(group);
         }
-      }
 
-      // ensure that only one thread at a time evaluates this EventGroup
-      synchronized (groupsLock) {
         if (logger.isDebugEnabled()) {
           logger.debug("Adding event to aggregator group: " + groupId);
         }
 
         // add the incoming event to the group
-        try {
-          group.addEvent(event);
-        } catch (ObjectStoreException e) {
-          throw new RoutingException(timeoutMessageProcessor, e);
-        }
+        group.addEvent(event);
 
         // check to see if the event group is ready to be aggregated
         if (callback.shouldAggregateEvents(group)) {
@@ -194,21 +194,31 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
           // remove the eventGroup as no further message will be received
           // for this group once we aggregate
-          try {
-            this.removeEventGroup(group);
-            group.clear();
-          } catch (ObjectStoreException e) {
-            throw new RoutingException(timeoutMessageProcessor, e);
-          }
+          this.removeEventGroup(group);
+          group.clear();
 
           return returnEvent;
         } else {
           return null;
         }
+      } catch (ObjectStoreException e) {
+        throw new RoutingException(timeoutMessageProcessor, e);
       }
     }
   }
 
+  private Object getGroupLock(Object groupId) {
+    final int hash = groupId == null ? 0 : groupId.hashCode();
+    return groupLocks[(hash ^ (hash >>> 16)) & (GROUP_LOCKS_COUNT - 1)];
+  }
+
+  private void scheduleGroupExpiry(EventGroup group) {
+    final ExpiringGroupMonitoringThread monitoringThread = expiringGroupMonitoringThread;
+    if (monitoringThread != null) {
+      monitoringThread.scheduleGroupExpiry((Serializable) group.getGroupId(), group.getCreated());
+    }
+  }
+
   protected EventGroup getEventGroup(Serializable groupId) throws ObjectStoreException {
     try {
       EventGroup eventGroup = (EventGroup) correlatorStore.retrieve(groupId, getEventGroupsPartitionKey());
@@ -237,7 +247,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
   protected void removeEventGroup(EventGroup group) throws ObjectStoreException {
     final Object groupId = group.getGroupId();
-    synchronized (groupsLock) {
+    synchronized (getGroupLock(groupId)) {
       if (!isGroupAlreadyProcessed(groupId)) {
         correlatorStore.remove((Serializable) groupId, getEventGroupsPartitionKey());
         addProcessedGroup(groupId);
@@ -246,13 +256,13 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
   }
 
   protected void addProcessedGroup(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
+    synchronized (getGroupLock(id)) {
       processedGroups.store((Serializable) id, System.currentTimeMillis());
     }
   }
 
   protected boolean isGroupAlreadyProcessed(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
+    synchronized (getGroupLock(id)) {
       return processedGroups.contains((Serializable) id);
     }
   }
@@ -349,6 +359,15 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     private ExpiryMonitor expiryMonitor;
     public static final long DELAY_TIME = 10;
 
+    /**
+     * Interval between looks for groups that are in the store but were not scheduled to expire by this correlator, such as the
+     * ones created by other nodes of a cluster or by a previous run of the application when the store is persistent.
+     */
+    public static final long GROUPS_SCAN_INTERVAL = 1000;
+
+    private final EventGroupExpiryWheel expiryWheel = new EventGroupExpiryWheel(DELAY_TIME * 10, 512);
+    private long lastGroupsScan = -1;
+
     public ExpiringGroupMonitoringThread() {
       super(name, DELAY_TIME);
       this.expiryMonitor = new ExpiryMonitor(name, 1000 * 60, muleContext, true);
@@ -383,16 +402,34 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       //// start the thread on the primary node only, and then use a notification schema to start a new thread
       //// in a different node when the primary goes down.
       if (!muleContext.isPrimaryPollingInstance()) {
+        // groups are scheduled again if this node becomes the primary one
+        if (expiryWheel.size() > 0) {
+          expiryWheel.clear();
+        }
+        lastGroupsScan = -1;
         return;
       }
 
+      final long now = System.currentTimeMillis();
       List<EventGroup> expired = new ArrayList<>(1);
       try {
-        for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
+        if (lastGroupsScan < 0 || now - lastGroupsScan >= GROUPS_SCAN_INTERVAL) {
+          for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
+            // the actual expiry time of the group is known once it is retrieved from the store
+            expiryWheel.schedule(o, now);
+          }
+          lastGroupsScan = now;
+        }
+
+        for (Serializable o : expiryWheel.pollExpired(now)) {
           EventGroup group = getEventGroup(o);
-          // group may have been removed by another thread right after eventGroups.allKeys()
-          if (group != null && group.getCreated() + getTimeout() < System.currentTimeMillis()) {
-            expired.add(group);
+          // group may have been removed by another thread after it was scheduled
+          if (group != null) {
+            if (group.getCreated() + getTimeout() < now) {
+              expired.add(group);
+            } else {
+              scheduleGroupExpiry(o, group.getCreated());
+            }
           }
         }
       } catch (ObjectStoreException e) {
@@ -414,8 +451,19 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       }
     }
 
+    /**
+     * Schedules the expiry of a group, so it is checked once its timeout elapses.
+     *
+     * @param groupId the id of the group.
+     * @param created the creation time of the group.
+     */
+    public void scheduleGroupExpiry(Serializable groupId, long created) {
+      expiryWheel.schedule(groupId, created + getTimeout() + 1);
+    }
+
     @Override
     public void dispose() {
+      expiryWheel.clear();
       if (expiryMonitor != null) {
         expiryMonitor.dispose();
       }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing.correlation;
+
+import static java.lang.Math.max;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timer wheel that keeps track of when the event groups of an {@link EventCorrelator} expire, so the expired ones can be
+ * found without going through every group in the store.
+ * <p>
+ * Each group is kept in the bucket of the tick in which it expires, so scheduling a group takes constant time and polling the
+ * expired groups only goes through the buckets of the ticks elapsed since the previous poll. A group is scheduled only once
+ * until it is polled, no matter how many times it is scheduled.
+ * <p>
+ * Groups can be scheduled concurrently, but expired groups must be polled by a single thread.
+ *
+ * @since 4.0
+ */
+public class EventGroupExpiryWheel {
+
+  private final long tickMillis;
+  private final Queue<ScheduledGroup>[] buckets;
+  private final Set<Serializable> scheduledGroupIds = newKeySet();
+
+  private volatile long lastTick = -1;
+
+  /**
+   * @param tickMillis the precision, in milliseconds, with which expired groups are detected.
+   * @param bucketCount the number of ticks in a revolution of the wheel. Groups expiring farther than that are kept in the
+   *        wheel for more than one revolution.
+   */
+  @SuppressWarnings("unchecked")
+  public EventGroupExpiryWheel(long tickMillis, int bucketCount) {
+    this.tickMillis = tickMillis;
+    this.buckets = new Queue[bucketCount];
+    for (int i = 0; i < bucketCount; ++i) {
+      buckets[i] = new ConcurrentLinkedQueue<>();
+    }
+  }
+
+  /**
+   * Schedules the expiry of a group, unless it is already scheduled.
+   *
+   * @param groupId the id of the group.
+   * @param expiryTime the time, in milliseconds, at which the group expires.
+   * @return {@code true} if the group was scheduled, {@code false} if it was already scheduled.
+   */
+  public boolean schedule(Serializable groupId, long expiryTime) {
+    if (!scheduledGroupIds.add(groupId)) {
+      return false;
+    }
+    // Groups that already expired go to the bucket that will be polled next
+    final long tick = max(max(expiryTime, 0) / tickMillis, lastTick + 1);
+    buckets[bucketIndex(tick)].add(new ScheduledGroup(groupId, expiryTime));
+    return true;
+  }
+
+  /**
+   * Removes the groups that expired at the given time from the wheel.
+   *
+   * @param now the current time, in milliseconds.
+   * @return the ids of the groups that expired.
+   */
+  public List<Serializable> pollExpired(long now) {
+    final List<Serializable> expired = new ArrayList<>();
+    final long currentTick = now / tickMillis;
+    final long firstTick = lastTick < 0 ? currentTick - buckets.length + 1 : lastTick + 1;
+
+    for (long tick = max(firstTick, currentTick - buckets.length + 1); tick <= currentTick; ++tick) {
+      for (Iterator<ScheduledGroup> iterator = buckets[bucketIndex(tick)].iterator(); iterator.hasNext();) {
+        final ScheduledGroup scheduledGroup = iterator.next();
+        if (scheduledGroup.expiryTime <= now) {
+          iterator.remove();
+          scheduledGroupIds.remove(scheduledGroup.groupId);
+          expired.add(scheduledGroup.groupId);
+        }
+      }
+    }
+    // groups expiring later in the current tick are polled next time
+    lastTick = max(lastTick, currentTick - 1);
+    return expired;
+  }
+
+  /**
+   * @return the number of groups scheduled.
+   */
+  public int size() {
+    return scheduledGroupIds.size();
+  }
+
+  /**
+   * Removes all the groups from the wheel.
+   */
+  public void clear() {
+    for (Queue<ScheduledGroup> bucket : buckets) {
+      bucket.clear();
+    }
+    scheduledGroupIds.clear();
+  }
+
+  private int bucketIndex(long tick) {
+    return (int) (tick % buckets.length);
+  }
+
+  private static final class ScheduledGroup {
+
+    private final Serializable groupId;
+    private final long expiryTime;
+
+    private ScheduledGroup(Serializable groupId, long expiryTime) {
+      this.groupId = groupId;
+      this.expiryTime = expiryTime;
+    }
+  }
+}
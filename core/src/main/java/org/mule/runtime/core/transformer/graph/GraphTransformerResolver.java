@@ -12,18 +12,30 @@ import org.mule.runtime.core.api.registry.TransformerResolver;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.internal.registry.DataTypePair;
+import org.mule.runtime.core.transformer.CompositeConverter;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import org.apache.commons.collections.map.LRUMap;
-
+/**
+ * Resolves transformations by chaining the available {@link Converter}, choosing the shortest chain.
+ * <p>
+ * Resolved chains are cached for every pair of data types of the transformation graph, and kept until a change in the
+ * registered converters can modify the chain resolved for that pair. Pairs not involved in the change keep their cached chain.
+ */
 public class GraphTransformerResolver implements TransformerResolver {
 
   private ReentrantReadWriteLock readWriteLock;
   private TransformationGraph graph;
   private CompositeConverterFilter converterFilter;
-  private LRUMap cache;
+  private Map<DataTypePair, Optional<Converter>> cache;
   private TransformationGraphLookupStrategy lookupStrategyTransformation;
 
   public GraphTransformerResolver() {
@@ -32,71 +44,98 @@ public class GraphTransformerResolver implements TransformerResolver {
     lookupStrategyTransformation = new TransformationGraphLookupStrategy(graph);
     converterFilter = new CompositeConverterFilter(new TransformationLengthConverterFilter(),
                                                    new PriorityWeightingConverterFilter(), new NameConverterFilter());
-    cache = new LRUMap();
+    cache = new ConcurrentHashMap<>();
   }
 
   @Override
   public Transformer resolve(DataType source, DataType result) throws ResolverException {
-    String cacheKey = getDataTypeSourceResultPairHash(source, result);
+    DataTypePair cacheKey = new DataTypePair(source, result);
 
-    readWriteLock.readLock().lock();
-    try {
-      if (cache.containsKey(cacheKey)) {
-        return (Converter) cache.get(cacheKey);
-      }
-    } finally {
-      readWriteLock.readLock().unlock();
+    Optional<Converter> cachedConverter = cache.get(cacheKey);
+    if (cachedConverter != null) {
+      return cachedConverter.orElse(null);
     }
 
-    List<Converter> converters =
-        converterFilter.filter(lookupStrategyTransformation.lookupConverters(source, result), source, result);
+    readWriteLock.readLock().lock();
+    try {
+      List<Converter> converters =
+          converterFilter.filter(lookupStrategyTransformation.lookupShortestConverters(source, result), source, result);
 
-    if (converters.size() > 1) {
-      throw new ResolverException(CoreMessages.transformHasMultipleMatches(source.getType(), result.getType(), converters));
-    }
+      if (converters.size() > 1) {
+        throw new ResolverException(CoreMessages.transformHasMultipleMatches(source.getType(), result.getType(), converters));
+      }
 
-    Transformer converter = (converters.size() == 0) ? null : converters.get(0);
+      Converter converter = (converters.size() == 0) ? null : converters.get(0);
 
+      // Data types out of the graph are not cached as there is no transformation to look for between them
+      if (graph.containsVertex(source) && graph.containsVertex(result)) {
+        cache.put(cacheKey, Optional.ofNullable(converter));
+      }
 
-    readWriteLock.writeLock().lock();
-    try {
-      cache.put(cacheKey, converter);
+      return converter;
     } finally {
-      readWriteLock.writeLock().unlock();
+      readWriteLock.readLock().unlock();
     }
-
-    return converter;
   }
 
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    StringBuilder builder = new StringBuilder();
-    builder.append(source.getClass().getName());
-    builder.append(source.hashCode());
-    builder.append(":");
-    builder.append(result.getClass().getName());
-    builder.append(result.hashCode());
-
-    return builder.toString();
+  /**
+   * Finds the data types from which a conversion could go through the given converter.
+   *
+   * @param converter a registered converter
+   * @return the data types that can be converted to any of the source data types of the converter, including them.
+   */
+  public Set<DataType> getDataTypesConvertibleThrough(Converter converter) {
+    readWriteLock.readLock().lock();
+    try {
+      return graph.getReachingDataTypes(converter.getSourceDataTypes());
+    } finally {
+      readWriteLock.readLock().unlock();
+    }
   }
 
   @Override
   public void transformerChange(Transformer transformer, RegistryAction registryAction) {
+    if (!(transformer instanceof Converter)) {
+      return;
+    }
+
+    Converter converter = (Converter) transformer;
     readWriteLock.writeLock().lock();
 
     try {
-      if (!(transformer instanceof Converter)) {
-        return;
-      }
-
-      cache.clear();
-
       if (registryAction == RegistryAction.ADDED) {
-        graph.addConverter((Converter) transformer);
+        graph.addConverter(converter);
+        evictConvertibleThrough(converter);
       } else if (registryAction == RegistryAction.REMOVED) {
-        graph.removeConverter((Converter) transformer);
+        graph.removeConverter(converter);
+        evictResolvedWith(converter);
       }
     } finally {
       readWriteLock.writeLock().unlock();
     }
   }
+
+  /**
+   * A new converter can only create or shorten the chains that go through it, so only the pairs with a source that can reach
+   * the converter and a result that can be reached from it are evicted.
+   */
+  private void evictConvertibleThrough(Converter converter) {
+    Set<DataType> sources = graph.getReachingDataTypes(converter.getSourceDataTypes());
+    Set<DataType> results = graph.getReachableDataTypes(converter.getReturnDataType());
+
+    cache.keySet().removeIf(pair -> sources.contains(pair.getSource()) && results.contains(pair.getResult()));
+  }
+
+  /**
+   * Removing a converter only changes the chains that contain it, the rest still are the best ones for their pairs.
+   */
+  private void evictResolvedWith(Converter converter) {
+    for (Iterator<Entry<DataTypePair, Optional<Converter>>> iterator = cache.entrySet().iterator(); iterator.hasNext();) {
+      Converter resolved = iterator.next().getValue().orElse(null);
+      if (resolved == converter
+          || (resolved instanceof CompositeConverter && ((CompositeConverter) resolved).getConverters().contains(converter))) {
+        iterator.remove();
+      }
+    }
+  }
 }
@@ -9,7 +9,10 @@ package org.mule.runtime.core.transformer.graph;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.Converter;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Queue;
 import java.util.Set;
 
 import org.jgrapht.graph.DirectedMultigraph;
@@ -89,4 +92,59 @@ public class TransformationGraph extends DirectedMultigraph<DataType, Transforma
 
     registeredConverters.remove(converter);
   }
+
+  /**
+   * Finds the data types from which any of the given data types can be reached following the available transformations.
+   *
+   * @param dataTypes data types to be reached
+   * @return the data types of the graph that can be converted to any of the given data types, including those data types.
+   */
+  public Set<DataType> getReachingDataTypes(Collection<DataType> dataTypes) {
+    Set<DataType> reaching = new HashSet<>();
+    Queue<DataType> pending = new ArrayDeque<>();
+    for (DataType dataType : dataTypes) {
+      if (containsVertex(dataType) && reaching.add(dataType)) {
+        pending.add(dataType);
+      }
+    }
+
+    DataType dataType;
+    while ((dataType = pending.poll()) != null) {
+      for (TransformationEdge edge : incomingEdgesOf(dataType)) {
+        DataType edgeSource = getEdgeSource(edge);
+        if (reaching.add(edgeSource)) {
+          pending.add(edgeSource);
+        }
+      }
+    }
+
+    return reaching;
+  }
+
+  /**
+   * Finds the data types that can be reached from the given data type following the available transformations.
+   *
+   * @param dataType data type to start from
+   * @return the data types of the graph the given data type can be converted to, including that data type.
+   */
+  public Set<DataType> getReachableDataTypes(DataType dataType) {
+    Set<DataType> reachable = new HashSet<>();
+    if (!containsVertex(dataType)) {
+      return reachable;
+    }
+
+    Queue<DataType> pending = new ArrayDeque<>();
+    reachable.add(dataType);
+    pending.add(dataType);
+    while ((dataType = pending.poll()) != null) {
+      for (TransformationEdge edge : outgoingEdgesOf(dataType)) {
+        DataType edgeTarget = getEdgeTarget(edge);
+        if (reachable.add(edgeTarget)) {
+          pending.add(edgeTarget);
+        }
+      }
+    }
+
+    return reachable;
+  }
 }
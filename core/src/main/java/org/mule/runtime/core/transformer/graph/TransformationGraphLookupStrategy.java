@@ -10,9 +10,13 @@ import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.transformer.CompositeConverter;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 
 import org.jgrapht.DirectedGraph;
@@ -59,6 +63,91 @@ public class TransformationGraphLookupStrategy {
     return converters;
   }
 
+  /**
+   * Looks for the shortest chains of {@link Converter} to convert from the source to the target data types.
+   * <p>
+   * Unlike {@link #lookupConverters(DataType, DataType)}, longer conversion paths are not explored, so the cost of the lookup
+   * does not grow with the number of paths between the data types.
+   *
+   * @param source data type to be converted
+   * @param target data type to be converted to
+   * @return a list of {@link Converter} that are able to convert from the source to the target data types using the least
+   *         number of transformations.
+   */
+  public List<Converter> lookupShortestConverters(DataType source, DataType target) {
+    if (!graph.containsVertex(source) || !graph.containsVertex(target)) {
+      return new LinkedList<>();
+    }
+
+    if (source.equals(target)) {
+      // Only cycles convert a data type to itself, which are not shortest paths
+      return lookupConverters(source, target);
+    }
+
+    Map<DataType, Integer> distances = getDistancesTo(target, source);
+    if (!distances.containsKey(source)) {
+      return new LinkedList<>();
+    }
+
+    return createConverters(findShortestTransformationPaths(source, distances));
+  }
+
+  /**
+   * Computes the number of transformations needed to reach the target from the data types of the graph, going backwards from
+   * the target until the source is found.
+   */
+  private Map<DataType, Integer> getDistancesTo(DataType target, DataType source) {
+    Map<DataType, Integer> distances = new HashMap<>();
+    Queue<DataType> pending = new ArrayDeque<>();
+    distances.put(target, 0);
+    pending.add(target);
+
+    DataType dataType;
+    while ((dataType = pending.poll()) != null) {
+      int distance = distances.get(dataType) + 1;
+      for (TransformationEdge transformationEdge : graph.incomingEdgesOf(dataType)) {
+        DataType edgeSource = graph.getEdgeSource(transformationEdge);
+        if (!distances.containsKey(edgeSource)) {
+          distances.put(edgeSource, distance);
+          if (edgeSource.equals(source)) {
+            // Every data type closer to the target than the source already has its distance
+            return distances;
+          }
+          pending.add(edgeSource);
+        }
+      }
+    }
+
+    return distances;
+  }
+
+  private List<List<TransformationEdge>> findShortestTransformationPaths(DataType source, Map<DataType, Integer> distances) {
+    List<List<TransformationEdge>> validTransformationEdges = new LinkedList<>();
+    int nextDistance = distances.get(source) - 1;
+
+    for (TransformationEdge transformationEdge : graph.outgoingEdgesOf(source)) {
+      DataType edgeTarget = graph.getEdgeTarget(transformationEdge);
+      Integer edgeTargetDistance = distances.get(edgeTarget);
+
+      if (edgeTargetDistance == null || edgeTargetDistance != nextDistance) {
+        continue;
+      }
+
+      if (nextDistance == 0) {
+        LinkedList<TransformationEdge> transformationPath = new LinkedList<>();
+        transformationPath.add(transformationEdge);
+        validTransformationEdges.add(transformationPath);
+      } else {
+        for (List<TransformationEdge> transformationPath : findShortestTransformationPaths(edgeTarget, distances)) {
+          transformationPath.add(0, transformationEdge);
+          validTransformationEdges.add(transformationPath);
+        }
+      }
+    }
+
+    return validTransformationEdges;
+  }
+
   private List<Converter> createConverters(List<List<TransformationEdge>> transformationPaths) {
     List<Converter> converters = new LinkedList<>();
 
@@ -26,6 +26,10 @@ import java.io.Reader;
 import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 
@@ -46,6 +50,11 @@ public class IOUtils extends org.apache.commons.io.IOUtils {
 
   protected static int bufferSize = NumberUtils.toInt(System.getProperty(MuleProperties.MULE_STREAMING_BUFFER_SIZE), 4 * 1024);
 
+  /**
+   * Direct buffers are expensive to allocate and are only released by the garbage collector, so each thread reuses its own
+   */
+  private static final ThreadLocal<ByteBuffer> DIRECT_BUFFER = new ThreadLocal<>();
+
   /**
    * Attempts to load a resource from the file system, from a URL, or from the classpath, in that order.
    *
@@ -200,6 +209,46 @@ public class IOUtils extends org.apache.commons.io.IOUtils {
     return count;
   }
 
+  /**
+   * Copies the content of the given stream into the given channel. When the stream is also a {@link ReadableByteChannel}, as the
+   * body of a request received by an HTTP listener is, its content is transferred through a direct {@link ByteBuffer} instead of
+   * being copied into a heap array. The buffer is reused by later copies in the same thread.
+   */
+  public static long copyLarge(InputStream input, WritableByteChannel output) throws IOException {
+    if (!(input instanceof ReadableByteChannel)) {
+      return copyLarge(input, Channels.newOutputStream(output));
+    }
+
+    final ReadableByteChannel inputChannel = (ReadableByteChannel) input;
+    final ByteBuffer buffer = borrowDirectBuffer();
+    try {
+      long count = 0;
+      while (inputChannel.read(buffer) != -1) {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          count += output.write(buffer);
+        }
+        buffer.clear();
+      }
+      return count;
+    } finally {
+      buffer.clear();
+      DIRECT_BUFFER.set(buffer);
+    }
+  }
+
+  /**
+   * Takes the direct buffer of the current thread, so a nested copy in the same thread allocates its own instead of sharing it
+   */
+  private static ByteBuffer borrowDirectBuffer() {
+    final ByteBuffer buffer = DIRECT_BUFFER.get();
+    if (buffer == null || buffer.capacity() != bufferSize) {
+      return ByteBuffer.allocateDirect(bufferSize);
+    }
+    DIRECT_BUFFER.remove();
+    return buffer;
+  }
+
   /**
    * Re-implement copy method to allow buffer size to be configured. This won't impact all methods because there is no
    * polymorphism for static methods, but rather just direct use of these two methods.
@@ -0,0 +1,507 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Character.toUpperCase;
+import static java.lang.Integer.bitCount;
+import static java.lang.System.arraycopy;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable {@link Map} with {@link String} keys that are compared without case sensitivity, as in
+ * {@link CaseInsensitiveHashMap}.
+ * <p>
+ * Instead of being modified, a new map is obtained through {@link #with(String, Object)} and {@link #without(String)}. The new
+ * map shares all of its structure with the original one except for the path to the changed entry, so deriving a map from
+ * another one takes time and memory proportional to the logarithm of its size, instead of copying every entry.
+ * <p>
+ * The entries are kept in a hash array mapped trie: each level of the trie is indexed by 5 bits of the hash of the key, and only
+ * the slots that are used are allocated.
+ *
+ * @param <V> the type of the values of the map.
+ * @since 4.0
+ */
+public final class ImmutableCaseInsensitiveMap<V> extends AbstractMap<String, V> implements Serializable {
+
+  private static final long serialVersionUID = 5617214365212839751L;
+
+  private static final int BITS_PER_LEVEL = 5;
+  private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+
+  private static final ImmutableCaseInsensitiveMap EMPTY = new ImmutableCaseInsensitiveMap<>(null, 0);
+
+  private transient Node<V> root;
+  private transient int size;
+  private transient Set<Entry<String, V>> entrySet;
+
+  private ImmutableCaseInsensitiveMap(Node<V> root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * @return a map without entries.
+   */
+  public static <V> ImmutableCaseInsensitiveMap<V> empty() {
+    return EMPTY;
+  }
+
+  /**
+   * @param map the entries to add to the new map.
+   * @return a map with the entries of the given one. If some keys only differ by character case, only one of them is kept.
+   */
+  public static <V> ImmutableCaseInsensitiveMap<V> copyOf(Map<String, ? extends V> map) {
+    if (map instanceof ImmutableCaseInsensitiveMap) {
+      return (ImmutableCaseInsensitiveMap<V>) map;
+    }
+    ImmutableCaseInsensitiveMap<V> copy = empty();
+    for (Entry<String, ? extends V> entry : map.entrySet()) {
+      copy = copy.with(entry.getKey(), entry.getValue());
+    }
+    return copy;
+  }
+
+  /**
+   * Returns a map with the entries of this one and the given one. If this map already has a key that only differs from the
+   * given one by character case, the key of this map is kept.
+   *
+   * @param key the key of the entry.
+   * @param value the value of the entry.
+   * @return a new map with the entry, or this map if it already had the same value for the key.
+   */
+  public ImmutableCaseInsensitiveMap<V> with(String key, V value) {
+    final int hash = hash(key);
+    if (root == null) {
+      return new ImmutableCaseInsensitiveMap<>(BitmapNode.of(new KeyValue<>(key, value, hash), 0), 1);
+    }
+    final boolean[] added = new boolean[1];
+    final Node<V> newRoot = root.with(new KeyValue<>(key, value, hash), 0, added);
+    return newRoot == root ? this : new ImmutableCaseInsensitiveMap<>(newRoot, added[0] ? size + 1 : size);
+  }
+
+  /**
+   * @param key the key of the entry to remove.
+   * @return a new map without the entry for the given key, or this map if it had no entry for it.
+   */
+  public ImmutableCaseInsensitiveMap<V> without(String key) {
+    if (root == null) {
+      return this;
+    }
+    final Node<V> newRoot = root.without(key, hash(key), 0);
+    if (newRoot == root) {
+      return this;
+    }
+    return newRoot == null ? empty() : new ImmutableCaseInsensitiveMap<>(newRoot, size - 1);
+  }
+
+  @Override
+  public V get(Object key) {
+    final KeyValue<V> entry = find(key);
+    return entry == null ? null : entry.getValue();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return find(key) != null;
+  }
+
+  private KeyValue<V> find(Object key) {
+    if (root == null || !(key instanceof String)) {
+      return null;
+    }
+    return root.find((String) key, hash((String) key), 0);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  /**
+   * Hashes the key the same way regardless of the case of its characters, consistently with
+   * {@link String#equalsIgnoreCase(String)}.
+   */
+  private static int hash(String key) {
+    int hash = 0;
+    for (int i = 0; i < key.length(); ++i) {
+      hash = 31 * hash + toLowerCase(toUpperCase(key.charAt(i)));
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & LEVEL_MASK);
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(size);
+    for (Entry<String, V> entry : entrySet()) {
+      out.writeObject(entry.getKey());
+      out.writeObject(entry.getValue());
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    final int entries = in.readInt();
+    ImmutableCaseInsensitiveMap<V> map = empty();
+    for (int i = 0; i < entries; ++i) {
+      map = map.with((String) in.readObject(), (V) in.readObject());
+    }
+    this.root = map.root;
+    this.size = map.size;
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<String, V>> {
+
+    @Override
+    public Iterator<Entry<String, V>> iterator() {
+      return new EntryIterator<>(root);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  private static final class KeyValue<V> extends SimpleImmutableEntry<String, V> {
+
+    private static final long serialVersionUID = -3453040315224806436L;
+
+    private final int hash;
+
+    private KeyValue(String key, V value, int hash) {
+      super(key, value);
+      this.hash = hash;
+    }
+
+    private boolean hasKey(String key, int hash) {
+      return this.hash == hash && getKey().equalsIgnoreCase(key);
+    }
+  }
+
+  private static abstract class Node<V> {
+
+    abstract KeyValue<V> find(String key, int hash, int shift);
+
+    /**
+     * @return a node with the given entry, or this node if it already had the same value for the key.
+     */
+    abstract Node<V> with(KeyValue<V> entry, int shift, boolean[] added);
+
+    /**
+     * @return a node without the entry for the given key, {@code null} if it would be empty, or this node if it has no entry for
+     *         the key.
+     */
+    abstract Node<V> without(String key, int hash, int shift);
+
+    /**
+     * @return the only entry of this node, or {@code null} if it has other entries or nodes.
+     */
+    abstract KeyValue<V> singleEntry();
+
+    abstract int childCount();
+
+    /**
+     * @return the child at the given position, either a {@link KeyValue} or a {@link Node}.
+     */
+    abstract Object child(int index);
+  }
+
+  /**
+   * Node with a slot for each value of the bits of the hash used at its level, where only the slots in use are allocated.
+   */
+  private static final class BitmapNode<V> extends Node<V> {
+
+    private final int bitmap;
+    private final Object[] children;
+
+    private BitmapNode(int bitmap, Object[] children) {
+      this.bitmap = bitmap;
+      this.children = children;
+    }
+
+    private static <V> BitmapNode<V> of(KeyValue<V> entry, int shift) {
+      return new BitmapNode<>(bit(entry.hash, shift), new Object[] {entry});
+    }
+
+    /**
+     * Creates the node for two children whose hashes are equal in the levels above the given shift.
+     */
+    private static <V> Node<V> of(Object first, int firstHash, Object second, int secondHash, int shift) {
+      final int firstBit = bit(firstHash, shift);
+      final int secondBit = bit(secondHash, shift);
+      if (firstBit == secondBit) {
+        return new BitmapNode<>(firstBit, new Object[] {of(first, firstHash, second, secondHash, shift + BITS_PER_LEVEL)});
+      }
+      return new BitmapNode<>(firstBit | secondBit,
+                              Integer.compareUnsigned(firstBit, secondBit) < 0 ? new Object[] {first, second}
+                                  : new Object[] {second, first});
+    }
+
+    private int index(int bit) {
+      return bitCount(bitmap & (bit - 1));
+    }
+
+    @Override
+    KeyValue<V> find(String key, int hash, int shift) {
+      final int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      final Object child = children[index(bit)];
+      if (child instanceof Node) {
+        return ((Node<V>) child).find(key, hash, shift + BITS_PER_LEVEL);
+      }
+      final KeyValue<V> entry = (KeyValue<V>) child;
+      return entry.hasKey(key, hash) ? entry : null;
+    }
+
+    @Override
+    Node<V> with(KeyValue<V> entry, int shift, boolean[] added) {
+      final int bit = bit(entry.hash, shift);
+      final int index = index(bit);
+      if ((bitmap & bit) == 0) {
+        added[0] = true;
+        final Object[] newChildren = new Object[children.length + 1];
+        arraycopy(children, 0, newChildren, 0, index);
+        newChildren[index] = entry;
+        arraycopy(children, index, newChildren, index + 1, children.length - index);
+        return new BitmapNode<>(bitmap | bit, newChildren);
+      }
+
+      final Object child = children[index];
+      final Object newChild;
+      if (child instanceof Node) {
+        newChild = ((Node<V>) child).with(entry, shift + BITS_PER_LEVEL, added);
+      } else {
+        final KeyValue<V> current = (KeyValue<V>) child;
+        if (current.hasKey(entry.getKey(), entry.hash)) {
+          newChild = current.getValue() == entry.getValue() ? current
+              : new KeyValue<>(current.getKey(), entry.getValue(), current.hash);
+        } else if (current.hash == entry.hash) {
+          added[0] = true;
+          newChild = new CollisionNode<>(entry.hash, new KeyValue[] {current, entry});
+        } else {
+          added[0] = true;
+          newChild = of(current, current.hash, entry, entry.hash, shift + BITS_PER_LEVEL);
+        }
+      }
+      return newChild == child ? this : replace(index, newChild);
+    }
+
+    @Override
+    Node<V> without(String key, int hash, int shift) {
+      final int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      final int index = index(bit);
+      final Object child = children[index];
+      if (child instanceof Node) {
+        final Node<V> newChild = ((Node<V>) child).without(key, hash, shift + BITS_PER_LEVEL);
+        if (newChild == child) {
+          return this;
+        } else if (newChild == null) {
+          return remove(bit, index);
+        }
+        // Keep entries as high as possible in the trie, so lookups go through fewer nodes
+        final KeyValue<V> singleEntry = newChild.singleEntry();
+        return replace(index, singleEntry != null ? singleEntry : newChild);
+      } else if (((KeyValue<V>) child).hasKey(key, hash)) {
+        return remove(bit, index);
+      }
+      return this;
+    }
+
+    private Node<V> replace(int index, Object child) {
+      final Object[] newChildren = children.clone();
+      newChildren[index] = child;
+      return new BitmapNode<>(bitmap, newChildren);
+    }
+
+    private Node<V> remove(int bit, int index) {
+      if (children.length == 1) {
+        return null;
+      }
+      final Object[] newChildren = new Object[children.length - 1];
+      arraycopy(children, 0, newChildren, 0, index);
+      arraycopy(children, index + 1, newChildren, index, newChildren.length - index);
+      return new BitmapNode<>(bitmap & ~bit, newChildren);
+    }
+
+    @Override
+    KeyValue<V> singleEntry() {
+      return children.length == 1 && children[0] instanceof KeyValue ? (KeyValue<V>) children[0] : null;
+    }
+
+    @Override
+    int childCount() {
+      return children.length;
+    }
+
+    @Override
+    Object child(int index) {
+      return children[index];
+    }
+  }
+
+  /**
+   * Node for the entries of different keys with the same hash.
+   */
+  private static final class CollisionNode<V> extends Node<V> {
+
+    private final int hash;
+    private final KeyValue<V>[] entries;
+
+    private CollisionNode(int hash, KeyValue<V>[] entries) {
+      this.hash = hash;
+      this.entries = entries;
+    }
+
+    private int indexOf(String key, int hash) {
+      for (int i = 0; i < entries.length; ++i) {
+        if (entries[i].hasKey(key, hash)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    KeyValue<V> find(String key, int hash, int shift) {
+      final int index = indexOf(key, hash);
+      return index == -1 ? null : entries[index];
+    }
+
+    @Override
+    Node<V> with(KeyValue<V> entry, int shift, boolean[] added) {
+      if (entry.hash != hash) {
+        added[0] = true;
+        return BitmapNode.of(this, hash, entry, entry.hash, shift);
+      }
+      final int index = indexOf(entry.getKey(), entry.hash);
+      if (index == -1) {
+        added[0] = true;
+        final KeyValue<V>[] newEntries = new KeyValue[entries.length + 1];
+        arraycopy(entries, 0, newEntries, 0, entries.length);
+        newEntries[entries.length] = entry;
+        return new CollisionNode<>(hash, newEntries);
+      }
+      final KeyValue<V> current = entries[index];
+      if (current.getValue() == entry.getValue()) {
+        return this;
+      }
+      final KeyValue<V>[] newEntries = entries.clone();
+      newEntries[index] = new KeyValue<>(current.getKey(), entry.getValue(), hash);
+      return new CollisionNode<>(hash, newEntries);
+    }
+
+    @Override
+    Node<V> without(String key, int hash, int shift) {
+      final int index = indexOf(key, hash);
+      if (index == -1) {
+        return this;
+      }
+      final KeyValue<V>[] newEntries = new KeyValue[entries.length - 1];
+      arraycopy(entries, 0, newEntries, 0, index);
+      arraycopy(entries, index + 1, newEntries, index, newEntries.length - index);
+      return new CollisionNode<>(hash, newEntries);
+    }
+
+    @Override
+    KeyValue<V> singleEntry() {
+      return entries.length == 1 ? entries[0] : null;
+    }
+
+    @Override
+    int childCount() {
+      return entries.length;
+    }
+
+    @Override
+    Object child(int index) {
+      return entries[index];
+    }
+  }
+
+  /**
+   * Iterates the entries depth first, keeping the position in each node of the current path.
+   */
+  private static final class EntryIterator<V> implements Iterator<Entry<String, V>> {
+
+    private final Deque<Node<V>> nodes = new ArrayDeque<>();
+    private final Deque<Integer> positions = new ArrayDeque<>();
+    private KeyValue<V> next;
+
+    private EntryIterator(Node<V> root) {
+      if (root != null) {
+        nodes.push(root);
+        positions.push(0);
+      }
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (next == null && !nodes.isEmpty()) {
+        final Node<V> node = nodes.peek();
+        final int position = positions.pop();
+        if (position == node.childCount()) {
+          nodes.pop();
+          continue;
+        }
+        positions.push(position + 1);
+        final Object child = node.child(position);
+        if (child instanceof Node) {
+          nodes.push((Node<V>) child);
+          positions.push(0);
+        } else {
+          next = (KeyValue<V>) child;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Entry<String, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      final Entry<String, V> entry = next;
+      advance();
+      return entry;
+    }
+  }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.util.journal;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
 import org.mule.runtime.api.util.Preconditions;
 
 import com.google.common.collect.LinkedHashMultimap;
@@ -25,6 +27,10 @@ import org.slf4j.LoggerFactory;
  *
  * Keeps a memory cache of the log entries for performance reasons. Once a transaction finishes the client of this class must
  * manually remove the entries related to such transaction to clear the cache.
+ *
+ * Optionally, the journal may work in group commit mode, in which concurrent transactions coalesce their entries into a single
+ * write and sync of the journal file. Each operation is logged without holding the journal lock while waiting for the disk, and
+ * returns once its entry is durable.
  */
 public class TransactionJournal<T, K extends JournalEntry<T>> {
 
@@ -62,6 +68,19 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    */
   public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
                             JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes) {
+    this(logFilesDirectory, transactionCompletePredicate, journalEntrySerializer, maximumFileSizeInMegabytes, 0, 0);
+  }
+
+  /**
+   * @param logFilesDirectory directory used to store the journal files.
+   * @param groupCommitMaxBatchSize maximum number of entries to write and sync to disk at once. Zero disables group commit.
+   * @param groupCommitMaxWaitMicros maximum time in microseconds to wait for other entries to join a batch before writing it.
+   */
+  public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
+                            JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes,
+                            int groupCommitMaxBatchSize, long groupCommitMaxWaitMicros) {
+    Preconditions.checkArgument(groupCommitMaxBatchSize >= 0, "Group commit max batch size cannot be negative");
+    Preconditions.checkArgument(groupCommitMaxWaitMicros >= 0, "Group commit max wait cannot be negative");
     File logFileDirectory = new File(logFilesDirectory);
     if (!logFileDirectory.exists()) {
       Preconditions.checkState(logFileDirectory.mkdirs(),
@@ -72,10 +91,13 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
     logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
-    this.currentLogFile =
-        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
-    this.notCurrentLogFile =
-        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+    final long groupCommitMaxWaitNanos = MICROSECONDS.toNanos(groupCommitMaxWaitMicros);
+    this.currentLogFile = new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate,
+                                                     clearFileMinimumSizeInBytes, groupCommitMaxBatchSize,
+                                                     groupCommitMaxWaitNanos);
+    this.notCurrentLogFile = new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate,
+                                                        clearFileMinimumSizeInBytes, groupCommitMaxBatchSize,
+                                                        groupCommitMaxWaitNanos);
     this.transactionCompletePredicate = transactionCompletePredicate;
 
   }
@@ -92,9 +114,14 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    final TransactionJournalFile logFile;
+    final long sequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      sequence = logFile.logOperation(journalEntry);
+    }
+    logFile.awaitDurable(sequence);
   }
 
   /**
@@ -104,12 +131,17 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    final TransactionJournalFile logFile;
+    final long sequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      sequence = logFile.logOperation(journalEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
     }
+    logFile.awaitDurable(sequence);
   }
 
   /**
@@ -6,12 +6,18 @@
  */
 package org.mule.runtime.core.util.journal;
 
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 import org.mule.runtime.api.exception.MuleRuntimeException;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -50,9 +56,37 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
 
   private Multimap<T, K> entries = LinkedHashMultimap.create();
 
+  private FileOutputStream logFileStream;
   private DataOutputStream logFileOutputStream;
   private int journalOperations = 0;
 
+  /**
+   * Maximum number of entries to coalesce in a single write to the journal file. Zero if group commit is disabled.
+   */
+  private final int groupCommitMaxBatchSize;
+  /**
+   * Maximum time a flushing thread waits for other entries to join the batch.
+   */
+  private final long groupCommitMaxWaitNanos;
+
+  /**
+   * Entries logged in group commit mode that are not yet written to the journal file.
+   */
+  private final ByteArrayOutputStream pendingBytes = new ByteArrayOutputStream();
+  private final DataOutputStream pendingOutputStream = new DataOutputStream(pendingBytes);
+  private int pendingEntries = 0;
+  private long appendedSequence = 0;
+  private long durableSequence = 0;
+  private boolean flushing = false;
+  /**
+   * Incremented each time the journal file is cleared, so a batch taken before the clear is not written to the new file.
+   */
+  private volatile long generation = 0;
+  /**
+   * Guards the writes to the journal file done outside of this object's monitor.
+   */
+  private final Object ioLock = new Object();
+
   /**
    * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
    *        loaded from it.
@@ -61,9 +95,25 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
                                 TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes, 0, 0);
+  }
+
+  /**
+   * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
+   *        loaded from it.
+   * @param journalEntrySerializer serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param groupCommitMaxBatchSize maximum number of entries to write and sync to disk at once. Zero disables group commit.
+   * @param groupCommitMaxWaitNanos maximum time to wait for other entries to join a batch before writing it.
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
+                                TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                int groupCommitMaxBatchSize, long groupCommitMaxWaitNanos) {
     this.journalFile = journalFile;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
+    this.groupCommitMaxBatchSize = groupCommitMaxBatchSize;
+    this.groupCommitMaxWaitNanos = groupCommitMaxWaitNanos;
     if (journalFile.exists()) {
       loadAllEntries(transactionCompletePredicate);
     }
@@ -72,13 +122,153 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
 
   /**
    * Adds a journal entry for an operation done over a transactional resource
-   * 
+   * <p>
+   * In group commit mode the entry is only buffered, and {@link #awaitDurable(long)} must be called with the returned sequence
+   * to have it written to the journal file.
+   *
    * @param journalEntry operation details
+   * @return the sequence of the logged entry within this journal file.
    */
-  public synchronized void logOperation(K journalEntry) {
+  public synchronized long logOperation(K journalEntry) {
     entries.put(journalEntry.getTxId(), journalEntry);
-    journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
     journalOperations++;
+    if (!isGroupCommit()) {
+      journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
+      return 0;
+    }
+
+    journalEntrySerializer.serialize(journalEntry, pendingOutputStream);
+    if (++pendingEntries >= groupCommitMaxBatchSize) {
+      // wake up the thread waiting for the batch to fill up
+      notifyAll();
+    }
+    return ++appendedSequence;
+  }
+
+  /**
+   * Blocks until the entry with the given sequence is written and synced to the journal file.
+   * <p>
+   * The first thread to get here becomes the one flushing the batch. It waits for up to the configured max wait for other
+   * entries to join, and then writes all the pending entries at once followed by a single sync. Any other thread waiting for an
+   * entry in that batch is released once the sync is done.
+   * <p>
+   * Does nothing if group commit is disabled.
+   *
+   * @param sequence the value returned by {@link #logOperation(JournalEntry)} when logging the entry.
+   */
+  public void awaitDurable(long sequence) {
+    if (!isGroupCommit()) {
+      return;
+    }
+
+    final byte[] batch;
+    final int batchEntries;
+    final long batchSequence;
+    final long batchGeneration;
+    boolean interrupted = false;
+    synchronized (this) {
+      while (durableSequence < sequence && flushing) {
+        interrupted |= waitNanos(0);
+      }
+      if (durableSequence >= sequence) {
+        restoreInterruption(interrupted);
+        return;
+      }
+
+      flushing = true;
+      final long deadline = nanoTime() + groupCommitMaxWaitNanos;
+      long remaining = groupCommitMaxWaitNanos;
+      while (pendingEntries < groupCommitMaxBatchSize && durableSequence < sequence && remaining > 0) {
+        interrupted |= waitNanos(remaining);
+        remaining = deadline - nanoTime();
+      }
+
+      batch = pendingBytes.toByteArray();
+      batchEntries = pendingEntries;
+      batchSequence = appendedSequence;
+      batchGeneration = generation;
+      pendingBytes.reset();
+      pendingEntries = 0;
+    }
+
+    boolean written = false;
+    try {
+      writeBatch(batch, batchGeneration);
+      written = true;
+    } finally {
+      synchronized (this) {
+        flushing = false;
+        if (written) {
+          durableSequence = max(durableSequence, batchSequence);
+        } else if (batchGeneration == generation) {
+          // put the batch back in front of the entries logged meanwhile so it is written by the next flush
+          final byte[] newer = pendingBytes.toByteArray();
+          pendingBytes.reset();
+          pendingBytes.write(batch, 0, batch.length);
+          pendingBytes.write(newer, 0, newer.length);
+          pendingEntries += batchEntries;
+        }
+        notifyAll();
+      }
+      restoreInterruption(interrupted);
+    }
+  }
+
+  private void writeBatch(byte[] batch, long batchGeneration) {
+    synchronized (ioLock) {
+      if (batch.length == 0 || batchGeneration != generation) {
+        // the file was cleared after this batch was taken, no need to write it anymore
+        return;
+      }
+      try {
+        logFileStream.write(batch);
+        logFileStream.getChannel().force(false);
+      } catch (IOException e) {
+        throw new MuleRuntimeException(e);
+      }
+    }
+  }
+
+  /**
+   * Waits on this object's monitor.
+   *
+   * @return whether the thread was interrupted while waiting.
+   */
+  private boolean waitNanos(long nanos) {
+    try {
+      if (nanos > 0) {
+        NANOSECONDS.timedWait(this, nanos);
+      } else {
+        wait();
+      }
+      return false;
+    } catch (InterruptedException e) {
+      return true;
+    }
+  }
+
+  private void restoreInterruption(boolean interrupted) {
+    if (interrupted) {
+      currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Writes all the entries pending in group commit mode to the journal file.
+   */
+  private void flushPending() {
+    if (pendingBytes.size() > 0) {
+      final byte[] batch = pendingBytes.toByteArray();
+      pendingBytes.reset();
+      pendingEntries = 0;
+      writeBatch(batch, generation);
+    }
+    durableSequence = appendedSequence;
+    notifyAll();
+  }
+
+  private boolean isGroupCommit() {
+    return groupCommitMaxBatchSize > 0;
   }
 
   /**
@@ -120,6 +310,15 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Will not remove the transaction context.
    */
   public synchronized void close() {
+    synchronized (ioLock) {
+      if (isGroupCommit()) {
+        flushPending();
+      }
+      closeLogOutputStream();
+    }
+  }
+
+  private void closeLogOutputStream() {
     try {
       logFileOutputStream.close();
     } catch (IOException e) {
@@ -156,10 +355,20 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Remove all the entries from the transaction journal and cleans the transaction journal fle.
    */
   public synchronized void clear() {
-    close();
-    entries.clear();
-    FileUtils.deleteQuietly(journalFile);
-    createLogOutputStream();
+    synchronized (ioLock) {
+      if (isGroupCommit()) {
+        // all the pending entries belong to transactions that are discarded with the file
+        generation++;
+        pendingBytes.reset();
+        pendingEntries = 0;
+        durableSequence = appendedSequence;
+        notifyAll();
+      }
+      closeLogOutputStream();
+      entries.clear();
+      FileUtils.deleteQuietly(journalFile);
+      createLogOutputStream();
+    }
   }
 
   private void createLogOutputStream() {
@@ -171,7 +380,8 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
       }
     }
     try {
-      this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
+      this.logFileStream = new FileOutputStream(journalFile, true);
+      this.logFileOutputStream = new DataOutputStream(logFileStream);
     } catch (FileNotFoundException e) {
       throw new MuleRuntimeException(e);
     }
@@ -246,10 +456,10 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   }
 
   /**
-   * @return the file length in bytes
+   * @return the file length in bytes, including the entries pending to be written in group commit mode
    */
   public long fileLength() {
-    return journalFile.length();
+    return journalFile.length() + pendingBytes.size();
   }
 }
 
@@ -35,6 +35,16 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
 
   public AbstractQueueTransactionJournal(String logFilesDirectory, JournalEntrySerializer journalEntrySerializer,
                                          Integer maximumFileSizeInMegabytes) {
+    this(logFilesDirectory, journalEntrySerializer, maximumFileSizeInMegabytes, 0, 0);
+  }
+
+  /**
+   * @param groupCommitMaxBatchSize maximum number of entries to write and sync to disk at once. Zero disables group commit.
+   * @param groupCommitMaxWaitMicros maximum time in microseconds to wait for other entries to join a batch before writing it.
+   */
+  public AbstractQueueTransactionJournal(String logFilesDirectory, JournalEntrySerializer journalEntrySerializer,
+                                         Integer maximumFileSizeInMegabytes, int groupCommitMaxBatchSize,
+                                         long groupCommitMaxWaitMicros) {
     checkArgument(maximumFileSizeInMegabytes == null || maximumFileSizeInMegabytes > 0,
                   "Maximum tx log file size needs to be greater than zero");
     this.logFile = new TransactionJournal(logFilesDirectory, new TransactionCompletePredicate() {
@@ -44,7 +54,7 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
         AbstractQueueTxJournalEntry abstractQueueTxJournalEntry = (AbstractQueueTxJournalEntry) journalEntry;
         return abstractQueueTxJournalEntry.isCommit() || abstractQueueTxJournalEntry.isRollback();
       }
-    }, journalEntrySerializer, maximumFileSizeInMegabytes);
+    }, journalEntrySerializer, maximumFileSizeInMegabytes, groupCommitMaxBatchSize, groupCommitMaxWaitMicros);
   }
 
   public void logAdd(T txId, QueueStore queue, Serializable value) {
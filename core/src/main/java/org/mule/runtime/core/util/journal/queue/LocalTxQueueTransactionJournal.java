@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.util.journal.queue;
 
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.util.journal.JournalEntrySerializer;
 
@@ -19,6 +21,23 @@ import java.io.Serializable;
  */
 public class LocalTxQueueTransactionJournal extends AbstractQueueTransactionJournal<Integer, LocalQueueTxJournalEntry> {
 
+  /**
+   * System property to enable the group commit of the journal entries, so that concurrent transactions share the write and sync
+   * of the journal file.
+   */
+  public static final String GROUP_COMMIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.tx.groupCommit";
+  /**
+   * System property with the maximum number of journal entries written and synced at once in group commit mode.
+   */
+  public static final String GROUP_COMMIT_MAX_BATCH_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.tx.groupCommitMaxBatchSize";
+  /**
+   * System property with the maximum time in microseconds to wait for other entries to join a batch in group commit mode.
+   */
+  public static final String GROUP_COMMIT_MAX_WAIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.tx.groupCommitMaxWait";
+
+  public static final int DEFAULT_GROUP_COMMIT_MAX_BATCH_SIZE = 64;
+  public static final long DEFAULT_GROUP_COMMIT_MAX_WAIT_MICROS = 500;
+
   public LocalTxQueueTransactionJournal(String logFilesDirectory, final MuleContext muleContext, int maximumFileSizeInMegabytes) {
     super(logFilesDirectory, createLocalTxQueueJournalEntrySerializer(muleContext), maximumFileSizeInMegabytes);
   }
@@ -27,6 +46,20 @@ public class LocalTxQueueTransactionJournal extends AbstractQueueTransactionJour
     super(logFilesDirectory, createLocalTxQueueJournalEntrySerializer(muleContext), null);
   }
 
+  /**
+   * Creates a journal that works in group commit mode.
+   *
+   * @param maximumFileSizeInMegabytes maximum size of the journal files, or {@code null} for no limit.
+   * @param groupCommitMaxBatchSize maximum number of entries to write and sync to disk at once.
+   * @param groupCommitMaxWaitMicros maximum time in microseconds to wait for other entries to join a batch before writing it.
+   */
+  public LocalTxQueueTransactionJournal(String logFilesDirectory, final MuleContext muleContext,
+                                        Integer maximumFileSizeInMegabytes, int groupCommitMaxBatchSize,
+                                        long groupCommitMaxWaitMicros) {
+    super(logFilesDirectory, createLocalTxQueueJournalEntrySerializer(muleContext), maximumFileSizeInMegabytes,
+          groupCommitMaxBatchSize, groupCommitMaxWaitMicros);
+  }
+
   public static JournalEntrySerializer<Integer, LocalQueueTxJournalEntry> createLocalTxQueueJournalEntrySerializer(final MuleContext muleContext) {
     return new JournalEntrySerializer<Integer, LocalQueueTxJournalEntry>() {
 
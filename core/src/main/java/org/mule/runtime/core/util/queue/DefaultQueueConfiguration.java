@@ -6,18 +6,39 @@
  */
 package org.mule.runtime.core.util.queue;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
 public class DefaultQueueConfiguration implements QueueConfiguration {
 
+  /**
+   * System property to make persistent queues use a {@link SegmentedLogQueueStoreDelegate} by default, instead of a
+   * {@link DualRandomAccessFileQueueStoreDelegate}.
+   */
+  public static final String SEGMENTED_LOG_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.segmentedLog";
+
   private final boolean persistent;
   private final int capacity;
+  private final boolean segmentedLog;
 
   public DefaultQueueConfiguration() {
     this(QueueConfiguration.MAXIMUM_CAPACITY, false);
   }
 
   public DefaultQueueConfiguration(int capacity, boolean isPersistent) {
+    this(capacity, isPersistent, getBoolean(SEGMENTED_LOG_PROPERTY_KEY));
+  }
+
+  /**
+   * @param capacity the maximum number of elements in the queue, or {@link QueueConfiguration#MAXIMUM_CAPACITY} for no limit.
+   * @param isPersistent whether the queue content is kept in disk.
+   * @param segmentedLog whether a persistent queue is stored in a {@link SegmentedLogQueueStoreDelegate} instead of a
+   *        {@link DualRandomAccessFileQueueStoreDelegate}.
+   */
+  public DefaultQueueConfiguration(int capacity, boolean isPersistent, boolean segmentedLog) {
     this.capacity = capacity;
     this.persistent = isPersistent;
+    this.segmentedLog = segmentedLog;
   }
 
   @Override
@@ -30,9 +51,17 @@ public class DefaultQueueConfiguration implements QueueConfiguration {
     return capacity;
   }
 
+  /**
+   * @return whether a persistent queue is stored in a {@link SegmentedLogQueueStoreDelegate}.
+   */
+  public boolean isSegmentedLog() {
+    return segmentedLog;
+  }
+
   @Override
   public String toString() {
-    return String.format("DefaultQueueConfiguration{" + "persistent=%s, capacity=%s}", persistent, capacity);
+    return String.format("DefaultQueueConfiguration{" + "persistent=%s, capacity=%s, segmentedLog=%s}", persistent, capacity,
+                         segmentedLog);
   }
 
   @Override
@@ -43,6 +72,7 @@ public class DefaultQueueConfiguration implements QueueConfiguration {
     if (!obj.getClass().equals(this.getClass())) {
       return false;
     }
-    return persistent == ((DefaultQueueConfiguration) obj).persistent && capacity == ((DefaultQueueConfiguration) obj).capacity;
+    return persistent == ((DefaultQueueConfiguration) obj).persistent && capacity == ((DefaultQueueConfiguration) obj).capacity
+        && segmentedLog == ((DefaultQueueConfiguration) obj).segmentedLog;
   }
 }
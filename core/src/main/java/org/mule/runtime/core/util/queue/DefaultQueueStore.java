@@ -40,7 +40,10 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     if (this.config == null) {
       this.config = new DefaultQueueConfiguration();
     }
-    if (this.config.isPersistent()) {
+    if (this.config.isPersistent() && isSegmentedLog(this.config)) {
+      delegate = new SegmentedLogQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(), muleContext,
+                                                    this.config.getCapacity());
+    } else if (this.config.isPersistent()) {
       delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
                                                             muleContext, this.config.getCapacity());
     } else {
@@ -48,6 +51,10 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     }
   }
 
+  private boolean isSegmentedLog(QueueConfiguration config) {
+    return config instanceof DefaultQueueConfiguration && ((DefaultQueueConfiguration) config).isSegmentedLog();
+  }
+
   @Override
   public boolean equals(Object obj) {
     return (obj instanceof DefaultQueueStore && name.equals(((DefaultQueueStore) obj).name));
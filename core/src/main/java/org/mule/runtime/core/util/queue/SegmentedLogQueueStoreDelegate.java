@@ -0,0 +1,494 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.util.Preconditions;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.util.FileUtils;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation that stores the queue data in an append-only log split into
+ * memory-mapped segment files.
+ * <p/>
+ * Each element is appended as a record at the end of the current segment. Removing the first element just flags its record as
+ * consumed, so no data is moved around in the files. The position of every live record is kept in an in-memory index, so
+ * neither {@link #removeFirst()} nor {@link #getFirst()} need to read the files sequentially.
+ * <p/>
+ * Modified pages are synced to the disk by a background task every {@value #SYNC_INTERVAL_PROPERTY_KEY} milliseconds, so that
+ * many writes share the cost of a single sync. That includes the older segments in which records were flagged as consumed, so
+ * those are not delivered again after a crash. Since the segments are memory-mapped, a record is not lost if the Mule process
+ * crashes before being synced, only if the operating system does. The same background task deletes the segments whose records
+ * have all been consumed.
+ * <p/>
+ * Each record has the following layout: the length of the serialized element (4 bytes), the status of the record (1 byte) and
+ * the serialized element. The length is written last, so a partially written record is not considered when recovering.
+ */
+public class SegmentedLogQueueStoreDelegate extends AbstractQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  public static final String SEGMENT_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.segmentSize";
+  public static final String SYNC_INTERVAL_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.syncInterval";
+
+  private static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+  private static final long DEFAULT_SYNC_INTERVAL = 10;
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String SEGMENTS_DIRECTORY_SUFFIX = "-log";
+  private static final String SEGMENT_FILE_EXTENSION = ".seg";
+  private static final String UTF_8_ENCODING = "UTF-8";
+
+  private static final int RECORD_HEADER_LENGTH = 5;
+  private static final byte LIVE = 1;
+  private static final byte UNTAKEN = 2;
+  private static final byte CONSUMED = 3;
+
+  protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final ObjectSerializer serializer;
+  private final File segmentsDirectory;
+  private final int segmentSize;
+  private final ScheduledExecutorService syncExecutor;
+
+  private final Deque<Record> records = new ArrayDeque<>();
+  private final List<Segment> segments = new LinkedList<>();
+  private final Queue<Segment> consumedSegments = new ConcurrentLinkedQueue<>();
+  /**
+   * Segments other than the one being written that have records flagged as consumed since they were last synced.
+   */
+  private final Set<Segment> dirtySegments = newKeySet();
+  private volatile Segment writeSegment;
+  private long nextSegmentSequence = 0;
+
+  public SegmentedLogQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    super(capacity);
+    serializer = muleContext.getObjectSerializer();
+    segmentSize = getInteger(SEGMENT_SIZE_PROPERTY_KEY, DEFAULT_SEGMENT_SIZE);
+    segmentsDirectory = createSegmentsDirectory(new File(workingDirectory, QUEUE_STORE_DIRECTORY), queueName);
+
+    recover();
+
+    final long syncInterval = getLong(SYNC_INTERVAL_PROPERTY_KEY, DEFAULT_SYNC_INTERVAL);
+    syncExecutor = newSingleThreadScheduledExecutor(new DaemonThreadFactory(format("%s.sync", queueName)));
+    syncExecutor.scheduleWithFixedDelay(this::syncAndCompact, syncInterval, syncInterval, MILLISECONDS);
+
+    if (logger.isDebugEnabled()) {
+      logger.debug(format("Queue %s has %s messages", queueName, getSize()));
+    }
+  }
+
+  private static File createSegmentsDirectory(File queuesDirectory, String queueName) {
+    File directory = new File(queuesDirectory, queueName + SEGMENTS_DIRECTORY_SUFFIX);
+    if (!directory.exists() && !directory.mkdirs()) {
+      // if file system does not support the name provided then use a hex representation of the name.
+      directory = new File(queuesDirectory, toHex(queueName) + SEGMENTS_DIRECTORY_SUFFIX);
+      if (!directory.exists()) {
+        Preconditions.checkState(directory.mkdirs(), "Could not create queue store directory " + directory.getAbsolutePath());
+      }
+    }
+    return directory;
+  }
+
+  private static String toHex(String name) {
+    try {
+      return new BigInteger(name.getBytes(UTF_8_ENCODING)).toString(16);
+    } catch (UnsupportedEncodingException e) {
+      // This should never happen
+      return name;
+    }
+  }
+
+  /**
+   * Rebuilds the in-memory index from the segment files. Untaken records go first, the last untaken one at the head.
+   */
+  private void recover() {
+    final File[] segmentFiles = segmentsDirectory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION));
+    Arrays.sort(segmentFiles);
+
+    final List<Record> liveRecords = new ArrayList<>();
+    for (File segmentFile : segmentFiles) {
+      final long sequence = Long.parseLong(segmentFile.getName().substring(0, segmentFile.getName().indexOf('.')));
+      final Segment segment = new Segment(segmentFile, sequence, (int) segmentFile.length());
+      segment.recover(liveRecords);
+      segments.add(segment);
+      nextSegmentSequence = sequence + 1;
+    }
+
+    for (Record record : liveRecords) {
+      if (record.status == UNTAKEN) {
+        records.addFirst(record);
+      }
+    }
+    for (Record record : liveRecords) {
+      if (record.status == LIVE) {
+        records.addLast(record);
+      }
+    }
+
+    if (!segments.isEmpty()) {
+      writeSegment = segments.get(segments.size() - 1);
+    }
+    for (Segment segment : new ArrayList<>(segments)) {
+      if (segment != writeSegment && segment.liveRecords == 0) {
+        segments.remove(segment);
+        segment.delete();
+      }
+    }
+  }
+
+  @Override
+  protected int size() {
+    return records.size();
+  }
+
+  @Override
+  protected boolean isEmpty() {
+    return records.isEmpty();
+  }
+
+  @Override
+  protected Serializable getFirst() throws InterruptedException {
+    final Record record = records.peekFirst();
+    return record == null ? null : deserialize(record.read());
+  }
+
+  @Override
+  protected Serializable removeFirst() throws InterruptedException {
+    final Record record = records.pollFirst();
+    if (record == null) {
+      return null;
+    }
+    final Serializable value = deserialize(record.read());
+    consume(record);
+    return value;
+  }
+
+  @Override
+  protected void add(Serializable item) {
+    records.addLast(append(serialize(item), LIVE));
+  }
+
+  @Override
+  protected void addFirst(Serializable item) throws InterruptedException {
+    records.addFirst(append(serialize(item), UNTAKEN));
+  }
+
+  @Override
+  protected boolean doAddAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      add(item);
+    }
+    return true;
+  }
+
+  @Override
+  protected void doClear() {
+    records.clear();
+    for (Segment segment : segments) {
+      segment.delete();
+    }
+    segments.clear();
+    dirtySegments.clear();
+    writeSegment = null;
+  }
+
+  @Override
+  public synchronized void remove(Serializable value) {
+    final Iterator<Record> iterator = records.iterator();
+    while (iterator.hasNext()) {
+      final Record record = iterator.next();
+      if (deserialize(record.read()).equals(value)) {
+        iterator.remove();
+        consume(record);
+        return;
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean contains(Serializable value) {
+    for (Record record : records) {
+      if (deserialize(record.read()).equals(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public synchronized Collection<Serializable> allElements() {
+    final List<Serializable> elements = new ArrayList<>(records.size());
+    for (Record record : records) {
+      try {
+        elements.add(deserialize(record.read()));
+      } catch (Exception e) {
+        logger.warn("Failure trying to deserialize value " + e.getMessage());
+        if (logger.isDebugEnabled()) {
+          logger.debug("Failure trying to deserialize value", e);
+        }
+      }
+    }
+    return elements;
+  }
+
+  @Override
+  public synchronized void close() {
+    syncExecutor.shutdownNow();
+    for (Segment segment : segments) {
+      segment.sync();
+      segment.close();
+    }
+    dirtySegments.clear();
+    deleteConsumedSegments();
+  }
+
+  @Override
+  public synchronized void dispose() {
+    syncExecutor.shutdownNow();
+    doClear();
+    deleteConsumedSegments();
+    FileUtils.deleteQuietly(segmentsDirectory);
+  }
+
+  private Record append(byte[] data, byte status) {
+    if (writeSegment == null || !writeSegment.hasRoomFor(data.length)) {
+      rollSegment(data.length);
+    }
+    return writeSegment.append(data, status);
+  }
+
+  private void rollSegment(int dataLength) {
+    if (writeSegment != null) {
+      // The previous segment will not be written anymore, so it is synced right away.
+      writeSegment.sync();
+      if (writeSegment.liveRecords == 0) {
+        segments.remove(writeSegment);
+        consumedSegments.add(writeSegment);
+      }
+    }
+    final File segmentFile = new File(segmentsDirectory, format("%020d%s", nextSegmentSequence, SEGMENT_FILE_EXTENSION));
+    writeSegment = new Segment(segmentFile, nextSegmentSequence, max(segmentSize, RECORD_HEADER_LENGTH + dataLength));
+    ++nextSegmentSequence;
+    segments.add(writeSegment);
+  }
+
+  private void consume(Record record) {
+    record.segment.markConsumed(record.position);
+    if (record.segment != writeSegment) {
+      if (record.segment.liveRecords == 0) {
+        segments.remove(record.segment);
+        consumedSegments.add(record.segment);
+      } else {
+        dirtySegments.add(record.segment);
+      }
+    }
+  }
+
+  private void syncAndCompact() {
+    try {
+      for (Segment segment : dirtySegments) {
+        // removed before syncing, so a record consumed meanwhile adds it again for the next run
+        dirtySegments.remove(segment);
+        segment.sync();
+      }
+      final Segment segment = writeSegment;
+      if (segment != null) {
+        segment.sync();
+      }
+      deleteConsumedSegments();
+    } catch (Exception e) {
+      logger.warn("Failure syncing queue store segments: " + e.getMessage());
+      if (logger.isDebugEnabled()) {
+        logger.debug("Failure syncing queue store segments", e);
+      }
+    }
+  }
+
+  private void deleteConsumedSegments() {
+    Segment segment;
+    while ((segment = consumedSegments.poll()) != null) {
+      dirtySegments.remove(segment);
+      segment.delete();
+    }
+  }
+
+  /**
+   * @return whether there are changes in any of the segments that were not synced to the disk yet.
+   */
+  synchronized boolean hasUnsyncedChanges() {
+    for (Segment segment : segments) {
+      if (segment.dirty) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private byte[] serialize(Serializable item) {
+    return serializer.getInternalProtocol().serialize(item);
+  }
+
+  private Serializable deserialize(byte[] valueAsBytes) {
+    return serializer.getInternalProtocol().deserialize(valueAsBytes);
+  }
+
+  /**
+   * A memory-mapped file holding a sequence of records.
+   */
+  private static final class Segment {
+
+    private final File file;
+    private final long sequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int writePosition = 0;
+    private int liveRecords = 0;
+    private volatile boolean dirty = false;
+
+    private Segment(File file, long sequence, int size) {
+      this.file = file;
+      this.sequence = sequence;
+      try {
+        channel = new RandomAccessFile(file, "rw").getChannel();
+        buffer = channel.map(READ_WRITE, 0, size);
+      } catch (IOException e) {
+        throw new MuleRuntimeException(e);
+      }
+    }
+
+    private void recover(List<Record> liveRecords) {
+      while (writePosition + RECORD_HEADER_LENGTH <= buffer.capacity()) {
+        final int length = buffer.getInt(writePosition);
+        final byte status = buffer.get(writePosition + 4);
+        if (length <= 0 || writePosition + RECORD_HEADER_LENGTH + length > buffer.capacity()
+            || (status != LIVE && status != UNTAKEN && status != CONSUMED)) {
+          // end of the written data, or a record that was not completely written
+          break;
+        }
+        if (status != CONSUMED) {
+          liveRecords.add(new Record(this, writePosition, length, status));
+          ++this.liveRecords;
+        }
+        writePosition += RECORD_HEADER_LENGTH + length;
+      }
+    }
+
+    private boolean hasRoomFor(int dataLength) {
+      return writePosition + RECORD_HEADER_LENGTH + dataLength <= buffer.capacity();
+    }
+
+    private Record append(byte[] data, byte status) {
+      final ByteBuffer view = buffer.duplicate();
+      view.position(writePosition + RECORD_HEADER_LENGTH);
+      view.put(data);
+      buffer.put(writePosition + 4, status);
+      // Writing the length last marks the record as complete
+      buffer.putInt(writePosition, data.length);
+
+      final Record record = new Record(this, writePosition, data.length, status);
+      writePosition += RECORD_HEADER_LENGTH + data.length;
+      ++liveRecords;
+      dirty = true;
+      return record;
+    }
+
+    private byte[] read(int position, int length) {
+      final byte[] data = new byte[length];
+      final ByteBuffer view = buffer.duplicate();
+      view.position(position + RECORD_HEADER_LENGTH);
+      view.get(data);
+      return data;
+    }
+
+    private void markConsumed(int position) {
+      buffer.put(position + 4, CONSUMED);
+      --liveRecords;
+      dirty = true;
+    }
+
+    private void sync() {
+      if (dirty) {
+        dirty = false;
+        buffer.force();
+      }
+    }
+
+    private void close() {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // Nothing to do
+      }
+    }
+
+    private void delete() {
+      close();
+      FileUtils.deleteQuietly(file);
+    }
+
+    @Override
+    public String toString() {
+      return "Segment{" + sequence + "}";
+    }
+  }
+
+  /**
+   * The location of an element in the segments.
+   */
+  private static final class Record {
+
+    private final Segment segment;
+    private final int position;
+    private final int length;
+    private final byte status;
+
+    private Record(Segment segment, int position, int length, byte status) {
+      this.segment = segment;
+      this.position = position;
+      this.length = length;
+      this.status = status;
+    }
+
+    private byte[] read() {
+      return segment.read(position, length);
+    }
+  }
+}
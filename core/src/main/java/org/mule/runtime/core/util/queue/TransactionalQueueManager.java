@@ -7,6 +7,15 @@
 
 package org.mule.runtime.core.util.queue;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static org.mule.runtime.core.util.journal.queue.LocalTxQueueTransactionJournal.DEFAULT_GROUP_COMMIT_MAX_BATCH_SIZE;
+import static org.mule.runtime.core.util.journal.queue.LocalTxQueueTransactionJournal.DEFAULT_GROUP_COMMIT_MAX_WAIT_MICROS;
+import static org.mule.runtime.core.util.journal.queue.LocalTxQueueTransactionJournal.GROUP_COMMIT_MAX_BATCH_SIZE_PROPERTY;
+import static org.mule.runtime.core.util.journal.queue.LocalTxQueueTransactionJournal.GROUP_COMMIT_MAX_WAIT_PROPERTY;
+import static org.mule.runtime.core.util.journal.queue.LocalTxQueueTransactionJournal.GROUP_COMMIT_PROPERTY;
+
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
@@ -62,14 +71,26 @@ public class TransactionalQueueManager extends AbstractQueueManager {
   public void initialise() throws InitialisationException {
     String workingDirectory = getMuleContext().getConfiguration().getWorkingDirectory();
     int queueTransactionFilesSizeInMegabytes = getMuleContext().getConfiguration().getMaxQueueTransactionFilesSizeInMegabytes();
-    localTxTransactionJournal = new LocalTxQueueTransactionJournal(workingDirectory + File.separator + "queue-tx-log",
-                                                                   getMuleContext(), queueTransactionFilesSizeInMegabytes);
+    localTxTransactionJournal = createLocalTxTransactionJournal(workingDirectory + File.separator + "queue-tx-log",
+                                                                queueTransactionFilesSizeInMegabytes);
     localTxQueueTransactionRecoverer = new LocalTxQueueTransactionRecoverer(localTxTransactionJournal, this);
     xaTransactionJournal = new XaTxQueueTransactionJournal(workingDirectory + File.separator + "queue-xa-tx-log",
                                                            getMuleContext(), queueTransactionFilesSizeInMegabytes);
     xaTransactionRecoverer = new XaTransactionRecoverer(xaTransactionJournal, this);
   }
 
+  private LocalTxQueueTransactionJournal createLocalTxTransactionJournal(String logFilesDirectory,
+                                                                        int queueTransactionFilesSizeInMegabytes) {
+    if (getBoolean(GROUP_COMMIT_PROPERTY)) {
+      return new LocalTxQueueTransactionJournal(logFilesDirectory, getMuleContext(), queueTransactionFilesSizeInMegabytes,
+                                                getInteger(GROUP_COMMIT_MAX_BATCH_SIZE_PROPERTY,
+                                                           DEFAULT_GROUP_COMMIT_MAX_BATCH_SIZE),
+                                                getLong(GROUP_COMMIT_MAX_WAIT_PROPERTY, DEFAULT_GROUP_COMMIT_MAX_WAIT_MICROS));
+    } else {
+      return new LocalTxQueueTransactionJournal(logFilesDirectory, getMuleContext(), queueTransactionFilesSizeInMegabytes);
+    }
+  }
+
   @Override
   public RecoverableQueueStore getRecoveryQueue(String queueName) {
     if (queuesAccessedForRecovery.containsKey(queueName)) {
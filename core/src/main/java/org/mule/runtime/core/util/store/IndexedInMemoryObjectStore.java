@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <code>IndexedInMemoryObjectStore</code> is an optionally bounded in-memory store with periodic expiry of old entries, that may
+ * be used in place of an {@link InMemoryObjectStore}.
+ * <p>
+ * Entries are indexed by key in a hash map, so {@link #contains(Serializable)}, {@link #retrieve(Serializable)},
+ * {@link #store(Serializable, Serializable)} and {@link #remove(Serializable)} take constant time and do not lock the whole
+ * store. Entries are also kept in insertion order, so the expiry process only visits the entries that are actually expired or
+ * exceed the maximum size.
+ * <p>
+ * As in {@link InMemoryObjectStore}, the bounded size is a <i>soft</i> limit and only enforced periodically by the expiry process.
+ */
+public class IndexedInMemoryObjectStore<T extends Serializable> extends AbstractMonitoredObjectStore<T> {
+
+  /**
+   * Defines the minimum number of entries removed by key that are required to purge them from the insertion order queue.
+   */
+  private static final int MINIMUM_REMOVED_ENTRIES_TO_PURGE = 1000;
+
+  private final ConcurrentHashMap<Serializable, StoredEntry<T>> index = new ConcurrentHashMap<>();
+
+  /**
+   * The stored entries, oldest first. Entries removed by key are left here and discarded when they reach the head of the queue.
+   */
+  private final ConcurrentLinkedQueue<StoredEntry<T>> insertionOrder = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Approximate number of entries in {@link #insertionOrder} that were already removed from the {@link #index}.
+   */
+  private final AtomicInteger removedEntries = new AtomicInteger();
+
+  @Override
+  public boolean isPersistent() {
+    return false;
+  }
+
+  @Override
+  public boolean contains(Serializable key) throws ObjectStoreException {
+    if (key == null) {
+      throw new ObjectStoreException(CoreMessages.objectIsNull("id"));
+    }
+
+    return index.containsKey(key);
+  }
+
+  @Override
+  public void store(Serializable id, T value) throws ObjectStoreException {
+    if (id == null) {
+      throw new ObjectStoreException(CoreMessages.objectIsNull("id"));
+    }
+
+    StoredEntry<T> entry = new StoredEntry<>(id, value, nanoTime());
+    if (index.putIfAbsent(id, entry) != null) {
+      throw new ObjectAlreadyExistsException();
+    }
+    insertionOrder.add(entry);
+  }
+
+  @Override
+  public T retrieve(Serializable key) throws ObjectStoreException {
+    StoredEntry<T> entry = key == null ? null : index.get(key);
+    if (entry == null) {
+      throw new ObjectDoesNotExistException(CoreMessages.objectNotFound(key));
+    }
+    return entry.item;
+  }
+
+  @Override
+  public T remove(Serializable key) throws ObjectStoreException {
+    StoredEntry<T> entry = key == null ? null : index.remove(key);
+    if (entry == null) {
+      throw new ObjectDoesNotExistException(CoreMessages.objectNotFound(key));
+    }
+
+    entry.removed = true;
+    final int removed = removedEntries.incrementAndGet();
+    if (removed > MINIMUM_REMOVED_ENTRIES_TO_PURGE && removed > index.size()) {
+      purgeRemovedEntries();
+    }
+    return entry.item;
+  }
+
+  /**
+   * Discards the entries removed by key that are still in the insertion order queue, so it does not grow unbounded when entries
+   * are removed faster than they expire.
+   */
+  private void purgeRemovedEntries() {
+    removedEntries.set(0);
+    insertionOrder.removeIf(entry -> entry.removed);
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    index.clear();
+    insertionOrder.clear();
+    removedEntries.set(0);
+  }
+
+  @Override
+  public void expire() {
+    // this is not guaranteed to be precise, but we don't mind
+    int currentSize = index.size();
+
+    // first trim to maxSize if necessary
+    currentSize = trimToMaxSize(currentSize);
+
+    // expire further if entry TTLs are enabled
+    if ((entryTTL > 0) && (currentSize != 0)) {
+      final long now = nanoTime();
+      int expiredEntries = 0;
+      StoredEntry<T> oldestEntry;
+
+      while ((oldestEntry = insertionOrder.peek()) != null) {
+        if (!oldestEntry.removed && NANOSECONDS.toMillis(now - oldestEntry.timestamp) < entryTTL) {
+          break;
+        }
+        if (evict(insertionOrder.poll())) {
+          expiredEntries++;
+        }
+      }
+
+      if (logger.isDebugEnabled()) {
+        logger.debug("Expired " + expiredEntries + " old entries");
+      }
+    }
+  }
+
+  private int trimToMaxSize(int currentSize) {
+    if (maxEntries < 0) {
+      return currentSize;
+    }
+
+    int excess = (currentSize - maxEntries);
+    if (excess > 0) {
+      while (currentSize > maxEntries) {
+        StoredEntry<T> oldestEntry = insertionOrder.poll();
+        if (oldestEntry == null) {
+          break;
+        }
+        if (evict(oldestEntry)) {
+          currentSize--;
+        }
+      }
+
+      if (logger.isDebugEnabled()) {
+        logger.debug("Expired " + excess + " excess entries");
+      }
+    }
+    return currentSize;
+  }
+
+  /**
+   * Removes from the index an entry already taken out of the insertion order queue.
+   *
+   * @return {@code true} if the entry was still in the store, {@code false} if it had already been removed by key.
+   */
+  private boolean evict(StoredEntry<T> entry) {
+    if (entry == null) {
+      return false;
+    }
+    if (index.remove(entry.key, entry)) {
+      return true;
+    }
+    if (removedEntries.get() > 0) {
+      removedEntries.decrementAndGet();
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + " " + index.keySet();
+  }
+
+  private static final class StoredEntry<T> {
+
+    private final Serializable key;
+    private final T item;
+    private final long timestamp;
+    private volatile boolean removed = false;
+
+    private StoredEntry(Serializable key, T item, long timestamp) {
+      this.key = key;
+      this.item = item;
+      this.timestamp = timestamp;
+    }
+  }
+}
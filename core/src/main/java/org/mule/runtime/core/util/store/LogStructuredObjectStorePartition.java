@@ -0,0 +1,882 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.lang.Long.getLong;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.store.ObjectStoreManager.UNBOUNDED;
+import static org.mule.runtime.core.util.FileUtils.readFileToString;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.i18n.I18nMessage;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.store.ExpirableObjectStore;
+import org.mule.runtime.core.api.store.ListableObjectStore;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.store.ObjectStoreNotAvaliableException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent object store partition that appends its entries to a few large data segment files instead of writing one file per
+ * entry as {@link PersistentObjectStorePartition} does.
+ * <p>
+ * The location of each entry is kept in an in-memory hash index, so reads do not have to wait for writes. The index is
+ * periodically saved to a compacted index file along with the position in the data segments it covers, so that opening the
+ * partition only has to read that file and the entries appended after it was saved, instead of every stored value.
+ * <p>
+ * Removing or expiring an entry appends a tombstone. Segments in which most of the entries are no longer live are compacted by
+ * {@link #compact()}, which copies the live entries to the end of the log and deletes the old segment. The tombstones of a
+ * compacted segment are copied as well while an older segment may still have the removed entry, so that replaying the log
+ * without the index file does not bring it back.
+ *
+ * @param <T> the type of the values in the partition.
+ * @since 4.0
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable>
+    implements ListableObjectStore<T>, ExpirableObjectStore<T> {
+
+  /**
+   * System property with the size in bytes from which a new data segment is started.
+   */
+  public static final String SEGMENT_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.segmentSize";
+
+  private static final long DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+  private static final String SEGMENT_FILE_EXTENSION = ".data";
+  private static final String SEGMENT_FILE_NAME_FORMAT = "%020d" + SEGMENT_FILE_EXTENSION;
+  private static final String INDEX_FILE = "index";
+  private static final String INDEX_TEMP_FILE = "index.tmp";
+  private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
+  private static final int INDEX_FILE_VERSION = 2;
+
+  private static final byte PUT = 1;
+  private static final byte DELETE = 2;
+  private static final byte[] EMPTY = new byte[0];
+  /**
+   * Record layout: length of the rest of the record (int), type (byte), timestamp (long), key length (int), key, value.
+   */
+  private static final int KEY_LENGTH_OFFSET = 4 + 1 + 8;
+  private static final int KEY_OFFSET = KEY_LENGTH_OFFSET + 4;
+
+  /**
+   * Segments with less than this ratio of live bytes are compacted.
+   */
+  private static final double COMPACTION_LIVE_RATIO = 0.5;
+
+  protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+  private final MuleContext muleContext;
+  private final ObjectSerializer serializer;
+  private final long segmentSize = getLong(SEGMENT_SIZE_PROPERTY, DEFAULT_SEGMENT_SIZE);
+
+  private File partitionDirectory;
+  private String partitionName;
+
+  private volatile boolean loaded = false;
+
+  private final Map<Serializable, Location> index = new ConcurrentHashMap<>();
+  /**
+   * Location of the last tombstone of each removed key that may still have an entry in an older segment. These tombstones count
+   * as live bytes of their segments.
+   */
+  private final Map<Serializable, Location> tombstones = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+  private volatile Segment activeSegment;
+  /**
+   * Bytes appended since the index file was last saved.
+   */
+  private long bytesSinceIndexSaved = 0;
+
+  /**
+   * Reads and appends are done holding the read lock. The write lock is only held to close and delete segments.
+   */
+  private final ReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+  /**
+   * Serializes the appends to the active segment, always taken after {@link #segmentsLock}.
+   */
+  private final Object appendLock = new Object();
+  private final Object indexFileLock = new Object();
+
+  LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    this.muleContext = muleContext;
+    serializer = muleContext.getObjectSerializer();
+    this.partitionName = partitionName;
+    this.partitionDirectory = partitionDirectory;
+  }
+
+  LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory) throws ObjectStoreNotAvaliableException {
+    this.muleContext = muleContext;
+    serializer = muleContext.getObjectSerializer();
+    this.partitionDirectory = partitionDirectory;
+    this.partitionName = readPartitionFileName(partitionDirectory);
+  }
+
+  private String readPartitionFileName(File partitionDirectory) throws ObjectStoreNotAvaliableException {
+    File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+    try {
+      return readFileToString(partitionDescriptorFile);
+    } catch (IOException e) {
+      throw new ObjectStoreNotAvaliableException(e);
+    }
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    createDirectory(partitionDirectory);
+    createOrRetrievePartitionDescriptorFile();
+  }
+
+  /**
+   * Saves the index file and releases the segment files. The partition is loaded again on the next access.
+   */
+  @Override
+  public synchronized void close() throws ObjectStoreException {
+    if (!loaded) {
+      return;
+    }
+
+    saveIndex();
+    segmentsLock.writeLock().lock();
+    try {
+      for (Segment segment : segments.values()) {
+        closeSegment(segment);
+      }
+      segments.clear();
+      index.clear();
+      tombstones.clear();
+      activeSegment = null;
+      loaded = false;
+    } finally {
+      segmentsLock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Serializable> allKeys() throws ObjectStoreException {
+    assureLoaded();
+    return Collections.unmodifiableList(new ArrayList<>(index.keySet()));
+  }
+
+  @Override
+  public boolean contains(Serializable key) throws ObjectStoreException {
+    assureLoaded();
+    return index.containsKey(key);
+  }
+
+  @Override
+  public void store(Serializable key, T value) throws ObjectStoreException {
+    assureLoaded();
+
+    final byte[] keyBytes = serializer.getInternalProtocol().serialize(key);
+    final byte[] valueBytes = serializer.getInternalProtocol().serialize(value);
+    segmentsLock.readLock().lock();
+    try {
+      synchronized (appendLock) {
+        if (index.containsKey(key)) {
+          throw new ObjectAlreadyExistsException();
+        }
+        Location location = append(PUT, currentTimeMillis(), keyBytes, valueBytes);
+        location.segment.liveBytes.addAndGet(location.length);
+        index.put(key, location);
+        forgetTombstone(key);
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public T retrieve(Serializable key) throws ObjectStoreException {
+    assureLoaded();
+
+    final byte[] record;
+    segmentsLock.readLock().lock();
+    try {
+      Location location = index.get(key);
+      if (location == null) {
+        throw keyDoesNotExist(key);
+      }
+      record = read(location);
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+    return deserializeValue(record);
+  }
+
+  @Override
+  public T remove(Serializable key) throws ObjectStoreException {
+    assureLoaded();
+
+    final byte[] record;
+    segmentsLock.readLock().lock();
+    try {
+      synchronized (appendLock) {
+        Location location = index.get(key);
+        if (location == null) {
+          throw keyDoesNotExist(key);
+        }
+        record = read(location);
+        delete(key, location);
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+    return deserializeValue(record);
+  }
+
+  /**
+   * Removes the entry for the given key, only if it is still the one at the given location.
+   */
+  private void removeIfUnchanged(Serializable key, Location location) throws ObjectStoreException {
+    segmentsLock.readLock().lock();
+    try {
+      synchronized (appendLock) {
+        if (index.get(key) == location) {
+          delete(key, location);
+        }
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+  }
+
+  private void delete(Serializable key, Location location) throws IOException {
+    putTombstone(key, append(DELETE, currentTimeMillis(), serializer.getInternalProtocol().serialize(key), EMPTY));
+    index.remove(key);
+    location.segment.liveBytes.addAndGet(-location.length);
+  }
+
+  private void putTombstone(Serializable key, Location location) {
+    location.segment.liveBytes.addAndGet(location.length);
+    forgetTombstone(key);
+    tombstones.put(key, location);
+  }
+
+  private void forgetTombstone(Serializable key) {
+    final Location tombstone = tombstones.remove(key);
+    if (tombstone != null) {
+      tombstone.segment.liveBytes.addAndGet(-tombstone.length);
+    }
+  }
+
+  /**
+   * Forgets the tombstones in the first segment, as they can only refer to entries before them in that same segment.
+   */
+  private void forgetTombstonesInFirstSegment() {
+    if (segments.isEmpty()) {
+      return;
+    }
+    final Segment firstSegment = segments.firstEntry().getValue();
+    for (Map.Entry<Serializable, Location> entry : tombstones.entrySet()) {
+      if (entry.getValue().segment == firstSegment) {
+        forgetTombstone(entry.getKey());
+      }
+    }
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    assureLoaded();
+
+    segmentsLock.writeLock().lock();
+    try {
+      synchronized (appendLock) {
+        index.clear();
+        tombstones.clear();
+        for (Segment segment : segments.values()) {
+          closeSegment(segment);
+          segment.file.delete();
+        }
+        segments.clear();
+        new File(partitionDirectory, INDEX_FILE).delete();
+        activeSegment = openSegment(0);
+        bytesSinceIndexSaved = 0;
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(CoreMessages.createStaticMessage("Could not clear ObjectStore"), e);
+    } finally {
+      segmentsLock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public void expire(int entryTTL, int maxEntries) throws ObjectStoreException {
+    assureLoaded();
+
+    final List<Map.Entry<Serializable, Location>> entries = new ArrayList<>(index.entrySet());
+    entries.sort((e1, e2) -> Long.compare(e1.getValue().timestamp, e2.getValue().timestamp));
+
+    final int excess = maxEntries == UNBOUNDED ? 0 : entries.size() - maxEntries;
+    final long now = currentTimeMillis();
+    for (int i = 0; i < entries.size(); i++) {
+      Map.Entry<Serializable, Location> entry = entries.get(i);
+      if (i < excess || (entryTTL != UNBOUNDED && (now - entry.getValue().timestamp) >= entryTTL)) {
+        removeIfUnchanged(entry.getKey(), entry.getValue());
+      } else {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Copies the live entries of the segments that are mostly made of removed entries to the end of the log, saves the index and
+   * deletes those segments. Also saves the index if enough entries were appended since it was last saved, so the next time the
+   * partition is opened does not have to go through them.
+   * <p>
+   * The tombstones of a compacted segment are copied too if an older segment is kept, as it may have the removed entries. The
+   * copied records and the index are forced to the storage device before the compacted segments are deleted.
+   */
+  public void compact() throws ObjectStoreException {
+    if (!loaded) {
+      return;
+    }
+
+    final List<Segment> compacted = new ArrayList<>();
+    segmentsLock.readLock().lock();
+    try {
+      synchronized (appendLock) {
+        forgetTombstonesInFirstSegment();
+      }
+
+      boolean olderSegmentKept = false;
+      for (Segment segment : new ArrayList<>(segments.values())) {
+        if (segment != activeSegment && segment.liveBytes.get() < segment.size * COMPACTION_LIVE_RATIO) {
+          relocateLiveEntries(segment);
+          relocateTombstones(segment, olderSegmentKept);
+          compacted.add(segment);
+        } else {
+          olderSegmentKept = true;
+        }
+      }
+
+      if (!compacted.isEmpty()) {
+        for (Segment segment : segments.values()) {
+          if (!compacted.contains(segment)) {
+            segment.channel.force(false);
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+
+    if (!compacted.isEmpty() || bytesSinceIndexSaved >= segmentSize) {
+      saveIndex();
+    }
+
+    if (!compacted.isEmpty()) {
+      segmentsLock.writeLock().lock();
+      try {
+        for (Segment segment : compacted) {
+          segments.remove(segment.id);
+          closeSegment(segment);
+          if (!segment.file.delete()) {
+            logger.warn("Could not delete compacted object store segment " + segment.file.getAbsolutePath());
+          }
+        }
+      } finally {
+        segmentsLock.writeLock().unlock();
+      }
+
+      if (logger.isDebugEnabled()) {
+        logger.debug(format("Compacted %d segments of object store partition %s", compacted.size(), partitionName));
+      }
+    }
+  }
+
+  private void relocateLiveEntries(Segment segment) throws IOException {
+    for (Map.Entry<Serializable, Location> entry : index.entrySet()) {
+      final Location location = entry.getValue();
+      if (location.segment != segment) {
+        continue;
+      }
+
+      final byte[] record = read(location);
+      synchronized (appendLock) {
+        if (index.get(entry.getKey()) == location) {
+          Location relocated = appendRecord(record, location.timestamp);
+          relocated.segment.liveBytes.addAndGet(relocated.length);
+          segment.liveBytes.addAndGet(-location.length);
+          index.put(entry.getKey(), relocated);
+        }
+      }
+    }
+  }
+
+  /**
+   * Copies the tombstones of a segment to the end of the log, or forgets them if there is no older segment in which the removed
+   * entries may be.
+   */
+  private void relocateTombstones(Segment segment, boolean olderSegmentKept) throws IOException {
+    for (Map.Entry<Serializable, Location> entry : tombstones.entrySet()) {
+      final Location location = entry.getValue();
+      if (location.segment != segment) {
+        continue;
+      }
+
+      final byte[] record = olderSegmentKept ? read(location) : null;
+      synchronized (appendLock) {
+        if (tombstones.get(entry.getKey()) == location) {
+          if (record != null) {
+            putTombstone(entry.getKey(), appendRecord(record, location.timestamp));
+          } else {
+            forgetTombstone(entry.getKey());
+          }
+        }
+      }
+    }
+  }
+
+  private void assureLoaded() throws ObjectStoreException {
+    if (!loaded) {
+      loadIndex();
+    }
+  }
+
+  private synchronized void loadIndex() throws ObjectStoreException {
+    /*
+     * by re-checking this condition here we can avoid contention in {@link #assureLoaded}. The amount of times that this
+     * condition should evaluate to {@code true} is really limited, which provides better performance in the long run
+     */
+    if (loaded) {
+      return;
+    }
+
+    try {
+      for (File file : listSegmentFiles()) {
+        long id = Long.parseLong(file.getName().substring(0, file.getName().length() - SEGMENT_FILE_EXTENSION.length()));
+        Segment segment = new Segment(id, file);
+        segment.size = segment.channel.size();
+        segments.put(id, segment);
+      }
+
+      IndexPosition position = readIndexFile();
+      if (position == null) {
+        position = new IndexPosition(segments.isEmpty() ? 0 : segments.firstKey(), 0);
+      }
+      for (Segment segment : segments.tailMap(position.segmentId).values()) {
+        replay(segment, segment.id == position.segmentId ? position.offset : 0);
+      }
+      deleteUnreferencedSegments(position.segmentId);
+      forgetTombstonesInFirstSegment();
+
+      activeSegment = segments.isEmpty() ? openSegment(0) : segments.lastEntry().getValue();
+      loaded = true;
+    } catch (Exception e) {
+      String message = format("Could not restore object store data from %1s", partitionDirectory.getAbsolutePath());
+      throw new ObjectStoreException(CoreMessages.createStaticMessage(message), e);
+    }
+  }
+
+  /**
+   * Reads the index file, if there is one.
+   *
+   * @return the position in the log up to which the index file has the entries, or {@code null} if there is no index file.
+   */
+  private IndexPosition readIndexFile() throws IOException {
+    final File indexFile = new File(partitionDirectory, INDEX_FILE);
+    if (!indexFile.exists()) {
+      return null;
+    }
+
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+      if (input.readInt() != INDEX_FILE_VERSION) {
+        logger.warn("Unknown version of object store index file " + indexFile.getAbsolutePath() + ", rebuilding it");
+        return null;
+      }
+      final IndexPosition position = new IndexPosition(input.readLong(), input.readLong());
+      final int entries = input.readInt();
+      for (int i = 0; i < entries; i++) {
+        byte[] keyBytes = new byte[input.readInt()];
+        input.readFully(keyBytes);
+        Segment segment = segments.get(input.readLong());
+        long offset = input.readLong();
+        int length = input.readInt();
+        long timestamp = input.readLong();
+        if (segment == null) {
+          throw new IOException("Index file references a missing segment");
+        }
+        Location location = new Location(segment, offset, length, timestamp);
+        segment.liveBytes.addAndGet(length);
+        index.put(serializer.getInternalProtocol().deserialize(keyBytes), location);
+      }
+      final int removedEntries = input.readInt();
+      for (int i = 0; i < removedEntries; i++) {
+        byte[] keyBytes = new byte[input.readInt()];
+        input.readFully(keyBytes);
+        Segment segment = segments.get(input.readLong());
+        if (segment == null) {
+          throw new IOException("Index file references a missing segment");
+        }
+        Location location = new Location(segment, input.readLong(), input.readInt(), input.readLong());
+        putTombstone(serializer.getInternalProtocol().deserialize(keyBytes), location);
+      }
+      return position;
+    } catch (IOException | MuleRuntimeException e) {
+      logger.warn(format("Could not read object store index file %s, rebuilding it from the data segments: %s",
+                         indexFile.getAbsolutePath(), e.getMessage()));
+      index.clear();
+      tombstones.clear();
+      for (Segment segment : segments.values()) {
+        segment.liveBytes.set(0);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Applies to the index the records of a segment from the given offset on. A record that was not completely written is
+   * discarded along with anything after it in the segment.
+   */
+  private void replay(Segment segment, long fromOffset) throws IOException {
+    segment.channel.position(fromOffset);
+    final DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(segment.channel)));
+    long offset = fromOffset;
+    while (offset < segment.size) {
+      final int length;
+      final byte type;
+      final long timestamp;
+      final byte[] keyBytes;
+      try {
+        length = input.readInt();
+        if (length < KEY_OFFSET - 4 || offset + 4 + length > segment.size) {
+          break;
+        }
+        type = input.readByte();
+        timestamp = input.readLong();
+        keyBytes = new byte[input.readInt()];
+        input.readFully(keyBytes);
+        skipFully(input, length - (KEY_OFFSET - 4) - keyBytes.length);
+      } catch (EOFException e) {
+        break;
+      }
+
+      final Serializable key = serializer.getInternalProtocol().deserialize(keyBytes);
+      final Location previous;
+      if (type == PUT) {
+        Location location = new Location(segment, offset, 4 + length, timestamp);
+        segment.liveBytes.addAndGet(location.length);
+        previous = index.put(key, location);
+        forgetTombstone(key);
+      } else {
+        previous = index.remove(key);
+        putTombstone(key, new Location(segment, offset, 4 + length, timestamp));
+      }
+      if (previous != null) {
+        previous.segment.liveBytes.addAndGet(-previous.length);
+      }
+      offset += 4 + length;
+    }
+
+    if (offset < segment.size) {
+      logger.warn(format("Discarding %d bytes of incomplete entries at the end of object store segment %s",
+                         segment.size - offset, segment.file.getAbsolutePath()));
+      segment.channel.truncate(offset);
+      segment.size = offset;
+    }
+  }
+
+  private void skipFully(DataInputStream input, int bytes) throws IOException {
+    int remaining = bytes;
+    while (remaining > 0) {
+      int skipped = input.skipBytes(remaining);
+      if (skipped <= 0) {
+        throw new EOFException();
+      }
+      remaining -= skipped;
+    }
+  }
+
+  /**
+   * Deletes the segments before the position covered by the index file that have no live entries. Those are left behind when
+   * the runtime stops after saving the index file but before deleting the compacted segments.
+   */
+  private void deleteUnreferencedSegments(long indexSegmentId) {
+    for (Segment segment : new ArrayList<>(segments.headMap(indexSegmentId).values())) {
+      if (segment.liveBytes.get() == 0) {
+        segments.remove(segment.id);
+        closeSegment(segment);
+        segment.file.delete();
+      }
+    }
+  }
+
+  /**
+   * Writes the index to a temporary file which is forced to the storage device and then replaces the index file, so a failure
+   * while writing it does not leave a corrupted index file.
+   */
+  private void saveIndex() throws ObjectStoreException {
+    synchronized (indexFileLock) {
+      final IndexPosition position;
+      final List<Map.Entry<Serializable, Location>> entries;
+      final List<Map.Entry<Serializable, Location>> removedEntries;
+      segmentsLock.readLock().lock();
+      try {
+        synchronized (appendLock) {
+          if (activeSegment == null) {
+            return;
+          }
+          position = new IndexPosition(activeSegment.id, activeSegment.size);
+          entries = new ArrayList<>(index.entrySet());
+          removedEntries = new ArrayList<>(tombstones.entrySet());
+          bytesSinceIndexSaved = 0;
+        }
+      } finally {
+        segmentsLock.readLock().unlock();
+      }
+
+      final File tempFile = new File(partitionDirectory, INDEX_TEMP_FILE);
+      try (FileOutputStream file = new FileOutputStream(tempFile)) {
+        final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(file));
+        output.writeInt(INDEX_FILE_VERSION);
+        output.writeLong(position.segmentId);
+        output.writeLong(position.offset);
+        writeLocations(output, entries);
+        writeLocations(output, removedEntries);
+        output.flush();
+        file.getChannel().force(true);
+      } catch (IOException e) {
+        throw new ObjectStoreException(e);
+      }
+
+      try {
+        Files.move(tempFile.toPath(), new File(partitionDirectory, INDEX_FILE).toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+      } catch (IOException e) {
+        throw new ObjectStoreException(e);
+      }
+    }
+  }
+
+  private void writeLocations(DataOutputStream output, List<Map.Entry<Serializable, Location>> entries) throws IOException {
+    output.writeInt(entries.size());
+    for (Map.Entry<Serializable, Location> entry : entries) {
+      byte[] keyBytes = serializer.getInternalProtocol().serialize(entry.getKey());
+      Location location = entry.getValue();
+      output.writeInt(keyBytes.length);
+      output.write(keyBytes);
+      output.writeLong(location.segment.id);
+      output.writeLong(location.offset);
+      output.writeInt(location.length);
+      output.writeLong(location.timestamp);
+    }
+  }
+
+  private Location append(byte type, long timestamp, byte[] key, byte[] value) throws IOException {
+    final ByteBuffer record = ByteBuffer.allocate(KEY_OFFSET + key.length + value.length);
+    record.putInt(record.capacity() - 4);
+    record.put(type);
+    record.putLong(timestamp);
+    record.putInt(key.length);
+    record.put(key);
+    record.put(value);
+    return appendRecord(record.array(), timestamp);
+  }
+
+  private Location appendRecord(byte[] record, long timestamp) throws IOException {
+    if (activeSegment.size > 0 && activeSegment.size + record.length > segmentSize) {
+      activeSegment = openSegment(activeSegment.id + 1);
+    }
+
+    final Segment segment = activeSegment;
+    final long offset = segment.size;
+    final ByteBuffer buffer = ByteBuffer.wrap(record);
+    long position = offset;
+    while (buffer.hasRemaining()) {
+      position += segment.channel.write(buffer, position);
+    }
+    segment.size += record.length;
+    bytesSinceIndexSaved += record.length;
+    return new Location(segment, offset, record.length, timestamp);
+  }
+
+  private byte[] read(Location location) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(location.length);
+    long position = location.offset;
+    while (buffer.hasRemaining()) {
+      int read = location.segment.channel.read(buffer, position);
+      if (read < 0) {
+        throw new EOFException("Unexpected end of object store segment " + location.segment.file.getAbsolutePath());
+      }
+      position += read;
+    }
+    return buffer.array();
+  }
+
+  @SuppressWarnings("unchecked")
+  private T deserializeValue(byte[] record) throws ObjectStoreException {
+    final ByteBuffer buffer = ByteBuffer.wrap(record);
+    final int valueOffset = KEY_OFFSET + buffer.getInt(KEY_LENGTH_OFFSET);
+    final byte[] valueBytes = new byte[record.length - valueOffset];
+    System.arraycopy(record, valueOffset, valueBytes, 0, valueBytes.length);
+    try {
+      T value = serializer.getInternalProtocol().deserialize(valueBytes);
+      if (value instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      }
+      return value;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private Segment openSegment(long id) throws IOException {
+    final Segment segment = new Segment(id, new File(partitionDirectory, format(SEGMENT_FILE_NAME_FORMAT, id)));
+    segments.put(id, segment);
+    return segment;
+  }
+
+  private void closeSegment(Segment segment) {
+    try {
+      segment.channel.close();
+    } catch (IOException e) {
+      logger.warn("error closing file " + segment.file.getAbsolutePath());
+    }
+  }
+
+  private List<File> listSegmentFiles() {
+    final File[] files =
+        partitionDirectory.listFiles(file -> !file.isDirectory() && file.getName().endsWith(SEGMENT_FILE_EXTENSION));
+    if (files == null) {
+      return Collections.emptyList();
+    }
+    final List<File> sorted = new ArrayList<>();
+    Collections.addAll(sorted, files);
+    Collections.sort(sorted);
+    return sorted;
+  }
+
+  private ObjectDoesNotExistException keyDoesNotExist(Serializable key) {
+    String message = "Key does not exist: " + key;
+    return new ObjectDoesNotExistException(CoreMessages.createStaticMessage(message));
+  }
+
+  protected void createDirectory(File directory) throws ObjectStoreException {
+    try {
+      if (!directory.exists() && !directory.mkdirs()) {
+        I18nMessage message = CoreMessages.failedToCreate("object store directory " + directory.getAbsolutePath());
+        throw new MuleRuntimeException(message);
+      }
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  protected File createOrRetrievePartitionDescriptorFile() throws ObjectStoreException {
+    try {
+      File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+      if (partitionDescriptorFile.exists()) {
+        this.partitionName = readPartitionFileName(partitionDirectory);
+        return partitionDescriptorFile;
+      }
+      try (FileWriter fileWriter = new FileWriter(partitionDescriptorFile.getAbsolutePath(), false)) {
+        fileWriter.write(partitionName);
+        fileWriter.flush();
+      }
+      return partitionDescriptorFile;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  public String getPartitionName() {
+    return partitionName;
+  }
+
+  private static final class Segment {
+
+    private final long id;
+    private final File file;
+    private final FileChannel channel;
+    /**
+     * Bytes written to this segment, guarded by {@link #appendLock}.
+     */
+    private long size = 0;
+    private final AtomicLong liveBytes = new AtomicLong();
+
+    private Segment(long id, File file) throws IOException {
+      this.id = id;
+      this.file = file;
+      this.channel = new RandomAccessFile(file, "rw").getChannel();
+    }
+
+  }
+
+  private static final class Location {
+
+    private final Segment segment;
+    private final long offset;
+    private final int length;
+    private final long timestamp;
+
+    private Location(Segment segment, long offset, int length, long timestamp) {
+      this.segment = segment;
+      this.offset = offset;
+      this.length = length;
+      this.timestamp = timestamp;
+    }
+  }
+
+  private static final class IndexPosition {
+
+    private final long segmentId;
+    private final long offset;
+
+    private IndexPosition(long segmentId, long offset) {
+      this.segmentId = segmentId;
+      this.offset = offset;
+    }
+  }
+}
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.util.store;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.util.store.PartitionedLogStructuredObjectStore.LOG_STRUCTURED_PROPERTY;
+
 import org.mule.runtime.core.api.store.ObjectStore;
 import org.mule.runtime.core.api.store.QueueStore;
 
@@ -20,7 +23,7 @@ public class MuleDefaultObjectStoreFactory implements DefaultObjectStoreFactory
 
   @Override
   public ObjectStore<Serializable> createDefaultPersistentObjectStore() {
-    return new PartitionedPersistentObjectStore<Serializable>();
+    return createPartitionedPersistentObjectStore();
   }
 
   @Override
@@ -35,11 +38,24 @@ public class MuleDefaultObjectStoreFactory implements DefaultObjectStoreFactory
 
   @Override
   public ObjectStore<Serializable> createDefaultUserObjectStore() {
-    return new PartitionedPersistentObjectStore<Serializable>();
+    return createPartitionedPersistentObjectStore();
   }
 
   @Override
   public ObjectStore<Serializable> createDefaultUserTransientObjectStore() {
     return new PartitionedInMemoryObjectStore<Serializable>();
   }
+
+  /**
+   * @return a {@link PartitionedLogStructuredObjectStore} if enabled through
+   *         {@link PartitionedLogStructuredObjectStore#LOG_STRUCTURED_PROPERTY}, or a {@link PartitionedPersistentObjectStore}
+   *         otherwise.
+   */
+  private ObjectStore<Serializable> createPartitionedPersistentObjectStore() {
+    if (getBoolean(LOG_STRUCTURED_PROPERTY)) {
+      return new PartitionedLogStructuredObjectStore<Serializable>();
+    } else {
+      return new PartitionedPersistentObjectStore<Serializable>();
+    }
+  }
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.lang.Long.getLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.i18n.I18nMessage;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.store.PartitionableExpirableObjectStore;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.util.FileUtils;
+import org.mule.runtime.core.util.UUID;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Persistent partitionable object store which keeps each partition in a {@link LogStructuredObjectStorePartition}.
+ * <p>
+ * The partitions of all the stores are compacted periodically by a single background thread of this store.
+ * <p>
+ * Data stored by a {@link PartitionedPersistentObjectStore} is kept in a different directory and is not migrated.
+ *
+ * @since 4.0
+ */
+public class PartitionedLogStructuredObjectStore<T extends Serializable> extends AbstractPartitionedObjectStore<T>
+    implements MuleContextAware, PartitionableExpirableObjectStore<T>, Disposable {
+
+  public static final String OBJECT_STORE_DIR = "log-objectstore";
+
+  /**
+   * System property to use this store instead of a {@link PartitionedPersistentObjectStore} as the default persistent object
+   * store.
+   */
+  public static final String LOG_STRUCTURED_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured";
+
+  /**
+   * System property with the interval in milliseconds between compactions of the partitions.
+   */
+  public static final String COMPACTION_INTERVAL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.compactionInterval";
+
+  private static final long DEFAULT_COMPACTION_INTERVAL = 60000;
+
+  private MuleContext muleContext;
+  private File storeDirectory;
+  private Map<String, LogStructuredObjectStorePartition<T>> partitionsByName = new ConcurrentHashMap<>();
+  private ScheduledThreadPoolExecutor compactionScheduler;
+  private boolean initialized = false;
+
+  public PartitionedLogStructuredObjectStore() {
+    super();
+  }
+
+  public PartitionedLogStructuredObjectStore(MuleContext context) {
+    super();
+    muleContext = context;
+  }
+
+  public synchronized void open() throws ObjectStoreException {
+    if (!initialized) {
+      initObjectStoreDirectory();
+      loadPreviousStoredPartitions();
+      createDefaultPartition();
+      startCompaction();
+      initialized = true;
+    }
+  }
+
+  private void createDefaultPartition() throws ObjectStoreException {
+    if (!partitionsByName.containsKey(DEFAULT_PARTITION)) {
+      createPartition(DEFAULT_PARTITION);
+    }
+  }
+
+  @Override
+  public synchronized void open(String partitionName) throws ObjectStoreException {
+    open();
+    if (!partitionsByName.containsKey(partitionName)) {
+      createPartition(partitionName);
+    }
+  }
+
+  @Override
+  public void close(String partitionName) throws ObjectStoreException {}
+
+  private void createPartition(String partitionName) throws ObjectStoreException {
+    LogStructuredObjectStorePartition<T> partition =
+        new LogStructuredObjectStorePartition<>(muleContext, partitionName, new File(storeDirectory, UUID.getUUID()));
+    partition.open();
+    partitionsByName.put(partitionName, partition);
+  }
+
+  private void startCompaction() {
+    final long interval = getLong(COMPACTION_INTERVAL_PROPERTY, DEFAULT_COMPACTION_INTERVAL);
+    compactionScheduler = new ScheduledThreadPoolExecutor(1);
+    compactionScheduler.setThreadFactory(new DaemonThreadFactory("LogStructuredObjectStore-Compaction",
+                                                                 this.getClass().getClassLoader()));
+    compactionScheduler.scheduleWithFixedDelay(this::compact, interval, interval, MILLISECONDS);
+  }
+
+  private void compact() {
+    for (LogStructuredObjectStorePartition<T> partition : partitionsByName.values()) {
+      try {
+        partition.compact();
+      } catch (Exception e) {
+        logger.warn("Could not compact object store partition " + partition.getPartitionName(), e);
+      }
+    }
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public boolean contains(Serializable key, String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).contains(key.toString());
+  }
+
+  @Override
+  public void store(Serializable key, T value, String partitionName) throws ObjectStoreException {
+    getPartitionObjectStore(partitionName).store(key.toString(), value);
+  }
+
+  @Override
+  public T retrieve(Serializable key, String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).retrieve(key.toString());
+  }
+
+  @Override
+  public T remove(Serializable key, String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).remove(key.toString());
+  }
+
+  @Override
+  public List<Serializable> allKeys(String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).allKeys();
+  }
+
+  @Override
+  public void clear(String partitionName) throws ObjectStoreException {
+    this.getPartitionObjectStore(partitionName).clear();
+  }
+
+  private LogStructuredObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
+    LogStructuredObjectStorePartition<T> partition = partitionsByName.get(partitionName);
+    if (partition == null) {
+      throw new ObjectStoreException(CoreMessages.createStaticMessage("No partition named: " + partitionName));
+    }
+    return partition;
+  }
+
+  @Override
+  public List<String> allPartitions() throws ObjectStoreException {
+    File[] files = storeDirectory.listFiles();
+    if (files == null) {
+      return new ArrayList<String>();
+    }
+
+    Arrays.sort(files);
+    List<String> partitions = new ArrayList<String>();
+
+    for (int i = 0; i < files.length; i++) {
+      if (files[i].isDirectory()) {
+        partitions.add(files[i].getName());
+      }
+    }
+    return partitions;
+  }
+
+  private void initObjectStoreDirectory() {
+    if (storeDirectory == null) {
+      String workingDirectory = muleContext.getConfiguration().getWorkingDirectory();
+      String path = workingDirectory + File.separator + OBJECT_STORE_DIR;
+      storeDirectory = FileUtils.newFile(path);
+      if (!storeDirectory.exists() && !storeDirectory.mkdirs()) {
+        I18nMessage message = CoreMessages.failedToCreate("object store directory " + storeDirectory.getAbsolutePath());
+        throw new MuleRuntimeException(message);
+      }
+    }
+  }
+
+  private void loadPreviousStoredPartitions() throws ObjectStoreException {
+    File[] directories = storeDirectory.listFiles(file -> file.isDirectory());
+    if (directories == null) {
+      return;
+    }
+    for (File partitionDirectory : directories) {
+      try {
+        LogStructuredObjectStorePartition<T> partition = new LogStructuredObjectStorePartition<>(muleContext, partitionDirectory);
+        partition.open();
+        partitionsByName.put(partition.getPartitionName(), partition);
+      } catch (Exception e) {
+        logger.error("Could not restore partition under directory " + partitionDirectory.getAbsolutePath());
+      }
+    }
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    muleContext = context;
+  }
+
+  @Override
+  public void expire(int entryTTL, int maxEntries) throws ObjectStoreException {
+    expire(entryTTL, maxEntries, DEFAULT_PARTITION);
+  }
+
+  @Override
+  public void disposePartition(String partitionName) throws ObjectStoreException {
+    clear(partitionName);
+  }
+
+  @Override
+  public void expire(int entryTTL, int maxEntries, String partitionName) throws ObjectStoreException {
+    getPartitionObjectStore(partitionName).expire(entryTTL, maxEntries);
+  }
+
+  /**
+   * Stops the compaction and saves the index of every partition, so the next startup does not have to replay their logs.
+   */
+  @Override
+  public synchronized void dispose() {
+    if (compactionScheduler != null) {
+      compactionScheduler.shutdownNow();
+    }
+    for (LogStructuredObjectStorePartition<T> partition : partitionsByName.values()) {
+      try {
+        partition.close();
+      } catch (ObjectStoreException e) {
+        logger.warn("Could not close object store partition " + partition.getPartitionName(), e);
+      }
+    }
+  }
+}
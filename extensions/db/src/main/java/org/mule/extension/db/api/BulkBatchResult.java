@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.api;
+
+/**
+ * Information about the execution of one of the batches of a streaming bulk operation
+ *
+ * @since 4.0
+ */
+public class BulkBatchResult {
+
+  /**
+   * The amount of parameter sets executed in the batch
+   */
+  private final int parameterSets;
+
+  /**
+   * The amount of rows affected by the batch. Commands for which the database does not report an update count are not included.
+   */
+  private final int affectedRows;
+
+  /**
+   * Creates a new instance
+   *
+   * @param parameterSets the amount of parameter sets executed in the batch
+   * @param affectedRows the amount of affected rows
+   */
+  public BulkBatchResult(int parameterSets, int affectedRows) {
+    this.parameterSets = parameterSets;
+    this.affectedRows = affectedRows;
+  }
+
+  /**
+   * @return the amount of parameter sets executed in the batch
+   */
+  public int getParameterSets() {
+    return parameterSets;
+  }
+
+  /**
+   * @return the amount of affected rows
+   */
+  public int getAffectedRows() {
+    return affectedRows;
+  }
+}
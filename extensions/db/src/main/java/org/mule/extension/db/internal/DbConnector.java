@@ -6,6 +6,7 @@
  */
 package org.mule.extension.db.internal;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import org.mule.extension.db.api.param.BulkQueryDefinition;
 import org.mule.extension.db.api.param.JdbcType;
 import org.mule.extension.db.api.param.QueryDefinition;
@@ -22,8 +23,14 @@ import org.mule.extension.db.internal.domain.type.StaticDbTypeManager;
 import org.mule.extension.db.internal.operation.BulkOperations;
 import org.mule.extension.db.internal.operation.DdlOperations;
 import org.mule.extension.db.internal.operation.DmlOperations;
+import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
 import org.mule.runtime.extension.api.annotation.Export;
 import org.mule.runtime.extension.api.annotation.Extension;
 import org.mule.runtime.extension.api.annotation.Operations;
@@ -33,6 +40,8 @@ import org.mule.runtime.extension.api.annotation.dsl.xml.Xml;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.inject.Inject;
+
 /**
  * Connector for connecting to relation Databases through the JDBC API
  *
@@ -44,19 +53,50 @@ import java.util.List;
     MySqlConnectionProvider.class, OracleDbConnectionProvider.class})
 @Xml(namespace = "db")
 @Export(classes = {QueryDefinition.class, StoredProcedureCall.class, BulkQueryDefinition.class})
-public class DbConnector implements Initialisable {
+public class DbConnector implements Initialisable, Startable, Stoppable {
+
+  @Inject
+  private MuleContext muleContext;
+
+  @Inject
+  private SchedulerService schedulerService;
 
   private DbTypeManager typeManager;
+  private Scheduler bulkScheduler;
 
   @Override
   public void initialise() throws InitialisationException {
     typeManager = createBaseTypeManager();
   }
 
+  @Override
+  public void start() throws MuleException {
+    bulkScheduler = schedulerService.ioScheduler();
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    if (bulkScheduler != null) {
+      try {
+        bulkScheduler.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+      } finally {
+        bulkScheduler = null;
+      }
+    }
+  }
+
   public DbTypeManager getTypeManager() {
     return typeManager;
   }
 
+  /**
+   * @return the scheduler where streaming bulk operations read the parameter sets of the next batch, or {@code null} if the
+   *         config is not started
+   */
+  public Scheduler getBulkScheduler() {
+    return bulkScheduler;
+  }
+
   private DbTypeManager createBaseTypeManager() {
     List<DbTypeManager> typeManagers = new ArrayList<>();
 
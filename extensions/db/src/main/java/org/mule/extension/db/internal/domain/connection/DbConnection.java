@@ -44,6 +44,12 @@ public interface DbConnection extends TransactionalConnection {
    */
   Connection getJdbcConnection();
 
+  /**
+   * @return the cache of the prepared statements of the physical connection behind this one, or {@code null} if statements are
+   *         not cached
+   */
+  PreparedStatementCache getStatementCache();
+
   /**
    * Closes the underlying JDBC connection, provided that {@link #isStreaming()} is {@code false}
    */
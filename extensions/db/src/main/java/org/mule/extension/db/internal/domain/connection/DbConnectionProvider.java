@@ -7,6 +7,7 @@
 package org.mule.extension.db.internal.domain.connection;
 
 import static java.util.Collections.emptyList;
+import static org.mule.extension.db.internal.domain.connection.DefaultDbConnection.STATEMENT_CACHE_SIZE;
 import static org.mule.runtime.api.connection.ConnectionValidationResult.success;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
@@ -88,6 +89,7 @@ public abstract class DbConnectionProvider implements ConnectionProvider<DbConne
   private List<DbType> resolvedCustomTypes = emptyList();
   private JdbcConnectionFactory jdbcConnectionFactory = new JdbcConnectionFactory();
   private DataSource dataSource;
+  private PreparedStatementCaches statementCaches;
 
   @Override
   public final DbConnection connect() throws ConnectionException {
@@ -157,10 +159,14 @@ public abstract class DbConnectionProvider implements ConnectionProvider<DbConne
     }
 
     resolvedCustomTypes = resolveCustomTypes();
+    statementCaches = new PreparedStatementCaches(STATEMENT_CACHE_SIZE);
   }
 
   @Override
   public final void dispose() {
+    if (statementCaches != null) {
+      statementCaches.close();
+    }
     disposeIfNeeded(dataSourceFactory, LOGGER);
   }
 
@@ -169,7 +175,14 @@ public abstract class DbConnectionProvider implements ConnectionProvider<DbConne
   public abstract java.util.Optional<DataSourceConfig> getDataSourceConfig();
 
   protected DbConnection createDbConnection(Connection connection) throws Exception {
-    return new DefaultDbConnection(connection, resolvedCustomTypes);
+    return new DefaultDbConnection(connection, resolvedCustomTypes, statementCaches);
+  }
+
+  /**
+   * @return the caches of prepared statements for the physical connections of the data source
+   */
+  protected PreparedStatementCaches getStatementCaches() {
+    return statementCaches;
   }
 
   private DataSource obtainDataSource() throws SQLException {
@@ -7,6 +7,8 @@
 
 package org.mule.extension.db.internal.domain.connection;
 
+import static java.lang.Integer.getInteger;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import org.mule.extension.db.api.exception.connection.ConnectionClosingException;
 import org.mule.extension.db.internal.domain.type.DbType;
 import org.mule.extension.db.internal.result.resultset.ResultSetHandler;
@@ -22,13 +24,26 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 public class DefaultDbConnection implements DbConnection {
 
+  /**
+   * Maximum number of idle prepared statements kept open for each physical connection. Zero disables the cache.
+   */
+  public static final int STATEMENT_CACHE_SIZE = getInteger(SYSTEM_PROPERTY_PREFIX + "db.statementCacheSize", 32);
+
   private final Connection jdbcConnection;
   private AtomicInteger streamsCount = new AtomicInteger(0);
   private final List<DbType> customDataTypes;
+  private final PreparedStatementCaches statementCaches;
+  private final PreparedStatementCache statementCache;
 
   public DefaultDbConnection(Connection jdbcConnection, List<DbType> customDataTypes) {
+    this(jdbcConnection, customDataTypes, null);
+  }
+
+  public DefaultDbConnection(Connection jdbcConnection, List<DbType> customDataTypes, PreparedStatementCaches statementCaches) {
     this.jdbcConnection = jdbcConnection;
     this.customDataTypes = customDataTypes;
+    this.statementCaches = statementCaches;
+    this.statementCache = statementCaches != null ? statementCaches.getCache(jdbcConnection) : null;
   }
 
   /**
@@ -55,6 +70,14 @@ public class DefaultDbConnection implements DbConnection {
     return jdbcConnection;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public PreparedStatementCache getStatementCache() {
+    return statementCache;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -103,6 +126,10 @@ public class DefaultDbConnection implements DbConnection {
       jdbcConnection.close();
     } catch (SQLException e) {
       throw new ConnectionClosingException(e);
+    } finally {
+      if (statementCache != null) {
+        statementCaches.released(statementCache);
+      }
     }
   }
 
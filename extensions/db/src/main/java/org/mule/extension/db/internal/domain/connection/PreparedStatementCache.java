@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.domain.connection;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import org.mule.extension.db.internal.domain.query.QueryType;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link PreparedStatement}s of a JDBC {@link Connection} open once they are closed, so executing the same query again
+ * on the same connection does not prepare it again.
+ * <p>
+ * Statements are prepared on the physical connection the cache is bound to, not on the handle a pooled data source returns,
+ * so they outlive the {@link DbConnection} that prepared them. See {@link PreparedStatementCaches}.
+ * <p>
+ * Statements are keyed by their SQL text and {@link QueryType}. The statements returned by
+ * {@link #prepareStatement(String, QueryType, StatementCreator)} are exclusively owned by the caller until they are closed,
+ * then their parameters are cleared and they are kept in the cache. When there are more than the maximum size idle statements,
+ * the least recently used one is closed.
+ *
+ * @since 4.0
+ */
+public class PreparedStatementCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PreparedStatementCache.class);
+
+  private final Connection connection;
+  private final int maxSize;
+  private final Map<StatementKey, CachedStatement> idleStatements;
+  private boolean closed;
+
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Creates a cache of statements
+   *
+   * @param connection connection on which the statements are prepared
+   * @param maxSize maximum number of idle statements kept open. Must be positive
+   */
+  public PreparedStatementCache(Connection connection, int maxSize) {
+    checkArgument(maxSize > 0, "Statement cache size must be positive");
+    this.connection = connection;
+    this.maxSize = maxSize;
+    this.idleStatements = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Provides a prepared statement for the given query, reusing an idle one when available
+   *
+   * @param sql SQL text of the query
+   * @param type type of the query
+   * @param creator prepares a new statement when there is no idle one
+   * @return a statement that is returned to the cache when closed
+   * @throws SQLException if the statement cannot be prepared
+   */
+  public PreparedStatement prepareStatement(String sql, QueryType type, StatementCreator creator) throws SQLException {
+    StatementKey key = new StatementKey(sql, type);
+    CachedStatement cachedStatement;
+
+    synchronized (this) {
+      cachedStatement = idleStatements.remove(key);
+      if (cachedStatement != null) {
+        hitCount++;
+      } else {
+        missCount++;
+      }
+    }
+
+    if (cachedStatement == null) {
+      cachedStatement = new CachedStatement(key, creator.create(connection));
+    }
+
+    return cachedStatement.borrow();
+  }
+
+  /**
+   * @return the connection on which the statements are prepared
+   */
+  public Connection getConnection() {
+    return connection;
+  }
+
+  /**
+   * @return number of statements that were reused
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return number of statements that had to be prepared
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * @return number of idle statements closed to keep the cache under its maximum size
+   */
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * @return number of idle statements in the cache
+   */
+  public synchronized int size() {
+    return idleStatements.size();
+  }
+
+  /**
+   * Closes all the idle statements. Statements closed after this method is invoked are not cached anymore.
+   */
+  public void close() {
+    List<CachedStatement> statements;
+    synchronized (this) {
+      closed = true;
+      statements = new ArrayList<>(idleStatements.values());
+      idleStatements.clear();
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Closing statement cache. Hits: " + hitCount + ", misses: " + missCount + ", evictions: " + evictionCount);
+      }
+    }
+
+    statements.forEach(CachedStatement::closeQuietly);
+  }
+
+  private void release(CachedStatement cachedStatement) {
+    if (!cachedStatement.reset()) {
+      cachedStatement.closeQuietly();
+      return;
+    }
+
+    List<CachedStatement> evicted = new ArrayList<>();
+    synchronized (this) {
+      if (closed || idleStatements.containsKey(cachedStatement.key)) {
+        evicted.add(cachedStatement);
+      } else {
+        idleStatements.put(cachedStatement.key, cachedStatement);
+
+        Iterator<CachedStatement> iterator = idleStatements.values().iterator();
+        while (idleStatements.size() > maxSize) {
+          evicted.add(iterator.next());
+          iterator.remove();
+          evictionCount++;
+        }
+      }
+    }
+
+    evicted.forEach(CachedStatement::closeQuietly);
+  }
+
+  /**
+   * Prepares a new statement on the connection of the cache
+   */
+  @FunctionalInterface
+  public interface StatementCreator {
+
+    PreparedStatement create(Connection connection) throws SQLException;
+  }
+
+  private static final class StatementKey {
+
+    private final String sql;
+    private final QueryType type;
+    private final int hash;
+
+    private StatementKey(String sql, QueryType type) {
+      this.sql = sql;
+      this.type = type;
+      this.hash = 31 * sql.hashCode() + type.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof StatementKey)) {
+        return false;
+      }
+      StatementKey other = (StatementKey) obj;
+      return hash == other.hash && type == other.type && sql.equals(other.sql);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /**
+   * A prepared statement along with the settings it had when it was created, which are restored before caching it.
+   */
+  private final class CachedStatement {
+
+    private final StatementKey key;
+    private final PreparedStatement statement;
+    private final int maxRows;
+    private final int fetchSize;
+    private final int queryTimeout;
+
+    private CachedStatement(StatementKey key, PreparedStatement statement) throws SQLException {
+      this.key = key;
+      this.statement = statement;
+      this.maxRows = statement.getMaxRows();
+      this.fetchSize = statement.getFetchSize();
+      this.queryTimeout = statement.getQueryTimeout();
+    }
+
+    private PreparedStatement borrow() {
+      return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                                                        new Class[] {PreparedStatement.class},
+                                                        new BorrowedStatementHandler(this));
+    }
+
+    private boolean reset() {
+      try {
+        if (statement.isClosed()) {
+          return false;
+        }
+
+        statement.clearParameters();
+        statement.clearBatch();
+        statement.clearWarnings();
+        if (statement.getMaxRows() != maxRows) {
+          statement.setMaxRows(maxRows);
+        }
+        if (statement.getFetchSize() != fetchSize) {
+          statement.setFetchSize(fetchSize);
+        }
+        if (statement.getQueryTimeout() != queryTimeout) {
+          statement.setQueryTimeout(queryTimeout);
+        }
+        return true;
+      } catch (SQLException e) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Unable to reset statement, it will not be cached", e);
+        }
+        return false;
+      }
+    }
+
+    private void closeQuietly() {
+      try {
+        statement.close();
+      } catch (SQLException e) {
+        LOGGER.warn("Error attempting to close cached statement", e);
+      }
+    }
+  }
+
+  /**
+   * Delegates to a cached statement until it is closed, which returns the statement to the cache instead of closing it.
+   */
+  private final class BorrowedStatementHandler implements InvocationHandler {
+
+    private final CachedStatement cachedStatement;
+    private boolean returned;
+
+    private BorrowedStatementHandler(CachedStatement cachedStatement) {
+      this.cachedStatement = cachedStatement;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          if (!returned) {
+            returned = true;
+            release(cachedStatement);
+          }
+          return null;
+        case "isClosed":
+          return returned || cachedStatement.statement.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return cachedStatement.statement.toString();
+        default:
+          if (returned) {
+            throw new SQLException("Statement is closed");
+          }
+          try {
+            return method.invoke(cachedStatement.statement, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+      }
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.domain.connection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a {@link PreparedStatementCache} for each physical connection obtained from a data source.
+ * <p>
+ * A {@link DbConnection} only lives for one operation, and pooled data sources return a new handle each time a connection is
+ * borrowed, so caches are bound to the physical connection behind the handle instead. That way every operation that borrows
+ * the same connection from the pool reuses its statements. Caches of connections that were closed are discarded.
+ *
+ * @since 4.0
+ */
+public class PreparedStatementCaches {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PreparedStatementCaches.class);
+
+  private final int cacheSize;
+  private final Map<Connection, PreparedStatementCache> caches = new IdentityHashMap<>();
+
+  /**
+   * Creates the caches
+   *
+   * @param cacheSize maximum number of idle statements kept open for each physical connection. Zero disables the cache
+   */
+  public PreparedStatementCaches(int cacheSize) {
+    this.cacheSize = cacheSize;
+  }
+
+  /**
+   * Provides the cache of the physical connection behind the given connection
+   *
+   * @param jdbcConnection a connection obtained from the data source
+   * @return the statement cache, or {@code null} if statements are not cached
+   */
+  public PreparedStatementCache getCache(Connection jdbcConnection) {
+    if (cacheSize <= 0) {
+      return null;
+    }
+
+    Connection physicalConnection = getPhysicalConnection(jdbcConnection);
+    List<PreparedStatementCache> discarded;
+    PreparedStatementCache cache;
+
+    synchronized (this) {
+      discarded = removeCachesOfClosedConnections();
+      cache = caches.computeIfAbsent(physicalConnection, connection -> new PreparedStatementCache(connection, cacheSize));
+    }
+
+    discarded.forEach(PreparedStatementCache::close);
+    return cache;
+  }
+
+  /**
+   * Discards the given cache if its physical connection was closed along with the handle that used it, which is what non
+   * pooled data sources do.
+   *
+   * @param cache a cache provided by {@link #getCache(Connection)}
+   */
+  public void released(PreparedStatementCache cache) {
+    if (!isClosed(cache.getConnection())) {
+      return;
+    }
+
+    synchronized (this) {
+      caches.remove(cache.getConnection(), cache);
+    }
+    cache.close();
+  }
+
+  /**
+   * Closes all the caches
+   */
+  public void close() {
+    List<PreparedStatementCache> discarded;
+    synchronized (this) {
+      discarded = new ArrayList<>(caches.values());
+      caches.clear();
+    }
+
+    discarded.forEach(PreparedStatementCache::close);
+  }
+
+  /**
+   * @return number of physical connections with a cache
+   */
+  public synchronized int size() {
+    return caches.size();
+  }
+
+  private List<PreparedStatementCache> removeCachesOfClosedConnections() {
+    List<PreparedStatementCache> discarded = new ArrayList<>();
+    Iterator<Map.Entry<Connection, PreparedStatementCache>> iterator = caches.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Connection, PreparedStatementCache> entry = iterator.next();
+      if (isClosed(entry.getKey())) {
+        discarded.add(entry.getValue());
+        iterator.remove();
+      }
+    }
+    return discarded;
+  }
+
+  private static Connection getPhysicalConnection(Connection jdbcConnection) {
+    try {
+      if (jdbcConnection.isWrapperFor(Connection.class)) {
+        Connection physicalConnection = jdbcConnection.unwrap(Connection.class);
+        if (physicalConnection != null) {
+          return physicalConnection;
+        }
+      }
+    } catch (SQLException | AbstractMethodError e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Unable to unwrap JDBC connection, statements will be cached for the connection handle", e);
+      }
+    }
+    return jdbcConnection;
+  }
+
+  private static boolean isClosed(Connection connection) {
+    try {
+      return connection.isClosed();
+    } catch (SQLException e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Error checking for closed connection, its statement cache will be discarded", e);
+      }
+      return true;
+    }
+  }
+}
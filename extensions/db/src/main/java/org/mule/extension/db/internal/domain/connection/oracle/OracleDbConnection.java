@@ -7,6 +7,7 @@
 package org.mule.extension.db.internal.domain.connection.oracle;
 
 import org.mule.extension.db.internal.domain.connection.DefaultDbConnection;
+import org.mule.extension.db.internal.domain.connection.PreparedStatementCaches;
 import org.mule.extension.db.internal.domain.type.DbType;
 import org.mule.extension.db.internal.domain.type.ResolvedDbType;
 import org.mule.extension.db.internal.domain.type.oracle.OracleXmlType;
@@ -29,6 +30,10 @@ public class OracleDbConnection extends DefaultDbConnection {
     super(jdbcConnection, customDataTypes);
   }
 
+  public OracleDbConnection(Connection jdbcConnection, List<DbType> customDataTypes, PreparedStatementCaches statementCaches) {
+    super(jdbcConnection, customDataTypes, statementCaches);
+  }
+
   /**
    * {@inheritDoc}
    */
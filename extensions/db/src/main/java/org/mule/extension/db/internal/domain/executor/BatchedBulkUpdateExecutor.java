@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.domain.executor;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import org.mule.extension.db.api.BulkBatchResult;
+import org.mule.extension.db.internal.domain.connection.DbConnection;
+import org.mule.extension.db.internal.domain.logger.PreparedBulkQueryLogger;
+import org.mule.extension.db.internal.domain.query.Query;
+import org.mule.extension.db.internal.domain.query.QueryParamValue;
+import org.mule.extension.db.internal.domain.query.QueryTemplate;
+import org.mule.extension.db.internal.domain.statement.StatementFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+
+/**
+ * Executes a parameterized query for a stream of parameter sets, in batches of a fixed size.
+ * <p>
+ * Only the batch being executed and the next one are kept in memory, no matter how many parameter sets there are. When an
+ * {@link Executor} is provided, the next batch is read from the stream while the current one is executed, so the time spent
+ * producing the parameter sets, for instance reading them from a file or from another query, overlaps with the time spent in
+ * the database. Parameter sets are always read in the calling thread while the connection is streaming the result of a
+ * query, as they may come from that result and a connection must not be used by two threads at the same time. Outside a
+ * transaction, each batch is committed when executed.
+ *
+ * @since 4.0
+ */
+public class BatchedBulkUpdateExecutor extends AbstractExecutor {
+
+  private static final Object END_OF_STREAM = new Object();
+
+  private final int batchSize;
+  private final Executor preparationExecutor;
+
+  /**
+   * @param statementFactory creates the statement used to execute the query
+   * @param batchSize amount of parameter sets executed in each batch. Must be positive
+   * @param preparationExecutor executor where the next batch is read while the current one is executed. When {@code null},
+   *        batches are read in the calling thread
+   */
+  public BatchedBulkUpdateExecutor(StatementFactory statementFactory, int batchSize, Executor preparationExecutor) {
+    super(statementFactory);
+    checkArgument(batchSize > 0, "Batch size must be positive");
+    this.batchSize = batchSize;
+    this.preparationExecutor = preparationExecutor;
+  }
+
+  /**
+   * Executes a parameterized query using a stream of parameter sets
+   *
+   * @param connection connection to the database where the query will be executed. Non null
+   * @param query parameterized query to executed using the sets of parameters
+   * @param paramValues parameters to use to execute the query. They are consumed as the batches are executed
+   * @return the result of each of the executed batches, in execution order
+   * @throws SQLException if a database access error occurs or this method is called on a closed connection
+   */
+  public List<BulkBatchResult> execute(DbConnection connection, Query query, Iterator<List<QueryParamValue>> paramValues)
+      throws SQLException {
+    Statement statement = statementFactory.create(connection, query.getQueryTemplate());
+
+    if (!(statement instanceof PreparedStatement)) {
+      statement.close();
+      throw new IllegalArgumentException("Bulk update must be executed on a prepared statement");
+    }
+
+    PreparedStatement preparedStatement = (PreparedStatement) statement;
+    BatchReader batchReader = createBatchReader(connection, paramValues);
+    List<BulkBatchResult> results = new ArrayList<>();
+    try {
+      List<List<QueryParamValue>> batch;
+      while ((batch = batchReader.next()) != null) {
+        results.add(executeBatch(preparedStatement, query.getQueryTemplate(), batch));
+
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Executed batch " + results.size() + " with " + batch.size() + " parameter sets, affected rows: "
+              + results.get(results.size() - 1).getAffectedRows());
+        }
+      }
+
+      return results;
+    } finally {
+      batchReader.cancel();
+      preparedStatement.clearParameters();
+      statement.close();
+    }
+  }
+
+  private BulkBatchResult executeBatch(PreparedStatement statement, QueryTemplate queryTemplate,
+                                       List<List<QueryParamValue>> batch)
+      throws SQLException {
+    PreparedBulkQueryLogger queryLogger = queryLoggerFactory.createBulkQueryLogger(LOGGER, queryTemplate, batch.size());
+
+    for (List<QueryParamValue> params : batch) {
+      doProcessParameters(statement, queryTemplate, params, queryLogger);
+      statement.addBatch();
+      queryLogger.addParameterSet();
+    }
+
+    queryLogger.logQuery();
+
+    int affectedRows = 0;
+    for (int updateCount : statement.executeBatch()) {
+      if (updateCount > 0) {
+        affectedRows += updateCount;
+      }
+    }
+
+    return new BulkBatchResult(batch.size(), affectedRows);
+  }
+
+  private BatchReader createBatchReader(DbConnection connection, Iterator<List<QueryParamValue>> paramValues) {
+    if (preparationExecutor != null && !connection.isStreaming()) {
+      PipelinedBatchReader batchReader = new PipelinedBatchReader(paramValues);
+      try {
+        preparationExecutor.execute(batchReader::readAll);
+        return batchReader;
+      } catch (RejectedExecutionException e) {
+        LOGGER.debug("Unable to read parameter sets in parallel, reading them in the current thread", e);
+      }
+    }
+
+    return new BatchReader(paramValues);
+  }
+
+  /**
+   * Reads batches of parameter sets in the thread that executes them.
+   */
+  private class BatchReader {
+
+    protected final Iterator<List<QueryParamValue>> paramValues;
+
+    private BatchReader(Iterator<List<QueryParamValue>> paramValues) {
+      this.paramValues = paramValues;
+    }
+
+    /**
+     * @return the next batch, or {@code null} if there are no more parameter sets
+     */
+    List<List<QueryParamValue>> next() {
+      List<List<QueryParamValue>> batch = readBatch();
+      return batch.isEmpty() ? null : batch;
+    }
+
+    void cancel() {}
+
+    protected List<List<QueryParamValue>> readBatch() {
+      List<List<QueryParamValue>> batch = new ArrayList<>(batchSize);
+      while (batch.size() < batchSize && paramValues.hasNext()) {
+        batch.add(paramValues.next());
+      }
+      return batch;
+    }
+  }
+
+  /**
+   * Reads the next batch of parameter sets in another thread, while the current one is executed.
+   */
+  private class PipelinedBatchReader extends BatchReader {
+
+    private final BlockingQueue<Object> readBatches = new SynchronousQueue<>();
+    private volatile boolean cancelled;
+    private boolean ended;
+    private Thread readingThread;
+
+    private PipelinedBatchReader(Iterator<List<QueryParamValue>> paramValues) {
+      super(paramValues);
+    }
+
+    private void readAll() {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        readingThread = currentThread();
+      }
+
+      try {
+        List<List<QueryParamValue>> batch;
+        do {
+          batch = readBatch();
+        } while (!batch.isEmpty() && handOver(batch));
+        handOver(END_OF_STREAM);
+      } catch (RuntimeException | Error e) {
+        handOver(e);
+      } finally {
+        synchronized (this) {
+          readingThread = null;
+          // Clears an interruption from cancel, so it does not affect the next task of the thread
+          Thread.interrupted();
+        }
+      }
+    }
+
+    private boolean handOver(Object item) {
+      try {
+        while (!cancelled) {
+          if (readBatches.offer(item, 100, MILLISECONDS)) {
+            return true;
+          }
+        }
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      }
+      return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    List<List<QueryParamValue>> next() {
+      if (ended) {
+        return null;
+      }
+
+      Object item;
+      try {
+        item = readBatches.take();
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for the parameter sets of the next batch", e);
+      }
+
+      if (item == END_OF_STREAM) {
+        ended = true;
+        return null;
+      } else if (item instanceof RuntimeException) {
+        ended = true;
+        throw (RuntimeException) item;
+      } else if (item instanceof Error) {
+        ended = true;
+        throw (Error) item;
+      }
+      return (List<List<QueryParamValue>>) item;
+    }
+
+    @Override
+    void cancel() {
+      // Stops the reading thread if the batches were not consumed until the end, without waiting for it
+      synchronized (this) {
+        cancelled = true;
+        if (readingThread != null && !ended) {
+          readingThread.interrupt();
+        }
+      }
+    }
+  }
+}
@@ -15,6 +15,7 @@ import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import org.mule.extension.db.internal.domain.autogeneratedkey.AutoGeneratedKeyStrategy;
 import org.mule.extension.db.internal.domain.autogeneratedkey.NoAutoGeneratedKeyStrategy;
 import org.mule.extension.db.internal.domain.connection.DbConnection;
+import org.mule.extension.db.internal.domain.connection.PreparedStatementCache;
 import org.mule.extension.db.internal.domain.query.QueryTemplate;
 
 import java.sql.DatabaseMetaData;
@@ -65,7 +66,14 @@ public class QueryStatementFactory implements ConfigurableStatementFactory {
       boolean hasInputParams = queryTemplate.getInputParams().size() > 0;
 
       if (hasInputParams) {
-        result = autoGeneratedKeyStrategy.prepareStatement(connection, queryTemplate);
+        PreparedStatementCache statementCache = connection.getStatementCache();
+
+        if (statementCache != null && !autoGeneratedKeyStrategy.returnsAutoGeneratedKeys()) {
+          result = statementCache.prepareStatement(queryTemplate.getSqlText(), queryTemplate.getType(),
+                                                   jdbcConnection -> jdbcConnection.prepareStatement(queryTemplate.getSqlText()));
+        } else {
+          result = autoGeneratedKeyStrategy.prepareStatement(connection, queryTemplate);
+        }
       } else {
         result = connection.getJdbcConnection().createStatement();
       }
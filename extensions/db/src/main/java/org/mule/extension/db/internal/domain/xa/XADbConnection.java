@@ -8,6 +8,7 @@ package org.mule.extension.db.internal.domain.xa;
 
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import org.mule.extension.db.internal.domain.connection.DbConnection;
+import org.mule.extension.db.internal.domain.connection.PreparedStatementCache;
 import org.mule.extension.db.internal.domain.type.DbType;
 import org.mule.extension.db.internal.result.resultset.ResultSetHandler;
 import org.mule.extension.db.internal.result.statement.StatementResultIteratorFactory;
@@ -93,6 +94,11 @@ public class XADbConnection implements DbConnection, XATransactionalConnection {
     return connection.getJdbcConnection();
   }
 
+  @Override
+  public PreparedStatementCache getStatementCache() {
+    return connection.getStatementCache();
+  }
+
   @Override
   public void release() {
     connection.release();
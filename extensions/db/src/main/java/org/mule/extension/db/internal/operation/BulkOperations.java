@@ -11,12 +11,15 @@ import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang.StringUtils.isEmpty;
 import static org.mule.extension.db.internal.domain.query.QueryType.DELETE;
 import static org.mule.extension.db.internal.domain.query.QueryType.INSERT;
+import static org.mule.extension.db.internal.domain.query.QueryType.MERGE;
 import static org.mule.extension.db.internal.domain.query.QueryType.UPDATE;
+import org.mule.extension.db.api.BulkBatchResult;
 import org.mule.extension.db.api.param.BulkQueryDefinition;
 import org.mule.extension.db.api.param.BulkScript;
 import org.mule.extension.db.api.param.QuerySettings;
 import org.mule.extension.db.internal.DbConnector;
 import org.mule.extension.db.internal.domain.connection.DbConnection;
+import org.mule.extension.db.internal.domain.executor.BatchedBulkUpdateExecutor;
 import org.mule.extension.db.internal.domain.executor.BulkUpdateExecutor;
 import org.mule.extension.db.internal.domain.query.BulkQuery;
 import org.mule.extension.db.internal.domain.query.Query;
@@ -31,11 +34,15 @@ import org.mule.extension.db.internal.resolver.query.FileBulkQueryFactory;
 import org.mule.extension.db.internal.util.DefaultFileReader;
 import org.mule.runtime.extension.api.annotation.param.Connection;
 import org.mule.runtime.extension.api.annotation.param.Content;
+import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.ParameterGroup;
 import org.mule.runtime.extension.api.annotation.param.UseConfig;
 import org.mule.runtime.extension.api.annotation.param.display.Placement;
 
+import com.google.common.collect.Iterators;
+
 import java.sql.SQLException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -114,6 +121,39 @@ public class BulkOperations extends BaseDbOperations {
     return singleQueryBulk(query, parameterValues, DELETE, connector, connection);
   }
 
+  /**
+   * Allows executing one insert, update, delete or merge statement for each of the parameter sets of a stream, without loading
+   * the whole stream in memory. Parameter sets are executed in batches of the given size, and only the batch being executed and
+   * the next one are kept in memory. The next batch is read from the stream while the current one is executed, unless the
+   * stream is a streaming select on the same connection. Outside a transaction, each batch is committed as soon as it is
+   * executed.
+   *
+   * @param query a {@link BulkQueryDefinition} as a parameter group
+   * @param parameterValues An {@link Iterator} of {@link Map}s in which every item represents a row to be affected, and the map
+   *        contains the parameter names as keys and the value the parameter is bound to. It can be, for instance, the result of
+   *        a streaming select.
+   * @param batchSize the amount of parameter sets executed in each batch
+   * @param connector the acting connector
+   * @param connection the acting connection
+   * @return a {@link List} with the result of each executed batch, in execution order.
+   * @throws SQLException if an error is produced
+   */
+  public List<BulkBatchResult> streamingBulk(@Content @Placement(order = 1) Iterator<Map<String, Object>> parameterValues,
+                                             @Optional(defaultValue = "1000") int batchSize,
+                                             @ParameterGroup BulkQueryDefinition query,
+                                             @UseConfig DbConnector connector,
+                                             @Connection DbConnection connection)
+      throws SQLException {
+
+    final Query resolvedQuery = resolveQuery(query, connector, connection, INSERT, UPDATE, DELETE, MERGE);
+    final Iterator<List<QueryParamValue>> paramSets = Iterators.transform(parameterValues, this::resolveParamSet);
+
+    BatchedBulkUpdateExecutor bulkUpdateExecutor =
+        new BatchedBulkUpdateExecutor(getStatementFactory(null, false, query.getSettings()), batchSize,
+                                      connector.getBulkScheduler());
+    return bulkUpdateExecutor.execute(connection, resolvedQuery, paramSets);
+  }
+
   /**
    * Executes a SQL script in one single Database statement. The script is executed as provided by the user, without any parameter
    * binding.
@@ -172,9 +212,12 @@ public class BulkOperations extends BaseDbOperations {
   }
 
   private List<List<QueryParamValue>> resolveParamSets(List<Map<String, Object>> values) {
-    return values.stream().map(map -> map.entrySet().stream()
+    return values.stream().map(this::resolveParamSet).collect(toList());
+  }
+
+  private List<QueryParamValue> resolveParamSet(Map<String, Object> values) {
+    return values.entrySet().stream()
         .map(entry -> new QueryParamValue(entry.getKey(), entry.getValue()))
-        .collect(toList()))
         .collect(toList());
   }
 }
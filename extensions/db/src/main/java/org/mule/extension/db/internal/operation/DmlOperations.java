@@ -6,6 +6,7 @@
  */
 package org.mule.extension.db.internal.operation;
 
+import static java.lang.Integer.getInteger;
 import static java.util.Arrays.asList;
 import static org.mule.extension.db.internal.domain.query.QueryType.DELETE;
 import static org.mule.extension.db.internal.domain.query.QueryType.INSERT;
@@ -15,6 +16,7 @@ import static org.mule.extension.db.internal.domain.query.QueryType.STORE_PROCED
 import static org.mule.extension.db.internal.domain.query.QueryType.TRUNCATE;
 import static org.mule.extension.db.internal.domain.query.QueryType.UPDATE;
 import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import org.mule.extension.db.api.StatementResult;
 import org.mule.extension.db.internal.StatementStreamingResultSetCloser;
 import org.mule.extension.db.api.param.QueryDefinition;
@@ -32,6 +34,7 @@ import org.mule.extension.db.internal.resolver.query.StoredProcedureQueryResolve
 import org.mule.extension.db.internal.result.resultset.IteratorResultSetHandler;
 import org.mule.extension.db.internal.result.resultset.ListResultSetHandler;
 import org.mule.extension.db.internal.result.resultset.ResultSetHandler;
+import org.mule.extension.db.internal.result.row.IndexedRowHandler;
 import org.mule.extension.db.internal.result.row.InsensitiveMapRowHandler;
 import org.mule.extension.db.internal.result.statement.EagerStatementResultHandler;
 import org.mule.extension.db.internal.result.statement.StatementResultHandler;
@@ -58,6 +61,12 @@ import javax.inject.Inject;
  */
 public class DmlOperations extends BaseDbOperations {
 
+  /**
+   * Maximum number of rows fetched at once by a streaming select. The configured fetch size is used for the first rows, and it
+   * grows up to this value as the rows are consumed.
+   */
+  static final int MAX_STREAMING_FETCH_SIZE = getInteger(SYSTEM_PROPERTY_PREFIX + "db.streaming.maxFetchSize", 1000);
+
   @Inject
   private StatementStreamingResultSetCloser resultSetCloser;
 
@@ -68,7 +77,8 @@ public class DmlOperations extends BaseDbOperations {
    *
    * @param query a {@link QueryDefinition} as a parameter group
    * @param streaming if enabled retrieves the result set in blocks so that memory is not exhausted in case of large data sets.
-   *        This works in tandem with the fetch size parameter
+   *        This works in tandem with the fetch size parameter, which grows as the rows are consumed. The statement and the
+   *        connection are released as soon as the last row is read
    * @param statementAttributes a {@link StatementAttributes} as a parameter group
    * @param connector the acting connector
    * @param connection the acting connection
@@ -86,10 +96,9 @@ public class DmlOperations extends BaseDbOperations {
     final Query resolvedQuery = resolveQuery(query, connector, connection, SELECT, STORE_PROCEDURE_CALL);
 
     QueryStatementFactory statementFactory = getStatementFactory(statementAttributes, streaming, query.getSettings());
-    InsensitiveMapRowHandler recordHandler = new InsensitiveMapRowHandler();
     ResultSetHandler resultSetHandler = streaming
-        ? new IteratorResultSetHandler(recordHandler, resultSetCloser)
-        : new ListResultSetHandler(recordHandler);
+        ? new IteratorResultSetHandler(new IndexedRowHandler(), resultSetCloser, MAX_STREAMING_FETCH_SIZE)
+        : new ListResultSetHandler(new InsensitiveMapRowHandler());
 
     Object result = new SelectExecutor(statementFactory, resultSetHandler).execute(connection, resolvedQuery);
 
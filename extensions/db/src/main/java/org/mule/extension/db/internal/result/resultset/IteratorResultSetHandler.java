@@ -23,10 +23,31 @@ public class IteratorResultSetHandler implements ResultSetHandler {
 
   private final RowHandler rowHandler;
   private final StatementStreamingResultSetCloser streamingResultSetCloser;
+  private final int maxFetchSize;
+  private final boolean closeStatement;
 
   public IteratorResultSetHandler(RowHandler rowHandler, StatementStreamingResultSetCloser streamingResultSetCloser) {
+    this(rowHandler, streamingResultSetCloser, 0, false);
+  }
+
+  /**
+   * Creates a handler for result sets that are the only result of their statement, so the statement is closed along with the
+   * result set once it is consumed.
+   *
+   * @param maxFetchSize maximum number of rows to fetch at once as the rows are consumed, 0 to keep the fetch size of the
+   *        statement
+   */
+  public IteratorResultSetHandler(RowHandler rowHandler, StatementStreamingResultSetCloser streamingResultSetCloser,
+                                  int maxFetchSize) {
+    this(rowHandler, streamingResultSetCloser, maxFetchSize, true);
+  }
+
+  private IteratorResultSetHandler(RowHandler rowHandler, StatementStreamingResultSetCloser streamingResultSetCloser,
+                                   int maxFetchSize, boolean closeStatement) {
     this.rowHandler = rowHandler;
     this.streamingResultSetCloser = streamingResultSetCloser;
+    this.maxFetchSize = maxFetchSize;
+    this.closeStatement = closeStatement;
   }
 
   @Override
@@ -34,7 +55,7 @@ public class IteratorResultSetHandler implements ResultSetHandler {
     streamingResultSetCloser.trackResultSet(connection, resultSet);
     connection.beginStreaming();
 
-    return new ResultSetIterator(connection, resultSet, rowHandler, streamingResultSetCloser);
+    return new ResultSetIterator(connection, resultSet, rowHandler, streamingResultSetCloser, maxFetchSize, closeStatement);
   }
 
   @Override
@@ -7,6 +7,8 @@
 
 package org.mule.extension.db.internal.result.resultset;
 
+import static java.lang.Math.min;
+
 import org.mule.extension.db.internal.domain.connection.DbConnection;
 import org.mule.extension.db.internal.result.row.RowHandler;
 import org.mule.runtime.core.api.Closeable;
@@ -14,6 +16,7 @@ import org.mule.runtime.api.exception.MuleException;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -24,6 +27,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Iterates a {@link ResultSet} to provide rows streaming
+ * <p>
+ * When a maximum fetch size is given, the fetch size of the {@link ResultSet} grows as its rows are consumed: the first block
+ * of rows is fetched with the configured fetch size, which is doubled each time a whole block is consumed, up to the maximum.
+ * This way consumers that only read a few rows do not fetch more than needed, while the ones reading the whole result set do
+ * not need a database round trip for every few rows.
  */
 public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeable {
 
@@ -32,11 +40,26 @@ public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeab
   private final ResultSet resultSet;
   private final RowHandler rowHandler;
   private final StreamingResultSetCloser streamingResultSetCloser;
+  private final boolean closeStatement;
+  private final int maxFetchSize;
   private DbConnection connection;
   private Boolean cachedNext = null;
+  private int fetchSize;
+  private int rowsUntilNextFetch;
+  private boolean closed;
 
   public ResultSetIterator(DbConnection connection, ResultSet resultSet, RowHandler rowHandler,
                            StreamingResultSetCloser streamingResultSetCloser) {
+    this(connection, resultSet, rowHandler, streamingResultSetCloser, 0, false);
+  }
+
+  /**
+   * @param maxFetchSize maximum number of rows to fetch at once, 0 to keep the fetch size of the {@link ResultSet}
+   * @param closeStatement whether the statement of the {@link ResultSet} has to be closed along with it, when no other result
+   *        sets of the statement are going to be read
+   */
+  public ResultSetIterator(DbConnection connection, ResultSet resultSet, RowHandler rowHandler,
+                           StreamingResultSetCloser streamingResultSetCloser, int maxFetchSize, boolean closeStatement) {
     if (connection == null) {
       throw new NullPointerException();
     }
@@ -44,6 +67,19 @@ public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeab
     this.rowHandler = rowHandler;
     this.streamingResultSetCloser = streamingResultSetCloser;
     this.connection = connection;
+    this.closeStatement = closeStatement;
+    this.maxFetchSize = maxFetchSize;
+
+    if (maxFetchSize > 0) {
+      try {
+        fetchSize = resultSet.getFetchSize();
+      } catch (SQLException e) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Unable to obtain the fetch size of the resultSet", e);
+        }
+      }
+      rowsUntilNextFetch = fetchSize;
+    }
   }
 
   @Override
@@ -85,6 +121,7 @@ public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeab
         cachedNext = null;
       }
 
+      adjustFetchSize();
       return rowHandler.process(resultSet);
     } catch (SQLException e) {
       LOGGER.warn("Unable to obtain next row", e);
@@ -92,6 +129,24 @@ public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeab
     }
   }
 
+  private void adjustFetchSize() {
+    if (fetchSize <= 0 || fetchSize >= maxFetchSize || --rowsUntilNextFetch > 0) {
+      return;
+    }
+
+    // A whole block was consumed, so the consumer is likely to read the next ones too
+    fetchSize = min(fetchSize * 2, maxFetchSize);
+    rowsUntilNextFetch = fetchSize;
+    try {
+      resultSet.setFetchSize(fetchSize);
+    } catch (SQLException e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Unable to change the fetch size of the resultSet", e);
+      }
+      fetchSize = 0;
+    }
+  }
+
   @Override
   public void remove() {
     throw new UnsupportedOperationException();
@@ -99,10 +154,30 @@ public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeab
 
   @Override
   public void close() throws MuleException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Closing resultSet");
     }
 
+    if (closeStatement) {
+      // The statement is closed before the connection is released
+      closeStatement();
+    }
     streamingResultSetCloser.close(connection, resultSet);
   }
+
+  private void closeStatement() {
+    try {
+      Statement statement = resultSet.getStatement();
+      if (statement != null) {
+        statement.close();
+      }
+    } catch (SQLException e) {
+      LOGGER.warn("Error attempting to close statement", e);
+    }
+  }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.result.row;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.util.Map;
+
+/**
+ * Maps rows to case insensitive maps that share the column labels of their result set.
+ * <p>
+ * Unlike {@link InsensitiveMapRowHandler}, the metadata of the result set is read only once and each row only holds the array
+ * of its values, which makes it suitable for streaming large result sets.
+ *
+ * @since 4.0
+ */
+public class IndexedRowHandler implements RowHandler {
+
+  private ResultSet currentResultSet;
+  private ResultSetColumns columns;
+
+  @Override
+  public Map<String, Object> process(ResultSet resultSet) throws SQLException {
+    if (resultSet != currentResultSet) {
+      columns = new ResultSetColumns(resultSet.getMetaData());
+      currentResultSet = resultSet;
+    }
+
+    Object[] values = new Object[columns.size()];
+    for (int i = 0; i < values.length; i++) {
+      Object value = resultSet.getObject(i + 1);
+
+      if (value instanceof SQLXML) {
+        values[i] = ((SQLXML) value).getString();
+      } else {
+        values[i] = value;
+      }
+    }
+
+    return new ResultSetRow(columns, values);
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.result.row;
+
+import org.mule.runtime.core.util.CaseInsensitiveHashMap;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Labels of the columns of a result set, along with the position of each label, which can be looked up without case
+ * sensitivity.
+ *
+ * @since 4.0
+ */
+final class ResultSetColumns {
+
+  private final String[] labels;
+  private final Map<String, Integer> positions;
+
+  @SuppressWarnings("unchecked")
+  ResultSetColumns(ResultSetMetaData metaData) throws SQLException {
+    int cols = metaData.getColumnCount();
+    labels = new String[cols];
+    positions = new CaseInsensitiveHashMap(cols);
+
+    for (int i = 0; i < cols; i++) {
+      labels[i] = metaData.getColumnLabel(i + 1);
+      positions.put(labels[i], i);
+    }
+
+    if (cols != positions.size()) {
+      throw new IllegalArgumentException("Record cannot be mapped as it contains multiple columns with the same label. Define column aliases to solve this problem");
+    }
+  }
+
+  int size() {
+    return labels.length;
+  }
+
+  String getLabel(int index) {
+    return labels[index];
+  }
+
+  /**
+   * @return the position of the column with the given label, or -1 if there is no such column.
+   */
+  int indexOf(Object label) {
+    if (!(label instanceof String)) {
+      return -1;
+    }
+    Integer position = positions.get(label);
+    return position == null ? -1 : position;
+  }
+}
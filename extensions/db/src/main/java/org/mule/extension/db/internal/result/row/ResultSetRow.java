@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.result.row;
+
+import org.mule.runtime.core.util.CaseInsensitiveHashMap;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Row of a result set that keeps the values of its columns in an array and shares the {@link ResultSetColumns} with the rest of
+ * the rows of the same result set, so no map entries are created for each row.
+ * <p>
+ * Columns are looked up without case sensitivity, as in the maps created by {@link InsensitiveMapRowHandler}. The row is copied
+ * into a {@link CaseInsensitiveHashMap} the first time it is modified, and when it is serialized.
+ *
+ * @since 4.0
+ */
+final class ResultSetRow extends AbstractMap<String, Object> implements Serializable {
+
+  private static final long serialVersionUID = 7281594426394874311L;
+
+  private final transient ResultSetColumns columns;
+  private final transient Object[] values;
+  private transient Map<String, Object> copy;
+
+  ResultSetRow(ResultSetColumns columns, Object[] values) {
+    this.columns = columns;
+    this.values = values;
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (copy != null) {
+      return copy.get(key);
+    }
+    int index = columns.indexOf(key);
+    return index < 0 ? null : values[index];
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return copy != null ? copy.containsKey(key) : columns.indexOf(key) >= 0;
+  }
+
+  @Override
+  public int size() {
+    return copy != null ? copy.size() : values.length;
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    return getCopy().put(key, value);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    return getCopy().remove(key);
+  }
+
+  @Override
+  public void clear() {
+    getCopy().clear();
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    if (copy != null) {
+      return copy.entrySet();
+    }
+
+    return new AbstractSet<Entry<String, Object>>() {
+
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        return new Iterator<Entry<String, Object>>() {
+
+          private int index = 0;
+
+          @Override
+          public boolean hasNext() {
+            return index < values.length;
+          }
+
+          @Override
+          public Entry<String, Object> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            Entry<String, Object> entry = new SimpleImmutableEntry<>(columns.getLabel(index), values[index]);
+            index++;
+            return entry;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return values.length;
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getCopy() {
+    if (copy == null) {
+      Map<String, Object> map = new CaseInsensitiveHashMap(values.length);
+      for (int i = 0; i < values.length; i++) {
+        map.put(columns.getLabel(i), values[i]);
+      }
+      copy = map;
+    }
+    return copy;
+  }
+
+  private Object writeReplace() {
+    return getCopy();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.extension.db.integration.update;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.extension.db.integration.DbTestUtil.selectData;
+import static org.mule.extension.db.integration.TestRecordUtil.assertRecords;
+import org.mule.extension.db.api.BulkBatchResult;
+import org.mule.extension.db.integration.AbstractDbIntegrationTestCase;
+import org.mule.extension.db.integration.model.Field;
+import org.mule.extension.db.integration.model.Record;
+import org.mule.runtime.api.message.Message;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class StreamingBulkTestCase extends AbstractDbIntegrationTestCase {
+
+  @Override
+  protected String[] getFlowConfigurationResources() {
+    return new String[] {"integration/update/streaming-bulk-config.xml"};
+  }
+
+  @Test
+  public void streamingBulkInsert() throws Exception {
+    Iterator<Map<String, Object>> values = values("Pluto", "Saturn", "Jupiter", "Uranus", "Neptune").iterator();
+
+    Message response = flowRunner("streamingBulkInsert").withPayload(values).run().getMessage();
+
+    assertBatches(response, new int[] {2, 2, 1});
+    assertPlanetRecordsFromQuery("Pluto", "Saturn", "Jupiter", "Uranus", "Neptune");
+  }
+
+  @Test
+  public void streamingBulkUpdateFromStreamingSelectOnSameConnection() throws Exception {
+    Message response = flowRunner("streamingBulkUpdateFromStreamingSelect").run().getMessage();
+
+    assertBatches(response, new int[] {2, 1});
+    List<Map<String, String>> result = selectData("select * from PLANET order by ID", getDefaultDataSource());
+    assertRecords(result, new Record(new Field("NAME", "Venus"), new Field("POSITION", 12)),
+                  new Record(new Field("NAME", "Earth"), new Field("POSITION", 13)),
+                  new Record(new Field("NAME", "Mars"), new Field("POSITION", 14)));
+  }
+
+  private List<Map<String, Object>> values(String... planetNames) {
+    List<Map<String, Object>> values = new ArrayList<>();
+    for (int i = 0; i < planetNames.length; i++) {
+      Map<String, Object> record = new HashMap<>();
+      record.put("name", planetNames[i]);
+      record.put("position", 100 + i);
+      values.add(record);
+    }
+    return values;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void assertBatches(Message response, int[] parameterSets) {
+    List<BulkBatchResult> results = (List<BulkBatchResult>) response.getPayload().getValue();
+    assertThat(results.size(), is(parameterSets.length));
+    for (int i = 0; i < parameterSets.length; i++) {
+      assertThat(results.get(i).getParameterSets(), is(parameterSets[i]));
+      assertThat(results.get(i).getAffectedRows(), is(parameterSets[i]));
+    }
+  }
+}
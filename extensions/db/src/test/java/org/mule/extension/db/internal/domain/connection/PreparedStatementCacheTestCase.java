@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.domain.connection;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.extension.db.internal.domain.query.QueryType.SELECT;
+import static org.mule.extension.db.internal.domain.query.QueryType.UPDATE;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+@SmallTest
+public class PreparedStatementCacheTestCase extends AbstractMuleTestCase {
+
+  private static final String SQL = "SELECT * FROM PLANET WHERE NAME = ?";
+  private static final String OTHER_SQL = "SELECT * FROM PLANET WHERE POSITION = ?";
+
+  private final List<PreparedStatement> createdStatements = new ArrayList<>();
+  private final Connection connection = mock(Connection.class);
+  private final PreparedStatementCache cache = new PreparedStatementCache(connection, 2);
+
+  @Test
+  public void reusesClosedStatement() throws Exception {
+    PreparedStatement statement = prepare(SQL);
+    statement.setString(1, "Mars");
+    statement.close();
+
+    prepare(SQL).setString(1, "Venus");
+
+    assertThat(createdStatements.size(), is(1));
+    verify(createdStatements.get(0)).clearParameters();
+    verify(createdStatements.get(0)).setString(1, "Venus");
+    verify(createdStatements.get(0), never()).close();
+    assertThat(cache.getHitCount(), is(1L));
+    assertThat(cache.getMissCount(), is(1L));
+  }
+
+  @Test
+  public void doesNotShareBorrowedStatements() throws Exception {
+    prepare(SQL);
+    prepare(SQL);
+
+    assertThat(createdStatements.size(), is(2));
+    assertThat(createdStatements.get(0), not(sameInstance(createdStatements.get(1))));
+  }
+
+  @Test
+  public void keysStatementsByQueryType() throws Exception {
+    prepare(SQL).close();
+    cache.prepareStatement(SQL, UPDATE, this::createStatement);
+
+    assertThat(createdStatements.size(), is(2));
+    assertThat(cache.getHitCount(), is(0L));
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedStatement() throws Exception {
+    prepare(SQL).close();
+    prepare(OTHER_SQL).close();
+    prepare(SQL).close();
+    prepare("SELECT * FROM PLANET").close();
+
+    assertThat(cache.size(), is(2));
+    assertThat(cache.getEvictionCount(), is(1L));
+    verify(createdStatements.get(0), never()).close();
+    verify(createdStatements.get(1)).close();
+  }
+
+  @Test
+  public void discardsStatementsClosedByTheDriver() throws Exception {
+    PreparedStatement statement = prepare(SQL);
+    when(createdStatements.get(0).isClosed()).thenReturn(true);
+    statement.close();
+
+    assertThat(cache.size(), is(0));
+  }
+
+  @Test
+  public void restoresStatementSettings() throws Exception {
+    PreparedStatement statement = prepare(SQL);
+    when(createdStatements.get(0).getFetchSize()).thenReturn(100);
+    statement.close();
+
+    verify(createdStatements.get(0)).setFetchSize(0);
+  }
+
+  @Test(expected = SQLException.class)
+  public void closedStatementCannotBeUsed() throws Exception {
+    PreparedStatement statement = prepare(SQL);
+    statement.close();
+
+    assertThat(statement.isClosed(), is(true));
+    statement.executeQuery();
+  }
+
+  @Test
+  public void closesIdleStatements() throws Exception {
+    PreparedStatement borrowed = prepare(SQL);
+    prepare(OTHER_SQL).close();
+
+    cache.close();
+    verify(createdStatements.get(1)).close();
+
+    borrowed.close();
+    verify(createdStatements.get(0)).close();
+    assertThat(cache.size(), is(0));
+  }
+
+  private PreparedStatement prepare(String sql) throws SQLException {
+    return cache.prepareStatement(sql, SELECT, this::createStatement);
+  }
+
+  private PreparedStatement createStatement(Connection jdbcConnection) {
+    assertThat(jdbcConnection, sameInstance(connection));
+    PreparedStatement statement = mock(PreparedStatement.class);
+    createdStatements.add(statement);
+    return statement;
+  }
+}
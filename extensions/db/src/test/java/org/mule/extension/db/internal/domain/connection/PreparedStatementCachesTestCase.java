@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.domain.connection;
+
+import static java.util.Collections.emptyList;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.extension.db.internal.domain.query.QueryType.SELECT;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+@SmallTest
+public class PreparedStatementCachesTestCase extends AbstractMuleTestCase {
+
+  private static final String SQL = "SELECT * FROM PLANET WHERE NAME = ?";
+
+  private final PreparedStatementCaches caches = new PreparedStatementCaches(2);
+
+  @Test
+  public void reusesStatementsOfPooledConnection() throws Exception {
+    Connection physicalConnection = mock(Connection.class);
+    PreparedStatement statement = mock(PreparedStatement.class);
+    when(physicalConnection.prepareStatement(SQL)).thenReturn(statement);
+
+    for (int i = 0; i < 3; i++) {
+      DefaultDbConnection connection = new DefaultDbConnection(pooledHandle(physicalConnection), emptyList(), caches);
+      PreparedStatement borrowed = connection.getStatementCache().prepareStatement(SQL, SELECT, c -> c.prepareStatement(SQL));
+      borrowed.close();
+      connection.release();
+      verify(connection.getJdbcConnection()).close();
+    }
+
+    verify(physicalConnection, times(1)).prepareStatement(SQL);
+    verify(statement, times(0)).close();
+    assertThat(caches.size(), is(1));
+  }
+
+  @Test
+  public void discardsCacheOfClosedConnection() throws Exception {
+    Connection jdbcConnection = mock(Connection.class);
+    PreparedStatement statement = mock(PreparedStatement.class);
+    when(jdbcConnection.prepareStatement(SQL)).thenReturn(statement);
+
+    DefaultDbConnection connection = new DefaultDbConnection(jdbcConnection, emptyList(), caches);
+    connection.getStatementCache().prepareStatement(SQL, SELECT, c -> c.prepareStatement(SQL)).close();
+    when(jdbcConnection.isClosed()).thenReturn(true);
+    connection.release();
+
+    verify(statement).close();
+    assertThat(caches.size(), is(0));
+  }
+
+  @Test
+  public void discardsCacheOfConnectionClosedByPool() throws Exception {
+    Connection closedConnection = mock(Connection.class);
+    PreparedStatement statement = mock(PreparedStatement.class);
+    when(closedConnection.prepareStatement(SQL)).thenReturn(statement);
+    caches.getCache(pooledHandle(closedConnection)).prepareStatement(SQL, SELECT, c -> c.prepareStatement(SQL)).close();
+    when(closedConnection.isClosed()).thenReturn(true);
+
+    Connection otherConnection = mock(Connection.class);
+    assertThat(caches.getCache(pooledHandle(otherConnection)).getConnection(), sameInstance(otherConnection));
+
+    verify(statement).close();
+    assertThat(caches.size(), is(1));
+  }
+
+  @Test
+  public void disabledCache() throws Exception {
+    PreparedStatementCaches disabledCaches = new PreparedStatementCaches(0);
+    assertThat(disabledCaches.getCache(mock(Connection.class)), is(nullValue()));
+  }
+
+  private Connection pooledHandle(Connection physicalConnection) throws SQLException {
+    Connection handle = mock(Connection.class);
+    when(handle.isWrapperFor(Connection.class)).thenReturn(true);
+    when(handle.unwrap(Connection.class)).thenReturn(physicalConnection);
+    return handle;
+  }
+}
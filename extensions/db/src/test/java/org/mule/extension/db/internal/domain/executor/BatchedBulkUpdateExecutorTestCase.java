@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.domain.executor;
+
+import static java.sql.Statement.SUCCESS_NO_INFO;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.extension.db.internal.domain.query.QueryType.UPDATE;
+import org.mule.extension.db.api.BulkBatchResult;
+import org.mule.extension.db.internal.domain.connection.DbConnection;
+import org.mule.extension.db.internal.domain.query.Query;
+import org.mule.extension.db.internal.domain.query.QueryParamValue;
+import org.mule.extension.db.internal.domain.query.QueryTemplate;
+import org.mule.extension.db.internal.domain.statement.StatementFactory;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class BatchedBulkUpdateExecutorTestCase extends AbstractMuleTestCase {
+
+  private final QueryTemplate queryTemplate = new QueryTemplate("UPDATE PLANET SET POSITION = 1", UPDATE, emptyList());
+  private final Query query = new Query(queryTemplate);
+  private final DbConnection connection = mock(DbConnection.class);
+  private final PreparedStatement statement = mock(PreparedStatement.class);
+  private final StatementFactory statementFactory = mock(StatementFactory.class);
+  private ExecutorService executorService;
+
+  @Before
+  public void setUp() throws Exception {
+    when(statementFactory.create(connection, queryTemplate)).thenReturn(statement);
+    executorService = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void executesInBatches() throws Exception {
+    when(statement.executeBatch()).thenReturn(new int[] {1, 1}, new int[] {1, 2}, new int[] {1});
+    BatchedBulkUpdateExecutor executor = new BatchedBulkUpdateExecutor(statementFactory, 2, null);
+
+    List<BulkBatchResult> results = executor.execute(connection, query, paramSets(5));
+
+    assertBatches(results, new int[] {2, 2, 1}, new int[] {2, 3, 1});
+    verify(statement, times(5)).addBatch();
+    verify(statement, times(3)).executeBatch();
+    verify(statement).close();
+  }
+
+  @Test
+  public void executesNoBatchWithoutParameterSets() throws Exception {
+    BatchedBulkUpdateExecutor executor = new BatchedBulkUpdateExecutor(statementFactory, 2, executorService);
+
+    List<BulkBatchResult> results = executor.execute(connection, query, paramSets(0));
+
+    assertThat(results, hasSize(0));
+    verify(statement, times(0)).executeBatch();
+    verify(statement).close();
+  }
+
+  @Test
+  public void ignoresUnknownUpdateCounts() throws Exception {
+    when(statement.executeBatch()).thenReturn(new int[] {SUCCESS_NO_INFO, 3});
+    BatchedBulkUpdateExecutor executor = new BatchedBulkUpdateExecutor(statementFactory, 2, null);
+
+    List<BulkBatchResult> results = executor.execute(connection, query, paramSets(2));
+
+    assertBatches(results, new int[] {2}, new int[] {3});
+  }
+
+  @Test
+  public void readsBatchesInAnotherThread() throws Exception {
+    when(statement.executeBatch()).thenReturn(new int[] {1, 1, 1});
+    BatchedBulkUpdateExecutor executor = new BatchedBulkUpdateExecutor(statementFactory, 3, executorService);
+
+    List<BulkBatchResult> results = executor.execute(connection, query, paramSets(7));
+
+    assertBatches(results, new int[] {3, 3, 1}, new int[] {3, 3, 3});
+    verify(statement, times(7)).addBatch();
+    verify(statement).close();
+  }
+
+  @Test
+  public void readsBatchesInCurrentThreadWhenExecutorRejects() throws Exception {
+    when(statement.executeBatch()).thenReturn(new int[] {1, 1});
+    BatchedBulkUpdateExecutor executor = new BatchedBulkUpdateExecutor(statementFactory, 2, command -> {
+      throw new RejectedExecutionException();
+    });
+
+    List<BulkBatchResult> results = executor.execute(connection, query, paramSets(3));
+
+    assertBatches(results, new int[] {2, 1}, new int[] {2, 2});
+  }
+
+  @Test
+  public void readsBatchesInCurrentThreadWhileConnectionIsStreaming() throws Exception {
+    when(connection.isStreaming()).thenReturn(true);
+    when(statement.executeBatch()).thenReturn(new int[] {1, 1});
+    BatchedBulkUpdateExecutor executor = new BatchedBulkUpdateExecutor(statementFactory, 2, command -> {
+      throw new AssertionError("Parameter sets must be read in the current thread");
+    });
+
+    List<BulkBatchResult> results = executor.execute(connection, query, paramSets(3));
+
+    assertBatches(results, new int[] {2, 1}, new int[] {2, 2});
+  }
+
+  @Test
+  public void propagatesParameterSetReadingError() throws Exception {
+    when(statement.executeBatch()).thenReturn(new int[] {1, 1});
+    final IllegalStateException readingError = new IllegalStateException();
+    final Iterator<List<QueryParamValue>> failingParamSets = new Iterator<List<QueryParamValue>>() {
+
+      private int read;
+
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public List<QueryParamValue> next() {
+        if (read++ == 3) {
+          throw readingError;
+        }
+        return emptyList();
+      }
+    };
+    BatchedBulkUpdateExecutor executor = new BatchedBulkUpdateExecutor(statementFactory, 2, executorService);
+
+    try {
+      executor.execute(connection, query, failingParamSets);
+      fail("Expected the reading error to be propagated");
+    } catch (IllegalStateException e) {
+      assertThat(e, is(readingError));
+    }
+
+    verify(statement).executeBatch();
+    verify(statement).close();
+  }
+
+  @Test
+  public void closesStatementWhenBatchFails() throws Exception {
+    final SQLException batchError = new SQLException();
+    when(statement.executeBatch()).thenReturn(new int[] {1, 1}).thenThrow(batchError);
+    BatchedBulkUpdateExecutor executor = new BatchedBulkUpdateExecutor(statementFactory, 2, executorService);
+
+    try {
+      executor.execute(connection, query, paramSets(100));
+      fail("Expected the batch error to be propagated");
+    } catch (SQLException e) {
+      assertThat(e, is(batchError));
+    }
+
+    verify(statement).close();
+  }
+
+  @Test
+  public void interruptsReadingWhenBatchFails() throws Exception {
+    final SQLException batchError = new SQLException();
+    when(statement.executeBatch()).thenThrow(batchError);
+    final CountDownLatch readingInterrupted = new CountDownLatch(1);
+    final Iterator<List<QueryParamValue>> blockingParamSets = new Iterator<List<QueryParamValue>>() {
+
+      private int read;
+
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public List<QueryParamValue> next() {
+        if (read++ == 2) {
+          try {
+            new CountDownLatch(1).await();
+          } catch (InterruptedException e) {
+            readingInterrupted.countDown();
+            throw new IllegalStateException(e);
+          }
+        }
+        return emptyList();
+      }
+    };
+    BatchedBulkUpdateExecutor executor = new BatchedBulkUpdateExecutor(statementFactory, 2, executorService);
+
+    try {
+      executor.execute(connection, query, blockingParamSets);
+      fail("Expected the batch error to be propagated");
+    } catch (SQLException e) {
+      assertThat(e, is(batchError));
+    }
+
+    assertThat(readingInterrupted.await(5, SECONDS), is(true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNonPositiveBatchSize() throws Exception {
+    new BatchedBulkUpdateExecutor(statementFactory, 0, null);
+  }
+
+  private Iterator<List<QueryParamValue>> paramSets(int count) {
+    List<List<QueryParamValue>> paramSets = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      paramSets.add(emptyList());
+    }
+    return paramSets.iterator();
+  }
+
+  private void assertBatches(List<BulkBatchResult> results, int[] parameterSets, int[] affectedRows) {
+    assertThat(results, hasSize(parameterSets.length));
+    for (int i = 0; i < parameterSets.length; i++) {
+      assertThat(results.get(i).getParameterSets(), equalTo(parameterSets[i]));
+      assertThat(results.get(i).getAffectedRows(), equalTo(affectedRows[i]));
+    }
+  }
+}
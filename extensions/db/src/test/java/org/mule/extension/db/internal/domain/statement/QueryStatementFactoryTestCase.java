@@ -14,19 +14,28 @@ import static java.sql.ResultSet.TYPE_SCROLL_SENSITIVE;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mule.extension.db.internal.domain.query.QueryType.SELECT;
 import static org.mule.extension.db.internal.domain.query.QueryType.STORE_PROCEDURE_CALL;
 import org.mule.extension.db.internal.domain.connection.DbConnection;
+import org.mule.extension.db.internal.domain.connection.PreparedStatementCache;
+import org.mule.extension.db.internal.domain.param.DefaultInputQueryParam;
 import org.mule.extension.db.internal.domain.param.QueryParam;
 import org.mule.extension.db.internal.domain.query.QueryTemplate;
+import org.mule.extension.db.internal.domain.type.UnknownDbType;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
 
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -68,6 +77,26 @@ public class QueryStatementFactoryTestCase extends AbstractMuleTestCase {
     checkStatementCreated(connection);
   }
 
+  @Test
+  public void reusesCachedPreparedStatements() throws SQLException {
+    String selectSqlText = "select * from test where id = ?";
+    PreparedStatement preparedStatement = mock(PreparedStatement.class);
+    PreparedStatementCache statementCache = new PreparedStatementCache(jdbcConnection, 1);
+    when(connection.getStatementCache()).thenReturn(statementCache);
+    when(jdbcConnection.prepareStatement(selectSqlText)).thenReturn(preparedStatement);
+
+    QueryStatementFactory factory = new QueryStatementFactory();
+    List<QueryParam> params = Collections.singletonList(new DefaultInputQueryParam(1, UnknownDbType.getInstance(), null, "id"));
+    QueryTemplate queryTemplate = new QueryTemplate(selectSqlText, SELECT, params);
+    for (int i = 0; i < 3; i++) {
+      Statement statement = factory.create(connection, queryTemplate);
+      statement.close();
+    }
+
+    verify(jdbcConnection, times(1)).prepareStatement(selectSqlText);
+    assertThat(statementCache.getHitCount(), is(2L));
+  }
+
   private void checkStatementCreated(DbConnection connection) throws SQLException {
     QueryStatementFactory factory = new QueryStatementFactory();
     QueryTemplate queryTemplate = new QueryTemplate(sqlText, STORE_PROCEDURE_CALL, Collections.<QueryParam>emptyList());
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.result.resultset;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.extension.db.internal.domain.connection.DbConnection;
+import org.mule.extension.db.internal.result.row.RowHandler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+@SmallTest
+public class ResultSetIteratorTestCase extends AbstractMuleTestCase {
+
+  private DbConnection connection;
+  private ResultSet resultSet;
+  private Statement statement;
+  private RowHandler rowHandler;
+  private StreamingResultSetCloser closer;
+
+  @Before
+  public void setUp() throws Exception {
+    connection = mock(DbConnection.class);
+    resultSet = mock(ResultSet.class);
+    statement = mock(Statement.class);
+    rowHandler = mock(RowHandler.class);
+    closer = mock(StreamingResultSetCloser.class);
+    when(resultSet.getStatement()).thenReturn(statement);
+    when(resultSet.getFetchSize()).thenReturn(10);
+  }
+
+  @Test
+  public void growsFetchSizeAsRowsAreConsumed() throws Exception {
+    when(resultSet.next()).thenReturn(true);
+    ResultSetIterator iterator = new ResultSetIterator(connection, resultSet, rowHandler, closer, 35, true);
+
+    consume(iterator, 9);
+    verify(resultSet, never()).setFetchSize(anyInt());
+
+    consume(iterator, 1);
+    verify(resultSet).setFetchSize(20);
+
+    consume(iterator, 20);
+    verify(resultSet).setFetchSize(35);
+
+    consume(iterator, 100);
+    verify(resultSet, times(2)).setFetchSize(anyInt());
+  }
+
+  @Test
+  public void keepsFetchSizeWithoutMaximum() throws Exception {
+    when(resultSet.next()).thenReturn(true);
+    ResultSetIterator iterator = new ResultSetIterator(connection, resultSet, rowHandler, closer);
+
+    consume(iterator, 100);
+
+    verify(resultSet, never()).setFetchSize(anyInt());
+  }
+
+  @Test
+  public void closesStatementBeforeReleasingConnection() throws Exception {
+    when(resultSet.next()).thenReturn(true, false);
+    ResultSetIterator iterator = new ResultSetIterator(connection, resultSet, rowHandler, closer, 35, true);
+
+    consume(iterator, 1);
+    assertThat(iterator.hasNext(), is(false));
+
+    InOrder inOrder = inOrder(statement, closer);
+    inOrder.verify(statement).close();
+    inOrder.verify(closer).close(connection, resultSet);
+  }
+
+  @Test
+  public void keepsStatementOpenWhenSharedWithOtherResultSets() throws Exception {
+    when(resultSet.next()).thenReturn(false);
+    ResultSetIterator iterator = new ResultSetIterator(connection, resultSet, rowHandler, closer);
+
+    assertThat(iterator.hasNext(), is(false));
+
+    verify(statement, never()).close();
+    verify(closer).close(connection, resultSet);
+  }
+
+  @Test
+  public void closesOnce() throws Exception {
+    when(resultSet.next()).thenReturn(false);
+    ResultSetIterator iterator = new ResultSetIterator(connection, resultSet, rowHandler, closer, 35, true);
+
+    assertThat(iterator.hasNext(), is(false));
+    iterator.close();
+
+    verify(statement, times(1)).close();
+    verify(closer, times(1)).close(connection, resultSet);
+  }
+
+  private void consume(ResultSetIterator iterator, int rows) {
+    for (int i = 0; i < rows; i++) {
+      iterator.next();
+    }
+  }
+}
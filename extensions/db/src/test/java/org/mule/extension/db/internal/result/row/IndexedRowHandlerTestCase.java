@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.result.row;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.runtime.core.util.CaseInsensitiveHashMap;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class IndexedRowHandlerTestCase extends AbstractMuleTestCase {
+
+  private final IndexedRowHandler rowHandler = new IndexedRowHandler();
+  private ResultSet resultSet;
+  private ResultSetMetaData metaData;
+
+  @Before
+  public void setUp() throws Exception {
+    resultSet = mock(ResultSet.class);
+    metaData = mock(ResultSetMetaData.class);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(2);
+    when(metaData.getColumnLabel(1)).thenReturn("ID");
+    when(metaData.getColumnLabel(2)).thenReturn("Name");
+    when(resultSet.getObject(1)).thenReturn(1, 2);
+    when(resultSet.getObject(2)).thenReturn("Venus", "Mars");
+  }
+
+  @Test
+  public void mapsRowsIgnoringCase() throws Exception {
+    Map<String, Object> row = rowHandler.process(resultSet);
+
+    assertThat(row.size(), is(2));
+    assertThat(row.get("id"), equalTo(1));
+    assertThat(row.get("NAME"), equalTo("Venus"));
+    assertThat(row.containsKey("name"), is(true));
+    assertThat(row.get("planet"), is(nullValue()));
+    assertThat(row.keySet(), contains("ID", "Name"));
+  }
+
+  @Test
+  public void readsMetadataOncePerResultSet() throws Exception {
+    Map<String, Object> first = rowHandler.process(resultSet);
+    Map<String, Object> second = rowHandler.process(resultSet);
+
+    assertThat(first.get("name"), equalTo("Venus"));
+    assertThat(second.get("name"), equalTo("Mars"));
+    verify(resultSet, times(1)).getMetaData();
+  }
+
+  @Test
+  public void equalsToMapWithSameValues() throws Exception {
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("ID", 1);
+    expected.put("Name", "Venus");
+
+    Map<String, Object> row = rowHandler.process(resultSet);
+
+    assertThat(row, equalTo(expected));
+    assertThat(row.hashCode(), equalTo(expected.hashCode()));
+  }
+
+  @Test
+  public void copiesRowWhenModified() throws Exception {
+    Map<String, Object> row = rowHandler.process(resultSet);
+
+    row.put("distance", 108);
+    row.remove("ID");
+
+    assertThat(row.size(), is(2));
+    assertThat(row.get("DISTANCE"), equalTo(108));
+    assertThat(row.get("name"), equalTo("Venus"));
+    assertThat(row.get("id"), is(nullValue()));
+  }
+
+  @Test
+  public void serializesAsCaseInsensitiveMap() throws Exception {
+    Map<String, Object> row = rowHandler.process(resultSet);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(row);
+    }
+    Object deserialized;
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      deserialized = in.readObject();
+    }
+
+    assertThat(deserialized, instanceOf(CaseInsensitiveHashMap.class));
+    assertThat(((Map<?, ?>) deserialized).get("name"), equalTo("Venus"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failsOnDuplicatedColumnLabels() throws SQLException {
+    when(metaData.getColumnLabel(2)).thenReturn("id");
+
+    rowHandler.process(resultSet);
+  }
+}
@@ -7,6 +7,7 @@
 package org.mule.extension.file.api;
 
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * A specialization of {@link LocalFileAttributes} which also implements {@link EventedFileAttributes}
@@ -28,6 +29,18 @@ public class ListenerFileAttributes extends LocalFileAttributes implements Event
     this.eventType = eventType;
   }
 
+  /**
+   * Creates a new instance which uses attributes that were already read from the file system
+   *
+   * @param path a {@link Path} pointing to the represented file
+   * @param eventType the associated {@link FileEventType}
+   * @param attributes the {@link BasicFileAttributes} of the file
+   */
+  public ListenerFileAttributes(Path path, FileEventType eventType, BasicFileAttributes attributes) {
+    super(path, attributes);
+    this.eventType = eventType;
+  }
+
   /**
    * {@inheritDoc}
    */
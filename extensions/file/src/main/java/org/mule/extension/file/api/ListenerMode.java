@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.api;
+
+/**
+ * Enumerates the ways in which a directory listener can detect changes on the file system
+ *
+ * @since 4.0
+ */
+public enum ListenerMode {
+
+  /**
+   * Changes are notified by the operating system. If the file system does not support notifications, the listener falls back to
+   * {@link #POLL}
+   */
+  WATCH,
+
+  /**
+   * The directory is scanned periodically looking for files which were created or updated since the previous scan. Deletions
+   * are not detected
+   */
+  POLL
+}
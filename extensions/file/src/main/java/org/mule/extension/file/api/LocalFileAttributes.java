@@ -35,6 +35,17 @@ public class LocalFileAttributes extends AbstractFileAttributes {
     super(path);
   }
 
+  /**
+   * Creates a new instance which uses attributes that were already read from the file system
+   *
+   * @param path a {@link Path} pointing to the represented file
+   * @param attributes the {@link BasicFileAttributes} of the file
+   */
+  public LocalFileAttributes(Path path, BasicFileAttributes attributes) {
+    super(path);
+    this.attributes = attributes;
+  }
+
   /**
    * @return The last time the file was modified
    */
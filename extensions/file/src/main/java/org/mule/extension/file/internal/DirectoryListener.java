@@ -8,6 +8,7 @@ package org.mule.extension.file.internal;
 
 import static com.sun.nio.file.SensitivityWatchEventModifier.HIGH;
 import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.Files.walkFileTree;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
@@ -17,6 +18,7 @@ import static java.util.stream.Collectors.toSet;
 import static org.mule.extension.file.api.FileEventType.CREATE;
 import static org.mule.extension.file.api.FileEventType.DELETE;
 import static org.mule.extension.file.api.FileEventType.UPDATE;
+import static org.mule.extension.file.api.ListenerMode.WATCH;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
 import static org.mule.extension.file.common.api.FileDisplayConstants.MATCHER;
@@ -25,6 +27,7 @@ import static org.mule.extension.file.common.api.FileDisplayConstants.MATCH_WITH
 import org.mule.extension.file.api.DeletedFileAttributes;
 import org.mule.extension.file.api.FileEventType;
 import org.mule.extension.file.api.ListenerFileAttributes;
+import org.mule.extension.file.api.ListenerMode;
 import org.mule.extension.file.internal.command.DirectoryListenerCommand;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.message.Message;
@@ -35,6 +38,9 @@ import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.core.api.config.ConfigurationException;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.construct.FlowConstructAware;
+import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.store.ObjectStore;
+import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.runtime.core.lifecycle.PrimaryNodeLifecycleNotificationListener;
 import org.mule.runtime.extension.api.annotation.Alias;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
@@ -59,7 +65,6 @@ import com.google.common.collect.ImmutableSet;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.ClosedWatchServiceException;
-import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -128,6 +133,15 @@ import org.slf4j.LoggerFactory;
  * cases, the JRE decides to compensate by using a high frequency poll, in which case the listener becomes pretty much the same as
  * using a poll element</li>
  * </ul>
+ * <p>
+ * <b>Polling</b>
+ * <p>
+ * When the {@link ListenerMode#POLL} mode is selected, or the file system does not support notifications at all, the directory
+ * is scanned periodically instead. Each scan only notifies the files which were created or updated since the previous one, and
+ * fans out reading the attributes of the files to the IO scheduler, so large directories don't block the listener. The time of
+ * the last scan is kept in a persistent object store as a watermark, so after a restart only the files changed since then are
+ * notified. Files moved into the directory keeping an old last modified time are detected by comparing each scan with the
+ * previous one. Deleted files are not detected when polling.
  *
  * @since 4.0
  */
@@ -137,6 +151,14 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
   private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryListener.class);
   static final String DIRECTORY_LISTENER = "directory-listener";
 
+  private static final String WATERMARK_OBJECT_STORE = "_fileDirectoryListenerWatermarks";
+
+  /**
+   * Files modified less than this time before a scan starts are left for the next one, since some file systems keep modification
+   * times with a precision of one second.
+   */
+  private static final long TIMESTAMP_PRECISION_MILLIS = 1000;
+
   @UseConfig
   private FileConnector config;
 
@@ -190,6 +212,20 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
   @DisplayName(MATCH_WITH)
   private FilePredicateBuilder<FilePredicateBuilder, FileAttributes> predicateBuilder;
 
+  /**
+   * How changes on the directory are detected. Defaults to {@link ListenerMode#WATCH}
+   */
+  @Parameter
+  @Optional(defaultValue = "WATCH")
+  private ListenerMode mode = WATCH;
+
+  /**
+   * When polling, the time in milliseconds to wait between scans of the directory. Defaults to 1000
+   */
+  @Parameter
+  @Optional(defaultValue = "1000")
+  private long pollingFrequency = 1000;
+
   @Inject
   private MuleContext muleContext;
 
@@ -202,6 +238,8 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
   private Set<FileEventType> enabledEventTypes = new HashSet<>();
   private ExecutorService executorService;
   private PrimaryNodeLifecycleNotificationListener clusterListener;
+  private DirectoryScanner scanner;
+  private Scheduler scanScheduler;
 
   private final Map<WatchKey, Path> keyPaths = new HashMap<>();
   private final AtomicBoolean stopRequested = new AtomicBoolean(false);
@@ -217,7 +255,7 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
     }
 
     calculateEnabledEventTypes();
-    createWatcherService();
+    final boolean watching = mode == WATCH && createWatcherService();
 
     matcher = predicateBuilder != null ? predicateBuilder.build() : new NullFilePayloadPredicate();
     executorService =
@@ -225,7 +263,13 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
                                                 format("%s%s.file.listener", getPrefix(muleContext), flowConstruct.getName())));
     started = true;
     stopRequested.set(false);
-    executorService.execute(() -> listen(sourceCallback));
+
+    if (watching) {
+      executorService.execute(() -> listen(sourceCallback));
+    } else {
+      createScanner();
+      executorService.execute(() -> poll(sourceCallback));
+    }
   }
 
   private synchronized void initialiseClusterListener(SourceCallback<InputStream, ListenerFileAttributes> sourceCallback) {
@@ -267,6 +311,62 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
     }
   }
 
+  private void poll(SourceCallback<InputStream, ListenerFileAttributes> sourceCallback) {
+    try {
+      final ObjectStore<Long> watermarkStore = muleContext.getObjectStoreManager().getObjectStore(WATERMARK_OBJECT_STORE, true);
+      final String watermarkKey = flowConstruct.getName() + "@" + resolveRootPath();
+      long watermark = retrieveWatermark(watermarkStore, watermarkKey);
+
+      while (!isRequestedToStop()) {
+        final long until = currentTimeMillis() - TIMESTAMP_PRECISION_MILLIS;
+        if (until > watermark) {
+          scanner.scan(watermark, until, this::isRequestedToStop,
+                       (path, attributes, eventType) -> processScannedFile(path, attributes, eventType, sourceCallback));
+          if (isRequestedToStop()) {
+            // the scan might have been abandoned before visiting all the files
+            return;
+          }
+
+          watermark = until;
+          storeWatermark(watermarkStore, watermarkKey, watermark);
+        }
+
+        Thread.sleep(pollingFrequency);
+      }
+    } catch (InterruptedException e) {
+      return;
+    } catch (Exception e) {
+      sourceCallback.onSourceException(e);
+    }
+  }
+
+  private long retrieveWatermark(ObjectStore<Long> watermarkStore, String watermarkKey) throws ObjectStoreException {
+    if (watermarkStore.contains(watermarkKey)) {
+      return watermarkStore.retrieve(watermarkKey);
+    }
+
+    // Files which already exist when the listener is first started are not notified, just as when watching
+    final long watermark = currentTimeMillis() - TIMESTAMP_PRECISION_MILLIS;
+    storeWatermark(watermarkStore, watermarkKey, watermark);
+    return watermark;
+  }
+
+  private void storeWatermark(ObjectStore<Long> watermarkStore, String watermarkKey, long watermark)
+      throws ObjectStoreException {
+    if (watermarkStore.contains(watermarkKey)) {
+      watermarkStore.remove(watermarkKey);
+    }
+    watermarkStore.store(watermarkKey, watermark);
+  }
+
+  private void processScannedFile(Path path, BasicFileAttributes fileAttributes, FileEventType eventType,
+                                  SourceCallback<InputStream, ListenerFileAttributes> sourceCallback) {
+    if (enabledEventTypes.contains(eventType)) {
+      notifyIfMatches(path.toAbsolutePath(), new ListenerFileAttributes(path.toAbsolutePath(), eventType, fileAttributes),
+                      sourceCallback);
+    }
+  }
+
   private void processEvent(WatchEvent<?> watchEvent, WatchKey key,
                             SourceCallback<InputStream, ListenerFileAttributes> sourceCallback) {
     WatchEvent<Path> event = (WatchEvent<Path>) watchEvent;
@@ -292,21 +392,28 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
     }
 
     ListenerFileAttributes attributes = new ListenerFileAttributes(path, FileEventType.of(kind));
+    if (notifyIfMatches(path, attributes, sourceCallback)) {
+      createAdditionalWatchers(attributes);
+    }
+  }
+
+  private boolean notifyIfMatches(Path path, ListenerFileAttributes attributes,
+                                  SourceCallback<InputStream, ListenerFileAttributes> sourceCallback) {
     if (!matcher.test(attributes)) {
       if (LOGGER.isDebugEnabled()) {
         LOGGER
             .debug(format("Detected a '%s' event on path '%s' but it will be skipped because it does not meet the matcher's criteria",
-                          FileEventType.of(kind), path.toString()));
+                          attributes.getEventType(), path.toString()));
       }
-      return;
+      return false;
     }
 
     if (isRequestedToStop()) {
-      return;
+      return false;
     }
 
     sourceCallback.handle(createResult(path, attributes));
-    createAdditionalWatchers(attributes);
+    return true;
   }
 
   private void createAdditionalWatchers(ListenerFileAttributes attributes) {
@@ -349,6 +456,17 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
 
     closeWatcherService();
     shutdownExecutor();
+    stopScanScheduler();
+  }
+
+  private void stopScanScheduler() {
+    if (scanScheduler == null) {
+      return;
+    }
+
+    scanScheduler.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+    scanScheduler = null;
+    scanner = null;
   }
 
   private void shutdownExecutor() {
@@ -406,15 +524,22 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
     }
   }
 
-  private void createWatcherService() throws MuleException {
+  /**
+   * @return {@code false} if the file system does not support watching the directory, in which case it should be polled
+   */
+  private boolean createWatcherService() throws MuleException {
+    final Path rootPath = resolveRootPath();
+
     try {
-      watcher = FileSystems.getDefault().newWatchService();
+      watcher = rootPath.getFileSystem().newWatchService();
+    } catch (UnsupportedOperationException | IOException e) {
+      LOGGER.warn(format("File system of directory '%s' does not support watching it, it will be polled instead. Listener "
+          + "is on flow '%s'", rootPath, flowConstruct.getName()), e);
+      return false;
     } catch (Exception e) {
       throw new MuleRuntimeException(createStaticMessage("Could not create watcher service"), e);
     }
 
-    final Path rootPath = resolveRootPath();
-
     try {
       registerPath(rootPath);
 
@@ -430,9 +555,26 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
           }
         });
       }
+    } catch (UnsupportedOperationException e) {
+      LOGGER.warn(format("File system of directory '%s' does not support watching it, it will be polled instead. Listener "
+          + "is on flow '%s'", rootPath, flowConstruct.getName()), e);
+      closeWatcherService();
+      watcher = null;
+      return false;
     } catch (IOException e) {
       throw new DefaultMuleException(e);
     }
+
+    return true;
+  }
+
+  private void createScanner() {
+    if (enabledEventTypes.contains(DELETE)) {
+      LOGGER.warn(format("Deleted files are not notified when polling. Listener is on flow '%s'", flowConstruct.getName()));
+    }
+
+    scanScheduler = muleContext.getSchedulerService().ioScheduler();
+    scanner = new DirectoryScanner(resolveRootPath(), recursive, scanScheduler);
   }
 
   private void registerPath(Path path) throws IOException {
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal;
+
+import static java.lang.String.format;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.readAttributes;
+import static org.mule.extension.file.api.FileEventType.CREATE;
+import static org.mule.extension.file.api.FileEventType.UPDATE;
+import org.mule.extension.file.api.FileEventType;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scans a directory looking for the files which were created or updated within a time window.
+ * <p>
+ * Directories are walked with a {@link DirectoryStream}, so they are never fully listed in memory, and the attributes of each
+ * file are read once and handed over to the {@link ScanListener}. Reading the attributes, which takes a file system call per
+ * file, is fanned out to an {@link Executor} in chunks of {@link #CHUNK_SIZE} files, as is the walk of each subdirectory.
+ * <p>
+ * Regular files last modified within the window are notified as {@link FileEventType#CREATE} if they were also created within
+ * it, or as {@link FileEventType#UPDATE} otherwise. On file systems which do not keep the creation time of files, the last
+ * modified time is used in its place. Directories are walked but not notified.
+ * <p>
+ * Moving or copying a file while preserving its attributes keeps its old last modified time, which is outside the window. To
+ * notify those files too, the path, size and last modified time of the files found by each complete scan are remembered, and
+ * the next scan also notifies the files which were not found by the previous one, or which changed since, regardless of their
+ * last modified time. The first scan has nothing to compare to, so it only relies on the window. At most
+ * {@link #MAX_TRACKED_FILES} files are remembered: on larger directories only the window is used.
+ *
+ * @since 4.0
+ */
+public final class DirectoryScanner {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryScanner.class);
+
+  /**
+   * Maximum number of files whose attributes are read by a single task
+   */
+  static final int CHUNK_SIZE = 512;
+
+  /**
+   * Maximum number of files remembered from one scan to the next
+   */
+  static final int MAX_TRACKED_FILES = 100000;
+
+  private final Path rootPath;
+  private final boolean recursive;
+  private final Executor executor;
+  private final int maxTrackedFiles;
+  private volatile Map<Path, FileState> previousFiles;
+  private boolean trackingLimitWarned = false;
+
+  /**
+   * Creates a new instance
+   *
+   * @param rootPath the directory to scan
+   * @param recursive whether to also scan subdirectories
+   * @param executor the {@link Executor} on which the scan is fanned out
+   */
+  public DirectoryScanner(Path rootPath, boolean recursive, Executor executor) {
+    this(rootPath, recursive, executor, MAX_TRACKED_FILES);
+  }
+
+  DirectoryScanner(Path rootPath, boolean recursive, Executor executor, int maxTrackedFiles) {
+    this.rootPath = rootPath;
+    this.recursive = recursive;
+    this.executor = executor;
+    this.maxTrackedFiles = maxTrackedFiles;
+  }
+
+  /**
+   * Scans the directory, blocking until all the files were visited. The listener is invoked concurrently from the threads of
+   * the executor. Scans of the same instance are not meant to run concurrently.
+   *
+   * @param since the start of the window, exclusive, in milliseconds since the epoch
+   * @param until the end of the window, inclusive, in milliseconds since the epoch
+   * @param cancelled tells whether the scan should be abandoned
+   * @param listener the {@link ScanListener} notified of each file within the window, or not found by the previous scan
+   * @throws IOException if any directory could not be read
+   * @throws InterruptedException if interrupted while waiting for the scan to finish
+   */
+  public void scan(long since, long until, BooleanSupplier cancelled, ScanListener listener)
+      throws IOException, InterruptedException {
+    new Scan(since, until, cancelled, listener).run();
+  }
+
+  /**
+   * Receives the files found by a scan
+   */
+  @FunctionalInterface
+  public interface ScanListener {
+
+    /**
+     * @param path the {@link Path} of the file
+     * @param attributes the attributes of the file
+     * @param eventType whether the file was created or updated
+     */
+    void onFile(Path path, BasicFileAttributes attributes, FileEventType eventType);
+  }
+
+  private class Scan {
+
+    private final long since;
+    private final long until;
+    private final BooleanSupplier cancelled;
+    private final ScanListener listener;
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+    private final Map<Path, FileState> previous = previousFiles;
+    private final Map<Path, FileState> scanned = new ConcurrentHashMap<>();
+    private final AtomicBoolean trackingLimitReached = new AtomicBoolean(false);
+
+    private Scan(long since, long until, BooleanSupplier cancelled, ScanListener listener) {
+      this.since = since;
+      this.until = until;
+      this.cancelled = cancelled;
+      this.listener = listener;
+    }
+
+    private void run() throws IOException, InterruptedException {
+      submit(() -> walk(rootPath));
+      done.await();
+
+      if (failure.get() != null) {
+        throw failure.get();
+      }
+
+      if (!cancelled.getAsBoolean()) {
+        remember();
+      }
+    }
+
+    private void remember() {
+      if (!trackingLimitReached.get()) {
+        previousFiles = scanned;
+        return;
+      }
+
+      previousFiles = null;
+      if (!trackingLimitWarned) {
+        trackingLimitWarned = true;
+        LOGGER.warn(format("Directory '%s' has more than %d files. Files moved into it keeping an old last modified time "
+            + "will not be detected", rootPath, maxTrackedFiles));
+      }
+    }
+
+    private void submit(IOTask task) {
+      pendingTasks.incrementAndGet();
+      Runnable runnable = () -> {
+        try {
+          if (!cancelled.getAsBoolean()) {
+            task.run();
+          }
+        } catch (IOException e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          if (pendingTasks.decrementAndGet() == 0) {
+            done.countDown();
+          }
+        }
+      };
+
+      try {
+        executor.execute(runnable);
+      } catch (RejectedExecutionException e) {
+        runnable.run();
+      }
+    }
+
+    private void walk(Path directory) throws IOException {
+      try (DirectoryStream<Path> stream = newDirectoryStream(directory)) {
+        List<Path> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (Path path : stream) {
+          if (cancelled.getAsBoolean()) {
+            return;
+          }
+
+          chunk.add(path);
+          if (chunk.size() == CHUNK_SIZE) {
+            submitChunk(chunk);
+            chunk = new ArrayList<>(CHUNK_SIZE);
+          }
+        }
+
+        if (!chunk.isEmpty()) {
+          submitChunk(chunk);
+        }
+      } catch (NoSuchFileException e) {
+        if (directory.equals(rootPath)) {
+          throw e;
+        }
+        // The subdirectory was deleted while scanning
+      }
+    }
+
+    private void submitChunk(List<Path> chunk) {
+      submit(() -> visit(chunk));
+    }
+
+    private void visit(List<Path> chunk) throws IOException {
+      for (Path path : chunk) {
+        if (cancelled.getAsBoolean()) {
+          return;
+        }
+
+        BasicFileAttributes attributes;
+        try {
+          attributes = readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+          // The file was deleted while scanning
+          continue;
+        }
+
+        if (attributes.isDirectory()) {
+          if (recursive) {
+            submit(() -> walk(path));
+          }
+        } else if (attributes.isRegularFile()) {
+          visitFile(path, attributes);
+        }
+      }
+    }
+
+    private void visitFile(Path path, BasicFileAttributes attributes) {
+      long lastModified = attributes.lastModifiedTime().toMillis();
+      FileState state = new FileState(attributes.size(), lastModified);
+      track(path, state);
+
+      if (lastModified > until) {
+        return;
+      }
+
+      FileEventType eventType;
+      if (lastModified > since) {
+        eventType = attributes.creationTime().toMillis() > since ? CREATE : UPDATE;
+      } else if (previous != null && !state.equals(previous.get(path))) {
+        // moved or copied in keeping its last modified time
+        eventType = previous.containsKey(path) ? UPDATE : CREATE;
+      } else {
+        return;
+      }
+
+      try {
+        listener.onFile(path, attributes, eventType);
+      } catch (RuntimeException e) {
+        LOGGER.error(format("Found exception processing file '%s'", path), e);
+      }
+    }
+
+    private void track(Path path, FileState state) {
+      if (trackingLimitReached.get()) {
+        return;
+      }
+
+      if (scanned.size() >= maxTrackedFiles) {
+        trackingLimitReached.set(true);
+        scanned.clear();
+      } else {
+        scanned.put(path, state);
+      }
+    }
+  }
+
+  private static final class FileState {
+
+    private final long size;
+    private final long lastModified;
+
+    private FileState(long size, long lastModified) {
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof FileState)) {
+        return false;
+      }
+      FileState other = (FileState) obj;
+      return size == other.size && lastModified == other.lastModified;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(size) * 31 + Long.hashCode(lastModified);
+    }
+  }
+
+  @FunctionalInterface
+  private interface IOTask {
+
+    void run() throws IOException;
+  }
+}
@@ -15,9 +15,13 @@ import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.TreeNode;
 import org.mule.extension.file.common.api.command.ListCommand;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.function.Predicate;
 
 /**
@@ -46,35 +50,51 @@ public final class LocalListCommand extends LocalFileCommand implements ListComm
     }
 
     TreeNode.Builder treeNodeBuilder = TreeNode.Builder.forDirectory(new LocalFileAttributes(path));
-    doList(config, path.toFile(), treeNodeBuilder, recursive, message, matcher);
+    doList(config, path, treeNodeBuilder, recursive, message, matcher);
 
     return treeNodeBuilder.build();
   }
 
-  private void doList(FileConnectorConfig config, File parent, TreeNode.Builder treeNodeBuilder, boolean recursive,
+  private void doList(FileConnectorConfig config, Path parent, TreeNode.Builder treeNodeBuilder, boolean recursive,
                       Message message, Predicate<FileAttributes> matcher) {
-    if (!parent.canRead()) {
-      throw exception(format("Could not list files from directory '%s' because access was denied by the operating system",
-                             parent.getAbsolutePath()));
-    }
+    try (DirectoryStream<Path> children = Files.newDirectoryStream(parent)) {
+      for (Path path : children) {
+        BasicFileAttributes childAttributes;
+        try {
+          childAttributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+          // deleted while listing
+          continue;
+        } catch (AccessDeniedException e) {
+          throw exception(format("Could not read the attributes of '%s' because access was denied by the operating system",
+                                 path.toAbsolutePath()), e);
+        } catch (IOException e) {
+          throw exception(format("Could not read the attributes of '%s'", path.toAbsolutePath()), e);
+        }
 
-    for (File child : parent.listFiles()) {
-      Path path = child.toPath();
-      FileAttributes attributes = new LocalFileAttributes(path);
-      if (!matcher.test(attributes)) {
-        continue;
-      }
+        // the attributes read while listing are reused instead of reading them again from the file system
+        FileAttributes attributes = new LocalFileAttributes(path, childAttributes);
+        if (!matcher.test(attributes)) {
+          continue;
+        }
 
-      if (child.isDirectory()) {
-        TreeNode.Builder childNodeBuilder = TreeNode.Builder.forDirectory(attributes);
-        treeNodeBuilder.addChild(childNodeBuilder);
+        if (childAttributes.isDirectory()) {
+          TreeNode.Builder childNodeBuilder = TreeNode.Builder.forDirectory(attributes);
+          treeNodeBuilder.addChild(childNodeBuilder);
 
-        if (recursive) {
-          doList(config, child, childNodeBuilder, recursive, message, matcher);
+          if (recursive) {
+            doList(config, path, childNodeBuilder, recursive, message, matcher);
+          }
+        } else {
+          treeNodeBuilder.addChild(TreeNode.Builder.forFile(fileSystem.read(config, message, path.toAbsolutePath().toString(),
+                                                                            false)));
         }
-      } else {
-        treeNodeBuilder.addChild(TreeNode.Builder.forFile(fileSystem.read(config, message, child.getAbsolutePath(), false)));
       }
+    } catch (AccessDeniedException e) {
+      throw exception(format("Could not list files from directory '%s' because access was denied by the operating system",
+                             parent.toAbsolutePath()), e);
+    } catch (IOException e) {
+      throw exception(format("Could not list files from directory '%s'", parent.toAbsolutePath()), e);
     }
   }
 }
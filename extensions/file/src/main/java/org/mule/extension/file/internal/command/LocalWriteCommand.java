@@ -21,10 +21,9 @@ import org.mule.runtime.api.message.MuleEvent;
 import org.mule.runtime.core.api.MuleContext;
 
 import java.io.IOException;
-import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.FileAlreadyExistsException;
-import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -58,8 +57,8 @@ public final class LocalWriteCommand extends LocalFileCommand implements WriteCo
     final OpenOption[] openOptions = getOpenOptions(mode);
     PathLock pathLock = lock ? fileSystem.lock(path, openOptions) : new NullPathLock();
 
-    try (OutputStream out = getOutputStream(path, openOptions, mode)) {
-      new FileContentWrapper(content, event, muleContext).accept(new FileWriterVisitor(out, event, encoding));
+    try (FileChannel channel = getFileChannel(path, openOptions, mode)) {
+      new FileContentWrapper(content, event, muleContext).accept(new FileWriterVisitor(channel, event, encoding));
     } catch (AccessDeniedException e) {
       throw exception(format("Could not write to file '%s' because access was denied by the operating system", path), e);
     } catch (Exception e) {
@@ -69,9 +68,9 @@ public final class LocalWriteCommand extends LocalFileCommand implements WriteCo
     }
   }
 
-  private OutputStream getOutputStream(Path path, OpenOption[] openOptions, FileWriteMode mode) throws IOException {
+  private FileChannel getFileChannel(Path path, OpenOption[] openOptions, FileWriteMode mode) throws IOException {
     try {
-      return Files.newOutputStream(path, openOptions);
+      return FileChannel.open(path, openOptions);
     } catch (FileAlreadyExistsException e) {
       throw new IllegalArgumentException(String.format(
                                                        "Cannot write to path '%s' because it already exists and write mode '%s' was selected. "
@@ -6,6 +6,10 @@
  */
 package org.mule.extension.file;
 
+import static java.lang.System.currentTimeMillis;
+import static java.nio.file.Files.setLastModifiedTime;
+import static java.nio.file.attribute.FileTime.fromMillis;
+import static java.util.concurrent.TimeUnit.DAYS;
 import static org.apache.commons.io.FileUtils.write;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -42,17 +46,20 @@ public class DirectoryListenerFunctionalTestCase extends FileConnectorTestCase {
   private static final String MATCHERLESS_LISTENER_FOLDER_NAME = "matcherless";
   private static final String WITH_MATCHER_FOLDER_NAME = "withMatcher";
   private static final String CREATED_FOLDER_NAME = "createdFolder";
+  private static final String POLLED_FOLDER_NAME = "polled";
   private static final String WATCH_FILE = "watchme.txt";
   private static final String WATCH_CONTENT = "who watches the watchmen?";
   private static final String DR_MANHATTAN = "Dr. Manhattan";
   private static final String MATCH_FILE = "matchme.txt";
   private static final int TIMEOUT_MILLIS = 5000;
   private static final int POLL_DELAY_MILLIS = 100;
+  private static final int POLLING_FREQUENCY_MILLIS = 100;
 
   private static List<Message> receivedMessages;
 
   private File matcherLessFolder;
   private File withMatcherFolder;
+  private File polledFolder;
   private String listenerFolder;
 
   @Override
@@ -65,6 +72,7 @@ public class DirectoryListenerFunctionalTestCase extends FileConnectorTestCase {
     super.doSetUpBeforeMuleContextCreation();
     temporaryFolder.newFolder(MATCHERLESS_LISTENER_FOLDER_NAME);
     temporaryFolder.newFolder(WITH_MATCHER_FOLDER_NAME);
+    polledFolder = temporaryFolder.newFolder(POLLED_FOLDER_NAME);
     listenerFolder = Paths.get(temporaryFolder.getRoot().getAbsolutePath(), MATCHERLESS_LISTENER_FOLDER_NAME).toString();
     matcherLessFolder = new File(listenerFolder, CREATED_FOLDER_NAME);
     withMatcherFolder = Paths.get(temporaryFolder.getRoot().getAbsolutePath(), WITH_MATCHER_FOLDER_NAME).toFile();
@@ -162,6 +170,28 @@ public class DirectoryListenerFunctionalTestCase extends FileConnectorTestCase {
     assertThat(message.getPayload().getValue(), equalTo(DR_MANHATTAN));
   }
 
+  @Test
+  public void onFileCreatedWhenPolling() throws Exception {
+    final File file = new File(polledFolder, WATCH_FILE);
+    write(file, WATCH_CONTENT);
+    assertEvent(listen(CREATE, file), WATCH_CONTENT);
+  }
+
+  @Test
+  public void onFileMovedInWithOldTimestampWhenPolling() throws Exception {
+    onFileCreatedWhenPolling();
+    // let the scan which found the first file finish, so the next one has something to compare to
+    Thread.sleep(POLLING_FREQUENCY_MILLIS * 5);
+
+    final File source = new File(temporaryFolder.getRoot(), MATCH_FILE);
+    write(source, WATCH_CONTENT);
+    setLastModifiedTime(source.toPath(), fromMillis(currentTimeMillis() - DAYS.toMillis(1)));
+
+    final File file = new File(polledFolder, MATCH_FILE);
+    Files.move(source.toPath(), file.toPath());
+    assertEvent(listen(CREATE, file), WATCH_CONTENT);
+  }
+
   @Test
   public void stop() throws Exception {
     muleContext.getRegistry().lookupObjects(ExtensionMessageSource.class).forEach(source -> {
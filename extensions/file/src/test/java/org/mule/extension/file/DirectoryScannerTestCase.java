@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file;
+
+import static java.nio.file.Files.setLastModifiedTime;
+import static java.nio.file.attribute.FileTime.fromMillis;
+import static org.apache.commons.io.FileUtils.write;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+import static org.mule.extension.file.api.FileEventType.CREATE;
+import static org.mule.extension.file.api.FileEventType.UPDATE;
+import org.mule.extension.file.api.FileEventType;
+import org.mule.extension.file.internal.DirectoryScanner;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class DirectoryScannerTestCase extends AbstractMuleTestCase {
+
+  private static final long SINCE = 1000000000000L;
+  private static final long UNTIL = SINCE + 60000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final Collection<String> scannedFiles = new ConcurrentLinkedQueue<>();
+  private final Collection<FileEventType> eventTypes = new ConcurrentLinkedQueue<>();
+  private ExecutorService executor;
+
+  @Before
+  public void before() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void scansFilesModifiedWithinWindow() throws Exception {
+    createFile("before.txt", SINCE);
+    createFile("first.txt", SINCE + 1);
+    createFile("last.txt", UNTIL);
+    createFile("after.txt", UNTIL + 1);
+
+    scan(false);
+
+    assertThat(scannedFiles, containsInAnyOrder("first.txt", "last.txt"));
+  }
+
+  @Test
+  public void scansSubdirectoriesWhenRecursive() throws Exception {
+    temporaryFolder.newFolder("sub", "subsub");
+    createFile("root.txt", SINCE + 1);
+    createFile("sub/child.txt", SINCE + 1);
+    createFile("sub/subsub/grandchild.txt", SINCE + 1);
+
+    scan(true);
+    assertThat(scannedFiles, containsInAnyOrder("root.txt", "child.txt", "grandchild.txt"));
+
+    scannedFiles.clear();
+    scan(false);
+    assertThat(scannedFiles, containsInAnyOrder("root.txt"));
+  }
+
+  @Test
+  public void scansDirectoryWithManyFiles() throws Exception {
+    final int fileCount = 2000;
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < fileCount; i++) {
+      createFile("file" + i, SINCE + 1);
+      expected.add("file" + i);
+    }
+
+    scan(false);
+
+    assertThat(scannedFiles, containsInAnyOrder(expected.toArray()));
+  }
+
+  @Test
+  public void scansFilesMovedInWithOldTimestamp() throws Exception {
+    DirectoryScanner scanner = new DirectoryScanner(temporaryFolder.getRoot().toPath(), false, executor);
+    createFile("existing.txt", SINCE);
+    scan(scanner);
+    assertThat(scannedFiles, is(empty()));
+
+    createFile("moved.txt", SINCE - 1);
+    scan(scanner);
+    assertThat(scannedFiles, contains("moved.txt"));
+    assertThat(eventTypes, contains(CREATE));
+
+    scannedFiles.clear();
+    eventTypes.clear();
+    scan(scanner);
+    assertThat(scannedFiles, is(empty()));
+  }
+
+  @Test
+  public void scansFilesReplacedWithOldTimestamp() throws Exception {
+    DirectoryScanner scanner = new DirectoryScanner(temporaryFolder.getRoot().toPath(), false, executor);
+    createFile("replaced.txt", SINCE);
+    scan(scanner);
+
+    createFile("replaced.txt", SINCE - 1);
+    scan(scanner);
+    assertThat(scannedFiles, contains("replaced.txt"));
+    assertThat(eventTypes, contains(UPDATE));
+  }
+
+  @Test
+  public void onlyScansWindowWhenTooManyFiles() throws Exception {
+    DirectoryScanner scanner = new DirectoryScanner(temporaryFolder.getRoot().toPath(), false, executor, 2);
+    createFile("first.txt", SINCE);
+    createFile("second.txt", SINCE);
+    createFile("third.txt", SINCE);
+    scan(scanner);
+
+    createFile("moved.txt", SINCE - 1);
+    scan(scanner);
+    assertThat(scannedFiles, is(empty()));
+  }
+
+  @Test
+  public void cancelledScanVisitsNoFiles() throws Exception {
+    createFile("file.txt", SINCE + 1);
+
+    new DirectoryScanner(temporaryFolder.getRoot().toPath(), false, executor)
+        .scan(SINCE, UNTIL, () -> true, (path, attributes, eventType) -> scannedFiles.add(path.getFileName().toString()));
+
+    assertThat(scannedFiles, is(empty()));
+  }
+
+  @Test(expected = NoSuchFileException.class)
+  public void failsIfDirectoryDoesNotExist() throws Exception {
+    new DirectoryScanner(new File(temporaryFolder.getRoot(), "missing").toPath(), false, executor)
+        .scan(SINCE, UNTIL, () -> false, (path, attributes, eventType) -> scannedFiles.add(path.toString()));
+  }
+
+  private void scan(boolean recursive) throws Exception {
+    scan(new DirectoryScanner(temporaryFolder.getRoot().toPath(), recursive, executor));
+  }
+
+  private void scan(DirectoryScanner scanner) throws Exception {
+    scanner.scan(SINCE, UNTIL, () -> false, (path, attributes, eventType) -> {
+      scannedFiles.add(path.getFileName().toString());
+      eventTypes.add(eventType);
+    });
+  }
+
+  private void createFile(String name, long lastModified) throws IOException {
+    Path path = new File(temporaryFolder.getRoot(), name).toPath();
+    if (!path.toFile().createNewFile()) {
+      write(path.toFile(), name, true);
+    }
+    setLastModifiedTime(path, fromMillis(lastModified));
+  }
+}
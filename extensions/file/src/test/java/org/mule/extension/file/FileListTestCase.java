@@ -6,6 +6,8 @@
  */
 package org.mule.extension.file;
 
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.endsWith;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -14,10 +16,12 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertThat;
+import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.extension.file.common.api.FileAttributes;
 import org.mule.extension.file.common.api.TreeNode;
 
+import java.io.File;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -60,6 +64,16 @@ public class FileListTestCase extends FileConnectorTestCase {
     TreeNode node = doList(".", true);
   }
 
+  @Test
+  public void listWithoutPermissionToReadEntry() throws Exception {
+    File directory = temporaryFolder.newFolder("forbiddenEntries");
+    File entry = new File(directory, "forbiddenEntry.html");
+    entry.createNewFile();
+    directory.setExecutable(false);
+    expectedException.expectCause(allOf(instanceOf(MuleRuntimeException.class), hasMessage(containsString(entry.getName()))));
+    doList(".", true);
+  }
+
   private void assertRecursiveTreeNode(TreeNode node) throws Exception {
     List<TreeNode> childs = node.getChilds();
 
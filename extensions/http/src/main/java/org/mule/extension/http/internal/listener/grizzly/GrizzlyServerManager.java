@@ -6,12 +6,15 @@
  */
 package org.mule.extension.http.internal.listener.grizzly;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.valueOf;
 import static java.lang.System.getProperty;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.glassfish.grizzly.http.HttpCodecFilter.DEFAULT_MAX_HTTP_PACKET_HEADER_SIZE;
 import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.module.http.internal.HttpMessageLogger.LoggerType.LISTENER;
+import static org.mule.runtime.module.http.internal.listener.grizzly.GrizzlyServerManager.DIRECT_BUFFERS_PROPERTY_KEY;
+import static org.mule.runtime.module.http.internal.listener.grizzly.GrizzlyServerManager.HTTP2_PROPERTY_KEY;
 
 import org.mule.extension.socket.api.socket.tcp.TcpServerSocketProperties;
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -26,6 +29,7 @@ import org.mule.runtime.module.http.internal.listener.ServerAddress;
 import org.mule.runtime.module.http.internal.listener.grizzly.ExecutorPerServerAddressIOStrategy;
 import org.mule.runtime.module.http.internal.listener.grizzly.GrizzlyAddressDelegateFilter;
 import org.mule.runtime.module.http.internal.listener.grizzly.GrizzlyServer;
+import org.mule.runtime.module.http.internal.listener.grizzly.Http2ServerFilterFactory;
 import org.mule.runtime.module.http.internal.listener.grizzly.MuleSslFilter;
 import org.mule.runtime.module.http.internal.listener.grizzly.WorkManagerSourceExecutorProvider;
 
@@ -41,6 +45,7 @@ import org.glassfish.grizzly.filterchain.FilterChainBuilder;
 import org.glassfish.grizzly.filterchain.TransportFilter;
 import org.glassfish.grizzly.http.HttpServerFilter;
 import org.glassfish.grizzly.http.KeepAlive;
+import org.glassfish.grizzly.memory.ByteBufferManager;
 import org.glassfish.grizzly.nio.RoundRobinConnectionDistributor;
 import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
 import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
@@ -64,6 +69,7 @@ public class GrizzlyServerManager implements HttpServerManager {
   private final GrizzlyRequestDispatcherFilter requestHandlerFilter;
   private final HttpListenerRegistry httpListenerRegistry;
   private final WorkManagerSourceExecutorProvider executorProvider;
+  private final Http2ServerFilterFactory http2ServerFilterFactory;
   private Logger logger = LoggerFactory.getLogger(GrizzlyServerManager.class);
   private Map<ServerAddress, GrizzlyServer> servers = new ConcurrentHashMap<>();
   private ExecutorService idleTimeoutExecutorService;
@@ -82,12 +88,19 @@ public class GrizzlyServerManager implements HttpServerManager {
     serverFilterChainBuilder.add(new TransportFilter());
     serverFilterChainBuilder.add(sslFilterDelegate);
     serverFilterChainBuilder.add(httpServerFilterDelegate);
+    http2ServerFilterFactory = new Http2ServerFilterFactory(threadNamePrefix);
+    if (getBoolean(HTTP2_PROPERTY_KEY)) {
+      serverFilterChainBuilder.add(http2ServerFilterFactory.create());
+    }
     serverFilterChainBuilder.add(requestHandlerFilter);
 
     // Initialize Transport
     executorProvider = new WorkManagerSourceExecutorProvider();
     TCPNIOTransportBuilder transportBuilder = TCPNIOTransportBuilder.newInstance().setOptimizedForMultiplexing(true)
         .setIOStrategy(new ExecutorPerServerAddressIOStrategy(executorProvider));
+    if (getBoolean(DIRECT_BUFFERS_PROPERTY_KEY)) {
+      transportBuilder.setMemoryManager(new ByteBufferManager(true));
+    }
 
     configureServerSocketProperties(transportBuilder, serverSocketProperties);
 
@@ -215,6 +228,7 @@ public class GrizzlyServerManager implements HttpServerManager {
       idleTimeoutDelayedExecutor.destroy();
       idleTimeoutExecutorService.shutdown();
     }
+    http2ServerFilterFactory.dispose();
   }
 
   private SSLFilter createSslFilter(final TlsContextFactory tlsContextFactory) {
@@ -12,6 +12,7 @@ import org.mule.extension.http.api.request.client.UriParameters;
 import org.mule.extension.http.api.request.proxy.ProxyConfig;
 import org.mule.extension.socket.api.socket.tcp.TcpClientSocketProperties;
 import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.runtime.core.management.stats.AllStatistics;
 
 /**
  * Configuration component that specifies how an {@link HttpClient} should be created.
@@ -30,12 +31,13 @@ public class HttpClientConfiguration {
   private final int connectionIdleTimeout;
   private final String threadNamePrefix;
   private final String ownerName;
+  private final AllStatistics statistics;
 
   private HttpClientConfiguration(UriParameters uriParameters, HttpAuthentication authentication,
                                   TlsContextFactory tlsContextFactory, ProxyConfig proxyConfig,
                                   TcpClientSocketProperties clientSocketProperties, int maxConnections,
                                   boolean usePersistentConnections, int connectionIdleTimeout, String threadNamePrefix,
-                                  String ownerName) {
+                                  String ownerName, AllStatistics statistics) {
     this.uriParameters = uriParameters;
     this.authentication = authentication;
     this.tlsContextFactory = tlsContextFactory;
@@ -46,6 +48,7 @@ public class HttpClientConfiguration {
     this.connectionIdleTimeout = connectionIdleTimeout;
     this.threadNamePrefix = threadNamePrefix;
     this.ownerName = ownerName;
+    this.statistics = statistics;
   }
 
   public UriParameters getUriParameters() {
@@ -88,6 +91,10 @@ public class HttpClientConfiguration {
     return ownerName;
   }
 
+  public AllStatistics getStatistics() {
+    return statistics;
+  }
+
   public static class Builder {
 
     private UriParameters uriParameters;
@@ -100,6 +107,7 @@ public class HttpClientConfiguration {
     private int connectionIdleTimeout;
     private String threadNamePrefix;
     private String ownerName;
+    private AllStatistics statistics;
 
     public Builder setUriParameters(UriParameters uriParameters) {
       this.uriParameters = uriParameters;
@@ -151,10 +159,15 @@ public class HttpClientConfiguration {
       return this;
     }
 
+    public Builder setStatistics(AllStatistics statistics) {
+      this.statistics = statistics;
+      return this;
+    }
+
     public HttpClientConfiguration build() {
       return new HttpClientConfiguration(uriParameters, authentication, tlsContextFactory, proxyConfig, clientSocketProperties,
                                          maxConnections, usePersistentConnections, connectionIdleTimeout, threadNamePrefix,
-                                         ownerName);
+                                         ownerName, statistics);
     }
   }
 }
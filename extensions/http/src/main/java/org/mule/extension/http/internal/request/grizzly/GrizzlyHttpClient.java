@@ -7,10 +7,12 @@
 package org.mule.extension.http.internal.request.grizzly;
 
 import static com.ning.http.client.Realm.AuthScheme.NTLM;
+import static java.lang.Boolean.getBoolean;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONNECTION;
 import static org.mule.runtime.module.http.api.HttpHeaders.Values.CLOSE;
+import static org.mule.runtime.module.http.internal.request.grizzly.GrizzlyHttpClient.ADAPTIVE_CONNECTIONS_PROPERTY_KEY;
 import org.mule.extension.http.api.request.authentication.HttpAuthentication;
 import org.mule.extension.http.api.request.client.HttpClient;
 import org.mule.extension.http.api.request.client.UriParameters;
@@ -24,6 +26,7 @@ import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.tls.TlsContextFactory;
 import org.mule.runtime.api.tls.TlsContextTrustStoreConfiguration;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.management.stats.AllStatistics;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.core.util.StringUtils;
 import org.mule.runtime.module.http.internal.domain.ByteArrayHttpEntity;
@@ -35,10 +38,12 @@ import org.mule.runtime.module.http.internal.domain.response.HttpResponse;
 import org.mule.runtime.module.http.internal.domain.response.HttpResponseBuilder;
 import org.mule.runtime.module.http.internal.multipart.HttpPart;
 import org.mule.runtime.module.http.internal.request.HttpAuthenticationType;
+import org.mule.runtime.module.http.internal.request.grizzly.AdaptiveConnectionsRequestFilter;
 import org.mule.runtime.module.http.internal.request.grizzly.CompositeTransportCustomizer;
 import org.mule.runtime.module.http.internal.request.grizzly.CustomTimeoutThrottleRequestFilter;
 import org.mule.runtime.module.http.internal.request.grizzly.IOStrategyTransportCustomizer;
 import org.mule.runtime.module.http.internal.request.grizzly.LoggerTransportCustomizer;
+import org.mule.runtime.module.http.internal.request.grizzly.ReadableByteChannelBodyGenerator;
 
 import com.ning.http.client.AsyncHttpClient;
 import com.ning.http.client.AsyncHttpClientConfig;
@@ -48,6 +53,7 @@ import com.ning.http.client.Realm;
 import com.ning.http.client.Request;
 import com.ning.http.client.RequestBuilder;
 import com.ning.http.client.Response;
+import com.ning.http.client.filter.RequestFilter;
 import com.ning.http.client.generators.InputStreamBodyGenerator;
 import com.ning.http.client.multipart.ByteArrayPart;
 import com.ning.http.client.providers.grizzly.GrizzlyAsyncHttpProvider;
@@ -59,6 +65,7 @@ import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.channels.ReadableByteChannel;
 import java.util.concurrent.TimeoutException;
 
 import javax.net.ssl.SSLContext;
@@ -84,6 +91,8 @@ public class GrizzlyHttpClient implements HttpClient {
 
   private String threadNamePrefix;
   private String ownerName;
+  private AllStatistics statistics;
+  private AdaptiveConnectionsRequestFilter adaptiveConnectionsFilter;
   private AsyncHttpClient asyncHttpClient;
   private SSLContext sslContext;
 
@@ -98,6 +107,7 @@ public class GrizzlyHttpClient implements HttpClient {
     this.connectionIdleTimeout = config.getConnectionIdleTimeout();
     this.threadNamePrefix = config.getThreadNamePrefix();
     this.ownerName = config.getOwnerName();
+    this.statistics = config.getStatistics();
   }
 
   @Override
@@ -195,8 +205,15 @@ public class GrizzlyHttpClient implements HttpClient {
   }
 
   private void configureConnections(AsyncHttpClientConfig.Builder builder) {
-    if (maxConnections > 0) {
-      builder.addRequestFilter(new CustomTimeoutThrottleRequestFilter(maxConnections));
+    RequestFilter throttleFilter = maxConnections > 0 ? new CustomTimeoutThrottleRequestFilter(maxConnections) : null;
+    if (getBoolean(ADAPTIVE_CONNECTIONS_PROPERTY_KEY)) {
+      // The throttle runs after a connection to the host is available, so requests waiting for a connection to a busy host do
+      // not hold the connections to the rest of the hosts
+      adaptiveConnectionsFilter = new AdaptiveConnectionsRequestFilter(ownerName, maxConnections, usePersistentConnections,
+                                                                       connectionIdleTimeout, statistics, throttleFilter);
+      builder.addRequestFilter(adaptiveConnectionsFilter);
+    } else if (throttleFilter != null) {
+      builder.addRequestFilter(throttleFilter);
     }
 
     builder.setMaxConnections(maxConnections);
@@ -302,7 +319,12 @@ public class GrizzlyHttpClient implements HttpClient {
 
       if (request.getEntity() != null) {
         if (request.getEntity() instanceof InputStreamHttpEntity) {
-          builder.setBody(new InputStreamBodyGenerator(((InputStreamHttpEntity) request.getEntity()).getInputStream()));
+          final InputStream entityStream = ((InputStreamHttpEntity) request.getEntity()).getInputStream();
+          if (entityStream instanceof ReadableByteChannel) {
+            builder.setBody(new ReadableByteChannelBodyGenerator((ReadableByteChannel) entityStream));
+          } else {
+            builder.setBody(new InputStreamBodyGenerator(entityStream));
+          }
         } else if (request.getEntity() instanceof ByteArrayHttpEntity) {
           builder.setBody(((ByteArrayHttpEntity) request.getEntity()).getContent());
         } else if (request.getEntity() instanceof MultipartHttpEntity) {
@@ -375,5 +397,8 @@ public class GrizzlyHttpClient implements HttpClient {
   public void stop() throws MuleException {
     stopIfNeeded(authentication);
     asyncHttpClient.close();
+    if (adaptiveConnectionsFilter != null) {
+      adaptiveConnectionsFilter.dispose();
+    }
   }
 }
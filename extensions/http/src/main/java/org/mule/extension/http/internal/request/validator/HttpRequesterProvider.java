@@ -218,7 +218,8 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpClien
         .setUriParameters(new DefaultUriParameters(protocol, host, port)).setAuthentication(authentication)
         .setTlsContextFactory(tlsContextFactory).setProxyConfig(proxyConfig).setClientSocketProperties(clientSocketProperties)
         .setMaxConnections(maxConnections).setUsePersistentConnections(usePersistentConnections)
-        .setConnectionIdleTimeout(connectionIdleTimeout).setThreadNamePrefix(threadNamePrefix).setOwnerName(configName).build();
+        .setConnectionIdleTimeout(connectionIdleTimeout).setThreadNamePrefix(threadNamePrefix).setOwnerName(configName)
+        .setStatistics(muleContext.getStatistics()).build();
 
     HttpClient httpClient;
     if (httpClientFactory == null) {
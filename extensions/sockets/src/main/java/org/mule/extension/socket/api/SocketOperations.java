@@ -22,6 +22,7 @@ import org.mule.runtime.extension.api.annotation.param.display.Summary;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Basic set of operations for socket extension
@@ -55,10 +56,10 @@ public class SocketOperations {
       outputEncoding = config.getDefaultEncoding();
     }
 
-    client.write(content, outputEncoding);
+    InputStream response = client.send(content, outputEncoding, hasResponse);
 
     return hasResponse
-        ? Result.builder().output(client.read()).attributes(client.getAttributes()).build()
+        ? Result.builder().output(response).attributes(client.getAttributes()).build()
         : Result.builder(muleMessage).build();
   }
 }
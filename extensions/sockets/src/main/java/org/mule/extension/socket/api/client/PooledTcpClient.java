@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.api.client;
+
+import org.mule.extension.socket.api.SocketAttributes;
+import org.mule.extension.socket.internal.PooledTcpSocket;
+import org.mule.extension.socket.internal.TcpSocketPool;
+import org.mule.extension.socket.internal.TcpSocketPool.SocketOpener;
+import org.mule.runtime.api.connection.ConnectionException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * This {@link SocketClient} implementation does each exchange through a socket borrowed from a {@link TcpSocketPool}, which is
+ * returned to the pool as soon as the exchange is done.
+ * <p>
+ * A request written with {@link #write(Object, String)} keeps the socket borrowed until its response is {@link #read() read}
+ * or the client is {@link #close() closed}. As responses are matched to requests in the order they are received, the remote
+ * host must answer every request written this way, even if its response is never read.
+ *
+ * @since 4.0
+ */
+public final class PooledTcpClient implements SocketClient {
+
+  private final TcpSocketPool socketPool;
+  private final SocketOpener socketOpener;
+  private SocketAttributes attributes;
+
+  /**
+   * The socket through which the last request was written, and its exchange, until the response is read
+   */
+  private PooledTcpSocket pendingSocket;
+  private PooledTcpSocket.Exchange pendingExchange;
+
+  public PooledTcpClient(TcpSocketPool socketPool, SocketOpener socketOpener) {
+    this.socketPool = socketPool;
+    this.socketOpener = socketOpener;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public InputStream send(Object data, String outputEncoding, boolean hasResponse) throws ConnectionException, IOException {
+    releasePendingSocket();
+    PooledTcpSocket socket = socketPool.borrow(socketOpener);
+    try {
+      attributes = socket.getAttributes();
+      PooledTcpSocket.Exchange exchange = socket.write(data, outputEncoding, hasResponse);
+      return exchange != null ? socket.read(exchange) : null;
+    } finally {
+      socketPool.release(socket);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(Object data, String outputEncoding) throws IOException {
+    releasePendingSocket();
+
+    PooledTcpSocket socket;
+    try {
+      socket = socketPool.borrow(socketOpener);
+    } catch (ConnectionException e) {
+      throw new IOException(e);
+    }
+
+    try {
+      attributes = socket.getAttributes();
+      pendingExchange = socket.write(data, outputEncoding, true);
+      pendingSocket = socket;
+    } catch (IOException e) {
+      socketPool.release(socket);
+      throw e;
+    }
+  }
+
+  /**
+   * Reads the response to the request written with {@link #write(Object, String)}, returning its socket to the pool.
+   *
+   * @throws IOException if no request was written or the response could not be read
+   */
+  @Override
+  public InputStream read() throws IOException {
+    if (pendingSocket == null) {
+      throw new IOException("No request was written through the pooled TCP socket, there is no response to read");
+    }
+
+    try {
+      return pendingSocket.read(pendingExchange);
+    } finally {
+      releasePendingSocket();
+    }
+  }
+
+  /**
+   * Returns the socket held by a request whose response was not read to the pool. The pooled sockets themselves are closed when
+   * the pool is.
+   */
+  @Override
+  public void close() throws IOException {
+    releasePendingSocket();
+  }
+
+  private void releasePendingSocket() {
+    if (pendingSocket != null) {
+      socketPool.release(pendingSocket);
+      pendingSocket = null;
+      pendingExchange = null;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SocketAttributes getAttributes() {
+    return attributes;
+  }
+}
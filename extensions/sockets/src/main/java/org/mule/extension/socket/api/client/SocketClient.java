@@ -11,6 +11,7 @@ import org.mule.extension.socket.api.config.AbstractSocketConfig;
 import org.mule.extension.socket.api.exceptions.ReadingTimeoutException;
 import org.mule.extension.socket.api.socket.SocketProperties;
 import org.mule.extension.socket.api.SocketAttributes;
+import org.mule.runtime.api.connection.ConnectionException;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -41,6 +42,21 @@ public interface SocketClient {
    */
   InputStream read() throws IOException;
 
+  /**
+   * Writes the {@code data} and, if {@code hasResponse} is set, reads the response to it as {@link #read()} does.
+   *
+   * @param data to be written into the socket
+   * @param outputEncoding to be used when writing contents of type {@link String}
+   * @param hasResponse whether a response to the {@code data} should be read
+   * @return an {@link InputStream} with the response, or {@code null} if {@code hasResponse} is not set
+   * @throws ConnectionException if a connection needed to write the {@code data} could not be established
+   * @throws IOException
+   */
+  default InputStream send(Object data, String outputEncoding, boolean hasResponse) throws ConnectionException, IOException {
+    write(data, outputEncoding);
+    return hasResponse ? read() : null;
+  }
+
   /**
    * Closes the connection that was held by the client, leaving it unusable.
    *
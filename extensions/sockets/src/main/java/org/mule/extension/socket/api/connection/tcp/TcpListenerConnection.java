@@ -13,11 +13,14 @@ import org.mule.extension.socket.api.SocketAttributes;
 import org.mule.extension.socket.api.connection.ListenerConnection;
 import org.mule.extension.socket.api.connection.udp.UdpListenerConnection;
 import org.mule.extension.socket.api.socket.factory.SimpleServerSocketFactory;
+import org.mule.extension.socket.api.socket.tcp.FrameDecodingProtocol;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
 import org.mule.extension.socket.api.socket.tcp.TcpServerSocketProperties;
 import org.mule.extension.socket.api.socket.tcp.TcpSocketProperties;
+import org.mule.extension.socket.api.worker.NonBlockingTcpWorker;
 import org.mule.extension.socket.api.worker.SocketWorker;
 import org.mule.extension.socket.api.worker.TcpWorker;
+import org.mule.extension.socket.internal.TcpSelectorLoop;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionExceptionCode;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
@@ -32,9 +35,16 @@ import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * Implementation of {@link ListenerConnection} for receiving TCP connections.
+ * <p>
+ * In non blocking mode, the accepted connections are multiplexed over a few {@link TcpSelectorLoop}s instead of each one being
+ * read by its own thread, and the messages decoded from them are dispatched to the flow on the executor provided by the
+ * dispatcher source.
  *
  * @since 4.0
  */
@@ -42,7 +52,11 @@ public final class TcpListenerConnection extends AbstractTcpConnection implement
 
   private final TcpServerSocketProperties socketProperties;
   private final SimpleServerSocketFactory serverSocketFactory;
+  private final int selectorThreads;
+  private final Supplier<Executor> dispatcherSource;
   private ServerSocket serverSocket;
+  private TcpSelectorLoop[] selectorLoops;
+  private int nextSelectorLoop = 0;
 
   public TcpListenerConnection(ConnectionSettings connectionSettings, TcpProtocol protocol,
                                TcpServerSocketProperties socketProperties, SimpleServerSocketFactory serverSocketFactory)
@@ -50,10 +64,30 @@ public final class TcpListenerConnection extends AbstractTcpConnection implement
     super(connectionSettings, protocol);
     this.socketProperties = socketProperties;
     this.serverSocketFactory = serverSocketFactory;
+    this.selectorThreads = 0;
+    this.dispatcherSource = null;
   }
 
   /**
-   * One worker is created per accepted connection.
+   * Creates a non blocking connection. TLS is not supported in this mode.
+   *
+   * @param selectorThreads number of {@link TcpSelectorLoop}s the accepted connections are multiplexed over
+   * @param dispatcherSource provides the {@link Executor} on which decoded messages are dispatched to the flow
+   */
+  public TcpListenerConnection(ConnectionSettings connectionSettings, FrameDecodingProtocol protocol,
+                               TcpServerSocketProperties socketProperties, int selectorThreads,
+                               Supplier<Executor> dispatcherSource)
+      throws ConnectionException {
+    super(connectionSettings, protocol);
+    this.socketProperties = socketProperties;
+    this.serverSocketFactory = null;
+    this.selectorThreads = selectorThreads;
+    this.dispatcherSource = dispatcherSource;
+  }
+
+  /**
+   * One worker is created per accepted connection. In non blocking mode, running the worker registers the connection with one of
+   * the {@link TcpSelectorLoop}s, in turns.
    * <p>
    * The new {@link Socket} used for responding has the same {@link TcpSocketProperties} settings as the listener socket used in
    * the {@link Source}.
@@ -67,7 +101,15 @@ public final class TcpListenerConnection extends AbstractTcpConnection implement
       throws IOException, ConnectionException {
     Socket newConnection = acceptConnection();
     configureConnection(newConnection, socketProperties);
-    return new TcpWorker(newConnection, protocol, callback);
+
+    if (selectorThreads == 0) {
+      return new TcpWorker(newConnection, protocol, callback);
+    }
+
+    TcpSelectorLoop selectorLoop = selectorLoops[nextSelectorLoop];
+    nextSelectorLoop = (nextSelectorLoop + 1) % selectorLoops.length;
+    return new NonBlockingTcpWorker(newConnection.getChannel(), (FrameDecodingProtocol) protocol, selectorLoop,
+                                    dispatcherSource.get(), callback);
   }
 
   @Override
@@ -76,6 +118,8 @@ public final class TcpListenerConnection extends AbstractTcpConnection implement
       serverSocket.close();
     } catch (IOException e) {
       LOGGER.error("An error occurred when closing TCP listener socket", e);
+    } finally {
+      stopSelectorLoops();
     }
   }
 
@@ -87,7 +131,9 @@ public final class TcpListenerConnection extends AbstractTcpConnection implement
   @Override
   public void connect() throws ConnectionException {
     try {
-      serverSocket = serverSocketFactory.createServerSocket();
+      // the socket of a channel accepts sockets which have a channel as well, so they can be multiplexed
+      serverSocket =
+          serverSocketFactory != null ? serverSocketFactory.createServerSocket() : ServerSocketChannel.open().socket();
 
       if (socketProperties.getReceiveBufferSize() != null) {
         serverSocket.setReceiveBufferSize(socketProperties.getReceiveBufferSize());
@@ -111,6 +157,35 @@ public final class TcpListenerConnection extends AbstractTcpConnection implement
                                            connectionSettings.getPort()),
                                     e);
     }
+
+    if (selectorThreads > 0) {
+      startSelectorLoops();
+    }
+  }
+
+  private void startSelectorLoops() throws ConnectionException {
+    selectorLoops = new TcpSelectorLoop[selectorThreads];
+    try {
+      for (int i = 0; i < selectorThreads; ++i) {
+        selectorLoops[i] = new TcpSelectorLoop(format("tcp.listener.%s.%d.selector.%d", connectionSettings.getHost(),
+                                                      serverSocket.getLocalPort(), i));
+      }
+    } catch (IOException e) {
+      stopSelectorLoops();
+      throw new ConnectionException("Could not open TCP listener selector", e);
+    }
+  }
+
+  private void stopSelectorLoops() {
+    if (selectorLoops == null) {
+      return;
+    }
+
+    for (TcpSelectorLoop selectorLoop : selectorLoops) {
+      if (selectorLoop != null) {
+        selectorLoop.stop();
+      }
+    }
   }
 
   /**
@@ -10,10 +10,13 @@ import static java.lang.String.format;
 import static org.mule.extension.socket.internal.SocketUtils.configureConnection;
 import org.mule.extension.socket.api.connection.RequesterConnection;
 import org.mule.extension.socket.api.socket.factory.SimpleSocketFactory;
+import org.mule.extension.socket.api.client.PooledTcpClient;
+import org.mule.extension.socket.api.client.SocketClient;
 import org.mule.extension.socket.api.client.TcpClient;
 import org.mule.extension.socket.api.ConnectionSettings;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
 import org.mule.extension.socket.api.socket.tcp.TcpClientSocketProperties;
+import org.mule.extension.socket.internal.TcpSocketPool;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionExceptionCode;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
@@ -23,6 +26,9 @@ import java.net.Socket;
 
 /**
  * Implementation of {@link RequesterConnection} for establishing TCP connections.
+ * <p>
+ * Unless a {@link TcpSocketPool} is given, each connection opens its own socket. Otherwise, its clients do each exchange
+ * through a socket borrowed from the pool, which is shared with the other connections to the same host.
  *
  * @since 4.0
  */
@@ -32,27 +38,44 @@ public class TcpRequesterConnection extends AbstractTcpConnection implements Req
   private final TcpClientSocketProperties socketProperties;
   private final ConnectionSettings localAddressSettings;
   private final SimpleSocketFactory socketFactory;
+  private final TcpSocketPool socketPool;
 
   public TcpRequesterConnection(ConnectionSettings connectionSettings, ConnectionSettings localAddressSettings,
                                 TcpProtocol protocol, TcpClientSocketProperties socketProperties,
                                 SimpleSocketFactory socketFactory)
       throws ConnectionException {
+    this(connectionSettings, localAddressSettings, protocol, socketProperties, socketFactory, null);
+  }
+
+  /**
+   * Creates a connection whose clients borrow their sockets from the given {@link TcpSocketPool}, which opens them as this
+   * connection would open its own.
+   */
+  public TcpRequesterConnection(ConnectionSettings connectionSettings, ConnectionSettings localAddressSettings,
+                                TcpProtocol protocol, TcpClientSocketProperties socketProperties,
+                                SimpleSocketFactory socketFactory, TcpSocketPool socketPool)
+      throws ConnectionException {
     super(connectionSettings, protocol);
     this.socketProperties = socketProperties;
     this.socketFactory = socketFactory;
     this.localAddressSettings = localAddressSettings;
+    this.socketPool = socketPool;
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public TcpClient getClient() {
-    return new TcpClient(socket, protocol);
+  public SocketClient getClient() {
+    return socketPool != null ? new PooledTcpClient(socketPool, this::openSocket) : new TcpClient(socket, protocol);
   }
 
   @Override
   public void doDisconnect() {
+    if (socket == null) {
+      return;
+    }
+
     try {
       socket.close();
     } catch (IOException e) {
@@ -65,18 +88,25 @@ public class TcpRequesterConnection extends AbstractTcpConnection implements Req
    */
   @Override
   public void connect() throws ConnectionException {
+    // pooled sockets are opened as they are needed
+    if (socketPool == null) {
+      socket = openSocket();
+    }
+  }
+
+  private Socket openSocket() throws ConnectionException {
     try {
-      socket = socketFactory.createSocket();
+      Socket socket = socketFactory.createSocket();
       configureConnection(socket, socketProperties);
       socket.bind(localAddressSettings.getInetSocketAddress());
       socket.connect(getSocketAddress(connectionSettings, socketProperties.getFailOnUnresolvedHost()),
                      socketProperties.getConnectionTimeout());
+      return socket;
     } catch (Exception e) {
       throw new ConnectionException(format("Could not connect TCP requester socket to host '%s' on port '%d'",
                                            connectionSettings.getHost(), connectionSettings.getPort()),
                                     e);
     }
-
   }
 
   /**
@@ -85,6 +115,12 @@ public class TcpRequesterConnection extends AbstractTcpConnection implements Req
   @Override
   public ConnectionValidationResult validate() {
 
+    if (socketPool != null) {
+      return socketPool.isClosed()
+          ? ConnectionValidationResult.failure("TCP socket pool was closed", ConnectionExceptionCode.UNKNOWN, null)
+          : ConnectionValidationResult.success();
+    }
+
     if (!socket.isBound()) {
       return ConnectionValidationResult.failure("TCP client socket was not bounded", ConnectionExceptionCode.UNKNOWN, null);
 
@@ -31,6 +31,16 @@ public class CustomClassLoadingLengthProtocol extends LengthProtocol {
     return new ClassLoaderObjectInputStream(this.getClassLoader(), is);
   }
 
+  /**
+   * Objects are deserialized straight from the connection stream, so they can not be read incrementally.
+   *
+   * @return {@code false}
+   */
+  @Override
+  public boolean supportsFrameDecoding() {
+    return false;
+  }
+
   public ClassLoader getClassLoader() {
     if (this.classLoader == null) {
       this.classLoader = this.getClass().getClassLoader();
@@ -7,7 +7,10 @@
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
 import static org.mule.extension.socket.internal.SocketUtils.getByteArray;
+import org.mule.extension.socket.api.socket.tcp.FrameDecodingProtocol;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.extension.socket.internal.StreamFrameDecoder;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 
 import java.io.IOException;
@@ -28,7 +31,7 @@ import org.apache.commons.io.output.ByteArrayOutputStream;
  * @since 4.0
  */
 @XmlHints(allowTopLevelDefinition = true)
-public class DirectProtocol extends AbstractByteProtocol {
+public class DirectProtocol extends AbstractByteProtocol implements FrameDecodingProtocol {
 
   protected static final int UNLIMITED = -1;
 
@@ -52,6 +55,14 @@ public class DirectProtocol extends AbstractByteProtocol {
     return nullIfEmptyArray(consume(socketIs, UNLIMITED));
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TcpFrameDecoder createFrameDecoder() {
+    return new StreamFrameDecoder(false);
+  }
+
   protected byte[] consume(InputStream is, int limit) throws IOException {
     ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(bufferSize);
 
@@ -6,7 +6,9 @@
  */
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.extension.socket.internal.StreamFrameDecoder;
 import org.mule.runtime.extension.api.annotation.Alias;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 
@@ -33,4 +35,11 @@ public class EOFProtocol extends DirectProtocol {
     return true;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TcpFrameDecoder createFrameDecoder() {
+    return new StreamFrameDecoder(true);
+  }
 }
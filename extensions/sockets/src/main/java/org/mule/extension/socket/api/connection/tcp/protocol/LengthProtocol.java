@@ -8,7 +8,9 @@ package org.mule.extension.socket.api.connection.tcp.protocol;
 
 import static java.lang.String.format;
 import org.mule.extension.socket.api.exceptions.LengthExceededException;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.extension.socket.internal.LengthFrameDecoder;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 import org.mule.runtime.extension.api.annotation.param.Optional;
@@ -65,6 +67,14 @@ public class LengthProtocol extends DirectProtocol {
     return nullIfEmptyArray(consume(socketIs));
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TcpFrameDecoder createFrameDecoder() {
+    return new LengthFrameDecoder(maxMessageLength);
+  }
+
   /**
    * It first reads the size of an int in bytes from the {@link InputStream} that represents the total length of the data to be
    * read.
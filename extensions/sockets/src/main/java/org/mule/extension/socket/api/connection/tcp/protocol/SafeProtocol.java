@@ -6,7 +6,10 @@
  */
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
+import org.mule.extension.socket.api.socket.tcp.FrameDecodingProtocol;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.extension.socket.internal.SafeFrameDecoder;
 import org.mule.runtime.core.api.serialization.DefaultObjectSerializer;
 import org.mule.runtime.core.api.serialization.ObjectSerializer;
 import org.mule.runtime.core.util.IOUtils;
@@ -27,9 +30,11 @@ import javax.inject.Inject;
  * @since 4.0
  */
 @XmlHints(allowTopLevelDefinition = true)
-public class SafeProtocol extends AbstractByteProtocol {
+public class SafeProtocol extends AbstractByteProtocol implements FrameDecodingProtocol {
 
   public static final String COOKIE = "You are using SafeProtocol";
+  public static final String INCONSISTENT_PROTOCOL = "You are not using a consistent protocol on your TCP transport. "
+      + "Please read the documentation for the TCP transport, " + "paying particular attention to the protocol parameter.";
 
   private final TcpProtocol cookieProtocol = new LengthProtocol(COOKIE.length());
   private TcpProtocol delegate;
@@ -66,6 +71,14 @@ public class SafeProtocol extends AbstractByteProtocol {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TcpFrameDecoder createFrameDecoder() {
+    return new SafeFrameDecoder();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -111,8 +124,7 @@ public class SafeProtocol extends AbstractByteProtocol {
   }
 
   private void helpUser() throws IOException {
-    throw new IOException("You are not using a consistent protocol on your TCP transport. "
-        + "Please read the documentation for the TCP transport, " + "paying particular attention to the protocol parameter.");
+    throw new IOException(INCONSISTENT_PROTOCOL);
   }
 
   private void helpUser(Exception e) throws IOException {
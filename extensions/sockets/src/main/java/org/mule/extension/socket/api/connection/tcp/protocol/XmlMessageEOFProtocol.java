@@ -6,6 +6,8 @@
  */
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+import org.mule.extension.socket.internal.XmlMessageFrameDecoder;
 import org.mule.runtime.extension.api.annotation.Alias;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 
@@ -29,4 +31,11 @@ public class XmlMessageEOFProtocol extends XmlMessageProtocol {
     return patternIndex < 0;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TcpFrameDecoder createFrameDecoder() {
+    return new XmlMessageFrameDecoder(true);
+  }
 }
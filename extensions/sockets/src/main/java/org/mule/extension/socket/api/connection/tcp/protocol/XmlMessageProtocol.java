@@ -8,6 +8,9 @@ package org.mule.extension.socket.api.connection.tcp.protocol;
 
 import static org.mule.extension.socket.internal.SocketUtils.getByteArray;
 
+import org.mule.extension.socket.api.socket.tcp.FrameDecodingProtocol;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+import org.mule.extension.socket.internal.XmlMessageFrameDecoder;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 
 import java.io.IOException;
@@ -43,7 +46,7 @@ import java.util.concurrent.ConcurrentMap;
  * </p>
  */
 @XmlHints(allowTopLevelDefinition = true)
-public class XmlMessageProtocol extends AbstractByteProtocol {
+public class XmlMessageProtocol extends AbstractByteProtocol implements FrameDecodingProtocol {
 
   private static final String XML_PATTERN = "<?xml";
 
@@ -61,6 +64,14 @@ public class XmlMessageProtocol extends AbstractByteProtocol {
     return nullIfEmptyArray(consume(socketIs));
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TcpFrameDecoder createFrameDecoder() {
+    return new XmlMessageFrameDecoder(false);
+  }
+
   private byte[] consume(InputStream is) throws IOException {
     PushbackInputStream pbis = (PushbackInputStream) pbMap.get(is);
     if (null == pbis) {
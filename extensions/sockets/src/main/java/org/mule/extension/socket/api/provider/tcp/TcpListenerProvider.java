@@ -6,15 +6,19 @@
  */
 package org.mule.extension.socket.api.provider.tcp;
 
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.extension.socket.api.SocketsExtension.TLS;
 import static org.mule.extension.socket.api.SocketsExtension.TLS_CONFIGURATION;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED;
 import org.mule.extension.socket.api.ConnectionSettings;
 import org.mule.extension.socket.api.connection.tcp.TcpListenerConnection;
 import org.mule.extension.socket.api.connection.tcp.protocol.SafeProtocol;
 import org.mule.extension.socket.api.socket.factory.SimpleServerSocketFactory;
 import org.mule.extension.socket.api.socket.factory.SslServerSocketFactory;
 import org.mule.extension.socket.api.socket.factory.TcpServerSocketFactory;
+import org.mule.extension.socket.api.socket.tcp.FrameDecodingProtocol;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
 import org.mule.extension.socket.api.socket.tcp.TcpServerSocketProperties;
 import org.mule.extension.socket.api.source.SocketListener;
@@ -24,9 +28,15 @@ import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.extension.api.annotation.Alias;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
@@ -38,6 +48,7 @@ import org.mule.runtime.extension.api.annotation.param.display.Summary;
 
 import java.net.ServerSocket;
 
+import javax.inject.Inject;
 import javax.net.ssl.SSLServerSocket;
 
 
@@ -47,7 +58,8 @@ import javax.net.ssl.SSLServerSocket;
  * @since 4.0
  */
 @Alias("tcp-listener")
-public final class TcpListenerProvider implements CachedConnectionProvider<TcpListenerConnection>, Initialisable {
+public final class TcpListenerProvider
+    implements CachedConnectionProvider<TcpListenerConnection>, Initialisable, Startable, Stoppable {
 
   /**
    * Its presence will imply the use of {@link SSLServerSocket} instead of plain TCP {@link ServerSocket} for accepting new SSL
@@ -80,8 +92,43 @@ public final class TcpListenerProvider implements CachedConnectionProvider<TcpLi
   @Summary("TCP Protocol to use to receive external request")
   private TcpProtocol protocol = new SafeProtocol();
 
+  /**
+   * Whether the accepted connections should be multiplexed over a few selector threads, which read them without blocking,
+   * instead of each one being read by its own thread. Messages are decoded as their bytes arrive and only complete ones are
+   * dispatched to the flow. TLS is not supported in this mode, and the protocol must be able to decode messages incrementally,
+   * as the length, EOF, XML, safe and direct protocols do.
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Placement(group = ADVANCED)
+  private boolean nonBlocking;
+
+  /**
+   * Number of selector threads the accepted connections are multiplexed over when {@code nonBlocking} is set.
+   */
+  @Parameter
+  @Optional(defaultValue = "2")
+  @Placement(group = ADVANCED)
+  private int selectorThreads = 2;
+
+  @Inject
+  private MuleContext muleContext;
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  private Scheduler workManager;
+
   @Override
   public TcpListenerConnection connect() throws ConnectionException {
+    if (nonBlocking) {
+      TcpListenerConnection connection = new TcpListenerConnection(connectionSettings, (FrameDecodingProtocol) protocol,
+                                                                   tcpServerSocketProperties, selectorThreads,
+                                                                   () -> workManager);
+      connection.connect();
+      return connection;
+    }
+
     SimpleServerSocketFactory serverSocketFactory = null;
 
     try {
@@ -119,6 +166,45 @@ public final class TcpListenerProvider implements CachedConnectionProvider<TcpLi
                                         this);
     }
 
+    if (nonBlocking) {
+      verifyNonBlockingParameters();
+    }
+
     initialiseIfNeeded(tlsContext);
   }
+
+  @Override
+  public void start() throws MuleException {
+    if (nonBlocking) {
+      workManager = schedulerService.ioScheduler();
+    }
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    if (workManager != null) {
+      try {
+        workManager.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+      } finally {
+        workManager = null;
+      }
+    }
+  }
+
+  private void verifyNonBlockingParameters() throws InitialisationException {
+    if (tlsContext != null) {
+      throw new InitialisationException(CoreMessages.createStaticMessage("TLS is not supported by non blocking TCP listeners"),
+                                        this);
+    }
+
+    if (selectorThreads < 1) {
+      throw new InitialisationException(CoreMessages
+          .createStaticMessage("Non blocking TCP listeners need at least one selector thread"), this);
+    }
+
+    if (!(protocol instanceof FrameDecodingProtocol) || !((FrameDecodingProtocol) protocol).supportsFrameDecoding()) {
+      throw new InitialisationException(CoreMessages.createStaticMessage(format("Protocol '%s' can not be used by non "
+          + "blocking TCP listeners", protocol.getClass().getName())), this);
+    }
+  }
 }
@@ -6,13 +6,17 @@
  */
 package org.mule.extension.socket.api.provider.tcp;
 
+import static java.lang.String.format;
 import static org.mule.extension.socket.api.SocketsExtension.TLS;
 import static org.mule.extension.socket.api.SocketsExtension.TLS_CONFIGURATION;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED;
 import static org.mule.runtime.extension.api.annotation.param.display.Placement.CONNECTION;
 import org.mule.extension.socket.api.ConnectionSettings;
 import org.mule.extension.socket.api.SocketOperations;
 import org.mule.extension.socket.api.connection.tcp.TcpRequesterConnection;
+import org.mule.extension.socket.api.connection.tcp.protocol.CustomClassLoadingLengthProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.LengthProtocol;
 import org.mule.extension.socket.api.connection.tcp.protocol.SafeProtocol;
 import org.mule.extension.socket.api.socket.factory.SimpleSocketFactory;
 import org.mule.extension.socket.api.socket.factory.SslSocketFactory;
@@ -20,14 +24,17 @@ import org.mule.extension.socket.api.socket.factory.TcpSocketFactory;
 import org.mule.extension.socket.api.socket.tcp.TcpClientSocketProperties;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
 import org.mule.extension.socket.internal.SocketUtils;
+import org.mule.extension.socket.internal.TcpSocketPool;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.connection.PoolingConnectionProvider;
 import org.mule.runtime.api.tls.TlsContextFactory;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.extension.api.annotation.Alias;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.param.ParameterGroup;
@@ -47,7 +54,8 @@ import javax.net.ssl.SSLSocket;
  * @since 4.0
  */
 @Alias("tcp-requester")
-public final class TcpRequesterProvider implements PoolingConnectionProvider<TcpRequesterConnection>, Initialisable {
+public final class TcpRequesterProvider
+    implements PoolingConnectionProvider<TcpRequesterConnection>, Initialisable, Disposable {
 
   /**
    * Its presence will imply the use of {@link SSLSocket} instead of plain TCP {@link Socket} for establishing a connection over
@@ -90,6 +98,46 @@ public final class TcpRequesterProvider implements PoolingConnectionProvider<Tcp
   @Placement(group = CONNECTION, order = 3)
   private TcpProtocol protocol = new SafeProtocol();
 
+  /**
+   * Whether the connections should share a pool of sockets to the remote host, which are kept open between requests, instead of
+   * each connection opening its own socket. Each request borrows a socket from the pool, and returns it once its response was
+   * read. Only protocols which delimit messages by their length, such as the length and safe protocols, are supported, as the
+   * others rely on the remote host closing the socket to end a message.
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Placement(group = ADVANCED)
+  private boolean pooledSockets;
+
+  /**
+   * Maximum number of sockets kept open to the remote host when {@code pooledSockets} is set. Requests wait for a socket to be
+   * returned to the pool once all of them are busy, unless {@code pipelining} is set.
+   */
+  @Parameter
+  @Optional(defaultValue = "4")
+  @Placement(group = ADVANCED)
+  private int maxPooledSockets = 4;
+
+  /**
+   * Whether requests can be written to a pooled socket before the responses to the previous ones were read, once all the
+   * pooled sockets are busy. Responses are matched to requests in the order they are received, so the remote host must answer
+   * the requests of each socket in order, and only those which expect a response. Requires {@code pooledSockets}.
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Placement(group = ADVANCED)
+  private boolean pipelining;
+
+  /**
+   * Maximum number of requests awaiting a response through each pooled socket when {@code pipelining} is set.
+   */
+  @Parameter
+  @Optional(defaultValue = "32")
+  @Placement(group = ADVANCED)
+  private int maxPipelinedRequests = 32;
+
+  private TcpSocketPool socketPool;
+
   /**
    * {@inheritDoc}
    */
@@ -105,7 +153,7 @@ public final class TcpRequesterProvider implements PoolingConnectionProvider<Tcp
     }
 
     TcpRequesterConnection connection = new TcpRequesterConnection(connectionSettings, localAddressSettings, protocol,
-                                                                   tcpClientSocketProperties, simpleSocketFactory);
+                                                                   tcpClientSocketProperties, simpleSocketFactory, socketPool);
     connection.connect();
     return connection;
   }
@@ -129,5 +177,43 @@ public final class TcpRequesterProvider implements PoolingConnectionProvider<Tcp
   @Override
   public void initialise() throws InitialisationException {
     initialiseIfNeeded(tlsContext);
+
+    if (pipelining && !pooledSockets) {
+      throw new InitialisationException(CoreMessages
+          .createStaticMessage("TCP requests can only be pipelined over pooled sockets"), this);
+    }
+
+    if (pooledSockets) {
+      verifyPoolingParameters();
+      socketPool = new TcpSocketPool(protocol, maxPooledSockets, pipelining ? maxPipelinedRequests : 1,
+                                     tcpClientSocketProperties.getConnectionTimeout());
+    }
+  }
+
+  @Override
+  public void dispose() {
+    if (socketPool != null) {
+      socketPool.close();
+      socketPool = null;
+    }
+  }
+
+  private void verifyPoolingParameters() throws InitialisationException {
+    if (maxPooledSockets < 1) {
+      throw new InitialisationException(CoreMessages.createStaticMessage("TCP socket pools need at least one socket"), this);
+    }
+
+    // a pooled socket is kept open after each response, so its end has to be known without the remote host closing it
+    boolean lengthDelimited = protocol instanceof SafeProtocol
+        || (protocol instanceof LengthProtocol && !(protocol instanceof CustomClassLoadingLengthProtocol));
+    if (!lengthDelimited) {
+      throw new InitialisationException(CoreMessages.createStaticMessage(format("Protocol '%s' can not be used with "
+          + "pooled TCP sockets", protocol.getClass().getName())), this);
+    }
+
+    if (pipelining && maxPipelinedRequests < 1) {
+      throw new InitialisationException(CoreMessages
+          .createStaticMessage("Pipelined TCP sockets need to allow at least one request"), this);
+    }
   }
 }
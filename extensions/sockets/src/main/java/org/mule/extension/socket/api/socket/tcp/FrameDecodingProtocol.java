@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.api.socket.tcp;
+
+/**
+ * A {@link TcpProtocol} whose messages can also be read incrementally, as the bytes arrive, which allows a non blocking TCP
+ * listener to serve many connections from a few threads.
+ *
+ * @since 4.0
+ */
+public interface FrameDecodingProtocol extends TcpProtocol {
+
+  /**
+   * Subclasses of a frame decoding protocol may read their messages in a way that needs a blocking stream, in which case they
+   * can not be used by non blocking listeners.
+   *
+   * @return whether {@link #createFrameDecoder()} can be used to read the messages of this protocol
+   */
+  default boolean supportsFrameDecoding() {
+    return true;
+  }
+
+  /**
+   * Only invoked if {@link #supportsFrameDecoding()} is {@code true}
+   *
+   * @return a new {@link TcpFrameDecoder} to read the messages of a single connection
+   */
+  TcpFrameDecoder createFrameDecoder();
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.api.socket.tcp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Splits the bytes received by a TCP connection into the messages of a {@link FrameDecodingProtocol} as they arrive, without
+ * blocking for the rest of a message.
+ * <p>
+ * Each connection has its own decoder, which keeps the bytes of the message being received between invocations. A decoder is
+ * never invoked concurrently.
+ *
+ * @since 4.0
+ */
+public interface TcpFrameDecoder {
+
+  /**
+   * Consumes all the remaining bytes of {@code input}. The buffer is reused once this method returns, so the bytes that need to
+   * be kept must be copied.
+   *
+   * @param input bytes received from the connection
+   * @param frames list to which the messages completed by these bytes are added
+   * @throws IOException if the bytes do not honour the protocol
+   */
+  void decode(ByteBuffer input, List<byte[]> frames) throws IOException;
+
+  /**
+   * Invoked once no more bytes are momentarily available, or when the remote peer closed the connection. Protocols which delimit
+   * messages by pauses or by the end of the stream add the pending message to {@code frames}.
+   *
+   * @param endOfStream whether the remote peer closed the connection
+   * @param frames list to which the pending message is added
+   * @throws IOException if the connection was closed in the middle of a message
+   */
+  void flush(boolean endOfStream, List<byte[]> frames) throws IOException;
+}
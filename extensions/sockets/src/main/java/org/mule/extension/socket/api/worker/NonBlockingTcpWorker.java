@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.api.worker;
+
+import static java.lang.String.format;
+import static java.nio.channels.SelectionKey.OP_READ;
+import static java.nio.channels.SelectionKey.OP_WRITE;
+import org.mule.extension.socket.api.ImmutableSocketAttributes;
+import org.mule.extension.socket.api.SocketAttributes;
+import org.mule.extension.socket.api.connection.tcp.TcpListenerConnection;
+import org.mule.extension.socket.api.socket.tcp.FrameDecodingProtocol;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+import org.mule.extension.socket.internal.TcpSelectorLoop;
+import org.mule.runtime.extension.api.runtime.source.SourceCallback;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Worker for a TCP connection accepted by a non blocking {@link TcpListenerConnection}.
+ * <p>
+ * Running this worker just registers the connection with a {@link TcpSelectorLoop}, which reads the received bytes without
+ * blocking and decodes them with the {@link TcpFrameDecoder} of the {@link FrameDecodingProtocol}. Only complete messages are
+ * dispatched to the flow, in the order they were received, on the given dispatcher {@link Executor}. Each message is dispatched
+ * once the flow completed the previous one and its response was written or queued, so responses are written in the same order.
+ * Reading is suspended while {@link #MAX_PENDING_MESSAGES} messages wait to be dispatched.
+ * <p>
+ * Responses are written straight away when the connection can take them, otherwise they are queued and written by the loop
+ * once the connection is ready. The connection is closed once the remote peer closed its side and all the responses were
+ * written.
+ *
+ * @since 4.0
+ */
+public final class NonBlockingTcpWorker extends SocketWorker implements TcpSelectorLoop.Handler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NonBlockingTcpWorker.class);
+
+  /**
+   * Number of messages waiting to be dispatched at which reading from the connection is suspended. It is resumed once half of
+   * them were dispatched.
+   */
+  public static final int MAX_PENDING_MESSAGES = 64;
+
+  /**
+   * Maximum number of reads done each time the connection is selected, so a busy connection does not starve the others of the
+   * loop.
+   */
+  private static final int MAX_READS_PER_SELECTION = 16;
+
+  private final SocketChannel channel;
+  private final FrameDecodingProtocol protocol;
+  private final TcpFrameDecoder decoder;
+  private final TcpSelectorLoop loop;
+  private final Executor dispatcher;
+  private final SocketAttributes attributes;
+
+  private final List<byte[]> decodedMessages = new ArrayList<>();
+  private final Queue<byte[]> pendingMessages = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingCount = new AtomicInteger();
+  private final AtomicBoolean dispatching = new AtomicBoolean(false);
+  private final AtomicBoolean readSuspended = new AtomicBoolean(false);
+  private final AtomicInteger awaitingResponse = new AtomicInteger();
+  private final Queue<ByteBuffer> pendingWrites = new ArrayDeque<>();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+  private volatile boolean endOfInput = false;
+  private SelectionKey key;
+
+  public NonBlockingTcpWorker(SocketChannel channel, FrameDecodingProtocol protocol, TcpSelectorLoop loop, Executor dispatcher,
+                              SourceCallback<InputStream, SocketAttributes> callback) {
+    super(callback);
+    this.channel = channel;
+    this.protocol = protocol;
+    this.decoder = protocol.createFrameDecoder();
+    this.loop = loop;
+    this.dispatcher = dispatcher;
+    this.attributes = new ImmutableSocketAttributes(channel.socket());
+  }
+
+  @Override
+  protected void doRun() {
+    loop.register(channel, OP_READ, this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onRegistered(SelectionKey key) {
+    this.key = key;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onSelected(SelectionKey key, ByteBuffer readBuffer) {
+    try {
+      if (key.isWritable()) {
+        writePending();
+      }
+
+      if (key.isValid() && key.isReadable()) {
+        read(readBuffer);
+      }
+    } catch (IOException e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("An error occurred while reading from the TCP Worker connection", e);
+      }
+      close();
+    }
+  }
+
+  private void read(ByteBuffer readBuffer) throws IOException {
+    try {
+      for (int i = 0; i < MAX_READS_PER_SELECTION; ++i) {
+        readBuffer.clear();
+        int count = channel.read(readBuffer);
+
+        if (count > 0) {
+          readBuffer.flip();
+          decoder.decode(readBuffer, decodedMessages);
+        } else {
+          decoder.flush(count < 0, decodedMessages);
+          if (count < 0) {
+            endOfInput = true;
+            key.interestOps(key.interestOps() & ~OP_READ);
+          }
+          break;
+        }
+      }
+    } finally {
+      enqueue();
+    }
+
+    if (endOfInput) {
+      closeIfDone();
+    }
+  }
+
+  private void enqueue() {
+    if (decodedMessages.isEmpty()) {
+      return;
+    }
+
+    pendingMessages.addAll(decodedMessages);
+    int count = pendingCount.addAndGet(decodedMessages.size());
+    decodedMessages.clear();
+    scheduleDispatch();
+
+    if (count >= MAX_PENDING_MESSAGES && !endOfInput && key.isValid()) {
+      key.interestOps(key.interestOps() & ~OP_READ);
+      readSuspended.set(true);
+
+      // the messages could have been dispatched before the flag was set
+      if (pendingCount.get() <= MAX_PENDING_MESSAGES / 2 && readSuspended.compareAndSet(true, false)) {
+        resumeReading();
+      }
+    }
+  }
+
+  private void resumeReading() {
+    if (!endOfInput && key.isValid()) {
+      key.interestOps(key.interestOps() | OP_READ);
+    }
+  }
+
+  /**
+   * Dispatches the next pending message, unless the flow is still processing the previous one. {@link #dispatching} is only
+   * cleared once the flow completed the message, so messages are processed one at a time.
+   */
+  private void scheduleDispatch() {
+    if (!pendingMessages.isEmpty() && dispatching.compareAndSet(false, true)) {
+      try {
+        dispatcher.execute(this::dispatch);
+      } catch (RejectedExecutionException e) {
+        // The listener is being stopped, the pending messages will not be dispatched
+        dispatching.set(false);
+        close();
+      }
+    }
+  }
+
+  private void dispatch() {
+    final byte[] message = pendingMessages.poll();
+    if (message == null) {
+      dispatched();
+      return;
+    }
+
+    if (pendingCount.decrementAndGet() <= MAX_PENDING_MESSAGES / 2 && readSuspended.compareAndSet(true, false)) {
+      loop.execute(this::resumeReading);
+    }
+
+    awaitingResponse.incrementAndGet();
+    try {
+      handle(new ByteArrayInputStream(message), attributes);
+    } catch (RuntimeException e) {
+      LOGGER.error("An error occurred while dispatching a message received by the TCP Worker", e);
+      awaitingResponse.decrementAndGet();
+      dispatched();
+    }
+  }
+
+  /**
+   * Called once the flow is done with the dispatched message, to dispatch the next one.
+   */
+  private void dispatched() {
+    dispatching.set(false);
+
+    // Messages enqueued while the previous one was being processed
+    if (!pendingMessages.isEmpty()) {
+      scheduleDispatch();
+    } else if (endOfInput) {
+      closeIfDone();
+    }
+  }
+
+  @Override
+  public void onComplete(Object result) {
+    try {
+      ByteArrayOutputStream response = new ByteArrayOutputStream();
+      protocol.write(response, result, encoding);
+      write(ByteBuffer.wrap(response.toByteArray()));
+    } catch (IOException e) {
+      callback.onSourceException(new IOException(format("An error occurred while sending TCP response to address '%s'",
+                                                        attributes.getHostAddress()),
+                                                 e));
+      close();
+    } finally {
+      awaitingResponse.decrementAndGet();
+    }
+
+    dispatched();
+  }
+
+  @Override
+  public void onError(Throwable e) {
+    LOGGER.error("TCP worker will not answer back due an exception was received", e);
+
+    // stop reading from the connection, which is closed once the pending responses were sent
+    awaitingResponse.decrementAndGet();
+    endOfInput = true;
+    loop.execute(() -> {
+      if (key != null && key.isValid()) {
+        key.interestOps(key.interestOps() & ~OP_READ);
+      }
+    });
+    dispatched();
+  }
+
+  /**
+   * Writes the response if no other is waiting to be written, and queues it otherwise. The loop is asked to write it once the
+   * connection is ready if it could not take it all.
+   */
+  private void write(ByteBuffer response) throws IOException {
+    synchronized (pendingWrites) {
+      if (!pendingWrites.isEmpty()) {
+        pendingWrites.add(response);
+        return;
+      }
+
+      channel.write(response);
+      if (!response.hasRemaining()) {
+        return;
+      }
+      pendingWrites.add(response);
+    }
+
+    loop.execute(() -> {
+      synchronized (pendingWrites) {
+        if (!pendingWrites.isEmpty() && key.isValid()) {
+          key.interestOps(key.interestOps() | OP_WRITE);
+        }
+      }
+    });
+  }
+
+  private void writePending() throws IOException {
+    synchronized (pendingWrites) {
+      ByteBuffer response;
+      while ((response = pendingWrites.peek()) != null) {
+        channel.write(response);
+        if (response.hasRemaining()) {
+          return;
+        }
+        pendingWrites.poll();
+      }
+      key.interestOps(key.interestOps() & ~OP_WRITE);
+    }
+
+    if (endOfInput) {
+      closeIfDone();
+    }
+  }
+
+  private void closeIfDone() {
+    if (pendingCount.get() > 0 || dispatching.get() || awaitingResponse.get() > 0) {
+      return;
+    }
+
+    synchronized (pendingWrites) {
+      if (!pendingWrites.isEmpty()) {
+        return;
+      }
+    }
+    close();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        if (LOGGER.isWarnEnabled()) {
+          LOGGER.warn("TCP Worker socket close failed", e);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void dispose() {
+    close();
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static org.mule.extension.socket.api.connection.tcp.protocol.LengthProtocol.LENGTH_EXCEEDED;
+import org.mule.extension.socket.api.connection.tcp.protocol.LengthProtocol;
+import org.mule.extension.socket.api.exceptions.LengthExceededException;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * {@link TcpFrameDecoder} for the {@link LengthProtocol}, in which each message is preceded by an int with its length.
+ * <p>
+ * Messages of length zero are not added to the decoded frames.
+ *
+ * @since 4.0
+ */
+public final class LengthFrameDecoder implements TcpFrameDecoder {
+
+  private final int maxMessageLength;
+  private final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+  private byte[] message;
+  private int messagePosition;
+
+  /**
+   * Creates a decoder which does not limit the length of the messages
+   */
+  public LengthFrameDecoder() {
+    this(-1);
+  }
+
+  /**
+   * @param maxMessageLength the maximum length of a message, or a non positive value for no limit
+   */
+  public LengthFrameDecoder(int maxMessageLength) {
+    this.maxMessageLength = maxMessageLength;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void decode(ByteBuffer input, List<byte[]> frames) throws IOException {
+    byte[] frame;
+    while ((frame = next(input)) != null) {
+      if (frame.length > 0) {
+        frames.add(frame);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void flush(boolean endOfStream, List<byte[]> frames) throws IOException {
+    if (endOfStream && isPartial()) {
+      throw new EOFException("Connection was closed in the middle of a message");
+    }
+  }
+
+  /**
+   * Consumes the bytes of {@code input} up to the end of the next message.
+   *
+   * @param input bytes received from the connection
+   * @return the next message, or {@code null} if {@code input} was exhausted before completing it
+   * @throws LengthExceededException if the length of the message exceeds the maximum
+   */
+  byte[] next(ByteBuffer input) throws LengthExceededException {
+    if (message == null) {
+      while (header.hasRemaining() && input.hasRemaining()) {
+        header.put(input.get());
+      }
+
+      if (header.hasRemaining()) {
+        return null;
+      }
+
+      int length = header.getInt(0);
+      header.clear();
+      if (length < 0 || (maxMessageLength > 0 && length > maxMessageLength)) {
+        throw new LengthExceededException(format(LENGTH_EXCEEDED, length, maxMessageLength));
+      }
+
+      message = new byte[length];
+      messagePosition = 0;
+    }
+
+    int count = min(input.remaining(), message.length - messagePosition);
+    input.get(message, messagePosition, count);
+    messagePosition += count;
+
+    if (messagePosition < message.length) {
+      return null;
+    }
+
+    byte[] frame = message;
+    message = null;
+    return frame;
+  }
+
+  /**
+   * @return whether part of a message was consumed
+   */
+  boolean isPartial() {
+    return message != null || header.position() > 0;
+  }
+}
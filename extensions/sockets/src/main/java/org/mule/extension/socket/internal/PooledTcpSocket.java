@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal;
+
+import org.mule.extension.socket.api.ImmutableSocketAttributes;
+import org.mule.extension.socket.api.SocketAttributes;
+import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A connected {@link Socket} kept open by a {@link TcpSocketPool}, through which several request/response exchanges can be
+ * pipelined.
+ * <p>
+ * Requests are written one at a time, and the {@link Exchange} of each one is queued in the order it was written. As the
+ * protocol gives no way of telling which request a response belongs to, responses are matched to the queued exchanges in the
+ * order they are received, so the remote host must answer the requests in order and exactly once each. Whoever waits for a
+ * response reads the responses to the exchanges written before its own, completing them on the way.
+ * <p>
+ * Once an exchange fails, the socket is closed and all the exchanges waiting for a response fail as well.
+ *
+ * @since 4.0
+ */
+public final class PooledTcpSocket {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PooledTcpSocket.class);
+
+  private final Socket socket;
+  private final TcpProtocol protocol;
+  private final OutputStream outputStream;
+  private final InputStream inputStream;
+  private final SocketAttributes attributes;
+  private final Queue<Exchange> exchanges = new ConcurrentLinkedQueue<>();
+  private final Object writeLock = new Object();
+  private final Object readLock = new Object();
+  private volatile IOException failure;
+
+  /**
+   * Number of exchanges in progress, guarded by the {@link TcpSocketPool} which owns this socket
+   */
+  int inFlight = 0;
+
+  PooledTcpSocket(Socket socket, TcpProtocol protocol) throws IOException {
+    this.socket = socket;
+    this.protocol = protocol;
+    this.outputStream = new BufferedOutputStream(socket.getOutputStream());
+    // the same stream is used for all the responses, so the bytes it buffered past a response are not lost
+    this.inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    this.attributes = new ImmutableSocketAttributes(socket);
+  }
+
+  /**
+   * Writes a request
+   *
+   * @param data the request to write
+   * @param outputEncoding the encoding used to write it if it is a {@link String}
+   * @param hasResponse whether the remote host answers the request
+   * @return the {@link Exchange} with which the response is {@link #read(Exchange) read}, or {@code null} if there is none
+   * @throws IOException if the request could not be written or a previous exchange failed
+   */
+  public Exchange write(Object data, String outputEncoding, boolean hasResponse) throws IOException {
+    synchronized (writeLock) {
+      checkNotFailed();
+      try {
+        protocol.write(outputStream, data, outputEncoding);
+        outputStream.flush();
+      } catch (IOException e) {
+        fail(e);
+        throw e;
+      }
+
+      if (!hasResponse) {
+        return null;
+      }
+
+      Exchange exchange = new Exchange();
+      exchanges.add(exchange);
+      return exchange;
+    }
+  }
+
+  /**
+   * Blocks until the response to the given {@link Exchange} is read
+   *
+   * @param exchange an {@link Exchange} returned by {@link #write(Object, String, boolean)}
+   * @return the response
+   * @throws IOException if the response, or the response to any exchange written before it, could not be read
+   */
+  public InputStream read(Exchange exchange) throws IOException {
+    synchronized (readLock) {
+      while (!exchange.done) {
+        // the exchange is queued until it is done, so there is always one to poll
+        Exchange next = exchanges.poll();
+        try {
+          next.response = protocol.read(inputStream);
+        } catch (IOException e) {
+          next.failure = e;
+          fail(e);
+        }
+        next.done = true;
+      }
+
+      if (exchange.failure != null) {
+        throw new IOException("Could not read the response from the pooled TCP socket", exchange.failure);
+      }
+      return exchange.response;
+    }
+  }
+
+  /**
+   * @return the {@link SocketAttributes} of the socket
+   */
+  public SocketAttributes getAttributes() {
+    return attributes;
+  }
+
+  /**
+   * @return whether an exchange failed, leaving the socket unusable
+   */
+  boolean isFailed() {
+    return failure != null || socket.isClosed();
+  }
+
+  /**
+   * Closes the socket. Exchanges waiting for a response will fail.
+   */
+  void close() {
+    try {
+      socket.close();
+    } catch (IOException e) {
+      LOGGER.warn("Pooled TCP socket close failed", e);
+    }
+  }
+
+  private void checkNotFailed() throws IOException {
+    if (failure != null) {
+      throw new IOException("A previous exchange through the pooled TCP socket failed", failure);
+    }
+  }
+
+  /**
+   * Closes the socket and fails all the exchanges waiting for a response. The socket is closed first, so a read in progress
+   * fails and releases the read lock.
+   */
+  private void fail(IOException e) {
+    failure = e;
+    close();
+
+    synchronized (readLock) {
+      Exchange exchange;
+      while ((exchange = exchanges.poll()) != null) {
+        exchange.failure = e;
+        exchange.done = true;
+      }
+    }
+  }
+
+  /**
+   * A request written to a {@link PooledTcpSocket} awaiting its response. Its state is guarded by the read lock of the socket.
+   */
+  public static final class Exchange {
+
+    private boolean done = false;
+    private InputStream response;
+    private IOException failure;
+
+    private Exchange() {}
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal;
+
+import static org.mule.extension.socket.api.connection.tcp.protocol.SafeProtocol.COOKIE;
+import static org.mule.extension.socket.api.connection.tcp.protocol.SafeProtocol.INCONSISTENT_PROTOCOL;
+import org.mule.extension.socket.api.connection.tcp.protocol.SafeProtocol;
+import org.mule.extension.socket.api.exceptions.LengthExceededException;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * {@link TcpFrameDecoder} for the {@link SafeProtocol}, in which each length prefixed message is preceded by a length prefixed
+ * cookie.
+ *
+ * @since 4.0
+ */
+public final class SafeFrameDecoder implements TcpFrameDecoder {
+
+  private final LengthFrameDecoder cookieDecoder = new LengthFrameDecoder(COOKIE.length());
+  private final LengthFrameDecoder messageDecoder = new LengthFrameDecoder();
+  private boolean cookieReceived = false;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void decode(ByteBuffer input, List<byte[]> frames) throws IOException {
+    for (;;) {
+      if (!cookieReceived) {
+        byte[] cookie;
+        try {
+          cookie = cookieDecoder.next(input);
+        } catch (LengthExceededException e) {
+          throw new IOException(INCONSISTENT_PROTOCOL, e);
+        }
+
+        if (cookie == null) {
+          return;
+        }
+
+        if (!COOKIE.equals(new String(cookie))) {
+          throw new IOException(INCONSISTENT_PROTOCOL);
+        }
+        cookieReceived = true;
+      }
+
+      byte[] message = messageDecoder.next(input);
+      if (message == null) {
+        return;
+      }
+
+      if (message.length == 0) {
+        throw new IOException(INCONSISTENT_PROTOCOL);
+      }
+      frames.add(message);
+      cookieReceived = false;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void flush(boolean endOfStream, List<byte[]> frames) throws IOException {
+    if (endOfStream && (cookieReceived || cookieDecoder.isPartial() || messageDecoder.isPartial())) {
+      throw new IOException(INCONSISTENT_PROTOCOL);
+    }
+  }
+}
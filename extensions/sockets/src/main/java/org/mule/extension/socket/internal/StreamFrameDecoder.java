@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal;
+
+import org.mule.extension.socket.api.connection.tcp.protocol.DirectProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.EOFProtocol;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * {@link TcpFrameDecoder} for protocols without framing. A message is made of all the bytes received until no more bytes are
+ * momentarily available, as in the {@link DirectProtocol}, or until the remote peer closes the connection, as in the
+ * {@link EOFProtocol}.
+ *
+ * @since 4.0
+ */
+public final class StreamFrameDecoder implements TcpFrameDecoder {
+
+  private final boolean untilEndOfStream;
+  private final ByteArrayOutputStream message = new ByteArrayOutputStream();
+
+  /**
+   * @param untilEndOfStream whether messages end when the remote peer closes the connection instead of on each pause
+   */
+  public StreamFrameDecoder(boolean untilEndOfStream) {
+    this.untilEndOfStream = untilEndOfStream;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void decode(ByteBuffer input, List<byte[]> frames) {
+    if (input.hasArray()) {
+      message.write(input.array(), input.arrayOffset() + input.position(), input.remaining());
+      input.position(input.limit());
+    } else {
+      byte[] bytes = new byte[input.remaining()];
+      input.get(bytes);
+      message.write(bytes, 0, bytes.length);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void flush(boolean endOfStream, List<byte[]> frames) {
+    if ((endOfStream || !untilEndOfStream) && message.size() > 0) {
+      frames.add(message.toByteArray());
+      message.reset();
+    }
+  }
+}
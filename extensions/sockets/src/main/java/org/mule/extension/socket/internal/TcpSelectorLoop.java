@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A thread which waits on a {@link Selector} for any of the channels registered with it to be ready, and then lets the
+ * {@link Handler} of each ready channel do its I/O without blocking.
+ * <p>
+ * Handlers are always invoked from the loop thread, which is also where tasks submitted with {@link #execute(Runnable)} run, so
+ * the {@link SelectionKey}s of the channels are only modified from it. When the loop is stopped, the handlers of all the
+ * registered channels are closed.
+ *
+ * @since 4.0
+ */
+public final class TcpSelectorLoop {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TcpSelectorLoop.class);
+
+  /**
+   * Size of the buffer in which the bytes received by the channels are read. It is shared by all the channels of the loop.
+   */
+  public static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  private final Selector selector;
+  private final Thread thread;
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+  private volatile boolean stopped = false;
+
+  /**
+   * Opens the selector and starts the loop thread
+   *
+   * @param name the name of the loop thread
+   * @throws IOException if the selector could not be opened
+   */
+  public TcpSelectorLoop(String name) throws IOException {
+    selector = Selector.open();
+    thread = new Thread(this::run, name);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Registers a channel in non blocking mode with this loop. The registration happens asynchronously on the loop thread.
+   *
+   * @param channel the channel to register
+   * @param interestOps the operations for which the channel is initially selected
+   * @param handler the {@link Handler} of the channel
+   */
+  public void register(SelectableChannel channel, int interestOps, Handler handler) {
+    execute(() -> {
+      try {
+        channel.configureBlocking(false);
+        handler.onRegistered(channel.register(selector, interestOps, handler));
+      } catch (IOException e) {
+        LOGGER.warn("Could not register TCP connection with the selector", e);
+        handler.close();
+      }
+    });
+  }
+
+  /**
+   * Runs a task on the loop thread
+   *
+   * @param task the task to run
+   */
+  public void execute(Runnable task) {
+    tasks.add(task);
+    selector.wakeup();
+  }
+
+  /**
+   * Stops the loop, closing all the registered channels
+   */
+  public void stop() {
+    stopped = true;
+    selector.wakeup();
+  }
+
+  private void run() {
+    try {
+      while (!stopped) {
+        selector.select();
+        runTasks();
+
+        Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+        while (selectedKeys.hasNext()) {
+          SelectionKey key = selectedKeys.next();
+          selectedKeys.remove();
+          handle(key);
+        }
+      }
+    } catch (IOException | ClosedSelectorException e) {
+      if (!stopped) {
+        LOGGER.error("TCP selector loop failed, its connections will be closed", e);
+      }
+    } finally {
+      close();
+    }
+  }
+
+  private void runTasks() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        LOGGER.error("An error occurred running a task on the TCP selector loop", e);
+      }
+    }
+  }
+
+  private void handle(SelectionKey key) {
+    if (!key.isValid()) {
+      return;
+    }
+
+    Handler handler = (Handler) key.attachment();
+    try {
+      handler.onSelected(key, readBuffer);
+    } catch (RuntimeException e) {
+      LOGGER.error("An error occurred handling a TCP connection, it will be closed", e);
+      handler.close();
+    }
+  }
+
+  private void close() {
+    try {
+      for (SelectionKey key : selector.keys()) {
+        ((Handler) key.attachment()).close();
+      }
+      selector.close();
+    } catch (IOException | ClosedSelectorException e) {
+      LOGGER.warn("An error occurred closing the TCP selector", e);
+    }
+  }
+
+  /**
+   * Does the I/O of a channel registered with a {@link TcpSelectorLoop}
+   */
+  public interface Handler {
+
+    /**
+     * Invoked on the loop thread once the channel is registered
+     *
+     * @param key the {@link SelectionKey} of the channel
+     */
+    void onRegistered(SelectionKey key);
+
+    /**
+     * Invoked on the loop thread each time the channel is ready for any of the operations it is interested in
+     *
+     * @param key the {@link SelectionKey} of the channel
+     * @param readBuffer a buffer in which bytes can be read. It is reused once this method returns
+     */
+    void onSelected(SelectionKey key, ByteBuffer readBuffer);
+
+    /**
+     * Closes the channel
+     */
+    void close();
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal;
+
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.runtime.api.connection.ConnectionException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A pool of {@link PooledTcpSocket}s connected to the same remote host, which are kept open between exchanges so they do not
+ * pay for a new connection each time.
+ * <p>
+ * A socket is borrowed for each exchange and returned once the exchange is done. An idle socket is preferred when borrowing,
+ * and a new one is opened while there are fewer than {@code maxSockets}. Past that point, the socket with fewer exchanges in
+ * progress is shared as long as it has less than {@code maxExchangesPerSocket}, so exchanges are pipelined over it. When that
+ * limit is {@code 1} each socket is used by one exchange at a time, and borrowers wait for one to be returned instead.
+ * <p>
+ * Sockets through which an exchange failed are closed and discarded once returned.
+ *
+ * @since 4.0
+ */
+public final class TcpSocketPool {
+
+  private final TcpProtocol protocol;
+  private final int maxSockets;
+  private final int maxExchangesPerSocket;
+  private final long borrowTimeout;
+
+  private final List<PooledTcpSocket> sockets = new ArrayList<>();
+  private int opening = 0;
+  private boolean closed = false;
+
+  /**
+   * @param protocol the {@link TcpProtocol} used to write requests and read responses
+   * @param maxSockets the maximum number of sockets kept open
+   * @param maxExchangesPerSocket the maximum number of exchanges in progress through each socket
+   * @param borrowTimeout milliseconds to wait for a socket to be available when borrowing one
+   */
+  public TcpSocketPool(TcpProtocol protocol, int maxSockets, int maxExchangesPerSocket, long borrowTimeout) {
+    this.protocol = protocol;
+    this.maxSockets = maxSockets;
+    this.maxExchangesPerSocket = maxExchangesPerSocket;
+    this.borrowTimeout = borrowTimeout;
+  }
+
+  /**
+   * Borrows a socket, which must be {@link #release(PooledTcpSocket) released} once the exchange is done
+   *
+   * @param opener the {@link SocketOpener} which connects a new socket if one has to be opened
+   * @return a {@link PooledTcpSocket} with room for one more exchange
+   * @throws ConnectionException if a new socket could not be connected
+   * @throws IOException if the pool was closed or no socket became available within the timeout
+   */
+  public PooledTcpSocket borrow(SocketOpener opener) throws ConnectionException, IOException {
+    long deadline = currentTimeMillis() + borrowTimeout;
+
+    synchronized (this) {
+      for (;;) {
+        if (closed) {
+          throw new IOException("TCP socket pool was closed");
+        }
+
+        PooledTcpSocket socket = leastBusySocket();
+        if (socket != null && (socket.inFlight == 0 || sockets.size() + opening >= maxSockets)) {
+          socket.inFlight++;
+          return socket;
+        }
+
+        if (sockets.size() + opening < maxSockets) {
+          ++opening;
+          break;
+        }
+
+        long remaining = deadline - currentTimeMillis();
+        if (remaining <= 0) {
+          throw new IOException(format("No pooled TCP socket became available within %d milliseconds", borrowTimeout));
+        }
+        try {
+          wait(remaining);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while waiting for a pooled TCP socket");
+        }
+      }
+    }
+
+    return open(opener);
+  }
+
+  /**
+   * Returns a borrowed socket to the pool, closing it if an exchange through it failed
+   *
+   * @param socket a {@link PooledTcpSocket} obtained from {@link #borrow(SocketOpener)}
+   */
+  public synchronized void release(PooledTcpSocket socket) {
+    socket.inFlight--;
+    if (socket.isFailed() && sockets.remove(socket)) {
+      socket.close();
+    }
+    notifyAll();
+  }
+
+  /**
+   * Closes all the sockets of the pool. Exchanges in progress will fail and no more sockets can be borrowed.
+   */
+  public synchronized void close() {
+    closed = true;
+    sockets.forEach(PooledTcpSocket::close);
+    sockets.clear();
+    notifyAll();
+  }
+
+  /**
+   * @return whether the pool was closed
+   */
+  public synchronized boolean isClosed() {
+    return closed;
+  }
+
+  private PooledTcpSocket leastBusySocket() {
+    PooledTcpSocket leastBusy = null;
+    for (Iterator<PooledTcpSocket> iterator = sockets.iterator(); iterator.hasNext();) {
+      PooledTcpSocket socket = iterator.next();
+      if (socket.isFailed()) {
+        if (socket.inFlight == 0) {
+          iterator.remove();
+          socket.close();
+        }
+      } else if (socket.inFlight < maxExchangesPerSocket && (leastBusy == null || socket.inFlight < leastBusy.inFlight)) {
+        leastBusy = socket;
+      }
+    }
+    return leastBusy;
+  }
+
+  private PooledTcpSocket open(SocketOpener opener) throws ConnectionException, IOException {
+    PooledTcpSocket socket;
+    try {
+      socket = connect(opener);
+    } catch (ConnectionException | IOException | RuntimeException e) {
+      openingDone();
+      throw e;
+    }
+
+    synchronized (this) {
+      openingDone();
+      if (!closed) {
+        socket.inFlight++;
+        sockets.add(socket);
+        return socket;
+      }
+    }
+
+    socket.close();
+    throw new IOException("TCP socket pool was closed");
+  }
+
+  private PooledTcpSocket connect(SocketOpener opener) throws ConnectionException, IOException {
+    Socket socket = opener.open();
+    try {
+      return new PooledTcpSocket(socket, protocol);
+    } catch (IOException e) {
+      socket.close();
+      throw e;
+    }
+  }
+
+  private synchronized void openingDone() {
+    --opening;
+    notifyAll();
+  }
+
+  /**
+   * Connects the new sockets of a {@link TcpSocketPool}
+   */
+  @FunctionalInterface
+  public interface SocketOpener {
+
+    /**
+     * @return a new connected {@link Socket}
+     * @throws ConnectionException if the socket could not be connected
+     */
+    Socket open() throws ConnectionException;
+  }
+}
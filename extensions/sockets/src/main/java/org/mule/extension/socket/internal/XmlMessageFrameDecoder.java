@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal;
+
+import static java.lang.Math.max;
+import static java.lang.System.arraycopy;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.copyOfRange;
+import org.mule.extension.socket.api.connection.tcp.protocol.XmlMessageEOFProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.XmlMessageProtocol;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * {@link TcpFrameDecoder} for the {@link XmlMessageProtocol}, in which each message is an XML document starting with an XML
+ * declaration.
+ * <p>
+ * A message ends where the declaration of the next document starts, or when no more bytes are momentarily available. For the
+ * {@link XmlMessageEOFProtocol}, the last message ends when the remote peer closes the connection instead. The declaration is
+ * looked for in the received bytes, so the search resumes where the previous one stopped instead of decoding the whole message
+ * again each time more bytes arrive.
+ *
+ * @since 4.0
+ */
+public final class XmlMessageFrameDecoder implements TcpFrameDecoder {
+
+  private static final byte[] XML_PATTERN = "<?xml".getBytes(US_ASCII);
+  private static final int INITIAL_BUFFER_SIZE = 4096;
+
+  private final boolean untilEndOfStream;
+  private byte[] message = new byte[INITIAL_BUFFER_SIZE];
+  private int length = 0;
+  private int searchFrom = 1;
+
+  /**
+   * @param untilEndOfStream whether the last message ends when the remote peer closes the connection instead of on each pause
+   */
+  public XmlMessageFrameDecoder(boolean untilEndOfStream) {
+    this.untilEndOfStream = untilEndOfStream;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void decode(ByteBuffer input, List<byte[]> frames) {
+    append(input);
+
+    // the pattern is looked for from the 2nd byte on, as the current message starts with it
+    int start = 0;
+    int index;
+    while ((index = indexOfPattern(max(start + 1, searchFrom))) >= 0) {
+      frames.add(copyOfRange(message, start, index));
+      start = index;
+    }
+
+    if (start > 0) {
+      length -= start;
+      arraycopy(message, start, message, 0, length);
+    }
+    searchFrom = max(1, length - XML_PATTERN.length + 1);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void flush(boolean endOfStream, List<byte[]> frames) {
+    if ((endOfStream || !untilEndOfStream) && length > 0) {
+      frames.add(copyOf(message, length));
+      length = 0;
+      searchFrom = 1;
+    }
+  }
+
+  private void append(ByteBuffer input) {
+    int count = input.remaining();
+    if (length + count > message.length) {
+      message = copyOf(message, max(message.length * 2, length + count));
+    }
+    input.get(message, length, count);
+    length += count;
+  }
+
+  private int indexOfPattern(int from) {
+    int last = length - XML_PATTERN.length;
+    for (int i = from; i <= last; ++i) {
+      int j = 0;
+      while (j < XML_PATTERN.length && message[i + j] == XML_PATTERN[j]) {
+        ++j;
+      }
+
+      if (j == XML_PATTERN.length) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
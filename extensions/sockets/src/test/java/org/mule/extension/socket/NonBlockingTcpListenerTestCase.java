@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.extension.socket.internal.SocketUtils.WORK;
+import org.mule.extension.socket.api.ConnectionSettings;
+import org.mule.extension.socket.api.SocketAttributes;
+import org.mule.extension.socket.api.connection.tcp.TcpListenerConnection;
+import org.mule.extension.socket.api.connection.tcp.protocol.LengthProtocol;
+import org.mule.extension.socket.api.socket.tcp.TcpServerSocketProperties;
+import org.mule.extension.socket.api.worker.NonBlockingTcpWorker;
+import org.mule.extension.socket.api.worker.SocketWorker;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.source.SourceCallback;
+import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.DynamicPort;
+import org.mule.tck.size.SmallTest;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class NonBlockingTcpListenerTestCase extends AbstractMuleTestCase {
+
+  private static final int CLIENTS = 8;
+  private static final int MESSAGES_PER_CLIENT = NonBlockingTcpWorker.MAX_PENDING_MESSAGES * 4;
+  private static final int ASYNC_MESSAGES = 20;
+
+  @Rule
+  public DynamicPort dynamicPort = new DynamicPort("port");
+
+  @Mock
+  private SourceCallback<InputStream, SocketAttributes> sourceCallback;
+
+  private ExecutorService dispatcher;
+  private ExecutorService threads;
+  private ScheduledExecutorService completer;
+  private TcpListenerConnection listenerConnection;
+
+  @Before
+  public void before() throws Exception {
+    // echoes each message back through the worker which received it
+    when(sourceCallback.createContext()).thenAnswer(invocation -> {
+      SourceCallbackContext context = mock(SourceCallbackContext.class);
+      doAnswer(addVariable -> {
+        when(context.getVariable(WORK)).thenReturn(addVariable.getArguments()[1]);
+        return null;
+      }).when(context).addVariable(eq(WORK), any());
+      return context;
+    });
+    doAnswer(invocation -> {
+      Result<InputStream, SocketAttributes> result = (Result<InputStream, SocketAttributes>) invocation.getArguments()[0];
+      SocketWorker worker = ((SourceCallbackContext) invocation.getArguments()[1]).getVariable(WORK);
+      worker.onComplete(IOUtils.toByteArray(result.getOutput()));
+      return null;
+    }).when(sourceCallback).handle(any(), any());
+
+    dispatcher = newFixedThreadPool(4);
+    threads = newCachedThreadPool();
+    completer = newScheduledThreadPool(4);
+    listenerConnection = new TcpListenerConnection(new ConnectionSettings(dynamicPort.getNumber(), "localhost"),
+                                                   new LengthProtocol(), new TcpServerSocketProperties(), 2, () -> dispatcher);
+    listenerConnection.connect();
+
+    threads.execute(() -> {
+      try {
+        for (;;) {
+          SocketWorker worker = listenerConnection.listen(sourceCallback);
+          worker.setEncoding("UTF-8");
+          worker.onError(e -> {
+          });
+          worker.run();
+        }
+      } catch (Exception e) {
+        // listener was disconnected
+      }
+    });
+  }
+
+  @After
+  public void after() {
+    listenerConnection.disconnect();
+    threads.shutdownNow();
+    dispatcher.shutdownNow();
+    completer.shutdownNow();
+  }
+
+  @Test
+  public void pipelinedMessagesAreAnsweredInOrder() throws Exception {
+    List<Future<Boolean>> clients = new ArrayList<>();
+    for (int i = 0; i < CLIENTS; ++i) {
+      final int client = i;
+      clients.add(threads.submit(() -> sendAndReceive(client)));
+    }
+
+    for (Future<Boolean> client : clients) {
+      assertThat(client.get(10, SECONDS), is(true));
+    }
+  }
+
+  @Test
+  public void asynchronouslyCompletedMessagesAreAnsweredInOrder() throws Exception {
+    // completes each message on another thread, the earlier ones taking longer
+    doAnswer(invocation -> {
+      Result<InputStream, SocketAttributes> result = (Result<InputStream, SocketAttributes>) invocation.getArguments()[0];
+      SocketWorker worker = ((SourceCallbackContext) invocation.getArguments()[1]).getVariable(WORK);
+      byte[] message = IOUtils.toByteArray(result.getOutput());
+      int index = Integer.parseInt(new String(message, "UTF-8").split("-")[1]);
+      completer.schedule(() -> worker.onComplete(message), ASYNC_MESSAGES - index, MILLISECONDS);
+      return null;
+    }).when(sourceCallback).handle(any(), any());
+
+    try (Socket socket = new Socket("localhost", dynamicPort.getNumber())) {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      DataInputStream in = new DataInputStream(socket.getInputStream());
+
+      for (int i = 0; i < ASYNC_MESSAGES; ++i) {
+        writeMessage(out, "0-" + i);
+      }
+      out.flush();
+
+      for (int i = 0; i < ASYNC_MESSAGES; ++i) {
+        assertThat(readMessage(in), is("0-" + i));
+      }
+    }
+  }
+
+  @Test
+  public void connectionIsClosedOnceAnswered() throws Exception {
+    try (Socket socket = new Socket("localhost", dynamicPort.getNumber())) {
+      DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+      DataInputStream in = new DataInputStream(socket.getInputStream());
+
+      writeMessage(out, "last message");
+      socket.shutdownOutput();
+
+      assertThat(readMessage(in), is("last message"));
+      assertThat(in.read(), is(-1));
+    }
+  }
+
+  private boolean sendAndReceive(int client) throws Exception {
+    try (Socket socket = new Socket("localhost", dynamicPort.getNumber())) {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      DataInputStream in = new DataInputStream(socket.getInputStream());
+
+      for (int i = 0; i < MESSAGES_PER_CLIENT; ++i) {
+        writeMessage(out, client + "-" + i);
+      }
+      out.flush();
+
+      for (int i = 0; i < MESSAGES_PER_CLIENT; ++i) {
+        assertThat(readMessage(in), is(client + "-" + i));
+      }
+      return true;
+    }
+  }
+
+  private void writeMessage(DataOutputStream out, String message) throws Exception {
+    byte[] bytes = message.getBytes("UTF-8");
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private String readMessage(DataInputStream in) throws Exception {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, "UTF-8");
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import org.mule.extension.socket.api.ConnectionSettings;
+import org.mule.extension.socket.api.client.SocketClient;
+import org.mule.extension.socket.api.connection.tcp.TcpRequesterConnection;
+import org.mule.extension.socket.api.connection.tcp.protocol.DirectProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.EOFProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.LengthProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.StreamingProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.XmlMessageProtocol;
+import org.mule.extension.socket.api.provider.tcp.TcpRequesterProvider;
+import org.mule.extension.socket.api.socket.factory.TcpSocketFactory;
+import org.mule.extension.socket.api.socket.tcp.TcpClientSocketProperties;
+import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.extension.socket.internal.TcpSocketPool;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.DynamicPort;
+import org.mule.tck.size.SmallTest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+@SmallTest
+public class PooledTcpRequesterTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_SOCKETS = 2;
+  private static final int CLIENTS = 8;
+  private static final int MESSAGES_PER_CLIENT = 200;
+
+  @Rule
+  public DynamicPort dynamicPort = new DynamicPort("port");
+
+  private final AtomicInteger acceptedConnections = new AtomicInteger();
+  private ExecutorService threads;
+  private ServerSocket serverSocket;
+  private TcpSocketPool socketPool;
+
+  /**
+   * Number of messages the echo server answers through each connection before closing it
+   */
+  private volatile int messagesPerConnection = Integer.MAX_VALUE;
+
+  @Before
+  public void before() throws Exception {
+    threads = newCachedThreadPool();
+    serverSocket = new ServerSocket(dynamicPort.getNumber());
+    threads.execute(this::acceptConnections);
+  }
+
+  @After
+  public void after() throws Exception {
+    if (socketPool != null) {
+      socketPool.close();
+    }
+    serverSocket.close();
+    threads.shutdownNow();
+  }
+
+  @Test
+  public void socketsAreReused() throws Exception {
+    TcpRequesterConnection connection = createConnection(1);
+
+    for (int i = 0; i < MESSAGES_PER_CLIENT; ++i) {
+      assertThat(send(connection, "message-" + i), is("message-" + i));
+    }
+    assertThat(acceptedConnections.get(), is(1));
+  }
+
+  @Test
+  public void requestsWaitForPooledSocket() throws Exception {
+    assertConcurrentRequestsAreAnswered(createConnection(1));
+  }
+
+  @Test
+  public void pipelinedResponsesAreCorrelated() throws Exception {
+    assertConcurrentRequestsAreAnswered(createConnection(32));
+  }
+
+  @Test
+  public void responseIsReadAfterWrite() throws Exception {
+    TcpRequesterConnection connection = createConnection(1);
+
+    SocketClient client = connection.getClient();
+    client.write("first", "UTF-8");
+    assertThat(IOUtils.toString(client.read()), is("first"));
+    client.write("second", "UTF-8");
+    assertThat(IOUtils.toString(client.read()), is("second"));
+
+    // the socket was returned to the pool after each response, so it is reused
+    assertThat(send(connection, "third"), is("third"));
+    assertThat(acceptedConnections.get(), is(1));
+  }
+
+  @Test
+  public void socketIsReturnedWhenClosedWithoutReading() throws Exception {
+    TcpRequesterConnection connection = createConnection(1);
+
+    for (int i = 0; i < MAX_SOCKETS + 1; ++i) {
+      SocketClient client = connection.getClient();
+      client.write("unread-" + i, "UTF-8");
+      client.close();
+    }
+
+    // the pending responses are read on the way to this one
+    assertThat(send(connection, "read"), is("read"));
+  }
+
+  @Test
+  public void failedSocketIsDiscarded() throws Exception {
+    messagesPerConnection = 1;
+    TcpRequesterConnection connection = createConnection(1);
+
+    assertThat(send(connection, "first"), is("first"));
+    try {
+      send(connection, "second");
+      fail("The server closed the connection before answering");
+    } catch (IOException e) {
+      // the server closed the connection
+    }
+
+    messagesPerConnection = Integer.MAX_VALUE;
+    assertThat(send(connection, "third"), is("third"));
+  }
+
+  @Test
+  public void protocolsNotDelimitedByLengthAreRejected() throws Exception {
+    for (TcpProtocol protocol : new TcpProtocol[] {new StreamingProtocol(), new EOFProtocol(), new DirectProtocol(),
+        new XmlMessageProtocol()}) {
+      TcpRequesterProvider provider = new TcpRequesterProvider();
+      setField(provider, "pooledSockets", true);
+      setField(provider, "protocol", protocol);
+      try {
+        provider.initialise();
+        fail(protocol.getClass().getName() + " can not be used with pooled sockets");
+      } catch (InitialisationException e) {
+        assertThat(e.getMessage(), containsString("pooled TCP sockets"));
+      }
+    }
+  }
+
+  private void setField(Object target, String name, Object value) throws Exception {
+    Field field = target.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(target, value);
+  }
+
+  private void assertConcurrentRequestsAreAnswered(TcpRequesterConnection connection) throws Exception {
+    List<Future<Boolean>> clients = new ArrayList<>();
+    for (int i = 0; i < CLIENTS; ++i) {
+      final int client = i;
+      clients.add(threads.submit(() -> {
+        for (int j = 0; j < MESSAGES_PER_CLIENT; ++j) {
+          assertThat(send(connection, client + "-" + j), is(client + "-" + j));
+        }
+        return true;
+      }));
+    }
+
+    for (Future<Boolean> client : clients) {
+      assertThat(client.get(10, SECONDS), is(true));
+    }
+    assertThat(acceptedConnections.get(), lessThanOrEqualTo(MAX_SOCKETS));
+  }
+
+  private TcpRequesterConnection createConnection(int maxExchangesPerSocket) throws Exception {
+    LengthProtocol protocol = new LengthProtocol();
+    socketPool = new TcpSocketPool(protocol, MAX_SOCKETS, maxExchangesPerSocket, 5000);
+    TcpRequesterConnection connection =
+        new TcpRequesterConnection(new ConnectionSettings(dynamicPort.getNumber(), "localhost"), new ConnectionSettings(),
+                                   protocol, new TcpClientSocketProperties(), new TcpSocketFactory(), socketPool);
+    connection.connect();
+    return connection;
+  }
+
+  private String send(TcpRequesterConnection connection, String message) throws Exception {
+    SocketClient client = connection.getClient();
+    return IOUtils.toString(client.send(message, "UTF-8", true));
+  }
+
+  private void acceptConnections() {
+    try {
+      for (;;) {
+        Socket socket = serverSocket.accept();
+        acceptedConnections.incrementAndGet();
+        threads.execute(() -> echo(socket));
+      }
+    } catch (IOException e) {
+      // server socket was closed
+    }
+  }
+
+  private void echo(Socket socket) {
+    try (Socket closeable = socket) {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+      for (int i = 0; i < messagesPerConnection; ++i) {
+        byte[] message = new byte[in.readInt()];
+        in.readFully(message);
+        out.writeInt(message.length);
+        out.write(message);
+        if (in.available() == 0) {
+          out.flush();
+        }
+      }
+      out.flush();
+    } catch (EOFException e) {
+      // requester closed the connection
+    } catch (IOException e) {
+      // server socket was closed
+    }
+  }
+}
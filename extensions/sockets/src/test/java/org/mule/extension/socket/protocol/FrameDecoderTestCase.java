@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.protocol;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.extension.socket.api.connection.tcp.protocol.SafeProtocol.COOKIE;
+import org.mule.extension.socket.api.connection.tcp.protocol.CustomClassLoadingLengthProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.DirectProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.EOFProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.LengthProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.SafeProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.XmlMessageEOFProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.XmlMessageProtocol;
+import org.mule.extension.socket.api.exceptions.LengthExceededException;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+@SmallTest
+public class FrameDecoderTestCase extends AbstractMuleTestCase {
+
+  private static final String FIRST_DOCUMENT = "<?xml version=\"1.0\"?><data>hello</data>";
+  private static final String SECOND_DOCUMENT = "<?xml version=\"1.0\"?><data>goodbye</data>";
+
+  private final List<byte[]> frames = new ArrayList<>();
+
+  @Test
+  public void lengthMessagesSplitAcrossReads() throws Exception {
+    byte[] bytes = concat(lengthFrame("hello"), lengthFrame("goodbye"));
+    TcpFrameDecoder decoder = new LengthProtocol().createFrameDecoder();
+
+    // one byte at a time, so the length prefix is split as well
+    for (byte b : bytes) {
+      decoder.decode(ByteBuffer.wrap(new byte[] {b}), frames);
+    }
+    decoder.flush(true, frames);
+
+    assertThat(messages(), contains("hello", "goodbye"));
+  }
+
+  @Test
+  public void lengthMessagesInSingleRead() throws Exception {
+    TcpFrameDecoder decoder = new LengthProtocol().createFrameDecoder();
+
+    decoder.decode(ByteBuffer.wrap(concat(lengthFrame("hello"), lengthFrame(""), lengthFrame("goodbye"))), frames);
+
+    assertThat(messages(), contains("hello", "goodbye"));
+  }
+
+  @Test(expected = LengthExceededException.class)
+  public void lengthExceeded() throws Exception {
+    new LengthProtocol(4).createFrameDecoder().decode(ByteBuffer.wrap(lengthFrame("hello")), frames);
+  }
+
+  @Test(expected = IOException.class)
+  public void lengthEndOfStreamWithinMessage() throws Exception {
+    TcpFrameDecoder decoder = new LengthProtocol().createFrameDecoder();
+    byte[] frame = lengthFrame("hello");
+
+    decoder.decode(ByteBuffer.wrap(frame, 0, frame.length - 1), frames);
+    decoder.flush(true, frames);
+  }
+
+  @Test
+  public void safeMessages() throws Exception {
+    byte[] bytes = concat(lengthFrame(COOKIE), lengthFrame("hello"), lengthFrame(COOKIE), lengthFrame("goodbye"));
+    TcpFrameDecoder decoder = new SafeProtocol().createFrameDecoder();
+
+    decoder.decode(ByteBuffer.wrap(bytes, 0, 10), frames);
+    decoder.decode(ByteBuffer.wrap(bytes, 10, bytes.length - 10), frames);
+    decoder.flush(true, frames);
+
+    assertThat(messages(), contains("hello", "goodbye"));
+  }
+
+  @Test(expected = IOException.class)
+  public void safeMessageWithoutCookie() throws Exception {
+    new SafeProtocol().createFrameDecoder().decode(ByteBuffer.wrap(lengthFrame("hello")), frames);
+  }
+
+  @Test
+  public void directMessageEndsOnPause() throws Exception {
+    TcpFrameDecoder decoder = new DirectProtocol().createFrameDecoder();
+
+    decoder.decode(ByteBuffer.wrap("hel".getBytes()), frames);
+    decoder.decode(ByteBuffer.wrap("lo".getBytes()), frames);
+    assertThat(frames, empty());
+
+    decoder.flush(false, frames);
+    decoder.flush(false, frames);
+    assertThat(messages(), contains("hello"));
+  }
+
+  @Test
+  public void eofMessageEndsOnEndOfStream() throws Exception {
+    TcpFrameDecoder decoder = new EOFProtocol().createFrameDecoder();
+
+    decoder.decode(ByteBuffer.wrap("hel".getBytes()), frames);
+    decoder.flush(false, frames);
+    decoder.decode(ByteBuffer.wrap("lo".getBytes()), frames);
+    assertThat(frames, empty());
+
+    decoder.flush(true, frames);
+    assertThat(messages(), contains("hello"));
+  }
+
+  @Test
+  public void xmlMessagesSplitOnDeclaration() throws Exception {
+    TcpFrameDecoder decoder = new XmlMessageProtocol().createFrameDecoder();
+    String data = FIRST_DOCUMENT + SECOND_DOCUMENT;
+    // splits the declaration of the second document across reads
+    int split = FIRST_DOCUMENT.length() + 3;
+
+    decoder.decode(ByteBuffer.wrap(data.substring(0, split).getBytes()), frames);
+    decoder.decode(ByteBuffer.wrap(data.substring(split).getBytes()), frames);
+    assertThat(messages(), contains(FIRST_DOCUMENT));
+
+    decoder.flush(false, frames);
+    assertThat(messages(), contains(FIRST_DOCUMENT, SECOND_DOCUMENT));
+  }
+
+  @Test
+  public void xmlEofMessageEndsOnEndOfStream() throws Exception {
+    TcpFrameDecoder decoder = new XmlMessageEOFProtocol().createFrameDecoder();
+
+    decoder.decode(ByteBuffer.wrap((FIRST_DOCUMENT + SECOND_DOCUMENT + FIRST_DOCUMENT).getBytes()), frames);
+    decoder.flush(false, frames);
+    assertThat(messages(), contains(FIRST_DOCUMENT, SECOND_DOCUMENT));
+
+    decoder.flush(true, frames);
+    assertThat(messages(), contains(FIRST_DOCUMENT, SECOND_DOCUMENT, FIRST_DOCUMENT));
+  }
+
+  @Test
+  public void customClassLoadingProtocolIsNotDecoded() {
+    assertThat(new CustomClassLoadingLengthProtocol().supportsFrameDecoding(), is(false));
+    assertThat(new LengthProtocol().supportsFrameDecoding(), is(true));
+  }
+
+  private List<String> messages() {
+    List<String> messages = new ArrayList<>();
+    frames.forEach(frame -> messages.add(new String(frame)));
+    return messages;
+  }
+
+  private byte[] lengthFrame(String message) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(message.length());
+    out.write(message.getBytes());
+    return bytes.toByteArray();
+  }
+
+  private byte[] concat(byte[]... arrays) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    for (byte[] array : arrays) {
+      bytes.write(array);
+    }
+    return bytes.toByteArray();
+  }
+}
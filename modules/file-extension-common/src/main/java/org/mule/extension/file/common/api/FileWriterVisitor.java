@@ -14,6 +14,8 @@ import org.mule.runtime.core.util.IOUtils;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * A {@link FileContentVisitor} which writes the received content into an {@link #outputStream}
@@ -23,6 +25,7 @@ import java.io.OutputStreamWriter;
 public class FileWriterVisitor implements FileContentVisitor {
 
   private final OutputStream outputStream;
+  private final WritableByteChannel channel;
   private final MuleEvent event;
   private final String encoding;
 
@@ -34,7 +37,24 @@ public class FileWriterVisitor implements FileContentVisitor {
    * @param encoding the encoding to use when writing a content of type {@link String}
    */
   public FileWriterVisitor(OutputStream outputStream, MuleEvent event, String encoding) {
+    this(outputStream, null, event, encoding);
+  }
+
+  /**
+   * Creates a new instance which writes into a {@link WritableByteChannel}. An {@link InputStream} content which is also a
+   * {@link java.nio.channels.ReadableByteChannel} is transferred without being copied into a heap array
+   *
+   * @param channel the channel to write into
+   * @param event a {@link MuleEvent} to be used to power the {@link #visit(OutputHandler)} case
+   * @param encoding the encoding to use when writing a content of type {@link String}
+   */
+  public FileWriterVisitor(WritableByteChannel channel, MuleEvent event, String encoding) {
+    this(Channels.newOutputStream(channel), channel, event, encoding);
+  }
+
+  private FileWriterVisitor(OutputStream outputStream, WritableByteChannel channel, MuleEvent event, String encoding) {
     this.outputStream = outputStream;
+    this.channel = channel;
     this.event = event;
     this.encoding = encoding;
   }
@@ -64,6 +84,10 @@ public class FileWriterVisitor implements FileContentVisitor {
 
   @Override
   public void visit(InputStream content) throws Exception {
-    IOUtils.copy(content, outputStream);
+    if (channel != null) {
+      IOUtils.copyLarge(content, channel);
+    } else {
+      IOUtils.copy(content, outputStream);
+    }
   }
 }
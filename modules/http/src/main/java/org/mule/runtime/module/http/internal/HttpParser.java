@@ -242,6 +242,9 @@ public class HttpParser {
    * @return path with only spaces.
    */
   public static String normalizePathWithSpacesOrEncodedSpaces(String path) {
+    if (path.indexOf('+') < 0 && !path.contains(SPACE_ENTITY)) {
+      return path;
+    }
     return path.replaceAll(SPACE_ENTITY, WHITE_SPACE).replaceAll(PLUS_SIGN, WHITE_SPACE);
   }
 
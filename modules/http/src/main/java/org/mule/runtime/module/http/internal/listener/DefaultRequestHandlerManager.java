@@ -8,11 +8,14 @@ package org.mule.runtime.module.http.internal.listener;
 
 public class DefaultRequestHandlerManager implements RequestHandlerManager {
 
+  private final HttpListenerRegistry.ServerAddressRequestHandlerRegistry registry;
   private final HttpListenerRegistry.PathMap requestHandlerOwner;
   private final HttpListenerRegistry.RequestHandlerMatcherPair requestHandlerMatcherPair;
 
-  public DefaultRequestHandlerManager(HttpListenerRegistry.PathMap requestHandlerOwner,
+  public DefaultRequestHandlerManager(HttpListenerRegistry.ServerAddressRequestHandlerRegistry registry,
+                                      HttpListenerRegistry.PathMap requestHandlerOwner,
                                       HttpListenerRegistry.RequestHandlerMatcherPair requestHandlerMatcherPair) {
+    this.registry = registry;
     this.requestHandlerOwner = requestHandlerOwner;
     this.requestHandlerMatcherPair = requestHandlerMatcherPair;
   }
@@ -29,6 +32,6 @@ public class DefaultRequestHandlerManager implements RequestHandlerManager {
 
   @Override
   public void dispose() {
-    requestHandlerOwner.removeRequestHandlerMatcherPair(requestHandlerMatcherPair);
+    registry.removeRequestHandler(requestHandlerOwner, requestHandlerMatcherPair);
   }
 }
@@ -16,9 +16,6 @@ import org.mule.runtime.api.util.Preconditions;
 import org.mule.runtime.core.util.StringUtils;
 
 import com.google.common.base.Joiner;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -35,6 +32,7 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
 
   private static final String WILDCARD_CHARACTER = "*";
   private static final String SLASH = "/";
+  private static final char SLASH_CHARACTER = '/';
   private Logger logger = LoggerFactory.getLogger(getClass());
 
   private final ServerAddressMap<Server> serverAddressToServerMap = new ServerAddressMap<>();
@@ -75,17 +73,21 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
     private PathMap rootPathMap = new PathMap();
     private PathMap catchAllPathMap = new PathMap();
     private Set<String> paths = new HashSet<>();
-    private LoadingCache<String, Stack<PathMap>> pathMapSearchCache =
-        CacheBuilder.newBuilder().maximumSize(1000).build(new CacheLoader<String, Stack<PathMap>>() {
 
-          public Stack<PathMap> load(String path) {
-            return findPossibleRequestHandlers(path);
-          }
-        });
+    /**
+     * Immutable snapshot of the path maps used to look up the handler of each request. The path maps are only modified while
+     * holding the lock of this registry, and then compiled again into a new snapshot, so lookups never lock nor see a
+     * partially updated tree.
+     */
+    private volatile RoutingTrie routingTrie = new RoutingTrie(new RoutingNode(rootPathMap), new RoutingNode(catchAllPathMap));
+
+    /**
+     * Marks that some listener matched the path of a request but none of them accepted its method.
+     */
+    private final RequestHandlerMatcherPair noMatchingMethod = new RequestHandlerMatcherPair(null, null);
 
     public synchronized RequestHandlerManager addRequestHandler(final ListenerRequestMatcher requestMatcher,
                                                                 final RequestHandler requestHandler) {
-      pathMapSearchCache.invalidateAll();
       String requestMatcherPath = normalizePathWithSpacesOrEncodedSpaces(requestMatcher.getPath());
       Preconditions.checkArgument(requestMatcherPath.startsWith(SLASH) || requestMatcherPath.equals(WILDCARD_CHARACTER),
                                   "path parameter must start with /");
@@ -138,12 +140,24 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
           requestHandlerOwner = pathMap;
         }
       }
-      return new DefaultRequestHandlerManager(requestHandlerOwner, addedRequestHandlerMatcherPair);
+      compileRoutingTrie();
+      return new DefaultRequestHandlerManager(this, requestHandlerOwner, addedRequestHandlerMatcherPair);
+    }
+
+    public synchronized void removeRequestHandler(final PathMap requestHandlerOwner,
+                                                  final RequestHandlerMatcherPair requestHandlerMatcherPair) {
+      if (requestHandlerOwner.removeRequestHandlerMatcherPair(requestHandlerMatcherPair)) {
+        compileRoutingTrie();
+      }
+    }
+
+    private void compileRoutingTrie() {
+      routingTrie = new RoutingTrie(new RoutingNode(rootPathMap), new RoutingNode(catchAllPathMap));
     }
 
     private void validateCollision(ListenerRequestMatcher newListenerRequestMatcher) {
       final String newListenerRequestMatcherPath = newListenerRequestMatcher.getPath();
-      final Stack<PathMap> possibleRequestHandlers = findPossibleRequestHandlersFromCache(newListenerRequestMatcherPath);
+      final Stack<PathMap> possibleRequestHandlers = findPossibleRequestHandlers(newListenerRequestMatcherPath);
       for (PathMap possibleRequestHandler : possibleRequestHandlers) {
         final List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = possibleRequestHandler.getRequestHandlerMatcherPairs();
         for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs) {
@@ -172,28 +186,25 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
     public RequestHandler findRequestHandler(final HttpRequest request) {
       final String path = normalizePathWithSpacesOrEncodedSpaces(request.getPath());
       Preconditions.checkArgument(path.startsWith(SLASH), "path parameter must start with /");
-      Stack<PathMap> foundPaths = findPossibleRequestHandlersFromCache(path);
+      final RoutingTrie currentRoutingTrie = routingTrie;
 
-      boolean methodNotAllowed = false;
-      RequestHandlerMatcherPair requestHandlerMatcherPair = null;
-      while (!foundPaths.empty()) {
-        final PathMap pathMap = foundPaths.pop();
-        List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = pathMap.getRequestHandlerMatcherPairs();
-        requestHandlerMatcherPair = findRequestHandlerMatcherPair(requestHandlerMatcherPairs, request);
-        if (requestHandlerMatcherPair != null) {
-          break;
-        }
-        if (!requestHandlerMatcherPairs.isEmpty()) {
-          // there were matching paths but no matching methods
-          methodNotAllowed = true;
-        }
+      RequestHandlerMatcherPair requestHandlerMatcherPair;
+      if (path.equals(SLASH)) {
+        requestHandlerMatcherPair = findRequestHandlerMatcherPair(currentRoutingTrie.rootNode, request, null);
+      } else {
+        final int pathEnd = path.endsWith(SLASH) ? path.length() - 1 : path.length();
+        requestHandlerMatcherPair = findRequestHandlerMatcherPair(currentRoutingTrie.rootNode, path, 1, pathEnd, request);
       }
-      if (requestHandlerMatcherPair == null) {
+      requestHandlerMatcherPair =
+          findRequestHandlerMatcherPair(currentRoutingTrie.catchAllNode, request, requestHandlerMatcherPair);
+
+      if (requestHandlerMatcherPair == null || requestHandlerMatcherPair == noMatchingMethod) {
         if (logger.isInfoEnabled()) {
           logger.info("No listener found for request: " + getMethodAndPath(request.getMethod(), request.getPath()));
           logger.info("Available listeners are: [{}]", Joiner.on(", ").join(this.paths));
         }
-        if (methodNotAllowed) {
+        if (requestHandlerMatcherPair == noMatchingMethod) {
+          // there were matching paths but no matching methods
           return NoMethodRequestHandler.getInstance();
         }
         return NoListenerRequestHandler.getInstance();
@@ -204,12 +215,64 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
       return requestHandlerMatcherPair.getRequestHandler();
     }
 
-    private String getMethodAndPath(String method, String path) {
-      return "(" + method + ")" + path;
+    /**
+     * Walks the routing trie from {@code currentNode} with the path segment that starts at {@code segmentStart}, without
+     * splitting the path.
+     * <p>
+     * The candidate nodes are checked from the most specific to the least specific one: the node of the whole path and its
+     * wildcard handlers first, and then the wildcard handlers of the parent nodes where the walk had to fall back to a uri
+     * parameter.
+     *
+     * @return the pair that accepts the request, {@link #noMatchingMethod} if there were handlers for the path but none accepted
+     *         the method of the request, or {@code null} if there were no handlers for the path.
+     */
+    private RequestHandlerMatcherPair findRequestHandlerMatcherPair(RoutingNode currentNode, String path, int segmentStart,
+                                                                    int pathEnd, HttpRequest request) {
+      int segmentEnd = path.indexOf(SLASH_CHARACTER, segmentStart);
+      final boolean lastSegment = segmentEnd < 0 || segmentEnd >= pathEnd;
+      if (lastSegment) {
+        segmentEnd = pathEnd;
+      }
+
+      RoutingNode node = currentNode.getChildNode(path, segmentStart, segmentEnd);
+      final boolean fallbackToUriParameter = node == null;
+      if (fallbackToUriParameter) {
+        node = currentNode.uriParameterNode;
+      }
+
+      RequestHandlerMatcherPair requestHandlerMatcherPair = null;
+      if (lastSegment) {
+        if (node != null) {
+          requestHandlerMatcherPair = findRequestHandlerMatcherPair(node, request, requestHandlerMatcherPair);
+          requestHandlerMatcherPair = findRequestHandlerMatcherPair(node.catchAllNode, request, requestHandlerMatcherPair);
+        } else {
+          requestHandlerMatcherPair = findRequestHandlerMatcherPair(currentNode.catchAllNode, request, requestHandlerMatcherPair);
+        }
+      } else if (node != null) {
+        requestHandlerMatcherPair = findRequestHandlerMatcherPair(node, path, segmentEnd + 1, pathEnd, request);
+      }
+      if (fallbackToUriParameter) {
+        requestHandlerMatcherPair = findRequestHandlerMatcherPair(currentNode.catchAllNode, request, requestHandlerMatcherPair);
+      }
+      return requestHandlerMatcherPair;
+    }
+
+    private RequestHandlerMatcherPair findRequestHandlerMatcherPair(RoutingNode node, HttpRequest request,
+                                                                    RequestHandlerMatcherPair previouslyFound) {
+      if (node == null || node.requestHandlerMatcherPairs.length == 0
+          || (previouslyFound != null && previouslyFound != noMatchingMethod)) {
+        return previouslyFound;
+      }
+      for (RequestHandlerMatcherPair requestHandlerMatcherPair : node.requestHandlerMatcherPairs) {
+        if (requestHandlerMatcherPair.getRequestMatcher().matches(request)) {
+          return requestHandlerMatcherPair;
+        }
+      }
+      return noMatchingMethod;
     }
 
-    private Stack<PathMap> findPossibleRequestHandlersFromCache(String path) {
-      return findPossibleRequestHandlers(path);
+    private String getMethodAndPath(String method, String path) {
+      return "(" + method + ")" + path;
     }
 
     private Stack<PathMap> findPossibleRequestHandlers(String path) {
@@ -251,16 +314,6 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
         foundPaths.push(catchAllPathMap);
       }
     }
-
-    private RequestHandlerMatcherPair findRequestHandlerMatcherPair(List<RequestHandlerMatcherPair> requestHandlerMatcherPairs,
-                                                                    HttpRequest request) {
-      for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs) {
-        if (requestHandlerMatcherPair.getRequestMatcher().matches(request)) {
-          return requestHandlerMatcherPair;
-        }
-      }
-      return null;
-    }
   }
 
   private boolean isUriParameter(String pathPart) {
@@ -375,11 +428,94 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
     return WILDCARD_CHARACTER.equals(path);
   }
 
+  private static final class RoutingTrie {
+
+    private final RoutingNode rootNode;
+    private final RoutingNode catchAllNode;
+
+    private RoutingTrie(RoutingNode rootNode, RoutingNode catchAllNode) {
+      this.rootNode = rootNode;
+      this.catchAllNode = catchAllNode;
+    }
+  }
+
+  /**
+   * Immutable copy of a {@link PathMap}. The child nodes are kept in an open addressing table keyed by the path segment, so a
+   * segment of the request path can be looked up by its bounds in the path, without creating a substring for it.
+   */
+  private static final class RoutingNode {
+
+    private final RequestHandlerMatcherPair[] requestHandlerMatcherPairs;
+    private final String[] childSegments;
+    private final RoutingNode[] childNodes;
+    private final RoutingNode catchAllNode;
+    private final RoutingNode uriParameterNode;
+
+    private RoutingNode(PathMap pathMap) {
+      requestHandlerMatcherPairs =
+          pathMap.requestHandlerMatcherPairs.toArray(new RequestHandlerMatcherPair[pathMap.requestHandlerMatcherPairs.size()]);
+      catchAllNode = pathMap.catchAllPathMap != null ? new RoutingNode(pathMap.catchAllPathMap) : null;
+      uriParameterNode = pathMap.catchAllCurrentPathMap != null ? new RoutingNode(pathMap.catchAllCurrentPathMap) : null;
+
+      // Keep the table at most half full, so a lookup always reaches an empty slot
+      int tableSize = pathMap.subPaths.isEmpty() ? 0 : Integer.highestOneBit(pathMap.subPaths.size()) << 2;
+      childSegments = new String[tableSize];
+      childNodes = new RoutingNode[tableSize];
+      for (Map.Entry<String, PathMap> subPath : pathMap.subPaths.entrySet()) {
+        int slot = spread(subPath.getKey().hashCode()) & (tableSize - 1);
+        while (childSegments[slot] != null) {
+          slot = (slot + 1) & (tableSize - 1);
+        }
+        childSegments[slot] = subPath.getKey();
+        childNodes[slot] = new RoutingNode(subPath.getValue());
+      }
+    }
+
+    /**
+     * Equivalent to {@link PathMap#getChildPathMap(String)} for the segment of {@code path} between {@code segmentStart}
+     * (inclusive) and {@code segmentEnd} (exclusive).
+     */
+    private RoutingNode getChildNode(String path, int segmentStart, int segmentEnd) {
+      final int segmentLength = segmentEnd - segmentStart;
+      if (isCatchAllOrUriParameter(path, segmentStart, segmentEnd)) {
+        return uriParameterNode;
+      }
+      if (childSegments.length == 0) {
+        return null;
+      }
+
+      // Same hash as String#hashCode of the segment
+      int hash = 0;
+      for (int i = segmentStart; i < segmentEnd; ++i) {
+        hash = 31 * hash + path.charAt(i);
+      }
+      final int mask = childSegments.length - 1;
+      for (int slot = spread(hash) & mask; childSegments[slot] != null; slot = (slot + 1) & mask) {
+        final String childSegment = childSegments[slot];
+        if (childSegment.length() == segmentLength && path.regionMatches(segmentStart, childSegment, 0, segmentLength)) {
+          return childNodes[slot];
+        }
+      }
+      return null;
+    }
+
+    private static boolean isCatchAllOrUriParameter(String path, int segmentStart, int segmentEnd) {
+      if (segmentEnd - segmentStart == 1) {
+        return path.charAt(segmentStart) == '*';
+      }
+      return segmentEnd - segmentStart > 1 && path.charAt(segmentStart) == '{' && path.charAt(segmentEnd - 1) == '}';
+    }
+
+    private static int spread(int hash) {
+      return hash ^ (hash >>> 16);
+    }
+  }
+
   public class RequestHandlerMatcherPair {
 
     private ListenerRequestMatcher requestMatcher;
     private RequestHandler requestHandler;
-    private boolean running = true;
+    private volatile boolean running = true;
 
     private RequestHandlerMatcherPair(ListenerRequestMatcher requestMatcher, RequestHandler requestHandler) {
       this.requestMatcher = requestMatcher;
@@ -6,42 +6,117 @@
  */
 package org.mule.runtime.module.http.internal.listener.grizzly;
 
+import static java.lang.Math.min;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 
+import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.ReadResult;
 import org.glassfish.grizzly.filterchain.FilterChainContext;
 import org.glassfish.grizzly.http.HttpContent;
-import org.glassfish.grizzly.utils.BufferInputStream;
+import org.glassfish.grizzly.memory.Buffers;
 
 /**
- * {@link java.io.InputStream} to be used when the HTTP request has Transfer-Encoding: chunked or the content is not fully
- * provided because the message is too large.
+ * {@link java.io.InputStream} over the content of an HTTP request.
  *
- * This {@link java.io.InputStream} implementation does a blocking read over the HTTP connection to read the next chunk when there
- * is no more data available.
+ * When the HTTP request has Transfer-Encoding: chunked or the content is not fully provided because the message is too large,
+ * this {@link java.io.InputStream} implementation does a blocking read over the HTTP connection to read the next chunk when there
+ * is no more data available. Only the chunk being read is referenced, so the memory used does not depend on the size of the
+ * content.
+ * <p>
+ * The content is read straight from the Grizzly {@link Buffer}s of each chunk. Since it is also a {@link ReadableByteChannel},
+ * consumers that work with {@link ByteBuffer}s may read it without copying it into a heap array first.
  */
-public class BlockingTransferInputStream extends InputStream {
+public class BlockingTransferInputStream extends InputStream implements ReadableByteChannel {
 
   private final FilterChainContext filterChainContext;
-  private InputStream chunk;
+  private Buffer chunk;
   private boolean lastPacketReceived;
+  private boolean closed;
 
-  public BlockingTransferInputStream(FilterChainContext filterChainContext, InputStream firstChunk) {
+  public BlockingTransferInputStream(FilterChainContext filterChainContext, HttpContent firstChunk) {
     this.filterChainContext = filterChainContext;
-    this.chunk = firstChunk;
+    this.chunk = firstChunk.getContent();
+    this.lastPacketReceived = firstChunk.isLast();
   }
 
   @Override
   public int read() throws IOException {
-    int value = chunk.read();
-    if (value == -1 && !lastPacketReceived) {
+    if (!readNextChunkIfConsumed()) {
+      return -1;
+    }
+    return chunk.get() & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (len == 0) {
+      return 0;
+    }
+    if (!readNextChunkIfConsumed()) {
+      return -1;
+    }
+    final int length = min(len, chunk.remaining());
+    chunk.get(b, off, length);
+    return length;
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    if (!dst.hasRemaining()) {
+      return 0;
+    }
+    if (!readNextChunkIfConsumed()) {
+      return -1;
+    }
+    final int length = min(dst.remaining(), chunk.remaining());
+    final int dstLimit = dst.limit();
+    dst.limit(dst.position() + length);
+    try {
+      chunk.get(dst);
+    } finally {
+      dst.limit(dstLimit);
+    }
+    return length;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return chunk.remaining();
+  }
+
+  @Override
+  public boolean isOpen() {
+    return !closed;
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    chunk = Buffers.EMPTY_BUFFER;
+  }
+
+  /**
+   * Reads the following chunks from the connection until there is some content available.
+   *
+   * @return {@code false} if the whole content was already consumed.
+   */
+  private boolean readNextChunkIfConsumed() throws IOException {
+    while (!chunk.hasRemaining()) {
+      if (lastPacketReceived || closed) {
+        return false;
+      }
       ReadResult readResult = filterChainContext.read();
       HttpContent httpContent = (HttpContent) readResult.getMessage();
       lastPacketReceived = httpContent.isLast();
-      chunk = new BufferInputStream(httpContent.getContent());
-      value = chunk.read();
+      chunk = httpContent.getContent();
     }
-    return value;
+    return true;
   }
 }
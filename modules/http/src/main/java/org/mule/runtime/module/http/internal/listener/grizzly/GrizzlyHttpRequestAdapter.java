@@ -28,7 +28,6 @@ import org.glassfish.grizzly.filterchain.FilterChainContext;
 import org.glassfish.grizzly.http.HttpContent;
 import org.glassfish.grizzly.http.HttpRequestPacket;
 import org.glassfish.grizzly.http.Protocol;
-import org.glassfish.grizzly.utils.BufferInputStream;
 
 public class GrizzlyHttpRequestAdapter extends BaseHttpMessage implements HttpRequest {
 
@@ -54,12 +53,7 @@ public class GrizzlyHttpRequestAdapter extends BaseHttpMessage implements HttpRe
       contentLengthAsInt = Integer.parseInt(contentLengthAsString);
     }
     this.contentLength = contentLengthAsInt;
-    InputStream contentInputStream = new BufferInputStream(httpContent.getContent());
-    boolean contentIsIncomplete = !httpContent.isLast();
-    if (contentIsIncomplete) {
-      contentInputStream = new BlockingTransferInputStream(filterChainContext, contentInputStream);
-    }
-    this.requestContent = contentInputStream;
+    this.requestContent = new BlockingTransferInputStream(filterChainContext, httpContent);
   }
 
   @Override
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.http.internal.listener.grizzly;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.valueOf;
 import static java.lang.System.getProperty;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -36,6 +37,7 @@ import org.glassfish.grizzly.filterchain.FilterChainBuilder;
 import org.glassfish.grizzly.filterchain.TransportFilter;
 import org.glassfish.grizzly.http.HttpServerFilter;
 import org.glassfish.grizzly.http.KeepAlive;
+import org.glassfish.grizzly.memory.ByteBufferManager;
 import org.glassfish.grizzly.nio.RoundRobinConnectionDistributor;
 import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
 import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
@@ -50,6 +52,19 @@ public class GrizzlyServerManager implements HttpServerManager {
 
   // Defines the maximum size in bytes accepted for the http request header section (request line + headers)
   public static final String MAXIMUM_HEADER_SECTION_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "http.headerSectionSize";
+
+  /**
+   * System property to read the requests into direct memory instead of heap arrays. The content of a request is then handed to
+   * the consumers of its body stream without copying it into the heap.
+   */
+  public static final String DIRECT_BUFFERS_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "http.listener.directBuffers";
+
+  /**
+   * System property to accept HTTP/2 connections, either started with prior knowledge or upgraded from HTTP/1.1 (h2c). Each
+   * stream of a connection is dispatched as a separate request. HTTP/1.1 connections are still served as before.
+   */
+  public static final String HTTP2_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "http.listener.http2";
+
   private static final int MAX_KEEP_ALIVE_REQUESTS = -1;
   private static final String IDLE_TIMEOUT_THREADS_PREFIX_NAME = ".HttpIdleConnectionCloser";
   private static final String LISTENER_WORKER_THREAD_NAME_SUFFIX = ".worker";
@@ -59,6 +74,7 @@ public class GrizzlyServerManager implements HttpServerManager {
   private final GrizzlyRequestDispatcherFilter requestHandlerFilter;
   private final HttpListenerRegistry httpListenerRegistry;
   private final WorkManagerSourceExecutorProvider executorProvider;
+  private final Http2ServerFilterFactory http2ServerFilterFactory;
   private Logger logger = LoggerFactory.getLogger(GrizzlyServerManager.class);
   private Map<ServerAddress, GrizzlyServer> servers = new ConcurrentHashMap<>();
   private ExecutorService idleTimeoutExecutorService;
@@ -77,12 +93,19 @@ public class GrizzlyServerManager implements HttpServerManager {
     serverFilterChainBuilder.add(new TransportFilter());
     serverFilterChainBuilder.add(sslFilterDelegate);
     serverFilterChainBuilder.add(httpServerFilterDelegate);
+    http2ServerFilterFactory = new Http2ServerFilterFactory(threadNamePrefix);
+    if (getBoolean(HTTP2_PROPERTY_KEY)) {
+      serverFilterChainBuilder.add(http2ServerFilterFactory.create());
+    }
     serverFilterChainBuilder.add(requestHandlerFilter);
 
     // Initialize Transport
     executorProvider = new WorkManagerSourceExecutorProvider();
     TCPNIOTransportBuilder transportBuilder = TCPNIOTransportBuilder.newInstance().setOptimizedForMultiplexing(true)
         .setIOStrategy(new ExecutorPerServerAddressIOStrategy(executorProvider));
+    if (getBoolean(DIRECT_BUFFERS_PROPERTY_KEY)) {
+      transportBuilder.setMemoryManager(new ByteBufferManager(true));
+    }
 
     configureServerSocketProperties(transportBuilder, serverSocketProperties);
 
@@ -211,6 +234,7 @@ public class GrizzlyServerManager implements HttpServerManager {
       idleTimeoutDelayedExecutor.destroy();
       idleTimeoutExecutorService.shutdown();
     }
+    http2ServerFilterFactory.dispose();
   }
 
   private SSLFilter createSslFilter(final TlsContextFactory tlsContextFactory) {
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.listener.grizzly;
+
+import static java.lang.Integer.getInteger;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.runtime.core.util.concurrent.NamedThreadFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.glassfish.grizzly.http2.Http2ServerFilter;
+
+/**
+ * Creates the filter that multiplexes the HTTP/2 connections of an HTTP listener server manager. The streams of a connection are
+ * handled concurrently by a bounded pool, so a slow request does not block the rest of the requests on the same connection.
+ * <p/>
+ * The HTTP/2 settings are read from system properties, so they apply to every HTTP listener of the Mule instance.
+ */
+public class Http2ServerFilterFactory {
+
+  // Defines the maximum number of concurrent streams a client may open on each HTTP/2 connection
+  public static final String HTTP2_MAX_CONCURRENT_STREAMS_PROPERTY_KEY =
+      SYSTEM_PROPERTY_PREFIX + "http.listener.http2.maxConcurrentStreams";
+
+  // Defines the initial flow-control window size in bytes advertised for the streams of each HTTP/2 connection
+  public static final String HTTP2_INITIAL_WINDOW_SIZE_PROPERTY_KEY =
+      SYSTEM_PROPERTY_PREFIX + "http.listener.http2.initialWindowSize";
+
+  // Defines the maximum number of threads that process the streams of all HTTP/2 connections. Streams wait for a free thread
+  public static final String HTTP2_MAX_STREAM_THREADS_PROPERTY_KEY =
+      SYSTEM_PROPERTY_PREFIX + "http.listener.http2.maxStreamThreads";
+
+  private static final String HTTP2_STREAM_THREADS_PREFIX_NAME = ".http2";
+  private static final int DEFAULT_HTTP2_MAX_STREAM_THREADS = 128;
+  private static final long HTTP2_STREAM_THREADS_KEEP_ALIVE_SECONDS = 60;
+
+  private final String threadNamePrefix;
+  private ThreadPoolExecutor streamExecutor;
+
+  /**
+   * @param threadNamePrefix prefix for the name of the threads that process the streams
+   */
+  public Http2ServerFilterFactory(String threadNamePrefix) {
+    this.threadNamePrefix = threadNamePrefix;
+  }
+
+  /**
+   * Creates the filter along with the pool that processes its streams.
+   *
+   * @return a new {@link Http2ServerFilter}
+   */
+  public Http2ServerFilter create() {
+    int maxStreamThreads = getInteger(HTTP2_MAX_STREAM_THREADS_PROPERTY_KEY, DEFAULT_HTTP2_MAX_STREAM_THREADS);
+    streamExecutor = new ThreadPoolExecutor(maxStreamThreads, maxStreamThreads, HTTP2_STREAM_THREADS_KEEP_ALIVE_SECONDS, SECONDS,
+                                            new LinkedBlockingQueue<>(),
+                                            new NamedThreadFactory(threadNamePrefix + HTTP2_STREAM_THREADS_PREFIX_NAME));
+    streamExecutor.allowCoreThreadTimeOut(true);
+    Http2ServerFilter http2ServerFilter = new Http2ServerFilter(streamExecutor);
+    Integer maxConcurrentStreams = getInteger(HTTP2_MAX_CONCURRENT_STREAMS_PROPERTY_KEY);
+    if (maxConcurrentStreams != null) {
+      http2ServerFilter.setMaxConcurrentStreams(maxConcurrentStreams);
+    }
+    Integer initialWindowSize = getInteger(HTTP2_INITIAL_WINDOW_SIZE_PROPERTY_KEY);
+    if (initialWindowSize != null) {
+      http2ServerFilter.setInitialWindowSize(initialWindowSize);
+    }
+    return http2ServerFilter;
+  }
+
+  /**
+   * Stops the pool that processes the streams, if a filter was created.
+   */
+  public void dispose() {
+    if (streamExecutor != null) {
+      streamExecutor.shutdown();
+    }
+  }
+}
@@ -17,6 +17,7 @@ import com.google.common.base.Preconditions;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
 
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.WriteResult;
@@ -58,11 +59,7 @@ public class ResponseStreamingCompletionHandler extends BaseResponseCompletionHa
   public void sendInputStreamChunk() throws IOException {
     final Buffer buffer = memoryManager.allocate(8 * 1024);
 
-    final byte[] bufferByteArray = buffer.array();
-    final int offset = buffer.arrayOffset();
-    final int length = buffer.remaining();
-
-    int bytesRead = inputStream.read(bufferByteArray, offset, length);
+    int bytesRead = readChunk(buffer);
     final HttpContent content;
 
     if (bytesRead == -1) {
@@ -76,6 +73,26 @@ public class ResponseStreamingCompletionHandler extends BaseResponseCompletionHa
     ctx.write(content, this);
   }
 
+  private int readChunk(Buffer buffer) throws IOException {
+    if (inputStream instanceof ReadableByteChannel) {
+      int bytesRead = ((ReadableByteChannel) inputStream).read(buffer.toByteBuffer());
+      // The ByteBuffer may be the one backing the buffer rather than a view of it
+      buffer.position(0);
+      return bytesRead;
+    } else if (buffer.hasArray()) {
+      return inputStream.read(buffer.array(), buffer.arrayOffset(), buffer.remaining());
+    }
+
+    // Buffers of a memory manager that allocates direct memory have no backing array
+    final byte[] bufferByteArray = new byte[buffer.remaining()];
+    int bytesRead = inputStream.read(bufferByteArray);
+    if (bytesRead > 0) {
+      buffer.put(bufferByteArray, 0, bytesRead);
+      buffer.position(0);
+    }
+    return bytesRead;
+  }
+
   /**
    * Method gets called, when file chunk was successfully sent.
    *
@@ -56,7 +56,14 @@ public class MethodRequestMatcher implements RequestMatcher {
 
   @Override
   public boolean matches(final HttpRequest httpRequest) {
-    return this.methods.contains(httpRequest.getMethod().toLowerCase());
+    final String method = httpRequest.getMethod();
+    // Compare ignoring case instead of converting the method, since this is evaluated for every request
+    for (int i = 0; i < methods.size(); ++i) {
+      if (methods.get(i).equalsIgnoreCase(method)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
@@ -111,7 +111,7 @@ public class DefaultHttpRequesterConfig extends AbstractAnnotatedObject
     HttpClientConfiguration configuration = new HttpClientConfiguration.Builder().setTlsContextFactory(tlsContext)
         .setProxyConfig(proxyConfig).setClientSocketProperties(clientSocketProperties).setMaxConnections(maxConnections)
         .setUsePersistentConnections(usePersistentConnections).setConnectionIdleTimeout(connectionIdleTimeout)
-        .setThreadNamePrefix(threadNamePrefix).setOwnerName(name).build();
+        .setThreadNamePrefix(threadNamePrefix).setOwnerName(name).setStatistics(muleContext.getStatistics()).build();
 
     HttpClientFactory httpClientFactory = muleContext.getRegistry().get(OBJECT_HTTP_CLIENT_FACTORY);
     if (httpClientFactory == null) {
@@ -8,6 +8,7 @@ package org.mule.runtime.module.http.internal.request;
 
 import org.mule.compatibility.transport.socket.api.TcpClientSocketProperties;
 import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.runtime.core.management.stats.AllStatistics;
 import org.mule.runtime.module.http.api.requester.proxy.ProxyConfig;
 
 
@@ -21,11 +22,12 @@ public class HttpClientConfiguration {
   private final int connectionIdleTimeout;
   private final String threadNamePrefix;
   private final String ownerName;
+  private final AllStatistics statistics;
 
   private HttpClientConfiguration(TlsContextFactory tlsContextFactory, ProxyConfig proxyConfig,
                                   TcpClientSocketProperties clientSocketProperties, int maxConnections,
                                   boolean usePersistentConnections, int connectionIdleTimeout, String threadNamePrefix,
-                                  String ownerName) {
+                                  String ownerName, AllStatistics statistics) {
     this.tlsContextFactory = tlsContextFactory;
     this.proxyConfig = proxyConfig;
     this.clientSocketProperties = clientSocketProperties;
@@ -34,6 +36,7 @@ public class HttpClientConfiguration {
     this.connectionIdleTimeout = connectionIdleTimeout;
     this.threadNamePrefix = threadNamePrefix;
     this.ownerName = ownerName;
+    this.statistics = statistics;
   }
 
   public TlsContextFactory getTlsContextFactory() {
@@ -68,6 +71,10 @@ public class HttpClientConfiguration {
     return ownerName;
   }
 
+  public AllStatistics getStatistics() {
+    return statistics;
+  }
+
   public static class Builder {
 
     private TlsContextFactory tlsContextFactory;
@@ -78,6 +85,7 @@ public class HttpClientConfiguration {
     private int connectionIdleTimeout;
     private String threadNamePrefix;
     private String ownerName;
+    private AllStatistics statistics;
 
     public Builder setTlsContextFactory(TlsContextFactory tlsContextFactory) {
       this.tlsContextFactory = tlsContextFactory;
@@ -119,9 +127,15 @@ public class HttpClientConfiguration {
       return this;
     }
 
+    public Builder setStatistics(AllStatistics statistics) {
+      this.statistics = statistics;
+      return this;
+    }
+
     public HttpClientConfiguration build() {
       return new HttpClientConfiguration(tlsContextFactory, proxyConfig, clientSocketProperties, maxConnections,
-                                         usePersistentConnections, connectionIdleTimeout, threadNamePrefix, ownerName);
+                                         usePersistentConnections, connectionIdleTimeout, threadNamePrefix, ownerName,
+                                         statistics);
     }
   }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.request.grizzly;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.mule.runtime.module.http.api.HttpConstants.Protocols.HTTPS;
+
+import org.mule.runtime.core.management.stats.AllStatistics;
+
+import com.ning.http.client.AsyncHandler;
+import com.ning.http.client.HttpResponseBodyPart;
+import com.ning.http.client.HttpResponseHeaders;
+import com.ning.http.client.HttpResponseStatus;
+import com.ning.http.client.filter.FilterContext;
+import com.ning.http.client.filter.FilterException;
+import com.ning.http.client.filter.RequestFilter;
+import com.ning.http.client.uri.Uri;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link com.ning.http.client.filter.RequestFilter} that keeps a {@link HostConnectionPool} for each host requests are sent to,
+ * and blocks when the number of requests in flight to the host reaches the current size of its pool, waiting for a response to
+ * arrive before executing the next request. As with {@link CustomTimeoutThrottleRequestFilter}, the request timeout of each
+ * request is used.
+ * <p>
+ * A filter which must run once a connection to the host is available, such as a {@link CustomTimeoutThrottleRequestFilter} for
+ * the connections to all the hosts, is given to this filter instead of being added to the client. That way, if it fails the
+ * connection to the host is released, as the client does not notify the handlers added by filters of failures in later filters.
+ * <p>
+ * The pools are registered in the {@link AllStatistics} of the application while they are in use, and discarded once no request
+ * was sent to their host for {@value #UNUSED_POOL_EXPIRATION_MINUTES} minutes.
+ */
+public class AdaptiveConnectionsRequestFilter implements RequestFilter {
+
+  private static final Logger logger = LoggerFactory.getLogger(AdaptiveConnectionsRequestFilter.class);
+
+  private static final int UNUSED_POOL_EXPIRATION_MINUTES = 30;
+  private static final long EXPIRATION_INTERVAL = MILLISECONDS.toNanos(1000);
+
+  private final String ownerName;
+  private final int maxConnectionsPerHost;
+  private final boolean usePersistentConnections;
+  private final long connectionIdleTimeout;
+  private final AllStatistics statistics;
+  private final RequestFilter nextFilter;
+  private final Map<String, HostConnectionPool> pools = new ConcurrentHashMap<>();
+  private final AtomicLong lastExpiration = new AtomicLong(nanoTime());
+
+  /**
+   * @param ownerName the name of the requester config, used to name the pools in the statistics.
+   * @param maxConnectionsPerHost the maximum size of the pool of each host, or a non positive value for no maximum.
+   * @param usePersistentConnections whether connections are kept open after each request.
+   * @param connectionIdleTimeout the time in milliseconds after which idle connections are closed.
+   * @param statistics the statistics of the application, or {@code null} if the pools must not be registered.
+   * @param nextFilter the filter to apply once a connection to the host is available, or {@code null} if there is none.
+   */
+  public AdaptiveConnectionsRequestFilter(String ownerName, int maxConnectionsPerHost, boolean usePersistentConnections,
+                                          int connectionIdleTimeout, AllStatistics statistics, RequestFilter nextFilter) {
+    this.ownerName = ownerName;
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.usePersistentConnections = usePersistentConnections;
+    this.connectionIdleTimeout = MILLISECONDS.toNanos(connectionIdleTimeout);
+    this.statistics = statistics;
+    this.nextFilter = nextFilter;
+  }
+
+  @Override
+  public FilterContext filter(FilterContext ctx) throws FilterException {
+    expireUnusedPools();
+
+    final HostConnectionPool pool = getPool(ctx.getRequest().getUri());
+    try {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Current connections to {}: {} active, {} pending of {}", pool.getName(), pool.getActiveConnections(),
+                     pool.getPendingRequests(), pool.getMaxConnections());
+      }
+      if (!pool.acquire(ctx.getRequest().getRequestTimeout(), MILLISECONDS)) {
+        throw new FilterException(String.format("No connection available to %s for processing Request %s with AsyncHandler %s",
+                                                pool.getName(), ctx.getRequest(), ctx.getAsyncHandler()));
+      }
+    } catch (InterruptedException e) {
+      throw new FilterException(String.format("Interrupted Request %s with AsyncHandler %s", ctx.getRequest(),
+                                              ctx.getAsyncHandler()));
+    }
+
+    final FilterContext filteredCtx =
+        new FilterContext.FilterContextBuilder(ctx).asyncHandler(new AsyncHandlerWrapper(ctx.getAsyncHandler(), pool)).build();
+    if (nextFilter == null) {
+      return filteredCtx;
+    }
+
+    try {
+      return nextFilter.filter(filteredCtx);
+    } catch (FilterException | RuntimeException e) {
+      pool.cancel();
+      throw e;
+    }
+  }
+
+  private HostConnectionPool getPool(Uri uri) {
+    final String poolName = String.format("%s/%s://%s:%d", ownerName, uri.getScheme(), uri.getHost(), getPort(uri));
+    HostConnectionPool pool = pools.get(poolName);
+    if (pool == null) {
+      pool = pools.computeIfAbsent(poolName, name -> {
+        HostConnectionPool newPool = new HostConnectionPool(name, maxConnectionsPerHost, usePersistentConnections);
+        if (statistics != null) {
+          statistics.add(newPool);
+        }
+        return newPool;
+      });
+    }
+    return pool;
+  }
+
+  private int getPort(Uri uri) {
+    if (uri.getPort() != -1) {
+      return uri.getPort();
+    }
+    return HTTPS.getScheme().equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+  }
+
+  /**
+   * Updates the estimated idle connections of every pool and discards the pools that are not used anymore. This is done at most
+   * once a second, by the first request sent after it elapses.
+   */
+  private void expireUnusedPools() {
+    final long lastExpirationTime = lastExpiration.get();
+    if (nanoTime() - lastExpirationTime < EXPIRATION_INTERVAL || !lastExpiration.compareAndSet(lastExpirationTime, nanoTime())) {
+      return;
+    }
+
+    for (Iterator<HostConnectionPool> iterator = pools.values().iterator(); iterator.hasNext();) {
+      HostConnectionPool pool = iterator.next();
+      pool.expireIdleConnections(connectionIdleTimeout);
+      if (pool.isUnusedFor(MINUTES.toNanos(UNUSED_POOL_EXPIRATION_MINUTES))) {
+        iterator.remove();
+        if (statistics != null) {
+          statistics.remove(pool);
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes the pools of every host from the statistics of the application.
+   */
+  public void dispose() {
+    if (statistics != null) {
+      for (HostConnectionPool pool : pools.values()) {
+        statistics.remove(pool);
+      }
+    }
+    pools.clear();
+  }
+
+  private class AsyncHandlerWrapper<T> implements AsyncHandler<T> {
+
+    private final AsyncHandler<T> asyncHandler;
+    private final HostConnectionPool pool;
+    private final long startTime = nanoTime();
+    private final AtomicBoolean complete = new AtomicBoolean(false);
+
+    public AsyncHandlerWrapper(AsyncHandler<T> asyncHandler, HostConnectionPool pool) {
+      this.asyncHandler = asyncHandler;
+      this.pool = pool;
+    }
+
+    private void complete(boolean failed) {
+      if (complete.compareAndSet(false, true)) {
+        pool.release(nanoTime() - startTime, failed);
+      }
+    }
+
+    @Override
+    public void onThrowable(Throwable t) {
+      try {
+        asyncHandler.onThrowable(t);
+      } finally {
+        complete(true);
+      }
+    }
+
+    @Override
+    public STATE onBodyPartReceived(HttpResponseBodyPart bodyPart) throws Exception {
+      return asyncHandler.onBodyPartReceived(bodyPart);
+    }
+
+    @Override
+    public STATE onStatusReceived(HttpResponseStatus responseStatus) throws Exception {
+      return asyncHandler.onStatusReceived(responseStatus);
+    }
+
+    @Override
+    public STATE onHeadersReceived(HttpResponseHeaders headers) throws Exception {
+      return asyncHandler.onHeadersReceived(headers);
+    }
+
+    @Override
+    public T onCompleted() throws Exception {
+      try {
+        return asyncHandler.onCompleted();
+      } finally {
+        complete(false);
+      }
+    }
+  }
+}
@@ -7,7 +7,9 @@
 package org.mule.runtime.module.http.internal.request.grizzly;
 
 import static com.ning.http.client.Realm.AuthScheme.NTLM;
+import static java.lang.Boolean.getBoolean;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONNECTION;
 import static org.mule.runtime.module.http.api.HttpHeaders.Values.CLOSE;
 
@@ -20,6 +22,7 @@ import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.lifecycle.LifecycleUtils;
 import org.mule.runtime.core.exception.MessagingException;
 import org.mule.runtime.core.execution.CompletionHandler;
+import org.mule.runtime.core.management.stats.AllStatistics;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.core.util.StringUtils;
 import org.mule.runtime.module.http.api.requester.proxy.ProxyConfig;
@@ -38,8 +41,10 @@ import org.mule.runtime.module.http.internal.request.HttpClientConfiguration;
 import org.mule.runtime.module.http.internal.request.NtlmProxyConfig;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.channels.ReadableByteChannel;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
@@ -57,6 +62,7 @@ import com.ning.http.client.Realm;
 import com.ning.http.client.Request;
 import com.ning.http.client.RequestBuilder;
 import com.ning.http.client.Response;
+import com.ning.http.client.filter.RequestFilter;
 import com.ning.http.client.generators.InputStreamBodyGenerator;
 import com.ning.http.client.multipart.ByteArrayPart;
 import com.ning.http.client.providers.grizzly.GrizzlyAsyncHttpProvider;
@@ -64,6 +70,12 @@ import com.ning.http.client.providers.grizzly.GrizzlyAsyncHttpProviderConfig;
 
 public class GrizzlyHttpClient implements HttpClient {
 
+  /**
+   * System property to limit the connections to each host with an {@link AdaptiveConnectionsRequestFilter}, which sizes the pool
+   * of each host from the latency of its responses and registers its metrics in the statistics of the application.
+   */
+  public static final String ADAPTIVE_CONNECTIONS_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "http.requester.adaptiveConnections";
+
   private static final int MAX_CONNECTION_LIFETIME = 30 * 60 * 1000;
 
   private static final Logger logger = LoggerFactory.getLogger(GrizzlyHttpClient.class);
@@ -77,8 +89,10 @@ public class GrizzlyHttpClient implements HttpClient {
   private int connectionIdleTimeout;
   private String threadNamePrefix;
   private String ownerName;
+  private AllStatistics statistics;
 
   private AsyncHttpClient asyncHttpClient;
+  private AdaptiveConnectionsRequestFilter adaptiveConnectionsFilter;
   private SSLContext sslContext;
 
   public GrizzlyHttpClient(HttpClientConfiguration config) {
@@ -90,6 +104,7 @@ public class GrizzlyHttpClient implements HttpClient {
     this.connectionIdleTimeout = config.getConnectionIdleTimeout();
     this.threadNamePrefix = config.getThreadNamePrefix();
     this.ownerName = config.getOwnerName();
+    this.statistics = config.getStatistics();
   }
 
   @Override
@@ -187,8 +202,15 @@ public class GrizzlyHttpClient implements HttpClient {
   }
 
   private void configureConnections(AsyncHttpClientConfig.Builder builder) throws InitialisationException {
-    if (maxConnections > 0) {
-      builder.addRequestFilter(new CustomTimeoutThrottleRequestFilter(maxConnections));
+    RequestFilter throttleFilter = maxConnections > 0 ? new CustomTimeoutThrottleRequestFilter(maxConnections) : null;
+    if (getBoolean(ADAPTIVE_CONNECTIONS_PROPERTY_KEY)) {
+      // The throttle runs after a connection to the host is available, so requests waiting for a connection to a busy host do
+      // not hold the connections to the rest of the hosts
+      adaptiveConnectionsFilter = new AdaptiveConnectionsRequestFilter(ownerName, maxConnections, usePersistentConnections,
+                                                                       connectionIdleTimeout, statistics, throttleFilter);
+      builder.addRequestFilter(adaptiveConnectionsFilter);
+    } else if (throttleFilter != null) {
+      builder.addRequestFilter(throttleFilter);
     }
 
     builder.setMaxConnections(maxConnections);
@@ -325,7 +347,12 @@ public class GrizzlyHttpClient implements HttpClient {
 
       if (request.getEntity() != null) {
         if (request.getEntity() instanceof InputStreamHttpEntity) {
-          builder.setBody(new InputStreamBodyGenerator(((InputStreamHttpEntity) request.getEntity()).getInputStream()));
+          final InputStream entityStream = ((InputStreamHttpEntity) request.getEntity()).getInputStream();
+          if (entityStream instanceof ReadableByteChannel) {
+            builder.setBody(new ReadableByteChannelBodyGenerator((ReadableByteChannel) entityStream));
+          } else {
+            builder.setBody(new InputStreamBodyGenerator(entityStream));
+          }
         } else if (request.getEntity() instanceof ByteArrayHttpEntity) {
           builder.setBody(((ByteArrayHttpEntity) request.getEntity()).getContent());
         } else if (request.getEntity() instanceof MultipartHttpEntity) {
@@ -397,5 +424,8 @@ public class GrizzlyHttpClient implements HttpClient {
   @Override
   public void stop() {
     asyncHttpClient.close();
+    if (adaptiveConnectionsFilter != null) {
+      adaptiveConnectionsFilter.dispose();
+    }
   }
 }
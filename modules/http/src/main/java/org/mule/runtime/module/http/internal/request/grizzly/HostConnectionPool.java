@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.request.grizzly;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+
+import org.mule.runtime.core.management.stats.ConnectionPoolStatistics;
+import org.mule.runtime.core.management.stats.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of concurrent requests, and therefore of connections, to a single host.
+ * <p>
+ * The limit adapts to the latency observed in the responses: while the latency stays close to the lowest one seen and the
+ * requests in flight reach the limit, it grows by one connection; when the latency grows well above the lowest one or requests
+ * fail, it is reduced by a fraction. This way the pool grows as long as the host keeps up with the load and shrinks when the host
+ * starts queueing requests on its side.
+ * <p>
+ * The connections themselves are managed by the Async Http Client, which keeps them open after each request until they are idle
+ * for the configured timeout, so the number of idle connections reported is an estimate based on that behaviour.
+ */
+final class HostConnectionPool implements ConnectionPoolStatistics {
+
+  private static final long serialVersionUID = 3950375669011337924L;
+
+  private static final int INITIAL_LIMIT = 8;
+  private static final int MIN_LIMIT = 1;
+
+  /**
+   * Ratio between the smoothed latency and the lowest latency above which the host is considered to be overloaded.
+   */
+  private static final double LATENCY_TOLERANCE = 2.0;
+  private static final double BACKOFF_RATIO = 0.9;
+  private static final double SMOOTHING_FACTOR = 0.2;
+
+  /**
+   * Number of responses after which the lowest latency is measured again, so the pool adapts if the host gets persistently
+   * slower.
+   */
+  private static final int LATENCY_WINDOW_SIZE = 500;
+
+  private final String name;
+  private final int maxLimit;
+  private final boolean keepsIdleConnections;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition connectionReleased = lock.newCondition();
+  private final LatencyHistogram acquireTimeHistogram = new LatencyHistogram();
+
+  private volatile int limit;
+  private volatile int active;
+  private volatile int pending;
+  private volatile int open;
+  private volatile long lastUsed = nanoTime();
+
+  // The following are only accessed while holding the lock
+  private long minLatency = Long.MAX_VALUE;
+  private long windowMinLatency = Long.MAX_VALUE;
+  private int windowSamples;
+  private double smoothedLatency;
+  private int samplesSinceLimitDecrease;
+
+  /**
+   * @param name the name of the pool in the statistics of the application.
+   * @param maxLimit the maximum number of concurrent connections to the host, or a non positive value for no maximum.
+   * @param keepsIdleConnections whether connections are kept open after each request.
+   */
+  HostConnectionPool(String name, int maxLimit, boolean keepsIdleConnections) {
+    this.name = name;
+    this.maxLimit = maxLimit > 0 ? maxLimit : Integer.MAX_VALUE;
+    this.keepsIdleConnections = keepsIdleConnections;
+    this.limit = min(INITIAL_LIMIT, this.maxLimit);
+  }
+
+  /**
+   * Waits until the number of requests in flight is below the current limit of the pool.
+   *
+   * @return {@code true} if a connection was acquired, {@code false} if the timeout elapsed first.
+   */
+  boolean acquire(long timeout, TimeUnit unit) throws InterruptedException {
+    final long startTime = nanoTime();
+    long remainingTime = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      pending++;
+      try {
+        while (active >= limit) {
+          if (remainingTime <= 0) {
+            return false;
+          }
+          remainingTime = connectionReleased.awaitNanos(remainingTime);
+        }
+      } finally {
+        pending--;
+      }
+      active++;
+      open = max(open, active);
+      lastUsed = nanoTime();
+    } finally {
+      lock.unlock();
+    }
+    acquireTimeHistogram.recordValue(nanoTime() - startTime);
+    return true;
+  }
+
+  /**
+   * Releases a connection acquired through {@link #acquire(long, TimeUnit)} and adapts the limit of the pool.
+   *
+   * @param latency the time in nanoseconds the request took.
+   * @param failed whether the request failed.
+   */
+  void release(long latency, boolean failed) {
+    lock.lock();
+    try {
+      final int previousLimit = limit;
+      active--;
+      lastUsed = nanoTime();
+      if (!keepsIdleConnections) {
+        open = active;
+      }
+      samplesSinceLimitDecrease++;
+      if (failed) {
+        decreaseLimit();
+      } else {
+        adaptLimit(latency);
+      }
+      if (limit > previousLimit) {
+        connectionReleased.signalAll();
+      } else {
+        connectionReleased.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases a connection acquired through {@link #acquire(long, TimeUnit)} for a request that was never sent, without adapting
+   * the limit of the pool.
+   */
+  void cancel() {
+    lock.lock();
+    try {
+      active--;
+      lastUsed = nanoTime();
+      if (!keepsIdleConnections) {
+        open = active;
+      }
+      connectionReleased.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void adaptLimit(long latency) {
+    windowMinLatency = min(windowMinLatency, latency);
+    if (++windowSamples >= LATENCY_WINDOW_SIZE) {
+      minLatency = windowMinLatency;
+      windowMinLatency = Long.MAX_VALUE;
+      windowSamples = 0;
+    } else {
+      minLatency = min(minLatency, latency);
+    }
+    smoothedLatency = smoothedLatency == 0 ? latency : smoothedLatency + SMOOTHING_FACTOR * (latency - smoothedLatency);
+
+    if (smoothedLatency > minLatency * LATENCY_TOLERANCE) {
+      decreaseLimit();
+    } else if ((pending > 0 || active + 1 >= limit) && limit < maxLimit) {
+      limit++;
+    }
+  }
+
+  private void decreaseLimit() {
+    // Wait for the requests sent with the previous limit to complete before decreasing it again
+    if (samplesSinceLimitDecrease >= limit) {
+      limit = max(MIN_LIMIT, (int) (limit * BACKOFF_RATIO));
+      samplesSinceLimitDecrease = 0;
+    }
+  }
+
+  /**
+   * Updates the estimated open connections once the idle ones are closed.
+   *
+   * @param idleTimeout the time in nanoseconds after which idle connections are closed.
+   */
+  void expireIdleConnections(long idleTimeout) {
+    if (isUnusedFor(idleTimeout)) {
+      open = 0;
+    }
+  }
+
+  /**
+   * @param time a time in nanoseconds.
+   * @return {@code true} if no request was sent through this pool for the given time.
+   */
+  boolean isUnusedFor(long time) {
+    return active == 0 && pending == 0 && nanoTime() - lastUsed > time;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public int getActiveConnections() {
+    return active;
+  }
+
+  @Override
+  public int getIdleConnections() {
+    return max(0, open - active);
+  }
+
+  @Override
+  public int getPendingRequests() {
+    return pending;
+  }
+
+  @Override
+  public int getMaxConnections() {
+    return limit;
+  }
+
+  @Override
+  public LatencyHistogram getAcquireTimeHistogram() {
+    return acquireTimeHistogram;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.request.grizzly;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import com.ning.http.client.Body;
+import com.ning.http.client.BodyGenerator;
+
+/**
+ * {@link BodyGenerator} for a request body that can be read as a {@link ReadableByteChannel}, such as the body of a request
+ * received by an HTTP listener.
+ * <p>
+ * Contrary to {@link com.ning.http.client.generators.InputStreamBodyGenerator}, the content is read straight into the buffers
+ * that are written to the connection, without going through an intermediate heap array.
+ */
+public class ReadableByteChannelBodyGenerator implements BodyGenerator {
+
+  private final ReadableByteChannel channel;
+
+  public ReadableByteChannelBodyGenerator(ReadableByteChannel channel) {
+    this.channel = channel;
+  }
+
+  @Override
+  public Body createBody() throws IOException {
+    return new Body() {
+
+      @Override
+      public long getContentLength() {
+        // The length is unknown, so the body is sent chunked just as with an input stream
+        return -1;
+      }
+
+      @Override
+      public long read(ByteBuffer buffer) throws IOException {
+        return channel.read(buffer);
+      }
+
+      @Override
+      public void close() throws IOException {
+        channel.close();
+      }
+    };
+  }
+}
@@ -276,6 +276,55 @@ public class HttpListenerRegistryTestCase extends AbstractMuleTestCase {
     assertThat(requestHandler, is(instanceOf(NoListenerRequestHandler.class)));
   }
 
+  @Test
+  public void noMethodFound() {
+    httpListenerRegistry = new HttpListenerRegistry();
+    httpListenerRegistry.addRequestHandler(testServer, mock(RequestHandler.class),
+                                           new ListenerRequestMatcher(new MethodRequestMatcher(GET_METHOD), ANOTHER_PATH));
+    final HttpRequest mockRequest = createMockRequestWithPath(ANOTHER_PATH);
+    when(mockRequest.getMethod()).thenReturn(POST_METHOD);
+    RequestHandler requestHandler = httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, mockRequest);
+    assertThat(requestHandler, is(instanceOf(NoMethodRequestHandler.class)));
+  }
+
+  @Test
+  public void stoppedRequestHandler() {
+    httpListenerRegistry = new HttpListenerRegistry();
+    final ListenerRequestMatcher requestMatcher =
+        new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(), ANOTHER_PATH);
+    final RequestHandlerManager requestHandlerManager =
+        httpListenerRegistry.addRequestHandler(testServer, mockRequestHandler, requestMatcher);
+    requestHandlerManager.stop();
+    assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, createMockRequestWithPath(ANOTHER_PATH)),
+               is(instanceOf(ServiceTemporarilyUnavailableListenerRequestHandler.class)));
+    requestHandlerManager.start();
+    assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, createMockRequestWithPath(ANOTHER_PATH)),
+               is(mockRequestHandler));
+  }
+
+  @Test
+  public void disposedRequestHandlerIsNotRouted() {
+    httpListenerRegistry = createHttpListenerRegistryWithRegisteredHandlers();
+    final RequestHandler anotherPathRequestHandler = mock(RequestHandler.class);
+    final ListenerRequestMatcher requestMatcher =
+        new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(), ANOTHER_PATH);
+    final RequestHandlerManager requestHandlerManager =
+        httpListenerRegistry.addRequestHandler(testServer, anotherPathRequestHandler, requestMatcher);
+    routePath(ANOTHER_PATH, GET_METHOD, anotherPathRequestHandler);
+    requestHandlerManager.dispose();
+    routePath(ANOTHER_PATH, FIRST_LEVEL_CATCH_ALL);
+    routePath(SECOND_LEVEL_PATH, SECOND_LEVEL_PATH);
+  }
+
+  @Test
+  public void routeToCorrectHandlerWithEncodedSpaces() {
+    httpListenerRegistry = new HttpListenerRegistry();
+    httpListenerRegistry.addRequestHandler(testServer, mockRequestHandler,
+                                           new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(), "/some path"));
+    routePath("/some%20path", GET_METHOD, mockRequestHandler);
+    routePath("/some+path", GET_METHOD, mockRequestHandler);
+  }
+
   private void routePath(String requestPath, String listenerPath) {
     assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, createMockRequestWithPath(requestPath)),
                is(requestHandlerPerPath.get(listenerPath)));
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.listener.grizzly;
+
+import static org.glassfish.grizzly.memory.MemoryManager.DEFAULT_MEMORY_MANAGER;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.glassfish.grizzly.ReadResult;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.http.HttpContent;
+import org.glassfish.grizzly.memory.Buffers;
+import org.junit.Test;
+
+@SmallTest
+public class BlockingTransferInputStreamTestCase extends AbstractMuleTestCase {
+
+  private static final String FIRST_CHUNK = "first chunk, ";
+  private static final String SECOND_CHUNK = "second chunk, ";
+  private static final String LAST_CHUNK = "last chunk";
+  private static final String CONTENT = FIRST_CHUNK + SECOND_CHUNK + LAST_CHUNK;
+
+  private final FilterChainContext filterChainContext = mock(FilterChainContext.class);
+
+  @Test
+  public void readCompleteContentWithoutReadingConnection() throws IOException {
+    BlockingTransferInputStream inputStream = new BlockingTransferInputStream(filterChainContext, createContent(CONTENT, true));
+
+    assertThat(readBytes(inputStream), is(CONTENT));
+    verify(filterChainContext, never()).read();
+  }
+
+  @Test
+  public void readChunksOneByteAtATime() throws IOException {
+    BlockingTransferInputStream inputStream = createChunkedInputStream();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int value;
+    while ((value = inputStream.read()) != -1) {
+      out.write(value);
+    }
+    assertThat(new String(out.toByteArray()), is(CONTENT));
+  }
+
+  @Test
+  public void readChunksIntoArray() throws IOException {
+    assertThat(readBytes(createChunkedInputStream()), is(CONTENT));
+  }
+
+  @Test
+  public void readChunksIntoByteBuffer() throws IOException {
+    BlockingTransferInputStream inputStream = createChunkedInputStream();
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(CONTENT.length());
+    int read = 0;
+    while (read != -1) {
+      read = inputStream.read(buffer);
+    }
+    buffer.flip();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    assertThat(new String(bytes), is(CONTENT));
+  }
+
+  @Test
+  public void emptyChunkIsNotEndOfContent() throws IOException {
+    ReadResult emptyChunk = createReadResult("", false);
+    ReadResult lastChunk = createReadResult(LAST_CHUNK, true);
+    when(filterChainContext.read()).thenReturn(emptyChunk, lastChunk);
+    BlockingTransferInputStream inputStream =
+        new BlockingTransferInputStream(filterChainContext, createContent(FIRST_CHUNK, false));
+
+    assertThat(readBytes(inputStream), is(equalTo(FIRST_CHUNK + LAST_CHUNK)));
+  }
+
+  private BlockingTransferInputStream createChunkedInputStream() throws IOException {
+    ReadResult secondChunk = createReadResult(SECOND_CHUNK, false);
+    ReadResult lastChunk = createReadResult(LAST_CHUNK, true);
+    when(filterChainContext.read()).thenReturn(secondChunk, lastChunk);
+    return new BlockingTransferInputStream(filterChainContext, createContent(FIRST_CHUNK, false));
+  }
+
+  private ReadResult createReadResult(String content, boolean last) {
+    HttpContent httpContent = createContent(content, last);
+    ReadResult readResult = mock(ReadResult.class);
+    when(readResult.getMessage()).thenReturn(httpContent);
+    return readResult;
+  }
+
+  private HttpContent createContent(String content, boolean last) {
+    HttpContent httpContent = mock(HttpContent.class);
+    when(httpContent.getContent()).thenReturn(Buffers.wrap(DEFAULT_MEMORY_MANAGER, content.getBytes()));
+    when(httpContent.isLast()).thenReturn(last);
+    return httpContent;
+  }
+
+  private String readBytes(BlockingTransferInputStream inputStream) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4];
+    int read;
+    while ((read = inputStream.read(buffer, 0, buffer.length)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return new String(out.toByteArray());
+  }
+}
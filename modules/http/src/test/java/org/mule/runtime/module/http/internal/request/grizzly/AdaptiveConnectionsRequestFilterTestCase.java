@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.request.grizzly;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import com.ning.http.client.AsyncHandler;
+import com.ning.http.client.RequestBuilder;
+import com.ning.http.client.filter.FilterContext;
+import com.ning.http.client.filter.FilterException;
+
+import org.junit.Test;
+
+@SmallTest
+public class AdaptiveConnectionsRequestFilterTestCase extends AbstractMuleTestCase {
+
+  private static final String HOST_URL = "http://localhost:8081/path";
+  private static final String OTHER_HOST_URL = "http://localhost:8082/path";
+  private static final int REQUEST_TIMEOUT = 100;
+
+  private final CustomTimeoutThrottleRequestFilter throttleFilter = new CustomTimeoutThrottleRequestFilter(1);
+  private final AdaptiveConnectionsRequestFilter filter =
+      new AdaptiveConnectionsRequestFilter("requester", 1, true, 30000, null, throttleFilter);
+
+  @Test
+  public void releasesHostConnectionWhenCompleted() throws Exception {
+    filter.filter(createContext(HOST_URL)).getAsyncHandler().onCompleted();
+
+    assertThat(filter.filter(createContext(HOST_URL)), notNullValue());
+  }
+
+  @Test
+  public void releasesHostConnectionWhenThrottleTimesOut() throws Exception {
+    FilterContext otherHostRequest = throttleFilter.filter(createContext(OTHER_HOST_URL));
+
+    try {
+      filter.filter(createContext(HOST_URL));
+      fail("Expected the throttle to time out");
+    } catch (FilterException e) {
+      // Expected, there are no connections available
+    }
+
+    otherHostRequest.getAsyncHandler().onCompleted();
+    assertThat(filter.filter(createContext(HOST_URL)), notNullValue());
+  }
+
+  private FilterContext createContext(String url) {
+    return new FilterContext.FilterContextBuilder().asyncHandler(mock(AsyncHandler.class))
+        .request(new RequestBuilder("GET").setUrl(url).setRequestTimeout(REQUEST_TIMEOUT).build()).build();
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.request.grizzly;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+@SmallTest
+public class HostConnectionPoolTestCase extends AbstractMuleTestCase {
+
+  private static final long LATENCY = MILLISECONDS.toNanos(10);
+  private static final int INITIAL_LIMIT = 8;
+  private static final long TIMEOUT = 5000;
+
+  private HostConnectionPool pool = new HostConnectionPool("requester/http://localhost:8081", 100, true);
+
+  @Test
+  public void waitsWhenLimitIsReached() throws Exception {
+    acquire(INITIAL_LIMIT);
+
+    assertThat(pool.acquire(10, MILLISECONDS), is(false));
+    assertThat(pool.getActiveConnections(), equalTo(INITIAL_LIMIT));
+    assertThat(pool.getPendingRequests(), equalTo(0));
+  }
+
+  @Test
+  public void pendingRequestAcquiresReleasedConnection() throws Exception {
+    acquire(INITIAL_LIMIT);
+    final CountDownLatch acquired = new CountDownLatch(1);
+    new Thread(() -> {
+      try {
+        if (pool.acquire(TIMEOUT, MILLISECONDS)) {
+          acquired.countDown();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }).start();
+
+    while (pool.getPendingRequests() == 0) {
+      Thread.sleep(1);
+    }
+    pool.release(LATENCY, false);
+
+    assertThat(acquired.await(TIMEOUT, MILLISECONDS), is(true));
+    assertThat(pool.getPendingRequests(), equalTo(0));
+    assertThat(pool.getAcquireTimeHistogram().getTotalCount(), equalTo((long) INITIAL_LIMIT + 1));
+  }
+
+  @Test
+  public void growsWhileLatencyIsStable() throws Exception {
+    for (int i = 0; i < 20; ++i) {
+      acquire(pool.getMaxConnections());
+      releaseAll(LATENCY);
+    }
+
+    assertThat(pool.getMaxConnections(), greaterThan(INITIAL_LIMIT));
+  }
+
+  @Test
+  public void doesNotGrowOverMaximum() throws Exception {
+    pool = new HostConnectionPool("requester/http://localhost:8081", 10, true);
+    for (int i = 0; i < 20; ++i) {
+      acquire(pool.getMaxConnections());
+      releaseAll(LATENCY);
+    }
+
+    assertThat(pool.getMaxConnections(), equalTo(10));
+  }
+
+  @Test
+  public void shrinksWhenLatencyIncreases() throws Exception {
+    acquire(INITIAL_LIMIT);
+    releaseAll(LATENCY);
+    for (int i = 0; i < 10; ++i) {
+      acquire(pool.getMaxConnections());
+      releaseAll(LATENCY * 10);
+    }
+
+    assertThat(pool.getMaxConnections(), lessThan(INITIAL_LIMIT));
+  }
+
+  @Test
+  public void shrinksWhenRequestsFail() throws Exception {
+    acquire(INITIAL_LIMIT);
+    for (int i = 0; i < INITIAL_LIMIT; ++i) {
+      pool.release(LATENCY, true);
+    }
+
+    assertThat(pool.getMaxConnections(), lessThan(INITIAL_LIMIT));
+  }
+
+  @Test
+  public void estimatesIdleConnections() throws Exception {
+    acquire(4);
+    pool.release(LATENCY, false);
+    pool.release(LATENCY, false);
+
+    assertThat(pool.getActiveConnections(), equalTo(2));
+    assertThat(pool.getIdleConnections(), equalTo(2));
+
+    releaseAll(LATENCY);
+    pool.expireIdleConnections(0);
+    assertThat(pool.getIdleConnections(), equalTo(0));
+  }
+
+  @Test
+  public void noIdleConnectionsWithoutPersistentConnections() throws Exception {
+    pool = new HostConnectionPool("requester/http://localhost:8081", 100, false);
+    acquire(4);
+    pool.release(LATENCY, false);
+
+    assertThat(pool.getIdleConnections(), equalTo(0));
+  }
+
+  private void acquire(int connections) throws InterruptedException {
+    for (int i = 0; i < connections; ++i) {
+      assertThat(pool.acquire(0, MILLISECONDS), is(true));
+    }
+  }
+
+  private void releaseAll(long latency) {
+    while (pool.getActiveConnections() > 0) {
+      pool.release(latency, false);
+    }
+  }
+}
@@ -6,10 +6,17 @@
  */
 package org.mule.runtime.module.json.transformers;
 
+import org.mule.runtime.core.message.OutputHandler;
 import org.mule.runtime.core.transformer.AbstractTransformer;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
@@ -18,10 +25,12 @@ import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stax.StAXResult;
-import java.io.StringWriter;
 
 /**
  * Superclass for transformers that convert JSON to and from XML
+ * <p/>
+ * If the return type is {@link OutputHandler} or {@link InputStream}, the input is converted as the result is consumed, so large
+ * documents are never held in memory as a whole.
  */
 public abstract class AbstractToFromXmlTransformer extends AbstractTransformer {
 
@@ -42,4 +51,34 @@ public abstract class AbstractToFromXmlTransformer extends AbstractTransformer {
     transformer.transform(source, result);
     return writer.toString();
   }
+
+  /**
+   * @return whether the return type of this transformer is a stream, in which case the input is converted as it is consumed
+   */
+  protected boolean isStreamingResult() {
+    Class<?> type = getReturnDataType().getType();
+    return OutputHandler.class.equals(type) || InputStream.class.equals(type);
+  }
+
+  /**
+   * Returns the result of writing the events of the {@code reader} with a writer created by the {@code factory}, as an
+   * {@link OutputHandler} or an {@link InputStream} depending on the return type. Events are converted as the result is
+   * consumed, and {@code inputs} are closed once the conversion is done.
+   */
+  protected Object convertStreaming(XMLStreamReader reader, XMLOutputFactory factory, Charset encoding, TransformerInputs inputs)
+      throws XMLStreamException {
+    if (InputStream.class.equals(getReturnDataType().getType())) {
+      return new XMLStreamPipeInputStream(reader, factory, encoding, inputs);
+    }
+
+    return (OutputHandler) (event, out) -> {
+      try {
+        new XMLStreamPipe(reader, factory.createXMLStreamWriter(out, encoding.name()), encoding).copyAll();
+      } catch (XMLStreamException e) {
+        throw new IOException(e);
+      } finally {
+        inputs.close();
+      }
+    };
+  }
 }
@@ -10,7 +10,6 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.TransformerException;
-import org.mule.runtime.core.util.IOUtils;
 
 import java.io.File;
 import java.io.Reader;
@@ -19,7 +18,7 @@ import java.nio.charset.Charset;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLOutputFactory;
-import javax.xml.transform.Source;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.stax.StAXSource;
 
 import de.odysseus.staxon.json.JsonXMLInputFactory;
@@ -41,29 +40,35 @@ public class JsonToXml extends AbstractToFromXmlTransformer {
 
 
   /**
-   * Use Staxon to convert JSON to an XML string
+   * Use Staxon to convert JSON to an XML string, or to a stream of XML if the return type is a stream
    */
   @Override
   protected Object doTransform(Object src, Charset enc) throws TransformerException {
     XMLInputFactory inputFactory = new JsonXMLInputFactory();
     inputFactory.setProperty(JsonXMLInputFactory.PROP_MULTIPLE_PI, false);
     TransformerInputs inputs = new TransformerInputs(this, src);
-    Source source;
+    XMLStreamReader reader;
+    boolean closeInputs = true;
     try {
       if (inputs.getInputStream() != null) {
-        source =
-            new StAXSource(inputFactory.createXMLStreamReader(inputs.getInputStream(), enc == null ? UTF_8.name() : enc.name()));
+        reader = inputFactory.createXMLStreamReader(inputs.getInputStream(), enc == null ? UTF_8.name() : enc.name());
       } else {
-        source = new StAXSource(inputFactory.createXMLStreamReader(inputs.getReader()));
+        reader = inputFactory.createXMLStreamReader(inputs.getReader());
       }
 
       XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
-      return convert(source, outputFactory);
+      if (isStreamingResult()) {
+        closeInputs = false;
+        return convertStreaming(reader, outputFactory, enc == null ? UTF_8 : enc, inputs);
+      }
+      return convert(new StAXSource(reader), outputFactory);
     } catch (Exception ex) {
+      closeInputs = true;
       throw new TransformerException(this, ex);
     } finally {
-      IOUtils.closeQuietly(inputs.getInputStream());
-      IOUtils.closeQuietly(inputs.getReader());
+      if (closeInputs) {
+        inputs.close();
+      }
     }
   }
 }
@@ -10,6 +10,7 @@ import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.util.ClassUtils;
+import org.mule.runtime.core.util.IOUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -68,6 +69,14 @@ public class TransformerInputs {
     return reader;
   }
 
+  /**
+   * Closes the input stream or reader, ignoring any error
+   */
+  public void close() {
+    IOUtils.closeQuietly(is);
+    IOUtils.closeQuietly(reader);
+  }
+
   public static TransformerFactory createTransformerFactory() {
     TransformerFactory transformerFactory;
 
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.json.transformers;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.COMMENT;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.ENTITY_REFERENCE;
+import static javax.xml.stream.XMLStreamConstants.PROCESSING_INSTRUCTION;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.nio.charset.Charset;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Copies the events of a {@link XMLStreamReader} to a {@link XMLStreamWriter} a few at a time, so a document can be converted
+ * from one format to another as the result is consumed, without holding either of them in memory.
+ */
+final class XMLStreamPipe {
+
+  private final XMLStreamReader reader;
+  private final XMLStreamWriter writer;
+  private final Charset encoding;
+  private boolean finished;
+
+  XMLStreamPipe(XMLStreamReader reader, XMLStreamWriter writer, Charset encoding) {
+    this.reader = reader;
+    this.writer = writer;
+    this.encoding = encoding;
+  }
+
+  /**
+   * Copies up to {@code maxEvents} events and flushes the writer. The writer is closed once the end of the document is copied.
+   *
+   * @return {@code false} if the whole document has been copied
+   */
+  boolean copy(int maxEvents) throws XMLStreamException {
+    for (int i = 0; i < maxEvents && !finished; i++) {
+      finished = !copyEvent();
+    }
+
+    writer.flush();
+    if (finished) {
+      writer.close();
+      reader.close();
+    }
+    return !finished;
+  }
+
+  void copyAll() throws XMLStreamException {
+    while (copy(Integer.MAX_VALUE)) {
+      // keep copying
+    }
+  }
+
+  private boolean copyEvent() throws XMLStreamException {
+    switch (reader.getEventType()) {
+      case START_DOCUMENT:
+        writer.writeStartDocument(encoding.name(), reader.getVersion() != null ? reader.getVersion() : "1.0");
+        break;
+      case START_ELEMENT:
+        writeStartElement();
+        break;
+      case END_ELEMENT:
+        writer.writeEndElement();
+        break;
+      case CHARACTERS:
+      case SPACE:
+        writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+        break;
+      case CDATA:
+        writer.writeCData(reader.getText());
+        break;
+      case COMMENT:
+        writer.writeComment(reader.getText());
+        break;
+      case PROCESSING_INSTRUCTION:
+        if (reader.getPIData() != null) {
+          writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+        } else {
+          writer.writeProcessingInstruction(reader.getPITarget());
+        }
+        break;
+      case ENTITY_REFERENCE:
+        writer.writeEntityRef(reader.getLocalName());
+        break;
+      case END_DOCUMENT:
+        writer.writeEndDocument();
+        return false;
+      default:
+        break;
+    }
+
+    if (!reader.hasNext()) {
+      writer.writeEndDocument();
+      return false;
+    }
+    reader.next();
+    return true;
+  }
+
+  private void writeStartElement() throws XMLStreamException {
+    writer.writeStartElement(nullToEmpty(reader.getPrefix()), reader.getLocalName(), nullToEmpty(reader.getNamespaceURI()));
+
+    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+      String prefix = reader.getNamespacePrefix(i);
+      if (prefix == null || prefix.isEmpty()) {
+        writer.writeDefaultNamespace(nullToEmpty(reader.getNamespaceURI(i)));
+      } else {
+        writer.writeNamespace(prefix, nullToEmpty(reader.getNamespaceURI(i)));
+      }
+    }
+
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      String namespace = reader.getAttributeNamespace(i);
+      if (namespace == null || namespace.isEmpty()) {
+        writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+      } else {
+        writer.writeAttribute(nullToEmpty(reader.getAttributePrefix(i)), namespace, reader.getAttributeLocalName(i),
+                              reader.getAttributeValue(i));
+      }
+    }
+  }
+
+  private static String nullToEmpty(String value) {
+    return value != null ? value : "";
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.json.transformers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * {@link InputStream} with the events of a {@link XMLStreamReader} written by a {@link XMLOutputFactory}'s writer. Events are
+ * only read and written when the bytes already written have been consumed, so at most a few of them are held in memory.
+ */
+final class XMLStreamPipeInputStream extends InputStream {
+
+  private static final int EVENTS_PER_READ = 64;
+
+  private final ChunkBuffer buffer = new ChunkBuffer();
+  private final XMLStreamPipe pipe;
+  private final TransformerInputs inputs;
+  private int position;
+  private boolean finished;
+
+  XMLStreamPipeInputStream(XMLStreamReader reader, XMLOutputFactory factory, Charset encoding, TransformerInputs inputs)
+      throws XMLStreamException {
+    this.pipe = new XMLStreamPipe(reader, factory.createXMLStreamWriter(buffer, encoding.name()), encoding);
+    this.inputs = inputs;
+  }
+
+  @Override
+  public int read() throws IOException {
+    return fill() ? buffer.get(position++) : -1;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (!fill()) {
+      return -1;
+    }
+
+    int count = Math.min(length, buffer.size() - position);
+    buffer.copy(position, bytes, offset, count);
+    position += count;
+    return count;
+  }
+
+  @Override
+  public int available() {
+    return buffer.size() - position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    finished = true;
+    inputs.close();
+  }
+
+  /**
+   * Writes events until there are bytes to be read, as writers may hold some events until they know how to write them.
+   *
+   * @return {@code false} if the whole document has been read
+   */
+  private boolean fill() throws IOException {
+    while (position == buffer.size()) {
+      if (finished) {
+        return false;
+      }
+
+      buffer.reset();
+      position = 0;
+      try {
+        if (!pipe.copy(EVENTS_PER_READ)) {
+          finished = true;
+          inputs.close();
+        }
+      } catch (XMLStreamException e) {
+        close();
+        throw new IOException(e);
+      }
+    }
+    return true;
+  }
+
+  private static final class ChunkBuffer extends ByteArrayOutputStream {
+
+    private int get(int index) {
+      return buf[index] & 0xFF;
+    }
+
+    private void copy(int index, byte[] bytes, int offset, int length) {
+      System.arraycopy(buf, index, bytes, offset, length);
+    }
+  }
+}
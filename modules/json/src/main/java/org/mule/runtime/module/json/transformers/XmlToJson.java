@@ -11,16 +11,19 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.TransformerException;
-import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.core.message.OutputHandler;
 import org.mule.runtime.core.util.XMLSecureFactories;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.InputStream;
 import java.io.Reader;
 import java.net.URL;
 import java.nio.charset.Charset;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stax.StAXSource;
@@ -31,9 +34,17 @@ import de.odysseus.staxon.json.JsonXMLOutputFactory;
 
 /**
  * Convert XML to a JSON string
+ * <p/>
+ * Repeated sibling elements are converted to a JSON array. That can not be known until the following siblings are read, so the
+ * children of each element are buffered until it ends, even when the return type is a stream. To convert large documents
+ * without buffering, set {@link #setAutoArray(boolean) autoArray} to {@code false} and mark the elements to convert to an array
+ * with an {@code xml-multiple} processing instruction in their parent instead, e.g.
+ * {@code <customer><?xml-multiple phone?><phone>...</phone></customer>}.
  */
 public class XmlToJson extends AbstractToFromXmlTransformer {
 
+  private boolean autoArray = true;
+
   public XmlToJson() {
     this.registerSourceType(DataType.STRING);
     this.registerSourceType(DataType.INPUT_STREAM);
@@ -46,7 +57,7 @@ public class XmlToJson extends AbstractToFromXmlTransformer {
   }
 
   /**
-   * Use Staxon to convert XML to a JSON string
+   * Use Staxon to convert XML to a JSON string, or to a stream of JSON if the return type is a stream
    */
   @Override
   protected Object doTransform(Object src, Charset enc) throws TransformerException {
@@ -55,7 +66,12 @@ public class XmlToJson extends AbstractToFromXmlTransformer {
 
     TransformerInputs inputs = null;
     Source source;
+    boolean closeInputs = true;
     try {
+      XMLOutputFactory outputFactory = new JsonXMLOutputFactory();
+      outputFactory.setProperty(JsonXMLOutputFactory.PROP_AUTO_ARRAY, autoArray);
+      outputFactory.setProperty(JsonXMLOutputFactory.PROP_PRETTY_PRINT, true);
+
       if (src instanceof Document) {
         Document doc = (Document) src;
         String location = doc.getDocumentURI();
@@ -65,24 +81,51 @@ public class XmlToJson extends AbstractToFromXmlTransformer {
         source = new DOMSource(doc, location);
       } else {
         inputs = new TransformerInputs(this, src);
+        XMLStreamReader reader;
         if (inputs.getInputStream() != null) {
-          source = new StAXSource(inputFactory.createXMLStreamReader(inputs.getInputStream(),
-                                                                     enc == null ? UTF_8.name() : enc.name()));
+          reader = inputFactory.createXMLStreamReader(inputs.getInputStream(), enc == null ? UTF_8.name() : enc.name());
         } else {
-          source = new StAXSource(inputFactory.createXMLStreamReader(inputs.getReader()));
+          reader = inputFactory.createXMLStreamReader(inputs.getReader());
         }
+
+        if (isStreamingResult()) {
+          closeInputs = false;
+          return convertStreaming(reader, outputFactory, enc == null ? UTF_8 : enc, inputs);
+        }
+        source = new StAXSource(reader);
       }
-      XMLOutputFactory outputFactory = new JsonXMLOutputFactory();
-      outputFactory.setProperty(JsonXMLOutputFactory.PROP_AUTO_ARRAY, true);
-      outputFactory.setProperty(JsonXMLOutputFactory.PROP_PRETTY_PRINT, true);
-      return convert(source, outputFactory);
+
+      String json = convert(source, outputFactory);
+      // a document is already in memory, so streaming its conversion would not save any
+      return isStreamingResult() ? toStreamingResult(json, enc == null ? UTF_8 : enc) : json;
     } catch (Exception ex) {
+      closeInputs = true;
       throw new TransformerException(this, ex);
     } finally {
-      if (inputs != null) {
-        IOUtils.closeQuietly(inputs.getInputStream());
-        IOUtils.closeQuietly(inputs.getReader());
+      if (inputs != null && closeInputs) {
+        inputs.close();
       }
     }
   }
+
+  public boolean isAutoArray() {
+    return autoArray;
+  }
+
+  /**
+   * @param autoArray whether repeated sibling elements are detected and converted to a JSON array, which requires buffering the
+   *        children of each element. If {@code false}, only the elements marked with an {@code xml-multiple} processing
+   *        instruction are converted to an array, and repeated elements which are not marked are written as repeated keys.
+   */
+  public void setAutoArray(boolean autoArray) {
+    this.autoArray = autoArray;
+  }
+
+  private Object toStreamingResult(String json, Charset encoding) {
+    byte[] bytes = json.getBytes(encoding);
+    if (InputStream.class.equals(getReturnDataType().getType())) {
+      return new ByteArrayInputStream(bytes);
+    }
+    return (OutputHandler) (event, out) -> out.write(bytes);
+  }
 }
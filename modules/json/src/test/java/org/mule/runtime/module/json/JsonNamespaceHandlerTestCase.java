@@ -7,6 +7,7 @@
 package org.mule.runtime.module.json;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -39,6 +40,7 @@ public class JsonNamespaceHandlerTestCase extends FunctionalTestCase {
 
     XmlToJson xToJ = muleContext.getRegistry().lookupObject("xToJ");
     assertNotNull(xToJ);
+    assertFalse(xToJ.isAutoArray());
 
     JsonXsltTransformer jToJ = muleContext.getRegistry().lookupObject("jToJ");
     assertNotNull(jToJ);
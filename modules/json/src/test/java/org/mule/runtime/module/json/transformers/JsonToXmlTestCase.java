@@ -6,10 +6,13 @@
  */
 package org.mule.runtime.module.json.transformers;
 
+import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.module.json.transformers.JsonToXml;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.StringReader;
 
 import org.junit.Test;
@@ -47,4 +50,22 @@ public class JsonToXmlTestCase {
       assertTrue(ex instanceof TransformerException);
     }
   }
+
+  @Test
+  public void testStreamingConversion() throws Exception {
+    String json = "{\n" + "  \"customer\" : {\n" + "    \"id\" : 112,\n" + "    \"phone-number\" : [ {\n"
+        + "      \"@type\" : \"work\",\n" + "      \"$\" : \"555-1111\"\n" + "    }, {\n" + "      \"@type\" : \"cell\",\n"
+        + "      \"$\" : \"555-2222\"\n" + "    } ]\n" + "  }\n" + "}";
+
+    String xml = "<customer><id>112</id><phone-number type=\"work\">555-1111</phone-number>"
+        + "<phone-number type=\"cell\">555-2222</phone-number></customer>";
+
+    JsonToXml jToX = new JsonToXml();
+    jToX.setReturnDataType(DataType.INPUT_STREAM);
+    InputStream xmlResponse = (InputStream) jToX.transform(new ByteArrayInputStream(json.getBytes()));
+    String xmlString = IOUtils.toString(xmlResponse, "UTF-8");
+    // the declaration depends on the StAX implementation
+    assertTrue(xmlString.startsWith("<?xml"));
+    assertEquals(xml, xmlString.substring(xmlString.indexOf("?>") + 2));
+  }
 }
@@ -6,11 +6,21 @@
  */
 package org.mule.runtime.module.json.transformers;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.message.OutputHandler;
+import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.module.xml.util.XMLUtils;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.StringReader;
 
 import org.junit.Test;
@@ -43,6 +53,15 @@ public class XmlToJsonTestCase extends AbstractMuleTestCase {
       + "    <cust:phone-number type=\"work\">555-1111</cust:phone-number>"
       + "    <cust:phone-number type=\"cell\">555-2222</cust:phone-number>" + "</cust:customer>";
 
+  private static final String STREAMING_XML = XML.replace("<phone-number type=\"work\">",
+                                                          "<?xml-multiple phone-number?><phone-number type=\"work\">");
+
+  private static final String STREAMING_XML_WITH_NAMESPACE =
+      XML_WITH_NAMESPACE.replace("<cust:phone-number type=\"work\">",
+                                 "<?xml-multiple cust:phone-number?><cust:phone-number type=\"work\">");
+
+  private static final int GENERATED_ITEMS = 1000000;
+
   @Test
   public void stringInputShouldBeTransformedToJson() throws Exception {
     XmlToJson transformer = new XmlToJson();
@@ -99,4 +118,104 @@ public class XmlToJsonTestCase extends AbstractMuleTestCase {
     String jsonResponse = (String) transformer.transform(XML_WITH_NAMESPACE);
     JSONAssert.assertEquals(EXPECTED_JSON_WITH_NAMESPACE, jsonResponse, false);
   }
+
+  @Test
+  public void inputStreamResultShouldBeConvertedAsItIsRead() throws Exception {
+    XmlToJson transformer = new XmlToJson();
+    transformer.setAutoArray(false);
+    transformer.setReturnDataType(DataType.INPUT_STREAM);
+
+    InputStream json = (InputStream) transformer.transform(new ByteArrayInputStream(STREAMING_XML.getBytes()));
+    JSONAssert.assertEquals(EXPECTED_JSON, IOUtils.toString(json, "UTF-8"), false);
+  }
+
+  @Test
+  public void inputStreamResultCanBeReadBeforeInputIsConsumed() throws Exception {
+    XmlToJson transformer = new XmlToJson();
+    transformer.setAutoArray(false);
+    transformer.setReturnDataType(DataType.INPUT_STREAM);
+
+    GeneratedItemsInputStream input = new GeneratedItemsInputStream(GENERATED_ITEMS);
+    InputStream json = (InputStream) transformer.transform(input);
+    byte[] start = new byte[4096];
+    assertThat(IOUtils.read(json, start), is(start.length));
+    assertThat(new String(start, "UTF-8"), containsString("\"0\""));
+    assertThat(input.getGeneratedItems(), lessThan(GENERATED_ITEMS / 100));
+    json.close();
+  }
+
+  @Test
+  public void outputHandlerResultShouldBeConvertedAsItIsWritten() throws Exception {
+    XmlToJson transformer = new XmlToJson();
+    transformer.setAutoArray(false);
+    transformer.setReturnDataType(DataType.fromType(OutputHandler.class));
+
+    OutputHandler json = (OutputHandler) transformer.transform(STREAMING_XML_WITH_NAMESPACE);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    json.write(null, out);
+    JSONAssert.assertEquals(EXPECTED_JSON_WITH_NAMESPACE, out.toString("UTF-8"), false);
+  }
+
+  @Test
+  public void inputStreamResultShouldConvertRepeatedElementsToArray() throws Exception {
+    XmlToJson transformer = new XmlToJson();
+    transformer.setReturnDataType(DataType.INPUT_STREAM);
+
+    InputStream json = (InputStream) transformer.transform(new ByteArrayInputStream(XML.getBytes()));
+    JSONAssert.assertEquals(EXPECTED_JSON, IOUtils.toString(json, "UTF-8"), false);
+  }
+
+  @Test
+  public void stringResultWithoutAutoArrayShouldConvertMarkedElementsToArray() throws Exception {
+    XmlToJson transformer = new XmlToJson();
+    transformer.setAutoArray(false);
+
+    String jsonResponse = (String) transformer.transform(STREAMING_XML);
+    JSONAssert.assertEquals(EXPECTED_JSON, jsonResponse, false);
+  }
+
+  @Test
+  public void documentInputShouldBeTransformedToStreamingResult() throws Exception {
+    XmlToJson transformer = new XmlToJson();
+    transformer.setReturnDataType(DataType.INPUT_STREAM);
+
+    InputStream json = (InputStream) transformer.transform(XMLUtils.toW3cDocument(XML));
+    JSONAssert.assertEquals(EXPECTED_JSON, IOUtils.toString(json, "UTF-8"), false);
+  }
+
+  /**
+   * Generates a document with the given number of repeated elements as it is read.
+   */
+  private static class GeneratedItemsInputStream extends InputStream {
+
+    private final int items;
+    private int generatedItems = 0;
+    private boolean ended = false;
+    private byte[] chunk = "<items><?xml-multiple item?>".getBytes();
+    private int position = 0;
+
+    private GeneratedItemsInputStream(int items) {
+      this.items = items;
+    }
+
+    @Override
+    public int read() {
+      if (position == chunk.length) {
+        if (generatedItems < items) {
+          chunk = ("<item>" + generatedItems++ + "</item>").getBytes();
+        } else if (!ended) {
+          chunk = "</items>".getBytes();
+          ended = true;
+        } else {
+          return -1;
+        }
+        position = 0;
+      }
+      return chunk[position++];
+    }
+
+    private int getGeneratedItems() {
+      return generatedItems;
+    }
+  }
 }
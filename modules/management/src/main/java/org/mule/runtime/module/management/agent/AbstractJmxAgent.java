@@ -19,6 +19,8 @@ import org.mule.runtime.core.management.stats.FlowConstructStatistics;
 import org.mule.runtime.core.util.StringUtils;
 import org.mule.runtime.module.management.i18n.ManagementMessages;
 import org.mule.runtime.module.management.mbean.ApplicationService;
+import org.mule.runtime.module.management.mbean.ConnectionPoolStatsService;
+import org.mule.runtime.module.management.mbean.ConnectionPoolStatsServiceMBean;
 import org.mule.runtime.module.management.mbean.FlowConstructService;
 import org.mule.runtime.module.management.mbean.FlowConstructServiceMBean;
 import org.mule.runtime.module.management.mbean.MuleConfigurationService;
@@ -298,6 +300,17 @@ public abstract class AbstractJmxAgent extends AbstractAgent {
     mBeanServer.registerMBean(mBean, on);
   }
 
+  protected void registerConnectionPoolStatsService() throws NotCompliantMBeanException, MBeanRegistrationException,
+      InstanceAlreadyExistsException, MalformedObjectNameException {
+    ObjectName on = jmxSupport.getObjectName(String.format("%s:%s", jmxSupport.getDomainName(muleContext, !containerMode),
+                                                           ConnectionPoolStatsServiceMBean.DEFAULT_JMX_NAME));
+    ConnectionPoolStatsService service = new ConnectionPoolStatsService(muleContext.getStatistics());
+    ClassloaderSwitchingMBeanWrapper mBean = new ClassloaderSwitchingMBeanWrapper(service, ConnectionPoolStatsServiceMBean.class,
+                                                                                  muleContext.getExecutionClassLoader());
+    logger.debug("Registering connection pool statistics with name: " + on);
+    mBeanServer.registerMBean(mBean, on);
+  }
+
   protected void registerMuleService() throws NotCompliantMBeanException, MBeanRegistrationException,
       InstanceAlreadyExistsException, MalformedObjectNameException {
     ObjectName on = jmxSupport.getObjectName(String.format("%s:%s", jmxSupport.getDomainName(muleContext, !containerMode),
@@ -23,6 +23,7 @@ public class JmxApplicationAgent extends AbstractJmxAgent {
       InstanceAlreadyExistsException, MalformedObjectNameException {
     registerWrapperService();
     registerStatisticsService();
+    registerConnectionPoolStatsService();
     registerMuleService();
     registerConfigurationService();
     registerFlowConstructServices();
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.management.mbean;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.core.management.stats.AllStatistics;
+import org.mule.runtime.core.management.stats.ConnectionPoolStatistics;
+import org.mule.runtime.core.management.stats.LatencyHistogram;
+
+/**
+ * <code>ConnectionPoolStatsService</code> exposes the statistics of the connection pools registered in the {@link AllStatistics}
+ * of an application. Since pools are created and discarded while the application runs, they are looked up on each query.
+ */
+public class ConnectionPoolStatsService implements ConnectionPoolStatsServiceMBean {
+
+  private final AllStatistics statistics;
+
+  public ConnectionPoolStatsService(AllStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  public String[] getConnectionPoolNames() {
+    return statistics.getConnectionPoolStatistics().stream().map(ConnectionPoolStatistics::getName).sorted()
+        .toArray(String[]::new);
+  }
+
+  public int getActiveConnections(String poolName) {
+    ConnectionPoolStatistics pool = getPool(poolName);
+    return pool == null ? 0 : pool.getActiveConnections();
+  }
+
+  public int getIdleConnections(String poolName) {
+    ConnectionPoolStatistics pool = getPool(poolName);
+    return pool == null ? 0 : pool.getIdleConnections();
+  }
+
+  public int getPendingRequests(String poolName) {
+    ConnectionPoolStatistics pool = getPool(poolName);
+    return pool == null ? 0 : pool.getPendingRequests();
+  }
+
+  public int getMaxConnections(String poolName) {
+    ConnectionPoolStatistics pool = getPool(poolName);
+    return pool == null ? 0 : pool.getMaxConnections();
+  }
+
+  public long getAcquireTimePercentile(String poolName, double percentile) {
+    LatencyHistogram histogram = getAcquireTimeHistogram(poolName);
+    return histogram == null ? 0 : NANOSECONDS.toMicros(histogram.getValueAtPercentile(percentile));
+  }
+
+  public long getMaxAcquireTime(String poolName) {
+    LatencyHistogram histogram = getAcquireTimeHistogram(poolName);
+    return histogram == null ? 0 : NANOSECONDS.toMicros(histogram.getMaxValue());
+  }
+
+  public long getAverageAcquireTime(String poolName) {
+    LatencyHistogram histogram = getAcquireTimeHistogram(poolName);
+    return histogram == null ? 0 : NANOSECONDS.toMicros(histogram.getMean());
+  }
+
+  public void clearAcquireTimes(String poolName) {
+    LatencyHistogram histogram = getAcquireTimeHistogram(poolName);
+    if (histogram != null) {
+      histogram.clear();
+    }
+  }
+
+  private LatencyHistogram getAcquireTimeHistogram(String poolName) {
+    ConnectionPoolStatistics pool = getPool(poolName);
+    return pool == null ? null : pool.getAcquireTimeHistogram();
+  }
+
+  private ConnectionPoolStatistics getPool(String poolName) {
+    for (ConnectionPoolStatistics pool : statistics.getConnectionPoolStatistics()) {
+      if (pool.getName().equals(poolName)) {
+        return pool;
+      }
+    }
+    return null;
+  }
+}
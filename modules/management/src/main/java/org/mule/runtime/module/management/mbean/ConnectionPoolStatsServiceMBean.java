@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.management.mbean;
+
+/**
+ * <code>ConnectionPoolStatsServiceMBean</code> is a JMX interface for querying the connection pools of an application. Pools are
+ * identified by their name, as returned by {@link #getConnectionPoolNames()}, and the time requests waited for a connection is
+ * reported in microseconds.
+ */
+public interface ConnectionPoolStatsServiceMBean {
+
+  String DEFAULT_JMX_NAME = "type=Statistics,name=ConnectionPools";
+
+  String[] getConnectionPoolNames();
+
+  int getActiveConnections(String poolName);
+
+  int getIdleConnections(String poolName);
+
+  int getPendingRequests(String poolName);
+
+  int getMaxConnections(String poolName);
+
+  long getAcquireTimePercentile(String poolName, double percentile);
+
+  long getMaxAcquireTime(String poolName);
+
+  long getAverageAcquireTime(String poolName);
+
+  void clearAcquireTimes(String poolName);
+}
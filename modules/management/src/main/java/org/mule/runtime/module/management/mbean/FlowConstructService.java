@@ -106,6 +106,18 @@ public class FlowConstructService implements FlowConstructServiceMBean, MBeanReg
     return statistics.getTotalProcessingTime();
   }
 
+  public long getProcessingTimeP50() {
+    return statistics.getProcessingTimePercentile(50);
+  }
+
+  public long getProcessingTimeP99() {
+    return statistics.getProcessingTimePercentile(99);
+  }
+
+  public long getProcessingTimeP999() {
+    return statistics.getProcessingTimePercentile(99.9);
+  }
+
   public long getExecutionErrors() {
     return statistics.getExecutionErrors();
   }
@@ -48,6 +48,18 @@ public class FlowConstructStats implements FlowConstructStatsMBean, MBeanRegistr
     return statistics.getTotalProcessingTime();
   }
 
+  public long getProcessingTimeP50() {
+    return statistics.getProcessingTimePercentile(50);
+  }
+
+  public long getProcessingTimeP99() {
+    return statistics.getProcessingTimePercentile(99);
+  }
+
+  public long getProcessingTimeP999() {
+    return statistics.getProcessingTimePercentile(99.9);
+  }
+
   public void clearStatistics() {
     statistics.clear();
   }
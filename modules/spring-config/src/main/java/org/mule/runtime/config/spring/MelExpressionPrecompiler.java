@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring;
+
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_EXPRESSION_LANGUAGE;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
+import static org.mule.runtime.core.el.DefaultExpressionManager.DW_PREFIX;
+import org.mule.runtime.api.el.ValidationResult;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.config.spring.dsl.model.ApplicationModel;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.el.mvel.MVELExpressionLanguage;
+import org.mule.runtime.core.util.TemplateParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles the MEL expressions of every attribute of the application configuration when the application is deployed, instead of
+ * doing it when each expression is evaluated for the first time.
+ * <p>
+ * Compiled expressions are kept in the compiled expressions cache of the {@link MVELExpressionLanguage}, so the first events
+ * processed by the application do not pay the cost of parsing them. Invalid expressions are reported when the application is
+ * deployed, along with the component and attribute that declares them.
+ * <p>
+ * Attributes are read from the {@link ApplicationModel} before property placeholders are resolved, so expressions containing a
+ * placeholder are left to be compiled when first evaluated.
+ * <p>
+ * Precompilation can be disabled by setting the {@value #DISABLE_MEL_PRECOMPILATION} system property.
+ *
+ * @since 4.0
+ */
+public class MelExpressionPrecompiler implements Initialisable {
+
+  public static final String OBJECT_MEL_EXPRESSION_PRECOMPILER = "_muleMelExpressionPrecompiler";
+  public static final String DISABLE_MEL_PRECOMPILATION = SYSTEM_PROPERTY_PREFIX + "disableMelPrecompilation";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MelExpressionPrecompiler.class);
+  private static final String PLACEHOLDER_PREFIX = "${";
+  // Same criteria AttributeEvaluator uses to tell single expressions from templates
+  private static final Pattern SINGLE_EXPRESSION_REGEX_PATTERN = Pattern.compile("^#\\[(?:(?!#\\[).)*\\]$");
+
+  private final MuleContext muleContext;
+  private final List<ExpressionAttribute> expressionAttributes = new ArrayList<>();
+
+  /**
+   * Creates a precompiler for the MEL expressions found in the attributes of the components of the given application.
+   *
+   * @param muleContext the context of the application.
+   * @param applicationModel the model of the application configuration.
+   */
+  public MelExpressionPrecompiler(MuleContext muleContext, ApplicationModel applicationModel) {
+    this.muleContext = muleContext;
+    if (System.getProperty(DISABLE_MEL_PRECOMPILATION) == null) {
+      final TemplateParser parser = TemplateParser.createMuleStyleParser();
+      applicationModel.executeOnEveryMuleComponentTree(componentModel -> {
+        for (Entry<String, String> parameter : componentModel.getParameters().entrySet()) {
+          for (String expression : getMelExpressions(parser, parameter.getValue())) {
+            expressionAttributes.add(new ExpressionAttribute(componentModel.getIdentifier().toString(), parameter.getKey(),
+                                                             expression));
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * @return the MEL expressions contained by an attribute value, either because it is an expression itself or because it is a
+   *         template with embedded expressions.
+   */
+  private static List<String> getMelExpressions(TemplateParser parser, String value) {
+    final List<String> expressions = new ArrayList<>();
+    if (value == null || !value.contains(DEFAULT_EXPRESSION_PREFIX) || isDwExpression(value)) {
+      return expressions;
+    }
+
+    if (SINGLE_EXPRESSION_REGEX_PATTERN.matcher(value).matches()) {
+      addExpression(expressions, MVELExpressionLanguage.removeExpressionMarker(value));
+    } else if (parser.isValid(value)) {
+      parser.parse(token -> {
+        if (!isDwExpression(token)) {
+          addExpression(expressions, token);
+        }
+        return null;
+      }, value);
+    }
+    return expressions;
+  }
+
+  private static void addExpression(List<String> expressions, String expression) {
+    if (!expression.contains(PLACEHOLDER_PREFIX)) {
+      expressions.add(expression);
+    }
+  }
+
+  private static boolean isDwExpression(String expression) {
+    return expression.startsWith(DEFAULT_EXPRESSION_PREFIX + DW_PREFIX) || expression.startsWith(DW_PREFIX);
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (expressionAttributes.isEmpty()) {
+      return;
+    }
+    final Object expressionLanguage = muleContext.getRegistry().lookupObject(OBJECT_EXPRESSION_LANGUAGE);
+    if (!(expressionLanguage instanceof MVELExpressionLanguage)) {
+      return;
+    }
+
+    int compiled = 0;
+    int failed = 0;
+    final long start = nanoTime();
+    for (ExpressionAttribute expressionAttribute : expressionAttributes) {
+      ValidationResult result = ((MVELExpressionLanguage) expressionLanguage).precompile(expressionAttribute.expression);
+      if (result.isSuccess()) {
+        compiled++;
+      } else {
+        failed++;
+        LOGGER.error(format("Invalid expression '%s' in attribute '%s' of '%s': %s", expressionAttribute.expression,
+                            expressionAttribute.attributeName, expressionAttribute.componentIdentifier,
+                            result.errorMessage().orElse("")));
+      }
+    }
+
+    if (LOGGER.isInfoEnabled()) {
+      LOGGER.info(format("Precompiled %d MEL expressions (%d invalid) of application '%s' in %d ms, "
+          + "this time is no longer spent when evaluating them for the first time", compiled, failed,
+                         muleContext.getConfiguration().getId(), NANOSECONDS.toMillis(nanoTime() - start)));
+    }
+  }
+
+  /**
+   * @return the number of expressions found in the application configuration.
+   */
+  public int getExpressionCount() {
+    return expressionAttributes.size();
+  }
+
+  /**
+   * @return the expressions found in the application configuration, in the order they were found.
+   */
+  List<String> getExpressions() {
+    final List<String> expressions = new ArrayList<>();
+    expressionAttributes.forEach(expressionAttribute -> expressions.add(expressionAttribute.expression));
+    return expressions;
+  }
+
+  private static class ExpressionAttribute {
+
+    private final String componentIdentifier;
+    private final String attributeName;
+    private final String expression;
+
+    private ExpressionAttribute(String componentIdentifier, String attributeName, String expression) {
+      this.componentIdentifier = componentIdentifier;
+      this.attributeName = attributeName;
+      this.expression = expression;
+    }
+  }
+}
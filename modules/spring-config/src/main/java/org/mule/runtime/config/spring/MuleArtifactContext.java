@@ -11,6 +11,7 @@ import static java.util.Arrays.asList;
 import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang.StringUtils.join;
 import static org.apache.commons.lang3.ArrayUtils.addAll;
+import static org.mule.runtime.config.spring.MelExpressionPrecompiler.OBJECT_MEL_EXPRESSION_PRECOMPILER;
 import static org.mule.runtime.config.spring.dsl.model.ApplicationModel.CONFIGURATION_IDENTIFIER;
 import static org.mule.runtime.config.spring.dsl.model.ApplicationModel.MULE_IDENTIFIER;
 import static org.mule.runtime.config.spring.dsl.spring.BeanDefinitionFactory.SPRING_SINGLETON_OBJECT;
@@ -241,6 +242,7 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
                           new LifecycleStatePostProcessor(muleContext.getLifecycleManager().getState()));
 
     beanFactory.registerSingleton(OBJECT_MULE_CONTEXT, muleContext);
+    beanFactory.registerSingleton(OBJECT_MEL_EXPRESSION_PRECOMPILER, new MelExpressionPrecompiler(muleContext, applicationModel));
   }
 
   private void registerEditors(ConfigurableListableBeanFactory beanFactory) {
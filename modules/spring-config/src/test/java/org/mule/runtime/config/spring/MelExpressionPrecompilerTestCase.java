@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mule.runtime.config.spring.MelExpressionPrecompiler.DISABLE_MEL_PRECOMPILATION;
+import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
+import org.mule.runtime.config.spring.dsl.model.ApplicationModel;
+import org.mule.runtime.config.spring.dsl.model.ComponentModel;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.dsl.api.component.ComponentIdentifier;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+@SmallTest
+public class MelExpressionPrecompilerTestCase extends AbstractMuleTestCase {
+
+  private static final ComponentIdentifier LOGGER_IDENTIFIER =
+      new ComponentIdentifier.Builder().withNamespace("mule").withName("logger").build();
+
+  private final MuleContext muleContext = mock(MuleContext.class);
+
+  @Test
+  public void collectsExpressions() {
+    assertThat(collect("#[payload]"), contains("payload"));
+  }
+
+  @Test
+  public void collectsExpressionsFromTemplates() {
+    assertThat(collect("Received #[payload] from #[message.inboundProperties.host]"),
+               contains("payload", "message.inboundProperties.host"));
+  }
+
+  @Test
+  public void skipsDataWeaveExpressions() {
+    assertThat(collect("#[dw:payload.name]"), is(empty()));
+    assertThat(collect("#[payload] and #[dw:payload.name]"), contains("payload"));
+  }
+
+  @Test
+  public void skipsExpressionsWithPlaceholders() {
+    assertThat(collect("#[flowVars['${variableName}']]"), is(empty()));
+    assertThat(collect("${prefix} #[payload] #[flowVars['${variableName}']]"), contains("payload"));
+  }
+
+  @Test
+  public void skipsPlainValues() {
+    assertThat(collect("payload"), is(empty()));
+    assertThat(collect("${value}"), is(empty()));
+  }
+
+  @Test
+  public void disabled() throws Exception {
+    testWithSystemProperty(DISABLE_MEL_PRECOMPILATION, "true", () -> {
+      MelExpressionPrecompiler precompiler = createPrecompiler("#[payload]");
+      assertThat(precompiler.getExpressionCount(), is(0));
+
+      precompiler.initialise();
+      verifyZeroInteractions(muleContext);
+    });
+  }
+
+  private List<String> collect(String value) {
+    return createPrecompiler(value).getExpressions();
+  }
+
+  private MelExpressionPrecompiler createPrecompiler(String value) {
+    ComponentModel componentModel =
+        new ComponentModel.Builder().setIdentifier(LOGGER_IDENTIFIER).addParameter("message", value, false).build();
+    ApplicationModel applicationModel = mock(ApplicationModel.class);
+    doAnswer(invocation -> {
+      ((Consumer<ComponentModel>) invocation.getArguments()[0]).accept(componentModel);
+      return null;
+    }).when(applicationModel).executeOnEveryMuleComponentTree(any(Consumer.class));
+
+    return new MelExpressionPrecompiler(muleContext, applicationModel);
+  }
+}
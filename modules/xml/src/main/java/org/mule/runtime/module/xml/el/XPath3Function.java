@@ -27,6 +27,7 @@ import org.mule.runtime.module.xml.util.NamespaceManager;
 import org.mule.runtime.module.xml.util.XMLUtils;
 import org.mule.runtime.module.xml.xpath.SaxonXpathEvaluator;
 import org.mule.runtime.module.xml.xpath.XPathEvaluator;
+import org.mule.runtime.module.xml.xpath.XPathExpressionsCache;
 import org.mule.runtime.module.xml.xpath.XPathReturnType;
 
 import com.google.common.base.Joiner;
@@ -245,7 +246,11 @@ public class XPath3Function implements ExpressionLanguageFunction {
     @Override
     public synchronized XPathEvaluator get() {
       if (xpathEvaluator == null) {
-        xpathEvaluator = new SaxonXpathEvaluator();
+        try {
+          xpathEvaluator = new SaxonXpathEvaluator(XPathExpressionsCache.getInstance(muleContext));
+        } catch (RegistrationException e) {
+          throw new MuleRuntimeException(e);
+        }
         try {
           NamespaceManager namespaceManager = muleContext.getRegistry().lookupObject(NamespaceManager.class);
           if (namespaceManager != null) {
@@ -24,6 +24,7 @@ import org.mule.runtime.api.i18n.I18nMessageFactory;
 import org.mule.runtime.core.util.ClassUtils;
 import org.mule.runtime.module.xml.util.NamespaceManager;
 import org.mule.runtime.module.xml.xpath.SaxonXpathEvaluator;
+import org.mule.runtime.module.xml.xpath.XPathExpressionsCache;
 import org.mule.runtime.module.xml.xpath.XPathEvaluator;
 
 import java.text.MessageFormat;
@@ -67,7 +68,11 @@ public class XPathFilter extends AbstractJaxpFilter implements Filter, Initialis
     super.initialise();
 
     if (xpathEvaluator == null) {
-      xpathEvaluator = new SaxonXpathEvaluator();
+      try {
+        xpathEvaluator = new SaxonXpathEvaluator(XPathExpressionsCache.getInstance(muleContext));
+      } catch (RegistrationException e) {
+        throw new InitialisationException(e, this);
+      }
     }
 
     if (pattern == null) {
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.transformer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.transform.sax.SAXResult;
+
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.LexicalHandler;
+
+/**
+ * {@link XMLReader} which, instead of parsing its input, writes a {@link DelayedResult} as SAX events to its
+ * {@link ContentHandler}. This lets the output of a transformation be consumed by another one as it is produced, without
+ * building it into a DOM or serializing it first.
+ */
+class DelayedResultReader implements XMLReader {
+
+  private static final String NAMESPACES_FEATURE = "http://xml.org/sax/features/namespaces";
+  private static final String NAMESPACE_PREFIXES_FEATURE = "http://xml.org/sax/features/namespace-prefixes";
+  private static final String LEXICAL_HANDLER_PROPERTY = "http://xml.org/sax/properties/lexical-handler";
+
+  private final DelayedResult delayedResult;
+  private final Map<String, Boolean> features = new HashMap<>();
+  private final Map<String, Object> properties = new HashMap<>();
+  private ContentHandler contentHandler;
+  private DTDHandler dtdHandler;
+  private EntityResolver entityResolver;
+  private ErrorHandler errorHandler;
+
+  DelayedResultReader(DelayedResult delayedResult) {
+    this.delayedResult = delayedResult;
+    features.put(NAMESPACES_FEATURE, true);
+    features.put(NAMESPACE_PREFIXES_FEATURE, false);
+  }
+
+  @Override
+  public void parse(InputSource input) throws IOException, SAXException {
+    SAXResult result = new SAXResult(contentHandler);
+    Object lexicalHandler = properties.get(LEXICAL_HANDLER_PROPERTY);
+    if (lexicalHandler instanceof LexicalHandler) {
+      result.setLexicalHandler((LexicalHandler) lexicalHandler);
+    } else if (contentHandler instanceof LexicalHandler) {
+      result.setLexicalHandler((LexicalHandler) contentHandler);
+    }
+
+    try {
+      delayedResult.write(result);
+    } catch (IOException | SAXException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new SAXException(e);
+    }
+  }
+
+  @Override
+  public void parse(String systemId) throws IOException, SAXException {
+    parse(new InputSource(systemId));
+  }
+
+  @Override
+  public boolean getFeature(String name) {
+    return features.getOrDefault(name, false);
+  }
+
+  @Override
+  public void setFeature(String name, boolean value) {
+    features.put(name, value);
+  }
+
+  @Override
+  public Object getProperty(String name) {
+    return properties.get(name);
+  }
+
+  @Override
+  public void setProperty(String name, Object value) {
+    properties.put(name, value);
+  }
+
+  @Override
+  public void setEntityResolver(EntityResolver resolver) {
+    this.entityResolver = resolver;
+  }
+
+  @Override
+  public EntityResolver getEntityResolver() {
+    return entityResolver;
+  }
+
+  @Override
+  public void setDTDHandler(DTDHandler handler) {
+    this.dtdHandler = handler;
+  }
+
+  @Override
+  public DTDHandler getDTDHandler() {
+    return dtdHandler;
+  }
+
+  @Override
+  public void setContentHandler(ContentHandler handler) {
+    this.contentHandler = handler;
+  }
+
+  @Override
+  public ContentHandler getContentHandler() {
+    return contentHandler;
+  }
+
+  @Override
+  public void setErrorHandler(ErrorHandler handler) {
+    this.errorHandler = handler;
+  }
+
+  @Override
+  public ErrorHandler getErrorHandler() {
+    return errorHandler;
+  }
+}
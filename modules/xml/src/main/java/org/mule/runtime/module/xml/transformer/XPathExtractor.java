@@ -19,29 +19,48 @@ import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.api.i18n.I18nMessageFactory;
 import org.mule.runtime.core.transformer.AbstractTransformer;
+import org.mule.runtime.core.util.XMLSecureFactories;
+import org.mule.runtime.module.xml.stax.ReversibleXMLStreamReader;
 import org.mule.runtime.module.xml.util.NamespaceManager;
 import org.mule.runtime.module.xml.util.XMLUtils;
 import org.mule.runtime.module.xml.xpath.SaxonXpathEvaluator;
+import org.mule.runtime.module.xml.xpath.StreamingXPathExpression;
 import org.mule.runtime.module.xml.xpath.XPathEvaluator;
+import org.mule.runtime.module.xml.xpath.XPathExpressionsCache;
 import org.mule.runtime.module.xml.xpath.XPathReturnType;
 
 import java.nio.charset.Charset;
 import java.util.Map;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Node;
 import org.xml.sax.InputSource;
 
 /**
  * Simple transformer for using the JAXP XPath library to extract an XPath value from an XPath expression.
+ * <p/>
+ * In {@link #setStreaming(boolean) streaming} mode, expressions supported by {@link StreamingXPathExpression} which return a
+ * string, number or boolean are evaluated while the payload is parsed, reading it only up to the first matching node instead of
+ * building a DOM for the whole document. If the payload is a {@link ReversibleXMLStreamReader} it is reset after the evaluation,
+ * so it can still be read from the start.
  *
  * @author Ryan Heaton
  */
 public class XPathExtractor extends AbstractTransformer implements MuleContextAware {
 
+  private static final DataType[] STREAMING_SOURCE_TYPES =
+      {DataType.STRING, DataType.BYTE_ARRAY, DataType.INPUT_STREAM, DataType.fromType(XMLStreamReader.class)};
+
   private XPathEvaluator xpathEvaluator;
   private volatile Map<String, String> prefixToNamespaceMap = null;
   private volatile String expression;
   private volatile XPathReturnType resultType = XPathReturnType.STRING;
+  private volatile boolean streaming = false;
   private NamespaceManager namespaceManager;
+  private StreamingXPathExpression streamingExpression;
+  private XMLInputFactory xmlInputFactory;
 
   public XPathExtractor() {
     registerSourceType(DataType.fromType(org.w3c.dom.Node.class));
@@ -70,7 +89,11 @@ public class XPathExtractor extends AbstractTransformer implements MuleContextAw
     }
 
     if (xpathEvaluator == null) {
-      xpathEvaluator = new SaxonXpathEvaluator();
+      try {
+        xpathEvaluator = new SaxonXpathEvaluator(XPathExpressionsCache.getInstance(muleContext));
+      } catch (RegistrationException e) {
+        throw new InitialisationException(e, this);
+      }
     }
 
     if (namespaceManager != null) {
@@ -80,18 +103,53 @@ public class XPathExtractor extends AbstractTransformer implements MuleContextAw
     if (prefixToNamespaceMap != null) {
       xpathEvaluator.registerNamespaces(prefixToNamespaceMap);
     }
+
+    if (streaming) {
+      streamingExpression = StreamingXPathExpression.compile(expression, xpathEvaluator.getRegisteredNamespaces());
+      if (streamingExpression == null) {
+        logger.warn("Expression " + expression + " can not be evaluated in streaming mode, the whole document will be parsed");
+      }
+      xmlInputFactory = new XMLSecureFactories().createXmlInputFactory();
+    }
   }
 
   @Override
   public Object doTransform(Object src, Charset encoding) throws TransformerException {
     Event event = getCurrentEvent();
     try {
+      if (streamingExpression != null && StreamingXPathExpression.supports(resultType) && !(src instanceof Node)) {
+        return evaluateStreaming(src, event);
+      }
       return xpathEvaluator.evaluate(expression, XMLUtils.toDOMNode(src, event), resultType, event);
     } catch (Exception e) {
       throw new TransformerException(this, e);
     }
   }
 
+  private Object evaluateStreaming(Object src, Event event) throws Exception {
+    if (src instanceof ReversibleXMLStreamReader) {
+      ReversibleXMLStreamReader reader = (ReversibleXMLStreamReader) src;
+      boolean tracking = reader.isTracking();
+      reader.setTracking(true);
+      try {
+        return streamingExpression.evaluate(reader, resultType);
+      } finally {
+        reader.reset();
+        reader.setTracking(tracking);
+      }
+    }
+
+    XMLStreamReader reader = XMLUtils.toXMLStreamReader(xmlInputFactory, event, src);
+    try {
+      return streamingExpression.evaluate(reader, resultType);
+    } finally {
+      // stops parsing the rest of the document, unless the reader is the payload itself
+      if (reader != src) {
+        reader.close();
+      }
+    }
+  }
+
   /**
    * @return Returns the expression.
    */
@@ -124,6 +182,30 @@ public class XPathExtractor extends AbstractTransformer implements MuleContextAw
     this.resultType = resultType;
   }
 
+  /**
+   * @return whether supported expressions are evaluated while parsing the payload
+   */
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  /**
+   * In streaming mode the payload may also be a {@link String}, byte array, {@link java.io.InputStream} or
+   * {@link XMLStreamReader}, so it doesn't need to be transformed to a DOM first.
+   *
+   * @param streaming whether supported expressions are evaluated while parsing the payload, stopping at the first matching node
+   */
+  public void setStreaming(boolean streaming) {
+    this.streaming = streaming;
+    for (DataType streamingSourceType : STREAMING_SOURCE_TYPES) {
+      if (streaming) {
+        registerSourceType(streamingSourceType);
+      } else {
+        unregisterSourceType(streamingSourceType);
+      }
+    }
+  }
+
   public XPathEvaluator getXpathEvaluator() {
     return xpathEvaluator;
   }
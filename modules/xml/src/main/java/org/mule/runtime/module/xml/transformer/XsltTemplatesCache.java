@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.transformer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.registry.RegistrationException;
+import org.mule.runtime.core.util.StringUtils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerFactory;
+
+/**
+ * Application wide cache of the {@link Templates} compiled from XSLT stylesheets, so that all the {@link XsltTransformer}s of an
+ * application which use the same stylesheet compile it once and share it.
+ * <p/>
+ * Stylesheets are keyed by the resource they were loaded from, the hash of their content and the {@link TransformerFactory} which
+ * compiled them. The resource is part of the key because the stylesheets it includes or imports are resolved relative to it,
+ * and the content hash makes a stylesheet be compiled again if it changed.
+ */
+public final class XsltTemplatesCache {
+
+  /**
+   * Key under which the cache of each application is registered
+   */
+  public static final String REGISTRY_KEY = "_muleXsltTemplatesCache";
+
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final Object REGISTRY_LOCK = new Object();
+
+  private final ConcurrentMap<String, Templates> templates = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the cache of the application, registering it the first time it is needed.
+   *
+   * @param muleContext the context of the application
+   * @return the {@link XsltTemplatesCache} of the application
+   * @throws RegistrationException if the cache could not be registered
+   */
+  public static XsltTemplatesCache getInstance(MuleContext muleContext) throws RegistrationException {
+    synchronized (REGISTRY_LOCK) {
+      XsltTemplatesCache cache = muleContext.getRegistry().get(REGISTRY_KEY);
+      if (cache == null) {
+        cache = new XsltTemplatesCache();
+        muleContext.getRegistry().registerObject(REGISTRY_KEY, cache);
+      }
+      return cache;
+    }
+  }
+
+  /**
+   * Returns the {@link Templates} compiled from a stylesheet, compiling it if it is not cached yet. The same stylesheet could be
+   * compiled more than once by concurrent callers, but only one of the compiled {@link Templates} is kept.
+   *
+   * @param resource the resource the stylesheet was loaded from, or {@code null} if it was defined inline
+   * @param factoryClassName the class name of the {@link TransformerFactory} which compiles the stylesheet
+   * @param xslt the content of the stylesheet
+   * @param compiler compiles the stylesheet when it is not cached
+   * @return the compiled {@link Templates}
+   * @throws Exception if the stylesheet could not be compiled
+   */
+  public Templates getTemplates(String resource, String factoryClassName, String xslt, Callable<Templates> compiler)
+      throws Exception {
+    String key = resource + "|" + factoryClassName + "|" + hash(xslt);
+
+    Templates cached = templates.get(key);
+    if (cached == null) {
+      cached = compiler.call();
+      Templates previous = templates.putIfAbsent(key, cached);
+      if (previous != null) {
+        cached = previous;
+      }
+    }
+    return cached;
+  }
+
+  /**
+   * @return the number of compiled stylesheets in the cache
+   */
+  public int size() {
+    return templates.size();
+  }
+
+  private String hash(String xslt) throws NoSuchAlgorithmException {
+    return StringUtils.toHexString(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(xslt.getBytes(UTF_8)));
+  }
+}
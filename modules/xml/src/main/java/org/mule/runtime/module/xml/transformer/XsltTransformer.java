@@ -13,6 +13,7 @@ import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.message.OutputHandler;
 import org.mule.runtime.core.util.ClassUtils;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.core.util.StringUtils;
@@ -20,29 +21,45 @@ import org.mule.runtime.module.xml.i18n.XmlMessages;
 import org.mule.runtime.module.xml.util.LocalURIResolver;
 import org.mule.runtime.module.xml.util.XMLUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.transform.ErrorListener;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
 import javax.xml.transform.URIResolver;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
-import org.apache.commons.pool.BasePoolableObjectFactory;
-import org.apache.commons.pool.impl.GenericObjectPool;
+import org.xml.sax.InputSource;
 
 /**
  * <code>XsltTransformer</code> performs an XSLT transform on a DOM (or other XML-ish) object.
  * <p/>
- * This transformer maintains a pool of {@link javax.xml.transform.Transformer} objects to speed up processing of concurrent
- * requests. The pool can be configured using {@link #setMaxIdleTransformers(int)}.
+ * The stylesheet is compiled once into {@link Templates}, which are shared by all the transformers of the application using
+ * the same stylesheet through the {@link XsltTemplatesCache}. This transformer maintains a pool of
+ * {@link javax.xml.transform.Transformer} objects created from them to speed up processing of concurrent requests. Borrowing and
+ * returning them does not lock the pool. The pool can be configured using {@link #setMaxIdleTransformers(int)} and
+ * {@link #setMaxActiveTransformers(int)}.
+ * <p/>
+ * Large documents can be transformed without holding them in memory: if the return type is {@link OutputHandler}, the result is
+ * written straight to the output stream it is given, and if the payload is the {@link DelayedResult} of a previous
+ * transformation, its output is fed to this one as SAX events instead of being built into a DOM first.
  * <p/>
  * Parameter can also be set as part of the transformation context and these can be mapped to content in the current message using
  * property extractors or can be fixed values.
@@ -100,7 +117,12 @@ public class XsltTransformer extends AbstractXmlTransformer {
   // Saxon shipped with Mule
   public static final String PREFERRED_TRANSFORMER_FACTORY = "net.sf.saxon.TransformerFactoryImpl";
 
-  protected final GenericObjectPool transformerPool;
+  private final Queue<javax.xml.transform.Transformer> idleTransformers = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger idleTransformersCount = new AtomicInteger();
+  private volatile int maxIdleTransformers = MAX_IDLE_TRANSFORMERS;
+  private volatile int maxActiveTransformers = MAX_ACTIVE_TRANSFORMERS;
+  private volatile Semaphore activeTransformers = new Semaphore(MAX_ACTIVE_TRANSFORMERS);
+  private volatile Templates templates;
 
   /**
    * Default to Saxon
@@ -114,10 +136,6 @@ public class XsltTransformer extends AbstractXmlTransformer {
 
   public XsltTransformer() {
     super();
-    transformerPool = new GenericObjectPool(new PooledXsltTransformerFactory());
-    transformerPool.setMinIdle(MIN_IDLE_TRANSFORMERS);
-    transformerPool.setMaxIdle(MAX_IDLE_TRANSFORMERS);
-    transformerPool.setMaxActive(MAX_ACTIVE_TRANSFORMERS);
     contextProperties = new HashMap<>();
   }
 
@@ -130,11 +148,16 @@ public class XsltTransformer extends AbstractXmlTransformer {
         this.xslt = IOUtils.getResourceAsString(xslFile, getClass());
       }
 
+      // stylesheets resolved by a custom resolver could differ even if their content is the same
+      boolean shareTemplates = uriResolver == null && muleContext != null;
       if (uriResolver == null) {
         this.uriResolver = new LocalURIResolver(xslFile);
       }
 
-      transformerPool.addObject();
+      templates = compileTemplates(shareTemplates);
+      for (int i = 0; i < MIN_IDLE_TRANSFORMERS; ++i) {
+        returnTransformer(templates.newTransformer());
+      }
     } catch (Throwable te) {
       throw new InitialisationException(te, this);
     }
@@ -150,11 +173,16 @@ public class XsltTransformer extends AbstractXmlTransformer {
     InternalMessage message = event.getMessage();
     Object src = message.getPayload().getValue();
     try {
-      Source sourceDoc = XMLUtils.toXmlSource(getXMLInputFactory(), isUseStaxSource(), src);
+      Source sourceDoc = src instanceof DelayedResult ? toSaxSource((DelayedResult) src)
+          : XMLUtils.toXmlSource(getXMLInputFactory(), isUseStaxSource(), src);
       if (sourceDoc == null) {
         return null;
       }
 
+      if (OutputHandler.class.equals(getReturnDataType().getType())) {
+        return getStreamingResult(event, outputEncoding, sourceDoc);
+      }
+
       ResultHolder holder = getResultHolder(getReturnDataType().getType());
 
       // If the users hasn't specified a class, lets return the same type they gave us
@@ -198,12 +226,48 @@ public class XsltTransformer extends AbstractXmlTransformer {
     };
   }
 
+  /**
+   * Returns an {@link OutputHandler} which does the transformation when it is written, writing the result straight to the
+   * output stream instead of holding it in memory.
+   */
+  protected OutputHandler getStreamingResult(final Event event, final Charset outputEncoding, final Source sourceDoc) {
+    return new OutputHandler() {
+
+      @Override
+      public void write(Event writeEvent, OutputStream out) throws IOException {
+        try {
+          doTransform(event, outputEncoding, sourceDoc, new StreamResult(out));
+        } catch (IOException e) {
+          throw e;
+        } catch (Exception e) {
+          throw new IOException(e);
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns a {@link Source} which writes the {@link DelayedResult} of a previous transformation as SAX events into this one,
+   * so it does not have to be built into a DOM first.
+   */
+  protected Source toSaxSource(DelayedResult delayedResult) {
+    SAXSource source = new SAXSource(new DelayedResultReader(delayedResult), new InputSource());
+    source.setSystemId(delayedResult.getSystemId());
+    return source;
+  }
+
   protected void doTransform(Event event, Charset outputEncoding, Source sourceDoc, Result result) throws Exception {
     DefaultErrorListener errorListener = new DefaultErrorListener(this);
     javax.xml.transform.Transformer transformer = null;
+    // keeps the semaphore the permit was taken from, in case the limit changes meanwhile
+    Semaphore permits = activeTransformers;
+
+    if (permits != null) {
+      permits.acquire();
+    }
 
     try {
-      transformer = (javax.xml.transform.Transformer) transformerPool.borrowObject();
+      transformer = borrowTransformer();
 
       transformer.setErrorListener(errorListener);
       transformer.setOutputProperty(OutputKeys.ENCODING, outputEncoding.name());
@@ -229,9 +293,76 @@ public class XsltTransformer extends AbstractXmlTransformer {
       }
     } finally {
       if (transformer != null) {
-        transformerPool.returnObject(transformer);
+        returnTransformer(transformer);
+      }
+
+      if (permits != null) {
+        permits.release();
+      }
+    }
+  }
+
+  private javax.xml.transform.Transformer borrowTransformer() throws TransformerConfigurationException {
+    javax.xml.transform.Transformer transformer = idleTransformers.poll();
+    if (transformer == null) {
+      return templates.newTransformer();
+    }
+
+    idleTransformersCount.decrementAndGet();
+    return transformer;
+  }
+
+  private void returnTransformer(javax.xml.transform.Transformer transformer) {
+    // Clear transformation parameters before returning transformer to the pool
+    transformer.clearParameters();
+
+    // Clean up transformer before return it to the pool
+    transformer.reset();
+
+    if (idleTransformersCount.incrementAndGet() <= maxIdleTransformers) {
+      idleTransformers.add(transformer);
+    } else {
+      idleTransformersCount.decrementAndGet();
+    }
+  }
+
+  private Templates compileTemplates(boolean shareTemplates) throws Exception {
+    StreamSource source = getStreamSource();
+    TransformerFactory factory = createTransformerFactory();
+
+    if (!shareTemplates) {
+      return factory.newTemplates(source);
+    }
+
+    return XsltTemplatesCache.getInstance(muleContext).getTemplates(xslFile, factory.getClass().getName(), xslt,
+                                                                    () -> factory.newTemplates(source));
+  }
+
+  private TransformerFactory createTransformerFactory() throws Exception {
+    String factoryClassName = getXslTransformerFactory();
+    TransformerFactory factory;
+
+    if (PREFERRED_TRANSFORMER_FACTORY.equals(factoryClassName) && !ClassUtils.isClassOnPath(factoryClassName, getClass())) {
+      logger.warn("Preferred Transfomer Factory " + PREFERRED_TRANSFORMER_FACTORY
+          + " not on classpath and no default is set, defaulting to JDK");
+      factoryClassName = null;
+    }
+
+    if (StringUtils.isNotEmpty(factoryClassName)) {
+
+      factory = (TransformerFactory) ClassUtils.instanciateClass(factoryClassName, ClassUtils.NO_ARGS, this.getClass());
+    } else {
+      // fall back to JDK default
+      try {
+        factory = TransformerFactory.newInstance();
+      } catch (TransformerFactoryConfigurationError e) {
+        System.setProperty("javax.xml.transform.TransformerFactory", XMLUtils.TRANSFORMER_FACTORY_JDK5);
+        factory = TransformerFactory.newInstance();
       }
     }
+
+    factory.setURIResolver(getUriResolver());
+    return factory;
   }
 
   /**
@@ -289,52 +420,6 @@ public class XsltTransformer extends AbstractXmlTransformer {
     }
   }
 
-  protected class PooledXsltTransformerFactory extends BasePoolableObjectFactory {
-
-    @Override
-    public Object makeObject() throws Exception {
-      StreamSource source = XsltTransformer.this.getStreamSource();
-      String factoryClassName = XsltTransformer.this.getXslTransformerFactory();
-      TransformerFactory factory;
-
-      if (PREFERRED_TRANSFORMER_FACTORY.equals(factoryClassName) && !ClassUtils.isClassOnPath(factoryClassName, getClass())) {
-        logger.warn("Preferred Transfomer Factory " + PREFERRED_TRANSFORMER_FACTORY
-            + " not on classpath and no default is set, defaulting to JDK");
-        factoryClassName = null;
-      }
-
-      if (StringUtils.isNotEmpty(factoryClassName)) {
-
-        factory = (TransformerFactory) ClassUtils.instanciateClass(factoryClassName, ClassUtils.NO_ARGS, this.getClass());
-      } else {
-        // fall back to JDK default
-        try {
-          factory = TransformerFactory.newInstance();
-        } catch (TransformerFactoryConfigurationError e) {
-          System.setProperty("javax.xml.transform.TransformerFactory", XMLUtils.TRANSFORMER_FACTORY_JDK5);
-          factory = TransformerFactory.newInstance();
-        }
-      }
-
-      factory.setURIResolver(getUriResolver());
-
-      return factory.newTransformer(source);
-    }
-
-    @Override
-    public void passivateObject(Object object) throws Exception {
-      javax.xml.transform.Transformer transformer = (javax.xml.transform.Transformer) object;
-
-      // Clear transformation parameters before returning transformer to the pool
-      transformer.clearParameters();
-
-      // Clean up transformer before return it to the pool
-      transformer.reset();
-
-      super.passivateObject(transformer);
-    }
-  }
-
   protected class DefaultErrorListener implements ErrorListener {
 
     private TransformerException e = null;
@@ -372,23 +457,25 @@ public class XsltTransformer extends AbstractXmlTransformer {
    * @return The current maximum number of allowable active transformer objects in the pool
    */
   public int getMaxActiveTransformers() {
-    return transformerPool.getMaxActive();
+    return maxActiveTransformers;
   }
 
   /**
-   * Sets the the current maximum number of active transformer objects allowed in the pool
+   * Sets the the current maximum number of active transformer objects allowed in the pool. Transformations wait for one to be
+   * returned once the maximum is reached. A negative value means no limit.
    *
    * @param maxActiveTransformers New maximum size to set
    */
   public void setMaxActiveTransformers(int maxActiveTransformers) {
-    transformerPool.setMaxActive(maxActiveTransformers);
+    this.maxActiveTransformers = maxActiveTransformers;
+    this.activeTransformers = maxActiveTransformers < 0 ? null : new Semaphore(maxActiveTransformers);
   }
 
   /**
    * @return The current maximum number of allowable idle transformer objects in the pool
    */
   public int getMaxIdleTransformers() {
-    return transformerPool.getMaxIdle();
+    return maxIdleTransformers;
   }
 
   /**
@@ -397,7 +484,7 @@ public class XsltTransformer extends AbstractXmlTransformer {
    * @param maxIdleTransformers New maximum size to set
    */
   public void setMaxIdleTransformers(int maxIdleTransformers) {
-    transformerPool.setMaxIdle(maxIdleTransformers);
+    this.maxIdleTransformers = maxIdleTransformers;
   }
 
   /**
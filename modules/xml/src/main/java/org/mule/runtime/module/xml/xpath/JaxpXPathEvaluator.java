@@ -12,14 +12,10 @@ import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.module.xml.i18n.XmlMessages;
 import org.mule.runtime.module.xml.util.NamespaceManager;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
@@ -39,7 +35,9 @@ import org.w3c.dom.Node;
  * need to implement {@link #createXPathFactory()} in order to provide the {@link XPathFactory} implementation it wishes to use.
  *
  * Another important feature of this implementation is that it caches compiled versions of executed expressions to provide better
- * performance. Expressions that haven't been used for more than a minute are automatically evicted.
+ * performance. Evaluators created with the {@link XPathExpressionsCache} of an application share it, so an expression used by many
+ * components of the application is compiled only once. Otherwise each evaluator keeps its own cache. Expressions that haven't been
+ * used for more than a minute are automatically evicted.
  *
  * In addition to the {@link #registerNamespaces(Map)} and {@link #registerNamespaces(NamespaceManager)} methods, this
  * implementation also provides out of the box support for the standard namespaces defined in {@link XPathNamespaceContext}
@@ -47,31 +45,35 @@ import org.w3c.dom.Node;
  * In order to allow binding expression parameters to flow variables, this class also implements the {@link XPathVariableResolver}
  * interface. Because this class caches compiled expressions which might be executed concurrently in different threads, we need a
  * way to correlate different {@link Event} instances to each invocation of the {@link #resolveVariable(QName)} method. To do
- * that, it uses a {@link ThreadLocal} in the {@link #evaluationEvent} attribute, so that we can determine the corresponding event
- * for each thread evaluating an XPath expression. Notice that because xpath evaluation is an operation that happens in RAM memory
- * (basically because the DOM {@link Node} needs to be completely loaded), we can use a {@link ThreadLocal} without risking
- * failure if this is executed in a non-blocking environment.
+ * that, it uses a {@link ThreadLocal} in the {@link #EVALUATION_EVENT} attribute, so that we can determine the corresponding
+ * event for each thread evaluating an XPath expression. It is shared by all the evaluators, as the compiled expressions are, and
+ * an evaluation restores the event of the one it is nested in, if any.
+ * Notice that because xpath evaluation is an operation that happens in RAM memory (basically because the DOM {@link Node} needs
+ * to be completely loaded), we can use a {@link ThreadLocal} without risking failure if this is executed in a non-blocking
+ * environment.
  *
  * @since 3.6.0
  */
 public abstract class JaxpXPathEvaluator implements XPathEvaluator, XPathVariableResolver {
 
-  private final XPathFactory xpathFactory;
-  private final Map<String, String> prefixToNamespaceMap = new HashMap<>();
-  private final ThreadLocal<Event> evaluationEvent = new ThreadLocal<>();
-
-  private final LoadingCache<String, XPathExpression> expressionCache =
-      CacheBuilder.newBuilder().expireAfterAccess(1, TimeUnit.MINUTES).build(new CacheLoader<String, XPathExpression>() {
-
-        @Override
-        public XPathExpression load(String key) throws Exception {
-          return compile(key);
-        }
-      });
+  private static final ThreadLocal<Event> EVALUATION_EVENT = new ThreadLocal<>();
 
-  private NamespaceContext namespaceContext;
+  private final XPathExpressionsCache compiledExpressions;
+  private final XPathFactory xpathFactory;
+  private volatile Map<String, String> prefixToNamespaceMap = ImmutableMap.of();
+  private volatile NamespaceContext namespaceContext;
 
   public JaxpXPathEvaluator() {
+    this(new XPathExpressionsCache());
+  }
+
+  /**
+   * Creates an evaluator which shares its compiled expressions with the other evaluators that use the same cache
+   *
+   * @param compiledExpressions the {@link XPathExpressionsCache} of the application
+   */
+  public JaxpXPathEvaluator(XPathExpressionsCache compiledExpressions) {
+    this.compiledExpressions = compiledExpressions;
     xpathFactory = createXPathFactory();
     namespaceContext = newNamespaceContext();
   }
@@ -96,26 +98,32 @@ public abstract class JaxpXPathEvaluator implements XPathEvaluator, XPathVariabl
    */
   @Override
   public Object evaluate(String xpathExpression, Node input, XPathReturnType returnType, Event event) {
+    Event previousEvent = EVALUATION_EVENT.get();
     try {
-      evaluationEvent.set(event);
-      XPathExpression xpath = expressionCache.getUnchecked(xpathExpression);
+      EVALUATION_EVENT.set(event);
+      XPathExpression xpath = compiledExpressions.getExpression(getClass(), prefixToNamespaceMap, xpathExpression,
+                                                                () -> compile(xpathExpression));
       return xpath.evaluate(input, returnType.toQName());
     } catch (XPathExpressionException e) {
       throw new MuleRuntimeException(XmlMessages.failedToProcessXPath(xpathExpression), e);
     } finally {
-      evaluationEvent.remove();
+      if (previousEvent == null) {
+        EVALUATION_EVENT.remove();
+      } else {
+        EVALUATION_EVENT.set(previousEvent);
+      }
     }
   }
 
   /**
-   * Resolves the given variable against the flow variables in the {@link Event} held by {@link #evaluationEvent}
+   * Resolves the given variable against the flow variables in the {@link Event} held by {@link #EVALUATION_EVENT}
    * 
    * @param variableName the variable name
    * @return the variable value. Might be {@code null}
    */
   @Override
   public Object resolveVariable(QName variableName) {
-    Event event = evaluationEvent.get();
+    Event event = EVALUATION_EVENT.get();
     if (event != null) {
       return event.getVariable(variableName.getLocalPart()).getValue();
     }
@@ -127,11 +135,13 @@ public abstract class JaxpXPathEvaluator implements XPathEvaluator, XPathVariabl
    * {@inheritDoc}
    */
   @Override
-  public void registerNamespaces(Map<String, String> namespaces) {
+  public synchronized void registerNamespaces(Map<String, String> namespaces) {
     checkArgument(namespaces != null, "cannot register null namespaces");
-    prefixToNamespaceMap.putAll(namespaces);
+    // compiled expressions are keyed by the namespaces, so the ones compiled with the previous namespaces are no longer used
+    Map<String, String> registered = new HashMap<>(prefixToNamespaceMap);
+    registered.putAll(namespaces);
+    prefixToNamespaceMap = ImmutableMap.copyOf(registered);
     namespaceContext = newNamespaceContext();
-    expressionCache.invalidateAll();
   }
 
   /**
@@ -149,7 +159,7 @@ public abstract class JaxpXPathEvaluator implements XPathEvaluator, XPathVariabl
    */
   @Override
   public Map<String, String> getRegisteredNamespaces() {
-    return ImmutableMap.copyOf(prefixToNamespaceMap);
+    return prefixToNamespaceMap;
   }
 
   protected XPath newXPath() {
@@ -17,6 +17,17 @@ import net.sf.saxon.xpath.XPathFactoryImpl;
  */
 public class SaxonXpathEvaluator extends JaxpXPathEvaluator {
 
+  public SaxonXpathEvaluator() {
+    super();
+  }
+
+  /**
+   * @param compiledExpressions the {@link XPathExpressionsCache} of the application
+   */
+  public SaxonXpathEvaluator(XPathExpressionsCache compiledExpressions) {
+    super(compiledExpressions);
+  }
+
   /**
    * {@inheritDoc} Returns instances of {@link XPathFactoryImpl}
    */
@@ -0,0 +1,528 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.xpath;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.ENTITY_REFERENCE;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.module.xml.xpath.XPathReturnType.BOOLEAN;
+import static org.mule.runtime.module.xml.xpath.XPathReturnType.NUMBER;
+import static org.mule.runtime.module.xml.xpath.XPathReturnType.STRING;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * An XPath expression which is evaluated over a {@link XMLStreamReader} while the document is being parsed, instead of over a
+ * DOM tree, and which stops reading the document as soon as the first matching node is found. This allows extracting a value
+ * from the first elements of a large document without parsing all of it.
+ * <p/>
+ * Only a subset of XPath is supported: absolute location paths made of child ({@code /}) and descendant ({@code //}) steps with
+ * name tests ({@code name}, {@code prefix:name}, {@code prefix:*} or {@code *}), positional predicates ({@code [2]}) and
+ * attribute predicates ({@code [@id]} or {@code [@id='value']}), which can end in an attribute ({@code /@id}) or a
+ * {@code text()} step. {@link #compile(String, Map)} returns {@code null} for expressions out of that subset, which have to be
+ * evaluated over the whole document with a {@link XPathEvaluator}.
+ * <p/>
+ * Results follow the XPath conversion rules for the first matching node in document order, so they are the same as the ones
+ * returned by a {@link XPathEvaluator} for the {@link XPathReturnType#STRING}, {@link XPathReturnType#NUMBER} and
+ * {@link XPathReturnType#BOOLEAN} return types, which are the only ones supported.
+ * <p/>
+ * Instances are immutable and thread-safe.
+ *
+ * @since 4.0
+ */
+public final class StreamingXPathExpression {
+
+  private static final Pattern NUMBER_PATTERN = Pattern.compile("[+-]?(\\d+(\\.\\d*)?|\\.\\d+)([eE][+-]?\\d+)?");
+
+  private final String expression;
+  private final List<Step> steps;
+  private final QName resultAttribute;
+  private final boolean resultText;
+
+  private StreamingXPathExpression(String expression, List<Step> steps, QName resultAttribute, boolean resultText) {
+    this.expression = expression;
+    this.steps = steps;
+    this.resultAttribute = resultAttribute;
+    this.resultText = resultText;
+  }
+
+  /**
+   * Compiles the given {@code expression} if it is part of the supported subset.
+   *
+   * @param expression the XPath expression
+   * @param namespaces a {@link Map} in which the key is a namespace prefix and the value is its URI, used to resolve the prefixes
+   *        in the {@code expression} along with the ones in {@link XPathNamespaceContext}
+   * @return the compiled expression, or {@code null} if it can not be evaluated in streaming mode
+   */
+  public static StreamingXPathExpression compile(String expression, Map<String, String> namespaces) {
+    checkArgument(expression != null, "expression cannot be null");
+    return new Parser(expression.trim(), new XPathNamespaceContext(namespaces)).parse();
+  }
+
+  /**
+   * @param returnType a {@link XPathReturnType}
+   * @return whether results of the given {@code returnType} can be obtained in streaming mode
+   */
+  public static boolean supports(XPathReturnType returnType) {
+    return returnType == STRING || returnType == NUMBER || returnType == BOOLEAN;
+  }
+
+  /**
+   * Evaluates this expression reading the {@code reader} from its current event up to the first matching node.
+   *
+   * @param reader the {@link XMLStreamReader} to evaluate the expression over
+   * @param returnType a {@link XPathReturnType} for which {@link #supports(XPathReturnType)} is {@code true}
+   * @return the result of the evaluation in concordance with {@code returnType}
+   * @throws XMLStreamException if the document could not be read
+   */
+  public Object evaluate(XMLStreamReader reader, XPathReturnType returnType) throws XMLStreamException {
+    checkArgument(supports(returnType), "Return type " + returnType + " is not supported in streaming mode");
+
+    String value = find(reader, returnType != BOOLEAN);
+    if (returnType == BOOLEAN) {
+      return value != null;
+    } else if (returnType == NUMBER) {
+      return value != null ? toNumber(value) : Double.NaN;
+    } else {
+      return value != null ? value : "";
+    }
+  }
+
+  /**
+   * @return the compiled expression
+   */
+  public String getExpression() {
+    return expression;
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+
+  /**
+   * Returns the string value of the first matching node, or {@code null} if there is none. If {@code readValue} is
+   * {@code false} and the first match is an element, the element content is not read and an empty value is returned.
+   */
+  private String find(XMLStreamReader reader, boolean readValue) throws XMLStreamException {
+    Deque<Frame> frames = new ArrayDeque<>();
+    BitSet rootStates = new BitSet();
+    rootStates.set(0);
+    frames.push(new Frame(rootStates, false));
+    StringBuilder text = null;
+
+    for (int event = reader.getEventType();; event = reader.next()) {
+      if (text != null && !isText(event)) {
+        return text.toString();
+      }
+
+      switch (event) {
+        case START_ELEMENT:
+          Frame frame = startElement(reader, frames.peek());
+          if (frame == null) {
+            return readValue ? readStringValue(reader) : "";
+          } else if (frame.matchedAttribute != null) {
+            return frame.matchedAttribute;
+          }
+          frames.push(frame);
+          break;
+        case END_ELEMENT:
+          if (frames.size() == 1) {
+            // left the element the reader was positioned at
+            return null;
+          }
+          frames.pop();
+          break;
+        case CHARACTERS:
+        case CDATA:
+        case SPACE:
+        case ENTITY_REFERENCE:
+          if (frames.peek().collectsText) {
+            if (text == null) {
+              text = new StringBuilder();
+            }
+            text.append(reader.getText());
+          }
+          break;
+        case END_DOCUMENT:
+          return null;
+        default:
+          break;
+      }
+
+      if (!reader.hasNext()) {
+        return text != null ? text.toString() : null;
+      }
+    }
+  }
+
+  /**
+   * Matches the current element against the steps which are active in its parent. Returns {@code null} if the element is the
+   * result of the expression, or the {@link Frame} with the steps which are active in its content otherwise.
+   */
+  private Frame startElement(XMLStreamReader reader, Frame parent) {
+    BitSet states = new BitSet();
+    boolean matched = false;
+
+    for (int i = parent.states.nextSetBit(0); i >= 0; i = parent.states.nextSetBit(i + 1)) {
+      Step step = steps.get(i);
+      if (step.descendant) {
+        states.set(i);
+      }
+      if (step.matches(reader, parent, i)) {
+        if (i + 1 < steps.size()) {
+          states.set(i + 1);
+        } else {
+          matched = true;
+        }
+      }
+    }
+
+    if (matched && resultAttribute == null && !resultText) {
+      return null;
+    }
+
+    Frame frame = new Frame(states, matched && resultText);
+    if (matched && resultAttribute != null) {
+      frame.matchedAttribute = getAttributeValue(reader, resultAttribute);
+    }
+    return frame;
+  }
+
+  private String readStringValue(XMLStreamReader reader) throws XMLStreamException {
+    StringBuilder value = new StringBuilder();
+    for (int depth = 1; depth > 0;) {
+      int event = reader.next();
+      if (event == START_ELEMENT) {
+        depth++;
+      } else if (event == END_ELEMENT) {
+        depth--;
+      } else if (isText(event)) {
+        value.append(reader.getText());
+      }
+    }
+    return value.toString();
+  }
+
+  private static boolean isText(int event) {
+    return event == CHARACTERS || event == CDATA || event == SPACE || event == ENTITY_REFERENCE;
+  }
+
+  private static Double toNumber(String value) {
+    String trimmed = value.trim();
+    return NUMBER_PATTERN.matcher(trimmed).matches() ? Double.valueOf(trimmed) : Double.NaN;
+  }
+
+  private static String getAttributeValue(XMLStreamReader reader, QName name) {
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      if (name.getLocalPart().equals(reader.getAttributeLocalName(i))
+          && name.getNamespaceURI().equals(nullToEmpty(reader.getAttributeNamespace(i)))) {
+        return reader.getAttributeValue(i);
+      }
+    }
+    return null;
+  }
+
+  private static String nullToEmpty(String value) {
+    return value != null ? value : "";
+  }
+
+  /**
+   * The steps which are active in the content of an element, that is, the ones which its child elements have to be matched
+   * against, along with the count of the children which matched each of them, to evaluate positional predicates.
+   */
+  private final class Frame {
+
+    private final BitSet states;
+    private final boolean collectsText;
+    private int[][] positions;
+    private String matchedAttribute;
+
+    private Frame(BitSet states, boolean collectsText) {
+      this.states = states;
+      this.collectsText = collectsText;
+    }
+
+    private int nextPosition(int step, int predicate) {
+      if (positions == null) {
+        positions = new int[steps.size()][];
+      }
+      if (positions[step] == null) {
+        positions[step] = new int[steps.get(step).predicates.size()];
+      }
+      return ++positions[step][predicate];
+    }
+  }
+
+  private static final class Step {
+
+    private final boolean descendant;
+    private final String namespaceUri;
+    private final String localName;
+    private final List<Predicate> predicates;
+
+    /**
+     * @param namespaceUri the namespace of the matched elements, or {@code null} to match any
+     * @param localName the local name of the matched elements, or {@code null} to match any
+     */
+    private Step(boolean descendant, String namespaceUri, String localName, List<Predicate> predicates) {
+      this.descendant = descendant;
+      this.namespaceUri = namespaceUri;
+      this.localName = localName;
+      this.predicates = predicates;
+    }
+
+    private boolean matches(XMLStreamReader reader, Frame parent, int index) {
+      if ((localName != null && !localName.equals(reader.getLocalName()))
+          || (namespaceUri != null && !namespaceUri.equals(nullToEmpty(reader.getNamespaceURI())))) {
+        return false;
+      }
+
+      // predicates are applied in order, so positions only count the elements which matched the previous ones
+      for (int i = 0; i < predicates.size(); i++) {
+        Predicate predicate = predicates.get(i);
+        if (predicate.position > 0) {
+          if (parent.nextPosition(index, i) != predicate.position) {
+            return false;
+          }
+        } else {
+          String value = getAttributeValue(reader, predicate.attribute);
+          if (value == null || (predicate.value != null && !predicate.value.equals(value))) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Either a positional predicate or an attribute one, which optionally compares the attribute value
+   */
+  private static final class Predicate {
+
+    private final int position;
+    private final QName attribute;
+    private final String value;
+
+    private Predicate(int position, QName attribute, String value) {
+      this.position = position;
+      this.attribute = attribute;
+      this.value = value;
+    }
+  }
+
+  /**
+   * Parses the supported subset of XPath. All its methods return {@code null} when they find something out of it.
+   */
+  private static final class Parser {
+
+    private static final String WILDCARD = "*";
+
+    private final String expression;
+    private final NamespaceContext namespaceContext;
+    private int index;
+
+    private Parser(String expression, NamespaceContext namespaceContext) {
+      this.expression = expression;
+      this.namespaceContext = namespaceContext;
+    }
+
+    private StreamingXPathExpression parse() {
+      List<Step> steps = new ArrayList<>();
+
+      while (index < expression.length()) {
+        boolean descendant;
+        if (consume("//")) {
+          descendant = true;
+        } else if (consume("/")) {
+          descendant = false;
+        } else {
+          return null;
+        }
+
+        if (consume("@")) {
+          QName attribute = parseAttributeName();
+          boolean last = index == expression.length();
+          return attribute != null && last && !descendant && !steps.isEmpty()
+              ? new StreamingXPathExpression(expression, steps, attribute, false) : null;
+        } else if (consume("text()")) {
+          boolean last = index == expression.length();
+          return last && !descendant && !steps.isEmpty() ? new StreamingXPathExpression(expression, steps, null, true) : null;
+        }
+
+        Step step = parseStep(descendant);
+        if (step == null) {
+          return null;
+        }
+        steps.add(step);
+      }
+
+      return steps.isEmpty() ? null : new StreamingXPathExpression(expression, steps, null, false);
+    }
+
+    private Step parseStep(boolean descendant) {
+      String namespaceUri = null;
+      String localName = null;
+
+      if (!consume(WILDCARD)) {
+        String name = parseNCName();
+        if (name == null) {
+          return null;
+        }
+
+        if (consume(":")) {
+          namespaceUri = namespaceContext.getNamespaceURI(name);
+          if (namespaceUri == null) {
+            return null;
+          }
+          if (!consume(WILDCARD)) {
+            localName = parseNCName();
+            if (localName == null) {
+              return null;
+            }
+          }
+        } else {
+          namespaceUri = "";
+          localName = name;
+        }
+      }
+
+      List<Predicate> predicates = new ArrayList<>();
+      while (consume("[")) {
+        Predicate predicate = parsePredicate();
+        if (predicate == null) {
+          return null;
+        }
+        predicates.add(predicate);
+      }
+
+      return new Step(descendant, namespaceUri, localName, predicates);
+    }
+
+    private Predicate parsePredicate() {
+      skipWhitespace();
+      Predicate predicate;
+
+      if (consume("@")) {
+        QName attribute = parseAttributeName();
+        if (attribute == null) {
+          return null;
+        }
+        skipWhitespace();
+        String value = null;
+        if (consume("=")) {
+          skipWhitespace();
+          value = parseLiteral();
+          if (value == null) {
+            return null;
+          }
+        }
+        predicate = new Predicate(0, attribute, value);
+      } else {
+        int start = index;
+        while (index < expression.length() && Character.isDigit(expression.charAt(index))) {
+          index++;
+        }
+        if (start == index || index - start > 9) {
+          return null;
+        }
+        int position = Integer.parseInt(expression.substring(start, index));
+        if (position == 0) {
+          return null;
+        }
+        predicate = new Predicate(position, null, null);
+      }
+
+      skipWhitespace();
+      return consume("]") ? predicate : null;
+    }
+
+    private QName parseAttributeName() {
+      String name = parseNCName();
+      if (name == null) {
+        return null;
+      }
+
+      if (consume(":")) {
+        String namespaceUri = namespaceContext.getNamespaceURI(name);
+        String localName = parseNCName();
+        return namespaceUri != null && localName != null ? new QName(namespaceUri, localName) : null;
+      }
+      return new QName("", name);
+    }
+
+    private String parseLiteral() {
+      if (index == expression.length()) {
+        return null;
+      }
+
+      char quote = expression.charAt(index);
+      if (quote != '\'' && quote != '"') {
+        return null;
+      }
+
+      int end = expression.indexOf(quote, index + 1);
+      if (end < 0) {
+        return null;
+      }
+
+      String literal = expression.substring(index + 1, end);
+      index = end + 1;
+      return literal;
+    }
+
+    private String parseNCName() {
+      int start = index;
+      if (index < expression.length() && isNameStart(expression.charAt(index))) {
+        index++;
+        while (index < expression.length() && isNamePart(expression.charAt(index))) {
+          index++;
+        }
+      }
+      return start < index ? expression.substring(start, index) : null;
+    }
+
+    private boolean isNameStart(char c) {
+      return Character.isLetter(c) || c == '_';
+    }
+
+    private boolean isNamePart(char c) {
+      return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+    }
+
+    private boolean consume(String token) {
+      if (expression.startsWith(token, index)) {
+        index += token.length();
+        return true;
+      }
+      return false;
+    }
+
+    private void skipWhitespace() {
+      while (index < expression.length() && Character.isWhitespace(expression.charAt(index))) {
+        index++;
+      }
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.xpath;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.registry.RegistrationException;
+import org.mule.runtime.module.xml.i18n.XmlMessages;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+
+/**
+ * Cache of the {@link XPathExpression}s compiled by {@link JaxpXPathEvaluator}s, so that all the evaluators of an application
+ * which use the same expression compile it once and share it.
+ * <p/>
+ * Expressions are keyed by the evaluator class, since each implementation compiles them with its own factory, the registered
+ * namespaces and the expression itself. Expressions that haven't been used for more than a minute are automatically evicted.
+ */
+public final class XPathExpressionsCache {
+
+  /**
+   * Key under which the cache of each application is registered
+   */
+  public static final String REGISTRY_KEY = "_muleXPathExpressionsCache";
+
+  private static final Object REGISTRY_LOCK = new Object();
+
+  private final Cache<CompiledExpressionKey, XPathExpression> expressions =
+      CacheBuilder.newBuilder().expireAfterAccess(1, TimeUnit.MINUTES).build();
+
+  /**
+   * Returns the cache of the application, registering it the first time it is needed.
+   *
+   * @param muleContext the context of the application
+   * @return the {@link XPathExpressionsCache} of the application
+   * @throws RegistrationException if the cache could not be registered
+   */
+  public static XPathExpressionsCache getInstance(MuleContext muleContext) throws RegistrationException {
+    synchronized (REGISTRY_LOCK) {
+      XPathExpressionsCache cache = muleContext.getRegistry().get(REGISTRY_KEY);
+      if (cache == null) {
+        cache = new XPathExpressionsCache();
+        muleContext.getRegistry().registerObject(REGISTRY_KEY, cache);
+      }
+      return cache;
+    }
+  }
+
+  /**
+   * Returns a compiled expression, compiling it if it is not cached yet.
+   *
+   * @param evaluatorClass the class of the evaluator which compiles the expression
+   * @param namespaces the namespaces registered in the evaluator
+   * @param expression the XPath expression
+   * @param compiler compiles the expression when it is not cached
+   * @return the compiled {@link XPathExpression}
+   * @throws XPathExpressionException if the expression could not be compiled
+   */
+  public XPathExpression getExpression(Class<?> evaluatorClass, Map<String, String> namespaces, String expression,
+                                       Callable<XPathExpression> compiler)
+      throws XPathExpressionException {
+    try {
+      return expressions.get(new CompiledExpressionKey(evaluatorClass, namespaces, expression), compiler);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof XPathExpressionException) {
+        throw (XPathExpressionException) e.getCause();
+      }
+      throw new MuleRuntimeException(XmlMessages.failedToProcessXPath(expression), e.getCause());
+    }
+  }
+
+  /**
+   * @return the number of compiled expressions in the cache
+   */
+  public long size() {
+    return expressions.size();
+  }
+
+  private static final class CompiledExpressionKey {
+
+    private final Class<?> evaluatorClass;
+    private final Map<String, String> namespaces;
+    private final String expression;
+
+    private CompiledExpressionKey(Class<?> evaluatorClass, Map<String, String> namespaces, String expression) {
+      this.evaluatorClass = evaluatorClass;
+      this.namespaces = namespaces;
+      this.expression = expression;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CompiledExpressionKey)) {
+        return false;
+      }
+
+      CompiledExpressionKey other = (CompiledExpressionKey) obj;
+      return evaluatorClass.equals(other.evaluatorClass) && namespaces.equals(other.namespaces)
+          && expression.equals(other.expression);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(evaluatorClass, namespaces, expression);
+    }
+  }
+}
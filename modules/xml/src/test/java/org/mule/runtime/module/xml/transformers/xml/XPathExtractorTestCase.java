@@ -7,14 +7,18 @@
 package org.mule.runtime.module.xml.transformers.xml;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.config.MuleProperties;
 import org.mule.runtime.core.api.registry.RegistrationException;
 import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.module.xml.stax.ReversibleXMLStreamReader;
 import org.mule.runtime.module.xml.transformer.XPathExtractor;
 import org.mule.runtime.module.xml.util.NamespaceManager;
+import org.mule.runtime.module.xml.xpath.XPathExpressionsCache;
 import org.mule.runtime.module.xml.xpath.XPathReturnType;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
@@ -26,6 +30,7 @@ import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
@@ -198,6 +203,61 @@ public class XPathExtractorTestCase extends AbstractMuleContextTestCase {
     assertEquals("http://www.test.com/g", extractor.getNamespaces().get("g"));
   }
 
+  @Test
+  public void streamingStringResultWithNamespaces() throws Exception {
+    registerNamespaces();
+
+    final XPathExtractor extractor = initialiseStreamingExtractor("//f:width", XPathReturnType.STRING);
+    assertEquals("Wrong value extracted.", "80", extractor.transform(TEST_XML_WITH_NAMESPACES));
+  }
+
+  @Test
+  public void streamingStopsAtFirstMatch() throws Exception {
+    final XPathExtractor extractor = initialiseStreamingExtractor("/root/node[2]", XPathReturnType.NUMBER);
+
+    // the document is not well formed after the match, so it would fail if it was completely parsed
+    final String truncatedXml = "<root><node>value1</node><node>2</node><node>";
+    assertEquals("Wrong value extracted.", 2.0, (Double) extractor.transform(truncatedXml), 0.0);
+  }
+
+  @Test
+  public void streamingResetsReversibleReader() throws Exception {
+    final XPathExtractor extractor = initialiseStreamingExtractor("/root/node2", XPathReturnType.BOOLEAN);
+    final ReversibleXMLStreamReader reader = new ReversibleXMLStreamReader(XMLInputFactory.newInstance()
+        .createXMLStreamReader(new StringReader(TEST_XML_SINGLE_RESULT)));
+
+    assertThat(extractor.transform(reader), is(true));
+    reader.nextTag();
+    assertEquals("root", reader.getLocalName());
+  }
+
+  @Test
+  public void streamingFallsBackForUnsupportedExpression() throws Exception {
+    final XPathExtractor extractor = initialiseStreamingExtractor("count(/root/node)", XPathReturnType.NUMBER);
+    assertEquals("Wrong value extracted.", 3.0, (Double) extractor.transform(TEST_XML_MULTI_RESULTS), 0.0);
+  }
+
+  @Test
+  public void streamingSourceTypesOnlyInStreamingMode() throws Exception {
+    final XPathExtractor extractor = new XPathExtractor();
+    assertThat(extractor.isSourceDataTypeSupported(DataType.STRING), is(false));
+    assertThat(extractor.isSourceDataTypeSupported(DataType.INPUT_STREAM), is(false));
+
+    extractor.setStreaming(true);
+    assertThat(extractor.isSourceDataTypeSupported(DataType.STRING), is(true));
+    assertThat(extractor.isSourceDataTypeSupported(DataType.INPUT_STREAM), is(true));
+  }
+
+  @Test
+  public void compiledExpressionsAreSharedWithinApplication() throws Exception {
+    final String expression = "/root/node";
+    final Document document = getDocumentForString(TEST_XML_MULTI_RESULTS);
+    initialiseExtractor(expression, XPathReturnType.STRING).transform(document);
+    initialiseExtractor(expression, XPathReturnType.STRING).transform(document);
+
+    assertThat(XPathExpressionsCache.getInstance(muleContext).size(), is(1L));
+  }
+
   private void registerNamespaces() throws RegistrationException {
     final NamespaceManager namespaceManager = new NamespaceManager();
     final Map<String, String> namespaces = new HashMap<String, String>();
@@ -215,6 +275,16 @@ public class XPathExtractorTestCase extends AbstractMuleContextTestCase {
     return extractor;
   }
 
+  private XPathExtractor initialiseStreamingExtractor(final String expression, XPathReturnType resultType)
+      throws RegistrationException {
+    final XPathExtractor extractor = new XPathExtractor();
+    extractor.setExpression(expression);
+    extractor.setResultType(resultType);
+    extractor.setStreaming(true);
+    initialiseObject(extractor);
+    return extractor;
+  }
+
   private Document getDocumentForString(final String xml) throws Exception {
     final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
 
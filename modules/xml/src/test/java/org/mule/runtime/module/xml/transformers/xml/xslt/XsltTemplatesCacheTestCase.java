@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.transformers.xml.xslt;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.message.OutputHandler;
+import org.mule.runtime.module.xml.transformer.DelayedResult;
+import org.mule.runtime.module.xml.transformer.XsltTemplatesCache;
+import org.mule.runtime.module.xml.transformer.XsltTransformer;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+@SmallTest
+public class XsltTemplatesCacheTestCase extends AbstractMuleContextTestCase {
+
+  private static final String XML = "<items><item>a</item><item>b</item><item>c</item></items>";
+
+  private static final String TO_VALUES_XSL = "<xsl:stylesheet version=\"1.0\" "
+      + "xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+      + "<xsl:template match=\"/\"><values><xsl:for-each select=\"//item\"><value name=\"{.}\"/></xsl:for-each></values>"
+      + "</xsl:template></xsl:stylesheet>";
+
+  private static final String COUNT_VALUES_XSL = "<xsl:stylesheet version=\"1.0\" "
+      + "xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+      + "<xsl:template match=\"/\"><count><xsl:value-of select=\"count(//value)\"/></count></xsl:template></xsl:stylesheet>";
+
+  @Test
+  public void templatesAreSharedByTransformersWithTheSameStylesheet() throws Exception {
+    createTransformer(TO_VALUES_XSL, DataType.STRING);
+    createTransformer(TO_VALUES_XSL, DataType.STRING);
+    assertThat(XsltTemplatesCache.getInstance(muleContext).size(), is(1));
+
+    createTransformer(COUNT_VALUES_XSL, DataType.STRING);
+    assertThat(XsltTemplatesCache.getInstance(muleContext).size(), is(2));
+  }
+
+  @Test
+  public void templatesAreNotSharedWithCustomUriResolver() throws Exception {
+    XsltTransformer transformer = new XsltTransformer();
+    transformer.setMuleContext(muleContext);
+    transformer.setReturnDataType(DataType.STRING);
+    transformer.setXslt(TO_VALUES_XSL);
+    transformer.setUriResolver((href, base) -> null);
+    transformer.initialise();
+
+    assertThat(XsltTemplatesCache.getInstance(muleContext).size(), is(0));
+    assertThat((String) transformer.transform(XML), containsString("<value name=\"b\"/>"));
+  }
+
+  @Test
+  public void resultIsStreamedToOutputHandler() throws Exception {
+    XsltTransformer transformer = createTransformer(COUNT_VALUES_XSL, DataType.fromType(OutputHandler.class));
+
+    Object result = transformer.transform("<values><value/><value/></values>");
+    assertThat(result, instanceOf(OutputHandler.class));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((OutputHandler) result).write(null, out);
+    assertThat(out.toString("UTF-8"), containsString("<count>2</count>"));
+  }
+
+  @Test
+  public void delayedResultIsChainedWithoutBuildingDom() throws Exception {
+    XsltTransformer first = createTransformer(TO_VALUES_XSL, DataType.fromType(DelayedResult.class));
+    XsltTransformer second = createTransformer(COUNT_VALUES_XSL, DataType.STRING);
+
+    Object intermediate = first.transform(XML);
+    assertThat(intermediate, instanceOf(DelayedResult.class));
+    assertThat((String) second.transform(intermediate), containsString("<count>3</count>"));
+  }
+
+  private XsltTransformer createTransformer(String xsl, DataType returnType) throws Exception {
+    XsltTransformer transformer = new XsltTransformer();
+    transformer.setMuleContext(muleContext);
+    transformer.setReturnDataType(returnType);
+    transformer.setXslt(xsl);
+    transformer.initialise();
+    return transformer;
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.xpath;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.module.xml.xpath.XPathReturnType.BOOLEAN;
+import static org.mule.runtime.module.xml.xpath.XPathReturnType.NUMBER;
+import static org.mule.runtime.module.xml.xpath.XPathReturnType.STRING;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.StringReader;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.Test;
+
+@SmallTest
+public class StreamingXPathExpressionTestCase extends AbstractMuleTestCase {
+
+  private static final Map<String, String> NAMESPACES = singletonMap("f", "http://www.w3schools.com/furniture");
+
+  private static final String XML = "<root xmlns:f=\"http://www.w3schools.com/furniture\" version=\"1\">"
+      + "<header><id>42</id><id>43</id><note lang=\"en\">first<i>inner</i>last</note></header>"
+      + "<f:table kind=\"coffee\"><f:width> 80 </f:width></f:table>"
+      + "<items><item p=\"1\">a</item><item p=\"2\">b</item><item p=\"2\">c</item><group><item p=\"2\">d</item></group></items>"
+      + "</root>";
+
+  @Test
+  public void childPath() throws Exception {
+    assertThat(evaluate("/root/header/id", STRING), is("42"));
+  }
+
+  @Test
+  public void positionalPredicate() throws Exception {
+    assertThat(evaluate("/root/header/id[2]", STRING), is("43"));
+  }
+
+  @Test
+  public void descendantPath() throws Exception {
+    assertThat(evaluate("//group/item", STRING), is("d"));
+  }
+
+  @Test
+  public void elementStringValueIncludesDescendants() throws Exception {
+    assertThat(evaluate("//note", STRING), is("firstinnerlast"));
+  }
+
+  @Test
+  public void textStep() throws Exception {
+    assertThat(evaluate("/root/header/note/text()", STRING), is("first"));
+  }
+
+  @Test
+  public void attributeStep() throws Exception {
+    assertThat(evaluate("/root/header/note/@lang", STRING), is("en"));
+    assertThat(evaluate("/root/@version", NUMBER), is(1.0));
+  }
+
+  @Test
+  public void predicatesAreAppliedInOrder() throws Exception {
+    assertThat(evaluate("//item[@p='2'][2]", STRING), is("c"));
+    assertThat(evaluate("//item[2][@p='2']", STRING), is("b"));
+  }
+
+  @Test
+  public void prefixedNames() throws Exception {
+    assertThat(evaluate("//f:*[@kind='coffee']/f:width", NUMBER), is(80.0));
+  }
+
+  @Test
+  public void noMatch() throws Exception {
+    assertThat(evaluate("/root/header/note/@missing", STRING), is(""));
+    assertThat(evaluate("/root/footer", BOOLEAN), is(false));
+    assertThat(((Double) evaluate("/root/header/note", NUMBER)).isNaN(), is(true));
+  }
+
+  @Test
+  public void stopsReadingAtFirstMatch() throws Exception {
+    XMLStreamReader reader = createReader(XML);
+    assertThat(StreamingXPathExpression.compile("/root/header/id", NAMESPACES).evaluate(reader, BOOLEAN), is(true));
+    assertThat(reader.getLocalName(), is("id"));
+  }
+
+  @Test
+  public void supportedSubset() {
+    assertThat(StreamingXPathExpression.compile("/a/b[2]/@c", NAMESPACES), is(notNullValue()));
+    assertThat(StreamingXPathExpression.compile("count(/a)", NAMESPACES), is(nullValue()));
+    assertThat(StreamingXPathExpression.compile("/a/..", NAMESPACES), is(nullValue()));
+    assertThat(StreamingXPathExpression.compile("a/b", NAMESPACES), is(nullValue()));
+    assertThat(StreamingXPathExpression.compile("/a[last()]", NAMESPACES), is(nullValue()));
+    assertThat(StreamingXPathExpression.compile("/a[b='c']", NAMESPACES), is(nullValue()));
+    assertThat(StreamingXPathExpression.compile("/unknown:a", NAMESPACES), is(nullValue()));
+  }
+
+  private Object evaluate(String expression, XPathReturnType returnType) throws Exception {
+    return StreamingXPathExpression.compile(expression, NAMESPACES).evaluate(createReader(XML), returnType);
+  }
+
+  private XMLStreamReader createReader(String xml) throws Exception {
+    return XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+  }
+}
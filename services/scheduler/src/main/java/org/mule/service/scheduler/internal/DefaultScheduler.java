@@ -51,6 +51,7 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
 
   private final ExecutorService executor;
   private final ScheduledExecutorService scheduledExecutor;
+  private final int queueCapacity;
 
   /**
    * Wait condition to support awaitTermination
@@ -71,10 +72,24 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
    *        but will dispatch it to the {@code executor} at the appropriate time.
    */
   DefaultScheduler(ExecutorService executor, int workers, int totalWorkers, ScheduledExecutorService scheduledExecutor) {
+    this(executor, workers, totalWorkers, scheduledExecutor, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param executor the actual executor that will run the dispatched tasks.
+   * @param workers an estimate of how many threads will be, at maximum, in the underlying executor
+   * @param totalWorkers an estimate of how many threads will be, at maximum, in all the underlying executors
+   * @param scheduledExecutor the executor that will handle the delayed/periodic tasks. This will not execute the actual tasks,
+   *        but will dispatch it to the {@code executor} at the appropriate time.
+   * @param queueCapacity the capacity of the queue of {@code executor}, or {@link Integer#MAX_VALUE} if it is unbounded.
+   */
+  DefaultScheduler(ExecutorService executor, int workers, int totalWorkers, ScheduledExecutorService scheduledExecutor,
+                   int queueCapacity) {
     scheduledTasks = new ConcurrentHashMap<>(workers, 1.00f, totalWorkers);
     cancelledBeforeFireTasks = newKeySet();
     this.executor = executor;
     this.scheduledExecutor = scheduledExecutor;
+    this.queueCapacity = queueCapacity;
   }
 
   @Override
@@ -85,7 +100,8 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
     final RunnableFuture<?> task = newTaskFor(command, null);
 
     final ScheduledFutureDecorator<?> scheduled =
-        new ScheduledFutureDecorator<>(scheduledExecutor.schedule(schedulableTask(task), delay, unit), task);
+        new ScheduledFutureDecorator<>(scheduledExecutor.schedule(schedulableTask(task, () -> cancelRejected(task)), delay, unit),
+                                       task);
 
     scheduledTasks.put(task, scheduled);
     return scheduled;
@@ -99,7 +115,8 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
     final RunnableFuture<V> task = newTaskFor(callable);
 
     final ScheduledFuture<V> scheduled =
-        new ScheduledFutureDecorator(scheduledExecutor.schedule(schedulableTask(task), delay, unit), task);
+        new ScheduledFutureDecorator(scheduledExecutor.schedule(schedulableTask(task, () -> cancelRejected(task)), delay, unit),
+                                     task);
 
     scheduledTasks.put(task, scheduled);
     return scheduled;
@@ -117,7 +134,8 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
     }, this);
 
     final ScheduledFuture<?> scheduled =
-        new ScheduledFutureDecorator<>(scheduledExecutor.scheduleAtFixedRate(schedulableTask(task), initialDelay, period, unit),
+        new ScheduledFutureDecorator<>(scheduledExecutor.scheduleAtFixedRate(schedulableTask(task, () -> skipRejected(task)),
+                                                                             initialDelay, period, unit),
                                        task);
 
     scheduledTasks.put(task, scheduled);
@@ -131,21 +149,60 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
 
     final RunnableFuture<?> task = new RunnableRepeatableFutureDecorator<>(() -> super.newTaskFor(command, null), t -> {
       if (!t.isCancelled()) {
-        scheduledExecutor.schedule(schedulableTask(t), delay, unit);
+        scheduleWithDelay(t, delay, unit);
       } else {
         taskFinished(t);
       }
     }, this);
 
     final ScheduledFutureDecorator<?> scheduled =
-        new ScheduledFutureDecorator<>(scheduledExecutor.schedule(schedulableTask(task), initialDelay, unit), task);
+        new ScheduledFutureDecorator<>(scheduleWithDelay(task, initialDelay, unit), task);
 
     scheduledTasks.put(task, scheduled);
     return scheduled;
   }
 
-  private <T> Runnable schedulableTask(RunnableFuture<T> task) {
-    return () -> executor.execute(task);
+  private <T> ScheduledFuture<?> scheduleWithDelay(RunnableFuture<T> task, long delay, TimeUnit unit) {
+    // A rejected run is retried after the delay, since the next one is only scheduled once a run finishes
+    return scheduledExecutor.schedule(schedulableTask(task, () -> {
+      if (!task.isCancelled()) {
+        skipRejected(task);
+        scheduleWithDelay(task, delay, unit);
+      }
+    }), delay, unit);
+  }
+
+  /**
+   * Creates the task run by the timer thread when {@code task} fires, which hands it off to {@link #executor}.
+   * <p>
+   * The timer thread is shared by all the schedulers, so it can neither run nor wait for the tasks it hands off. When the
+   * executor has no room for {@code task}, {@code rejectionCallback} is called instead of letting the rejection propagate, which
+   * would stop a periodic task from firing ever again.
+   *
+   * @param task the task to hand off to the executor.
+   * @param rejectionCallback what to do if the executor rejects {@code task}.
+   * @return the task to schedule in {@link #scheduledExecutor}.
+   */
+  private <T> Runnable schedulableTask(RunnableFuture<T> task, Runnable rejectionCallback) {
+    return () -> {
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        if (executor.isShutdown()) {
+          throw e;
+        }
+        rejectionCallback.run();
+      }
+    };
+  }
+
+  private void cancelRejected(RunnableFuture<?> task) {
+    logger.warn("Task " + task.toString() + " rejected from " + executor.toString() + ", it will be cancelled.");
+    task.cancel(false);
+  }
+
+  private void skipRejected(RunnableFuture<?> task) {
+    logger.warn("Task " + task.toString() + " rejected from " + executor.toString() + ", it will be retried on its next run.");
   }
 
   @Override
@@ -277,6 +334,11 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
     }
   }
 
+  @Override
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
   @Override
   public String toString() {
     return super.toString() + "{" + lineSeparator()
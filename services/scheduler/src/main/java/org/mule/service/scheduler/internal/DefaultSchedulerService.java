@@ -6,12 +6,17 @@
  */
 package org.mule.service.scheduler.internal;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
 import static java.lang.Runtime.getRuntime;
+import static java.lang.System.getProperty;
 import static java.lang.System.currentTimeMillis;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.service.scheduler.internal.executor.RejectionPolicy.ABORT;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.exception.MuleException;
@@ -19,12 +24,16 @@ import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.lifecycle.Stoppable;
 import org.mule.runtime.core.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.scheduler.SchedulerService;
+import org.mule.service.scheduler.internal.executor.RejectionPolicy;
+import org.mule.service.scheduler.internal.executor.WorkStealingExecutorService;
 import org.mule.service.scheduler.internal.threads.SchedulerThreadFactory;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -38,8 +47,22 @@ import org.slf4j.Logger;
  * {@link ScheduledExecutorService} for scheduling work. When a scheduled tasks is fired, they are executed using the
  * {@link Scheduler}'s own executor.
  * <p>
- * The returned {@link Scheduler}s have an {@code AbortPolicy} rejection policy. That means that when sending a task to a full
- * {@link Scheduler} a {@link RejectedExecutionException} will be thrown.
+ * The returned {@link Scheduler}s have an {@code AbortPolicy} rejection policy by default. That means that when sending a task to
+ * a full {@link Scheduler} a {@link RejectedExecutionException} will be thrown.
+ * <p>
+ * By default, the queues of the cpu-light and computation pools are unbounded, and the io pool hands tasks directly to its
+ * threads, growing up to {@code cores * cores} threads. When the {@value #QUEUE_SIZE_PROPERTY} system property is set to a
+ * positive value, all of the pools backed by a {@link ThreadPoolExecutor} have a queue of that capacity, and the
+ * {@link RejectionPolicy} set in the {@value #REJECTION_POLICY_PROPERTY} system property is applied when it is full. The
+ * capacity is reported by {@link Scheduler#getQueueCapacity()} so that processing strategies bound the events they buffer for
+ * each flow. Sources are only slowed down by a saturated pool with the {@link RejectionPolicy#WAIT} policy.
+ * The policy only applies to tasks dispatched directly to a {@link Scheduler}. The timer thread that hands off delayed and
+ * periodic tasks is shared and must neither run them nor block, so when the pool is full a delayed task is cancelled and a
+ * periodic task skips that run and fires again on its next period.
+ * <p>
+ * When the {@value #WORK_STEALING_PROPERTY} system property is set to {@code true}, the cpu-light and computation pools are
+ * backed by a {@link WorkStealingExecutorService} instead of a {@link ThreadPoolExecutor} with a shared queue. Their queues
+ * are unbounded, so {@value #QUEUE_SIZE_PROPERTY} only applies to the io pool.
  *
  * @since 4.0
  */
@@ -47,6 +70,23 @@ public class DefaultSchedulerService implements SchedulerService, Startable, Sto
 
   private static final Logger logger = getLogger(DefaultSchedulerService.class);
 
+  /**
+   * System property to make the cpu-light and computation pools work-stealing executors.
+   */
+  public static final String WORK_STEALING_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scheduler.workStealing";
+
+  /**
+   * System property to set the capacity of the queues of the pools. A value of {@code 0} or less means unbounded.
+   */
+  public static final String QUEUE_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scheduler.queueSize";
+
+  /**
+   * System property to set the {@link RejectionPolicy} applied when the queue of a bounded pool is full.
+   */
+  public static final String REJECTION_POLICY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scheduler.rejectionPolicy";
+
+  private static final int UNBOUNDED = 0;
+
   // TODO MULE-10585 Externalize this timeout
   private static final int GRACEFUL_SHUTDOWN_TIMEOUT_SECS = 60;
 
@@ -68,6 +108,41 @@ public class DefaultSchedulerService implements SchedulerService, Startable, Sto
   private ExecutorService computationExecutor;
   private ScheduledExecutorService scheduledExecutor;
 
+  private final boolean workStealing;
+  private final int queueSize;
+  private final RejectionPolicy rejectionPolicy;
+
+  public DefaultSchedulerService() {
+    this(getBoolean(WORK_STEALING_PROPERTY), getInteger(QUEUE_SIZE_PROPERTY, UNBOUNDED),
+         RejectionPolicy.valueOf(getProperty(REJECTION_POLICY_PROPERTY, ABORT.name())));
+  }
+
+  /**
+   * @param workStealing whether the cpu-light and computation pools are {@link WorkStealingExecutorService}s, instead of
+   *        {@link ThreadPoolExecutor}s with a shared queue.
+   */
+  public DefaultSchedulerService(boolean workStealing) {
+    this(workStealing, UNBOUNDED, ABORT);
+  }
+
+  /**
+   * @param workStealing whether the cpu-light and computation pools are {@link WorkStealingExecutorService}s, instead of
+   *        {@link ThreadPoolExecutor}s with a shared queue.
+   * @param queueSize the capacity of the queues of the pools backed by a {@link ThreadPoolExecutor}. {@code 0} or less means
+   *        unbounded.
+   * @param rejectionPolicy what to do with the tasks dispatched to a pool with all its threads busy and its queue full.
+   */
+  public DefaultSchedulerService(boolean workStealing, int queueSize, RejectionPolicy rejectionPolicy) {
+    this.workStealing = workStealing;
+    this.queueSize = queueSize > 0 ? queueSize : UNBOUNDED;
+    this.rejectionPolicy = rejectionPolicy;
+
+    if (workStealing && this.queueSize != UNBOUNDED) {
+      logger.warn("The cpu-light and computation pools are work-stealing, their queues will be unbounded. The queue size of "
+          + queueSize + " only applies to the io pool.");
+    }
+  }
+
   @Override
   public String getName() {
     return "SchedulerService";
@@ -75,17 +150,24 @@ public class DefaultSchedulerService implements SchedulerService, Startable, Sto
 
   @Override
   public Scheduler cpuLightScheduler() {
-    return new DefaultScheduler(cpuLightExecutor, 4 * cores, (cores + 4 + 4) * cores, scheduledExecutor);
+    return new DefaultScheduler(cpuLightExecutor, 4 * cores, (cores + 4 + 4) * cores, scheduledExecutor,
+                                queueCapacity(cpuLightExecutor));
   }
 
   @Override
   public Scheduler ioScheduler() {
-    return new DefaultScheduler(ioExecutor, cores * cores, (cores + 4 + 4) * cores, scheduledExecutor);
+    return new DefaultScheduler(ioExecutor, cores * cores, (cores + 4 + 4) * cores, scheduledExecutor,
+                                queueCapacity(ioExecutor));
   }
 
   @Override
   public Scheduler computationScheduler() {
-    return new DefaultScheduler(computationExecutor, 4 * cores, (cores + 4 + 4) * cores, scheduledExecutor);
+    return new DefaultScheduler(computationExecutor, 4 * cores, (cores + 4 + 4) * cores, scheduledExecutor,
+                                queueCapacity(computationExecutor));
+  }
+
+  private int queueCapacity(ExecutorService executor) {
+    return queueSize != UNBOUNDED && executor instanceof ThreadPoolExecutor ? queueSize : Integer.MAX_VALUE;
   }
 
   @Override
@@ -108,22 +190,46 @@ public class DefaultSchedulerService implements SchedulerService, Startable, Sto
     logger.info("Starting " + this.toString() + "...");
 
     // TODO MULE-10585 Externalize the threads configuration
-    cpuLightExecutor = new ThreadPoolExecutor(2 * cores, 2 * cores, 0, SECONDS, new LinkedBlockingQueue<>(),
-                                              new SchedulerThreadFactory(cpuLightGroup));
-    ioExecutor = new ThreadPoolExecutor(cores, cores * cores, 30, SECONDS, new SynchronousQueue<>(),
-                                        new SchedulerThreadFactory(ioGroup));
-    computationExecutor = new ThreadPoolExecutor(2 * cores, 2 * cores, 0, SECONDS, new LinkedBlockingQueue<>(),
-                                                 new SchedulerThreadFactory(computationGroup));
+    if (workStealing) {
+      // Work stealing executors start all their threads on creation
+      cpuLightExecutor = new WorkStealingExecutorService(2 * cores, new SchedulerThreadFactory(cpuLightGroup));
+      computationExecutor = new WorkStealingExecutorService(2 * cores, new SchedulerThreadFactory(computationGroup));
+    } else {
+      cpuLightExecutor = new ThreadPoolExecutor(2 * cores, 2 * cores, 0, SECONDS, createQueue(),
+                                                new SchedulerThreadFactory(cpuLightGroup), createRejectionHandler());
+      computationExecutor = new ThreadPoolExecutor(2 * cores, 2 * cores, 0, SECONDS, createQueue(),
+                                                   new SchedulerThreadFactory(computationGroup), createRejectionHandler());
+      ((ThreadPoolExecutor) cpuLightExecutor).prestartAllCoreThreads();
+      ((ThreadPoolExecutor) computationExecutor).prestartAllCoreThreads();
+    }
+    // When bounded, the io pool only grows beyond its core size once its queue is full
+    ioExecutor = new ThreadPoolExecutor(cores, cores * cores, 30, SECONDS,
+                                        queueSize == UNBOUNDED ? new SynchronousQueue<Runnable>() : createQueue(),
+                                        new SchedulerThreadFactory(ioGroup), createRejectionHandler());
     scheduledExecutor = newScheduledThreadPool(1, new SchedulerThreadFactory(timerGroup, "%s"));
 
-    ((ThreadPoolExecutor) cpuLightExecutor).prestartAllCoreThreads();
     ((ThreadPoolExecutor) ioExecutor).prestartAllCoreThreads();
-    ((ThreadPoolExecutor) computationExecutor).prestartAllCoreThreads();
     ((ThreadPoolExecutor) scheduledExecutor).prestartAllCoreThreads();
 
     logger.info("Started " + this.toString());
   }
 
+  private BlockingQueue<Runnable> createQueue() {
+    return queueSize == UNBOUNDED ? new LinkedBlockingQueue<>() : new LinkedBlockingQueue<>(queueSize);
+  }
+
+  private RejectedExecutionHandler createRejectionHandler() {
+    final RejectedExecutionHandler handler = rejectionPolicy.createHandler();
+    return (task, executor) -> {
+      // The timer thread is shared by all the schedulers, so it must neither run the tasks it hands off nor wait for them. The
+      // scheduler that handed off the task decides what to do with it.
+      if (currentThread().getThreadGroup() == timerGroup) {
+        throw new RejectedExecutionException("Task " + task.toString() + " rejected from " + executor.toString());
+      }
+      handler.rejectedExecution(task, executor);
+    };
+  }
+
   @Override
   public void stop() throws MuleException {
     logger.info("Stopping " + this.toString() + "...");
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal.executor;
+
+import org.mule.runtime.core.util.concurrent.WaitPolicy;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
+
+/**
+ * Determines what happens with a task dispatched to a {@link ThreadPoolExecutor} that has all of its threads busy and its queue
+ * full.
+ *
+ * @since 4.0
+ */
+public enum RejectionPolicy {
+
+  /**
+   * The task is rejected with a {@link RejectedExecutionException}.
+   */
+  ABORT {
+
+    @Override
+    public RejectedExecutionHandler createHandler() {
+      return new AbortPolicy();
+    }
+  },
+
+  /**
+   * The dispatching thread blocks until there is room in the queue for the task.
+   */
+  WAIT {
+
+    @Override
+    public RejectedExecutionHandler createHandler() {
+      return new WaitPolicy();
+    }
+  },
+
+  /**
+   * The task is run by the dispatching thread.
+   */
+  CALLER_RUNS {
+
+    @Override
+    public RejectedExecutionHandler createHandler() {
+      return new CallerRunsPolicy();
+    }
+  };
+
+  /**
+   * @return a new {@link RejectedExecutionHandler} that implements this policy.
+   */
+  public abstract RejectedExecutionHandler createHandler();
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal.executor;
+
+import static java.lang.System.lineSeparator;
+import static java.lang.Thread.currentThread;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link java.util.concurrent.ExecutorService} with a fixed number of workers, each one owning its own lock-free deque of
+ * pending tasks.
+ * <p>
+ * Tasks submitted from one of the workers of this executor are queued in that worker's own deque, so the thread that produced
+ * the work is the one that most likely runs it. Tasks submitted from any other thread are spread among the workers' deques.
+ * Idle workers steal tasks from the tail of other workers' deques before parking.
+ * <p>
+ * Contrary to a {@link java.util.concurrent.ThreadPoolExecutor}, there is no single queue shared by all the workers, so
+ * concurrent submitters do not contend on a single lock.
+ * <p>
+ * The threads are created with the given {@link ThreadFactory}, so any {@link ThreadGroup} based check on the running thread
+ * keeps working.
+ *
+ * @since 4.0
+ */
+public class WorkStealingExecutorService extends AbstractExecutorService {
+
+  /**
+   * Upper bound for the time an idle worker is parked before looking for work again, in case a wake-up signal is missed.
+   */
+  private static final long IDLE_PARK_NANOS = MILLISECONDS.toNanos(100);
+
+  private final Worker[] workers;
+  private final ThreadLocal<Worker> currentWorker = new ThreadLocal<>();
+
+  /**
+   * Wait condition to support awaitTermination
+   */
+  private final CountDownLatch terminationLatch;
+
+  private volatile boolean shutdown = false;
+  private volatile boolean stopped = false;
+
+  /**
+   * Creates the executor and starts all of its workers.
+   *
+   * @param parallelism the number of workers of this executor.
+   * @param threadFactory the factory for the threads of the workers.
+   */
+  public WorkStealingExecutorService(int parallelism, ThreadFactory threadFactory) {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("parallelism must be greater than 0");
+    }
+    requireNonNull(threadFactory);
+
+    workers = new Worker[parallelism];
+    terminationLatch = new CountDownLatch(parallelism);
+    for (int i = 0; i < parallelism; ++i) {
+      workers[i] = new Worker(i);
+      workers[i].thread = threadFactory.newThread(workers[i]);
+    }
+    for (Worker worker : workers) {
+      worker.thread.start();
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    requireNonNull(command);
+    checkShutdown();
+
+    final Worker local = currentWorker.get();
+    final Worker target = local != null ? local : workers[ThreadLocalRandom.current().nextInt(workers.length)];
+    target.deque.offerLast(command);
+
+    if (shutdown && target.deque.removeLastOccurrence(command)) {
+      // shutdown happened concurrently with this submission, and no worker has taken the task yet.
+      throw new RejectedExecutionException(this.toString() + " already shutdown");
+    }
+
+    if (local == null && target.unparkIfIdle()) {
+      return;
+    }
+    signalIdleWorker();
+  }
+
+  private void signalIdleWorker() {
+    for (Worker worker : workers) {
+      if (worker.unparkIfIdle()) {
+        return;
+      }
+    }
+  }
+
+  private void checkShutdown() {
+    if (shutdown) {
+      throw new RejectedExecutionException(this.toString() + " already shutdown");
+    }
+  }
+
+  private boolean hasQueuedTasks() {
+    for (Worker worker : workers) {
+      if (!worker.deque.isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the number of tasks that are queued in the workers' deques and not yet started.
+   */
+  public int getQueueSize() {
+    int size = 0;
+    for (Worker worker : workers) {
+      size += worker.deque.size();
+    }
+    return size;
+  }
+
+  /**
+   * @return the number of workers of this executor.
+   */
+  public int getParallelism() {
+    return workers.length;
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    for (Worker worker : workers) {
+      unpark(worker.thread);
+    }
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown = true;
+    stopped = true;
+
+    final List<Runnable> pending = new ArrayList<>();
+    for (Worker worker : workers) {
+      Runnable task;
+      while ((task = worker.deque.pollFirst()) != null) {
+        pending.add(task);
+      }
+    }
+    for (Worker worker : workers) {
+      worker.thread.interrupt();
+      unpark(worker.thread);
+    }
+    return pending;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return terminationLatch.getCount() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return terminationLatch.await(timeout, unit);
+  }
+
+  @Override
+  public String toString() {
+    return super.toString() + "{" + lineSeparator()
+        + "  parallelism: " + workers.length + lineSeparator()
+        + "  queued: " + getQueueSize() + lineSeparator()
+        + "  shutdown: " + shutdown + lineSeparator()
+        + "}";
+  }
+
+  private final class Worker implements Runnable {
+
+    private final int index;
+    private final ConcurrentLinkedDeque<Runnable> deque = new ConcurrentLinkedDeque<>();
+    private final AtomicBoolean parked = new AtomicBoolean(false);
+    private Thread thread;
+
+    private Worker(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public void run() {
+      currentWorker.set(this);
+      try {
+        while (!stopped) {
+          final Runnable task = nextTask();
+          if (task != null) {
+            runTask(task);
+          } else if (shutdown) {
+            return;
+          } else {
+            idle();
+          }
+        }
+      } finally {
+        currentWorker.remove();
+        terminationLatch.countDown();
+      }
+    }
+
+    /**
+     * Takes the oldest task from this worker's own deque or, if there is none, steals the newest one from another worker.
+     */
+    private Runnable nextTask() {
+      Runnable task = deque.pollFirst();
+      if (task != null) {
+        return task;
+      }
+
+      for (int i = 1; i < workers.length; ++i) {
+        task = workers[(index + i) % workers.length].deque.pollLast();
+        if (task != null) {
+          return task;
+        }
+      }
+      return null;
+    }
+
+    private void runTask(Runnable task) {
+      // Clear any interruption left over by a previous task, unless the executor is being stopped
+      if (!stopped) {
+        Thread.interrupted();
+      }
+
+      try {
+        task.run();
+      } catch (Throwable t) {
+        // Do not let a failing task kill the worker, since it would leave its deque orphaned
+        final Thread current = currentThread();
+        current.getUncaughtExceptionHandler().uncaughtException(current, t);
+      }
+    }
+
+    private void idle() {
+      parked.set(true);
+      // Check again after publishing the parked state, so that a task submitted meanwhile is not missed
+      if (hasQueuedTasks() || shutdown) {
+        parked.set(false);
+        return;
+      }
+      parkNanos(this, IDLE_PARK_NANOS);
+      parked.set(false);
+    }
+
+    private boolean unparkIfIdle() {
+      if (parked.compareAndSet(true, false)) {
+        unpark(thread);
+        return true;
+      }
+      return false;
+    }
+  }
+}
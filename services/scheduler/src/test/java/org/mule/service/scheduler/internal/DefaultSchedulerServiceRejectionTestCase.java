@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal;
+
+import static java.lang.Runtime.getRuntime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.service.scheduler.internal.executor.RejectionPolicy.ABORT;
+import static org.mule.service.scheduler.internal.executor.RejectionPolicy.CALLER_RUNS;
+import static org.mule.service.scheduler.internal.executor.RejectionPolicy.WAIT;
+
+import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.service.scheduler.internal.executor.RejectionPolicy;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+
+@Features("SchedulerService")
+public class DefaultSchedulerServiceRejectionTestCase extends AbstractMuleTestCase {
+
+  private static final int EXECUTOR_TIMEOUT_SECS = 1;
+  private static final int QUEUE_SIZE = 2;
+
+  @Rule
+  public ExpectedException expected = ExpectedException.none();
+
+  private final CountDownLatch blockLatch = new CountDownLatch(1);
+  private DefaultSchedulerService service;
+
+  @After
+  public void after() throws Exception {
+    blockLatch.countDown();
+    if (service != null) {
+      service.stop();
+    }
+  }
+
+  @Test
+  @Description("Tests that the schedulers of a bounded service report the capacity of their queue")
+  public void boundedQueueCapacity() throws Exception {
+    service = startService(QUEUE_SIZE, ABORT);
+
+    assertThat(service.cpuLightScheduler().getQueueCapacity(), is(QUEUE_SIZE));
+    assertThat(service.ioScheduler().getQueueCapacity(), is(QUEUE_SIZE));
+    assertThat(service.computationScheduler().getQueueCapacity(), is(QUEUE_SIZE));
+  }
+
+  @Test
+  @Description("Tests that the schedulers of an unbounded service report an unbounded queue capacity")
+  public void unboundedQueueCapacity() throws Exception {
+    service = startService(0, ABORT);
+
+    assertThat(service.cpuLightScheduler().getQueueCapacity(), is(Integer.MAX_VALUE));
+    assertThat(service.ioScheduler().getQueueCapacity(), is(Integer.MAX_VALUE));
+    assertThat(service.computationScheduler().getQueueCapacity(), is(Integer.MAX_VALUE));
+  }
+
+  @Test
+  @Description("Tests that a task dispatched to a saturated scheduler with ABORT policy is rejected")
+  public void abortWhenFull() throws Exception {
+    service = startService(QUEUE_SIZE, ABORT);
+    final Scheduler scheduler = saturate(service.computationScheduler());
+
+    expected.expect(RejectedExecutionException.class);
+    scheduler.execute(() -> {
+    });
+  }
+
+  @Test
+  @Description("Tests that a task dispatched to a saturated scheduler with CALLER_RUNS policy is run by the dispatching thread")
+  public void callerRunsWhenFull() throws Exception {
+    service = startService(QUEUE_SIZE, CALLER_RUNS);
+    final Scheduler scheduler = saturate(service.computationScheduler());
+
+    final AtomicReference<Thread> runningThread = new AtomicReference<>();
+    scheduler.execute(() -> runningThread.set(currentThread()));
+
+    assertThat(runningThread.get(), sameInstance(currentThread()));
+  }
+
+  @Test
+  @Description("Tests that a task dispatched to a saturated scheduler with WAIT policy is accepted once there is room for it")
+  public void waitWhenFull() throws Exception {
+    service = startService(QUEUE_SIZE, WAIT);
+    final Scheduler scheduler = saturate(service.computationScheduler());
+
+    final Future<Boolean> waitingSubmit = service.ioScheduler().submit(() -> {
+      scheduler.execute(() -> {
+      });
+      return true;
+    });
+
+    assertThat(waitingSubmit.isDone(), is(false));
+    blockLatch.countDown();
+    assertThat(waitingSubmit.get(EXECUTOR_TIMEOUT_SECS, SECONDS), is(true));
+  }
+
+  @Test
+  @Description("Tests that a delayed task firing on a saturated scheduler with CALLER_RUNS policy is not run by the timer thread")
+  public void callerRunsDoesNotRunDelayedTaskInTimerThread() throws Exception {
+    service = startService(QUEUE_SIZE, CALLER_RUNS);
+    final Scheduler scheduler = saturate(service.computationScheduler());
+
+    final AtomicReference<Thread> runningThread = new AtomicReference<>();
+    final ScheduledFuture<?> delayedTask = scheduler.schedule(() -> runningThread.set(currentThread()), 0, SECONDS);
+    awaitTimerThread();
+
+    assertThat(delayedTask.isDone(), is(true));
+    assertThat(runningThread.get(), is(nullValue()));
+  }
+
+  @Test
+  @Description("Tests that a delayed task firing on a saturated scheduler with WAIT policy does not block the timer thread")
+  public void waitDoesNotBlockTimerThread() throws Exception {
+    service = startService(QUEUE_SIZE, WAIT);
+    final Scheduler scheduler = saturate(service.computationScheduler());
+
+    final ScheduledFuture<?> delayedTask = scheduler.schedule(() -> {
+    }, 0, SECONDS);
+    awaitTimerThread();
+
+    assertThat(delayedTask.isDone(), is(true));
+  }
+
+  @Test
+  @Description("Tests that a fixed-rate task firing on a saturated scheduler keeps firing once there is room for it")
+  public void fixedRateTaskSurvivesRejection() throws Exception {
+    service = startService(QUEUE_SIZE, ABORT);
+    final Scheduler scheduler = saturate(service.computationScheduler());
+
+    final AtomicInteger runs = new AtomicInteger();
+    final ScheduledFuture<?> periodicTask = scheduler.scheduleAtFixedRate(() -> runs.incrementAndGet(), 0, 10, MILLISECONDS);
+    awaitTimerThread();
+    assertThat(runs.get(), is(0));
+
+    blockLatch.countDown();
+    new PollingProber(EXECUTOR_TIMEOUT_SECS * 1000, 10).check(new JUnitLambdaProbe(() -> runs.get() >= 2));
+    assertThat(periodicTask.isCancelled(), is(false));
+  }
+
+  @Test
+  @Description("Tests that a fixed-delay task firing on a saturated scheduler keeps firing once there is room for it")
+  public void fixedDelayTaskSurvivesRejection() throws Exception {
+    service = startService(QUEUE_SIZE, ABORT);
+    final Scheduler scheduler = saturate(service.computationScheduler());
+
+    final AtomicInteger runs = new AtomicInteger();
+    final ScheduledFuture<?> periodicTask = scheduler.scheduleWithFixedDelay(() -> runs.incrementAndGet(), 0, 10, MILLISECONDS);
+    awaitTimerThread();
+    assertThat(runs.get(), is(0));
+
+    blockLatch.countDown();
+    new PollingProber(EXECUTOR_TIMEOUT_SECS * 1000, 10).check(new JUnitLambdaProbe(() -> runs.get() >= 2));
+    assertThat(periodicTask.isCancelled(), is(false));
+  }
+
+  /**
+   * Waits for a task scheduled in a free scheduler, which only runs once the timer thread has handed off the tasks that fired
+   * before it.
+   */
+  private void awaitTimerThread() throws Exception {
+    service.ioScheduler().schedule(() -> {
+    }, 10, MILLISECONDS).get(EXECUTOR_TIMEOUT_SECS, SECONDS);
+  }
+
+  private DefaultSchedulerService startService(int queueSize, RejectionPolicy rejectionPolicy) throws Exception {
+    final DefaultSchedulerService service = new DefaultSchedulerService(false, queueSize, rejectionPolicy);
+    service.start();
+    return service;
+  }
+
+  /**
+   * Blocks all the threads of the computation pool and fills its queue.
+   */
+  private Scheduler saturate(Scheduler scheduler) {
+    final int threads = 2 * getRuntime().availableProcessors();
+    final AtomicInteger started = new AtomicInteger();
+
+    for (int i = 0; i < threads; ++i) {
+      final int expectedStarted = i + 1;
+      scheduler.execute(() -> {
+        started.incrementAndGet();
+        awaitBlockLatch();
+      });
+      new PollingProber(EXECUTOR_TIMEOUT_SECS * 1000, 10).check(new JUnitLambdaProbe(() -> started.get() == expectedStarted));
+    }
+    for (int i = 0; i < QUEUE_SIZE; ++i) {
+      scheduler.execute(() -> awaitBlockLatch());
+    }
+    return scheduler;
+  }
+
+  private void awaitBlockLatch() {
+    try {
+      blockLatch.await();
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+    }
+  }
+}
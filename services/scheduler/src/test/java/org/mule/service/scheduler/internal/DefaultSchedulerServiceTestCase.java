@@ -86,4 +86,20 @@ public class DefaultSchedulerServiceTestCase extends AbstractMuleTestCase {
     service.stop();
   }
 
+  @Test
+  @Description("Tests that the thread type checks work correctly with work-stealing executors")
+  public void workStealingThreadTypes() throws MuleException, InterruptedException, ExecutionException {
+    final DefaultSchedulerService service = new DefaultSchedulerService(true);
+
+    service.start();
+
+    service.cpuLightScheduler().submit(() -> assertThat(service.isCurrentThreadCpuLight(), is(true))).get();
+    service.cpuLightScheduler().submit(() -> assertThat(service.isCurrentThreadComputation(), is(false))).get();
+    service.computationScheduler().submit(() -> assertThat(service.isCurrentThreadComputation(), is(true))).get();
+    service.computationScheduler().submit(() -> assertThat(service.isCurrentThreadCpuLight(), is(false))).get();
+    service.ioScheduler().submit(() -> assertThat(service.isCurrentThreadIo(), is(true))).get();
+
+    service.stop();
+  }
+
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal.executor;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.junit.Assert.assertThat;
+
+import org.mule.service.scheduler.internal.threads.SchedulerThreadFactory;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+
+@Features("SchedulerService")
+public class WorkStealingExecutorServiceTestCase extends AbstractMuleTestCase {
+
+  private static final int EXECUTOR_TIMEOUT_SECS = 1;
+
+  @Rule
+  public ExpectedException expected = ExpectedException.none();
+
+  private final ThreadGroup threadGroup = new ThreadGroup(WorkStealingExecutorServiceTestCase.class.getSimpleName());
+
+  private WorkStealingExecutorService executor;
+
+  @After
+  public void after() throws InterruptedException {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor.awaitTermination(EXECUTOR_TIMEOUT_SECS, SECONDS);
+    }
+  }
+
+  @Test
+  @Description("Tests that the tasks are run by threads of the ThreadGroup of the provided factory")
+  public void runsInFactoryThreadGroup() throws Exception {
+    executor = new WorkStealingExecutorService(2, new SchedulerThreadFactory(threadGroup));
+
+    assertThat(executor.submit(() -> currentThread().getThreadGroup()).get(EXECUTOR_TIMEOUT_SECS, SECONDS),
+               sameInstance(threadGroup));
+  }
+
+  @Test
+  @Description("Tests that tasks submitted from a busy worker are stolen by the idle ones")
+  public void idleWorkersStealFromBusyWorker() throws Exception {
+    executor = new WorkStealingExecutorService(2, new SchedulerThreadFactory(threadGroup));
+
+    final int subtasks = 10;
+    final CountDownLatch subtasksLatch = new CountDownLatch(subtasks);
+
+    // The subtasks are queued in the deque of the worker that submits them, which keeps blocked until all of them are run.
+    final boolean stolen = executor.submit(() -> {
+      for (int i = 0; i < subtasks; ++i) {
+        executor.execute(() -> subtasksLatch.countDown());
+      }
+      return subtasksLatch.await(EXECUTOR_TIMEOUT_SECS, SECONDS);
+    }).get(5 * EXECUTOR_TIMEOUT_SECS, SECONDS);
+
+    assertThat(stolen, is(true));
+  }
+
+  @Test
+  @Description("Tests that a failing task does not prevent the worker from running further tasks")
+  public void workerSurvivesFailedTask() throws Exception {
+    executor = new WorkStealingExecutorService(1, new SchedulerThreadFactory(threadGroup));
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    executor.execute(() -> {
+      throw new IllegalStateException("Expected");
+    });
+    executor.execute(() -> latch.countDown());
+
+    assertThat(latch.await(EXECUTOR_TIMEOUT_SECS, SECONDS), is(true));
+  }
+
+  @Test
+  @Description("Tests that calling shutdown() runs the already queued tasks before terminating")
+  public void shutdownRunsQueuedTasks() throws Exception {
+    executor = new WorkStealingExecutorService(1, new SchedulerThreadFactory(threadGroup));
+
+    final CountDownLatch blockLatch = new CountDownLatch(1);
+    final AtomicInteger ran = new AtomicInteger();
+    executor.execute(() -> {
+      try {
+        blockLatch.await();
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      }
+    });
+    executor.execute(() -> ran.incrementAndGet());
+    executor.execute(() -> ran.incrementAndGet());
+
+    executor.shutdown();
+    blockLatch.countDown();
+
+    assertThat(executor.awaitTermination(EXECUTOR_TIMEOUT_SECS, SECONDS), is(true));
+    assertThat(ran.get(), is(2));
+  }
+
+  @Test
+  @Description("Tests that calling shutdownNow() returns the queued tasks that were not started")
+  public void shutdownNowReturnsQueuedTasks() throws Exception {
+    executor = new WorkStealingExecutorService(1, new SchedulerThreadFactory(threadGroup));
+
+    final CountDownLatch startedLatch = new CountDownLatch(1);
+    executor.execute(() -> {
+      startedLatch.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      }
+    });
+    startedLatch.await(EXECUTOR_TIMEOUT_SECS, SECONDS);
+    final Runnable queued = () -> {
+    };
+    executor.execute(queued);
+
+    final List<Runnable> notStarted = executor.shutdownNow();
+
+    assertThat(notStarted, hasSize(1));
+    assertThat(notStarted.get(0), sameInstance(queued));
+    assertThat(executor.awaitTermination(EXECUTOR_TIMEOUT_SECS, SECONDS), is(true));
+  }
+
+  @Test
+  @Description("Tests that tasks are rejected after shutdown")
+  public void rejectAfterShutdown() {
+    executor = new WorkStealingExecutorService(1, new SchedulerThreadFactory(threadGroup));
+    executor.shutdown();
+
+    expected.expect(RejectedExecutionException.class);
+    executor.execute(() -> {
+    });
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.module.http.functional.listener;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.runtime.module.http.internal.listener.grizzly.GrizzlyServerManager.HTTP2_PROPERTY_KEY;
+import org.mule.tck.junit4.rule.DynamicPort;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.test.module.http.functional.AbstractHttpTestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+
+import org.apache.http.HttpVersion;
+import org.apache.http.client.fluent.Request;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Sends requests to a listener that accepts HTTP/2 connections. The HTTP/2 client is a minimal implementation of the frames
+ * needed to send a GET request with prior knowledge (h2c) and read its response body.
+ */
+public class HttpListenerHttp2TestCase extends AbstractHttpTestCase {
+
+  private static final String RESPONSE = "Hello from the listener";
+  private static final byte[] CONNECTION_PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(US_ASCII);
+  private static final int DATA_FRAME = 0x0;
+  private static final int HEADERS_FRAME = 0x1;
+  private static final int SETTINGS_FRAME = 0x4;
+  private static final int GOAWAY_FRAME = 0x7;
+  private static final int END_STREAM_FLAG = 0x1;
+  private static final int END_HEADERS_FLAG = 0x4;
+  private static final int ACK_FLAG = 0x1;
+  private static final int STREAM_ID = 1;
+
+  @Rule
+  public DynamicPort port = new DynamicPort("port");
+  @Rule
+  public SystemProperty http2 = new SystemProperty(HTTP2_PROPERTY_KEY, "true");
+
+  @Override
+  protected String getConfigFile() {
+    return "http-listener-http2-config.xml";
+  }
+
+  @Test
+  public void http2WithPriorKnowledge() throws Exception {
+    try (Socket socket = new Socket("localhost", port.getNumber())) {
+      socket.setSoTimeout(RECEIVE_TIMEOUT);
+      OutputStream output = socket.getOutputStream();
+      output.write(CONNECTION_PREFACE);
+      writeFrame(output, SETTINGS_FRAME, 0, 0, new byte[0]);
+      writeFrame(output, HEADERS_FRAME, END_STREAM_FLAG | END_HEADERS_FLAG, STREAM_ID, getRequestHeaderBlock());
+      output.flush();
+
+      assertThat(readResponseBody(socket), is(RESPONSE));
+    }
+  }
+
+  @Test
+  public void http11IsStillServed() throws Exception {
+    String response = Request.Get(getUrl()).version(HttpVersion.HTTP_1_1).connectTimeout(RECEIVE_TIMEOUT).execute()
+        .returnContent().asString();
+    assertThat(response, is(RESPONSE));
+  }
+
+  private String getUrl() {
+    return String.format("http://localhost:%s/", port.getNumber());
+  }
+
+  /**
+   * Encodes the request headers with HPACK, using indexed names from the static table and literal values without Huffman
+   * coding.
+   */
+  private byte[] getRequestHeaderBlock() {
+    ByteArrayOutputStream headerBlock = new ByteArrayOutputStream();
+    // :method GET
+    headerBlock.write(0x82);
+    // :scheme http
+    headerBlock.write(0x86);
+    // :path, literal without indexing
+    writeLiteralHeader(headerBlock, 0x04, "/");
+    // :authority, literal without indexing
+    writeLiteralHeader(headerBlock, 0x01, "localhost:" + port.getNumber());
+    return headerBlock.toByteArray();
+  }
+
+  private void writeLiteralHeader(ByteArrayOutputStream headerBlock, int nameIndex, String value) {
+    byte[] valueBytes = value.getBytes(US_ASCII);
+    headerBlock.write(nameIndex);
+    headerBlock.write(valueBytes.length);
+    headerBlock.write(valueBytes, 0, valueBytes.length);
+  }
+
+  private String readResponseBody(Socket socket) throws IOException {
+    DataInputStream input = new DataInputStream(socket.getInputStream());
+    OutputStream output = socket.getOutputStream();
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    while (true) {
+      int length = input.readUnsignedShort() << 8 | input.readUnsignedByte();
+      int type = input.readUnsignedByte();
+      int flags = input.readUnsignedByte();
+      int streamId = input.readInt() & 0x7FFFFFFF;
+      byte[] payload = new byte[length];
+      input.readFully(payload);
+
+      if (type == SETTINGS_FRAME && (flags & ACK_FLAG) == 0) {
+        writeFrame(output, SETTINGS_FRAME, ACK_FLAG, 0, new byte[0]);
+        output.flush();
+      } else if (type == GOAWAY_FRAME) {
+        fail("Connection closed by the listener");
+      } else if (streamId == STREAM_ID) {
+        if (type == DATA_FRAME) {
+          body.write(payload, 0, payload.length);
+        }
+        if ((type == DATA_FRAME || type == HEADERS_FRAME) && (flags & END_STREAM_FLAG) != 0) {
+          return new String(body.toByteArray(), UTF_8);
+        }
+      }
+    }
+  }
+
+  private void writeFrame(OutputStream output, int type, int flags, int streamId, byte[] payload) throws IOException {
+    output.write(payload.length >>> 16);
+    output.write(payload.length >>> 8);
+    output.write(payload.length);
+    output.write(type);
+    output.write(flags);
+    output.write(streamId >>> 24);
+    output.write(streamId >>> 16);
+    output.write(streamId >>> 8);
+    output.write(streamId);
+    output.write(payload);
+  }
+}
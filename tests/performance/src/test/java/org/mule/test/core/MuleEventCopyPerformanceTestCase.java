@@ -142,6 +142,35 @@ public class MuleEventCopyPerformanceTestCase extends AbstractMuleContextTestCas
     }
   }
 
+  @Test
+  @Required(throughput = 25, average = 40, percentile90 = 45)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void copyChainWith30FlowVarsWrite1PerCopy() throws Exception {
+    Event original = createMuleEvent(InternalMessage.builder().payload(payload).build(), 30);
+    for (int i = 0; i < repetitions; i++) {
+      Event event = original;
+      // Each processor of a 40 processors flow sets a variable
+      for (int j = 1; j <= 40; j++) {
+        event = Event.builder(event).addVariable("FlOwVaRiAbLeKeY" + (j % 35), j).build();
+      }
+      events[i] = event;
+    }
+  }
+
+  @Test
+  @Required(throughput = 60, average = 16, percentile90 = 18)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void copyChainWith30FlowVarsReadOnly() throws Exception {
+    Event original = createMuleEvent(InternalMessage.builder().payload(payload).build(), 30);
+    for (int i = 0; i < repetitions; i++) {
+      Event event = original;
+      for (int j = 1; j <= 40; j++) {
+        event = Event.builder(event).message(event.getMessage()).build();
+      }
+      events[i] = event;
+    }
+  }
+
   protected Event createMuleEvent(InternalMessage message, int numProperties) {
     final Event.Builder builder;
     try {
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core.queue;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.core.util.journal.queue.LocalTxQueueTransactionJournal;
+import org.mule.runtime.core.util.queue.DefaultQueueStore;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Compares the committed transactions per second of a {@link LocalTxQueueTransactionJournal} that syncs each entry to disk on
+ * its own against one that groups the entries of concurrent transactions, with 1, 8 and 64 concurrent committers.
+ */
+public class LocalTxQueueTransactionJournalPerformanceTestCase extends AbstractMuleContextTestCase {
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static final String QUEUE_NAME = "queueName";
+  private static final String PAYLOAD = "Hello World!";
+
+  private final AtomicInteger txIds = new AtomicInteger();
+  private DefaultQueueStore queue;
+  private LocalTxQueueTransactionJournal syncEachEntryJournal;
+  private LocalTxQueueTransactionJournal groupCommitJournal;
+
+  @Before
+  public void before() throws Exception {
+    queue = mock(DefaultQueueStore.class);
+    when(queue.getName()).thenReturn(QUEUE_NAME);
+
+    // A max batch size of 1 makes every entry be written and synced as soon as it is logged.
+    syncEachEntryJournal = new LocalTxQueueTransactionJournal(new File(temporaryFolder.getRoot(), "sync").getAbsolutePath(),
+                                                              muleContext, null, 1, 0);
+    groupCommitJournal = new LocalTxQueueTransactionJournal(new File(temporaryFolder.getRoot(), "group").getAbsolutePath(),
+                                                            muleContext, null, 64, 500);
+  }
+
+  @After
+  public void after() {
+    syncEachEntryJournal.close();
+    groupCommitJournal.close();
+  }
+
+  @Test
+  @Required(throughput = 10)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void syncEachEntry1Committer() {
+    commitTransaction(syncEachEntryJournal);
+  }
+
+  @Test
+  @Required(throughput = 10)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void groupCommit1Committer() {
+    commitTransaction(groupCommitJournal);
+  }
+
+  @Test
+  @Required(throughput = 10)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void syncEachEntry8Committers() {
+    commitTransaction(syncEachEntryJournal);
+  }
+
+  @Test
+  @Required(throughput = 50)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void groupCommit8Committers() {
+    commitTransaction(groupCommitJournal);
+  }
+
+  @Test
+  @Required(throughput = 10)
+  @PerfTest(duration = 15000, threads = 64, warmUp = 5000)
+  public void syncEachEntry64Committers() {
+    commitTransaction(syncEachEntryJournal);
+  }
+
+  @Test
+  @Required(throughput = 200)
+  @PerfTest(duration = 15000, threads = 64, warmUp = 5000)
+  public void groupCommit64Committers() {
+    commitTransaction(groupCommitJournal);
+  }
+
+  private void commitTransaction(LocalTxQueueTransactionJournal journal) {
+    final int txId = txIds.incrementAndGet();
+    journal.logAdd(txId, queue, PAYLOAD);
+    journal.logCommit(txId);
+  }
+
+}
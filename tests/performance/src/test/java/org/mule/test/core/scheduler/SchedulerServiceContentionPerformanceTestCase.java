@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core.scheduler;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.service.scheduler.internal.DefaultSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Compares the throughput of the cpu-light pool of the {@link DefaultSchedulerService} backed by a shared-queue
+ * {@link java.util.concurrent.ThreadPoolExecutor} against the one backed by a work-stealing executor, with many concurrent
+ * submitters.
+ */
+public class SchedulerServiceContentionPerformanceTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private static final int TASKS = 1000;
+  private static final int NESTED_TASKS = 10;
+
+  private DefaultSchedulerService sharedQueueService;
+  private DefaultSchedulerService workStealingService;
+  private Scheduler sharedQueueScheduler;
+  private Scheduler workStealingScheduler;
+
+  @Before
+  public void before() throws Exception {
+    sharedQueueService = new DefaultSchedulerService(false);
+    sharedQueueService.start();
+    sharedQueueScheduler = sharedQueueService.cpuLightScheduler();
+
+    workStealingService = new DefaultSchedulerService(true);
+    workStealingService.start();
+    workStealingScheduler = workStealingService.cpuLightScheduler();
+  }
+
+  @After
+  public void after() throws Exception {
+    sharedQueueScheduler.shutdownNow();
+    workStealingScheduler.shutdownNow();
+    sharedQueueService.stop();
+    workStealingService.stop();
+  }
+
+  @Test
+  @Required(throughput = 100)
+  @PerfTest(duration = 15000, threads = 16, warmUp = 5000)
+  public void sharedQueueExternalSubmit() throws Exception {
+    externalSubmit(sharedQueueScheduler);
+  }
+
+  @Test
+  @Required(throughput = 100)
+  @PerfTest(duration = 15000, threads = 16, warmUp = 5000)
+  public void workStealingExternalSubmit() throws Exception {
+    externalSubmit(workStealingScheduler);
+  }
+
+  @Test
+  @Required(throughput = 50)
+  @PerfTest(duration = 15000, threads = 16, warmUp = 5000)
+  public void sharedQueueNestedSubmit() throws Exception {
+    nestedSubmit(sharedQueueScheduler);
+  }
+
+  @Test
+  @Required(throughput = 50)
+  @PerfTest(duration = 15000, threads = 16, warmUp = 5000)
+  public void workStealingNestedSubmit() throws Exception {
+    nestedSubmit(workStealingScheduler);
+  }
+
+  private void externalSubmit(Scheduler scheduler) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(TASKS);
+    for (int i = 0; i < TASKS; ++i) {
+      scheduler.execute(() -> latch.countDown());
+    }
+    assertThat(latch.await(10, SECONDS), is(true));
+  }
+
+  /**
+   * Each task dispatches more tasks from within a thread of the pool, as non-blocking processors do.
+   */
+  private void nestedSubmit(Scheduler scheduler) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(TASKS * NESTED_TASKS);
+    for (int i = 0; i < TASKS; ++i) {
+      scheduler.execute(() -> {
+        for (int j = 0; j < NESTED_TASKS; ++j) {
+          scheduler.execute(() -> latch.countDown());
+        }
+      });
+    }
+    assertThat(latch.await(10, SECONDS), is(true));
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package org.mule.test.module.extension.db;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.mule.extension.db.internal.domain.query.QueryType.SELECT;
+
+import org.mule.extension.db.internal.domain.connection.DataSourceConfig;
+import org.mule.extension.db.internal.domain.connection.DbConnection;
+import org.mule.extension.db.internal.domain.connection.DbConnectionProvider;
+import org.mule.extension.db.internal.domain.connection.DefaultDbConnection;
+import org.mule.extension.db.internal.domain.connection.PreparedStatementCaches;
+import org.mule.extension.db.internal.domain.executor.SelectExecutor;
+import org.mule.extension.db.internal.domain.param.DefaultInputQueryParam;
+import org.mule.extension.db.internal.domain.param.QueryParam;
+import org.mule.extension.db.internal.domain.query.Query;
+import org.mule.extension.db.internal.domain.query.QueryParamValue;
+import org.mule.extension.db.internal.domain.query.QueryTemplate;
+import org.mule.extension.db.internal.domain.statement.QueryStatementFactory;
+import org.mule.extension.db.internal.domain.type.UnknownDbType;
+import org.mule.extension.db.internal.result.resultset.ListResultSetHandler;
+import org.mule.extension.db.internal.result.row.InsensitiveMapRowHandler;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Compares the throughput of a parameterized select executed on an H2 in memory database through a pooled data source, with
+ * and without {@link PreparedStatementCaches}. Each query borrows a connection from the provider and releases it, as
+ * operations do, so statements are only reused if they outlive the connection handle.
+ */
+public class PreparedStatementCachePerformanceTestCase extends AbstractMuleContextTestCase {
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private static final String DB_URL = "jdbc:h2:mem:statementCache;DB_CLOSE_DELAY=-1";
+  private static final int PLANETS = 100;
+  private static final int QUERIES_PER_INVOCATION = 100;
+
+  private final QueryStatementFactory statementFactory = new QueryStatementFactory();
+  private final SelectExecutor selectExecutor =
+      new SelectExecutor(statementFactory, new ListResultSetHandler(new InsensitiveMapRowHandler()));
+  private final QueryTemplate queryTemplate = createQueryTemplate();
+
+  private PooledConnectionProvider cachingProvider;
+  private PooledConnectionProvider nonCachingProvider;
+
+  @Before
+  public void before() throws Exception {
+    try (Connection connection = DriverManager.getConnection(DB_URL); Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS PLANET");
+      statement.execute("CREATE TABLE PLANET(ID INTEGER PRIMARY KEY, NAME VARCHAR(32), POSITION INTEGER)");
+      for (int i = 0; i < PLANETS; i++) {
+        statement.execute("INSERT INTO PLANET VALUES(" + i + ", 'Planet " + i + "', " + i + ")");
+      }
+    }
+
+    cachingProvider = createProvider(true);
+    nonCachingProvider = createProvider(false);
+  }
+
+  @After
+  public void after() {
+    for (PooledConnectionProvider provider : asList(cachingProvider, nonCachingProvider)) {
+      provider.dispose();
+      provider.dataSource.close();
+    }
+  }
+
+  @Test
+  @Required(throughput = 5)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void withoutStatementCache() throws Exception {
+    selectPlanets(nonCachingProvider);
+  }
+
+  @Test
+  @Required(throughput = 10)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void withStatementCache() throws Exception {
+    selectPlanets(cachingProvider);
+  }
+
+  private void selectPlanets(DbConnectionProvider provider) throws Exception {
+    for (int i = 0; i < QUERIES_PER_INVOCATION; i++) {
+      List<QueryParamValue> paramValues = singletonList(new QueryParamValue("id", i % PLANETS));
+      DbConnection connection = provider.connect();
+      try {
+        selectExecutor.execute(connection, new Query(queryTemplate, paramValues));
+      } finally {
+        provider.disconnect(connection);
+      }
+    }
+  }
+
+  private PooledConnectionProvider createProvider(boolean cacheStatements) throws Exception {
+    PooledConnectionProvider provider = new PooledConnectionProvider(cacheStatements);
+    muleContext.getInjector().inject(provider);
+    provider.initialise();
+    return provider;
+  }
+
+  private static QueryTemplate createQueryTemplate() {
+    List<QueryParam> params = singletonList(new DefaultInputQueryParam(1, UnknownDbType.getInstance(), null, "id"));
+    return new QueryTemplate("SELECT * FROM PLANET WHERE ID = ?", SELECT, params);
+  }
+
+  private static class PooledConnectionProvider extends DbConnectionProvider {
+
+    private final ComboPooledDataSource dataSource = new ComboPooledDataSource();
+    private final boolean cacheStatements;
+
+    private PooledConnectionProvider(boolean cacheStatements) {
+      this.cacheStatements = cacheStatements;
+      dataSource.setJdbcUrl(DB_URL);
+      dataSource.setMaxStatements(0);
+    }
+
+    @Override
+    public Optional<DataSource> getDataSource() {
+      return Optional.of(dataSource);
+    }
+
+    @Override
+    public Optional<DataSourceConfig> getDataSourceConfig() {
+      return Optional.empty();
+    }
+
+    @Override
+    protected DbConnection createDbConnection(Connection connection) throws Exception {
+      return cacheStatements ? super.createDbConnection(connection) : new DefaultDbConnection(connection, emptyList());
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.module.extension.socket;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+
+import org.mule.extension.socket.api.ConnectionSettings;
+import org.mule.extension.socket.api.connection.tcp.TcpRequesterConnection;
+import org.mule.extension.socket.api.connection.tcp.protocol.LengthProtocol;
+import org.mule.extension.socket.api.socket.factory.TcpSocketFactory;
+import org.mule.extension.socket.api.socket.tcp.TcpClientSocketProperties;
+import org.mule.extension.socket.internal.TcpSocketPool;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.DynamicPort;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Compares the throughput of small request/response exchanges with a local echo server done by connections which open their
+ * own socket, against connections sharing a {@link TcpSocketPool} of two sockets, with and without pipelining.
+ */
+public class PooledTcpRequesterPerformanceTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  @Rule
+  public DynamicPort dynamicPort = new DynamicPort("port");
+
+  private static final int POOLED_SOCKETS = 2;
+  private static final int EXCHANGES_PER_INVOCATION = 100;
+  private static final String MESSAGE = "0123456789abcdef";
+
+  private final LengthProtocol protocol = new LengthProtocol();
+  private ExecutorService threads;
+  private ServerSocket serverSocket;
+  private TcpSocketPool pool;
+  private TcpSocketPool pipeliningPool;
+
+  @Before
+  public void before() throws Exception {
+    threads = newCachedThreadPool();
+    serverSocket = new ServerSocket(dynamicPort.getNumber());
+    threads.execute(this::acceptConnections);
+
+    pool = new TcpSocketPool(protocol, POOLED_SOCKETS, 1, 5000);
+    pipeliningPool = new TcpSocketPool(protocol, POOLED_SOCKETS, 32, 5000);
+  }
+
+  @After
+  public void after() throws Exception {
+    pool.close();
+    pipeliningPool.close();
+    serverSocket.close();
+    threads.shutdownNow();
+  }
+
+  @Test
+  @Required(throughput = 10)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void dedicatedSockets() throws Exception {
+    TcpRequesterConnection connection = createConnection(null);
+    try {
+      for (int i = 0; i < EXCHANGES_PER_INVOCATION; i++) {
+        exchange(connection);
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  @Test
+  @Required(throughput = 20)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void pooledSockets() throws Exception {
+    TcpRequesterConnection connection = createConnection(pool);
+    for (int i = 0; i < EXCHANGES_PER_INVOCATION; i++) {
+      exchange(connection);
+    }
+  }
+
+  @Test
+  @Required(throughput = 20)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void pipelinedPooledSockets() throws Exception {
+    TcpRequesterConnection connection = createConnection(pipeliningPool);
+    for (int i = 0; i < EXCHANGES_PER_INVOCATION; i++) {
+      exchange(connection);
+    }
+  }
+
+  private TcpRequesterConnection createConnection(TcpSocketPool socketPool) throws Exception {
+    TcpRequesterConnection connection =
+        new TcpRequesterConnection(new ConnectionSettings(dynamicPort.getNumber(), "localhost"), new ConnectionSettings(),
+                                   protocol, new TcpClientSocketProperties(), new TcpSocketFactory(), socketPool);
+    connection.connect();
+    return connection;
+  }
+
+  private void exchange(TcpRequesterConnection connection) throws Exception {
+    IOUtils.toByteArray(connection.getClient().send(MESSAGE, "UTF-8", true));
+  }
+
+  private void acceptConnections() {
+    try {
+      for (;;) {
+        Socket socket = serverSocket.accept();
+        threads.execute(() -> echo(socket));
+      }
+    } catch (IOException e) {
+      // server socket was closed
+    }
+  }
+
+  private void echo(Socket socket) {
+    try (Socket closeable = socket) {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+      for (;;) {
+        byte[] message = new byte[in.readInt()];
+        in.readFully(message);
+        out.writeInt(message.length);
+        out.write(message);
+        if (in.available() == 0) {
+          out.flush();
+        }
+      }
+    } catch (IOException e) {
+      // the connection or the server socket was closed
+    }
+  }
+}
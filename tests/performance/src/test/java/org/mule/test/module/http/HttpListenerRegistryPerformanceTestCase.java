@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.module.http;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.module.http.internal.domain.request.HttpRequest;
+import org.mule.runtime.module.http.internal.domain.request.HttpRequestBuilder;
+import org.mule.runtime.module.http.internal.listener.HttpListenerRegistry;
+import org.mule.runtime.module.http.internal.listener.Server;
+import org.mule.runtime.module.http.internal.listener.ServerAddress;
+import org.mule.runtime.module.http.internal.listener.async.RequestHandler;
+import org.mule.runtime.module.http.internal.listener.matcher.AcceptsAllMethodsRequestMatcher;
+import org.mule.runtime.module.http.internal.listener.matcher.ListenerRequestMatcher;
+import org.mule.runtime.module.http.internal.listener.matcher.MethodRequestMatcher;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Measures the lookup of the {@link RequestHandler} of a request in an {@link HttpListenerRegistry} with 1000 registered listener
+ * paths, mixing plain paths, uri parameters and wildcards.
+ */
+public class HttpListenerRegistryPerformanceTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private static final String TEST_IP = "127.0.0.1";
+  private static final int TEST_PORT = 10000;
+  private static final int RESOURCES = 250;
+
+  private final HttpListenerRegistry httpListenerRegistry = new HttpListenerRegistry();
+  private final HttpRequest[] requests = new HttpRequest[RESOURCES * 4];
+  private final RequestHandler[] expectedRequestHandlers = new RequestHandler[RESOURCES * 4];
+
+  @Before
+  public void before() {
+    final Server server = mock(Server.class);
+    when(server.getServerAddress()).thenReturn(new ServerAddress(TEST_IP, TEST_PORT));
+
+    for (int i = 0; i < RESOURCES; ++i) {
+      final String resource = "/api/v" + (i % 4) + "/resource" + i;
+      register(server, 4 * i, resource, resource);
+      register(server, 4 * i + 1, resource + "/{id}", resource + "/" + i);
+      register(server, 4 * i + 2, resource + "/{id}/items", resource + "/" + i + "/items");
+      register(server, 4 * i + 3, resource + "/static/*", resource + "/static/css/main.css");
+    }
+  }
+
+  private void register(Server server, int index, String listenerPath, String requestPath) {
+    expectedRequestHandlers[index] = mock(RequestHandler.class);
+    final MethodRequestMatcher methodRequestMatcher =
+        index % 2 == 0 ? AcceptsAllMethodsRequestMatcher.instance() : new MethodRequestMatcher("GET", "POST");
+    httpListenerRegistry.addRequestHandler(server, expectedRequestHandlers[index],
+                                           new ListenerRequestMatcher(methodRequestMatcher, listenerPath));
+    requests[index] = new HttpRequestBuilder().setUri(requestPath).setMethod("GET").build();
+  }
+
+  @Test
+  public void routesToRegisteredListener() {
+    for (int i = 0; i < requests.length; ++i) {
+      assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, requests[i]), is(expectedRequestHandlers[i]));
+    }
+  }
+
+  @Test
+  @Required(throughput = 1000)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void singleThread() {
+    lookupAll();
+  }
+
+  @Test
+  @Required(throughput = 1000)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void eightThreads() {
+    lookupAll();
+  }
+
+  private void lookupAll() {
+    for (HttpRequest request : requests) {
+      httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, request);
+    }
+  }
+}
@@ -33,6 +33,11 @@ public class SimpleUnitTestSupportLifecycleSchedulerDecorator implements Schedul
     decorated.stop(gracefulShutdownTimeout, unit);
   }
 
+  @Override
+  public int getQueueCapacity() {
+    return decorated.getQueueCapacity();
+  }
+
   @Override
   public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
     return decorated.schedule(command, delay, unit);